@@ -0,0 +1,81 @@
+package com.polidea.flutterblelib;
+
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+
+import com.polidea.flutterblelib.backend.BackendConnection;
+import com.polidea.flutterblelib.backend.BackendDevice;
+import com.polidea.flutterblelib.backend.BackendScanResult;
+import com.polidea.flutterblelib.utils.IdGenerator;
+import com.polidea.flutterblelib.utils.StringUtils;
+import com.polidea.flutterblelib.wrapper.Characteristic;
+import com.polidea.flutterblelib.wrapper.Device;
+import com.polidea.flutterblelib.wrapper.Service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+import rx.Observable;
+
+/**
+ * Cost of building the protobuf messages sent for every scan result and every characteristic value.
+ * Lives in the plugin package because Converter is package private.
+ */
+@State(Scope.Thread)
+public class ConverterBenchmark {
+
+    private static final UUID SERVICE_UUID = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+    private static final UUID CHARACTERISTIC_UUID = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+
+    private final Converter converter = new Converter(new StringUtils());
+    private final byte[] value = new byte[20];
+    private BackendScanResult scanResult;
+    private Characteristic characteristic;
+
+    @Setup
+    public void setUp() {
+        final BackendDevice backendDevice = new BackendDevice() {
+            @Override
+            public String getMacAddress() {
+                return "AA:BB:CC:DD:EE:FF";
+            }
+
+            @Override
+            public String getName() {
+                return "Heart Rate Sensor";
+            }
+
+            @Override
+            public boolean isConnected() {
+                return false;
+            }
+
+            @Override
+            public Observable<BackendConnection> establishConnection(boolean autoConnect) {
+                return Observable.never();
+            }
+        };
+        scanResult = new BackendScanResult(backendDevice, -60, 123456789L, 1, backendDevice.getName());
+        final Service service = new Service(new Device(backendDevice, null),
+                new BluetoothGattService(SERVICE_UUID, BluetoothGattService.SERVICE_TYPE_PRIMARY),
+                new IdGenerator());
+        characteristic = new Characteristic(service, new BluetoothGattCharacteristic(CHARACTERISTIC_UUID,
+                BluetoothGattCharacteristic.PROPERTY_READ | BluetoothGattCharacteristic.PROPERTY_NOTIFY,
+                BluetoothGattCharacteristic.PERMISSION_READ));
+    }
+
+    @Benchmark
+    public BleData.ScanResultMessage convertScanResult() {
+        return converter.convertToScanResultMessage(scanResult);
+    }
+
+    @Benchmark
+    public BleData.CharacteristicMessage convertCharacteristic() {
+        return converter.convertToBleCharacteristicMessage(characteristic, value);
+    }
+}
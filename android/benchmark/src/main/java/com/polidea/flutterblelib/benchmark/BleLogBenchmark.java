@@ -0,0 +1,96 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+
+import com.polidea.flutterblelib.backend.BackendConnection;
+import com.polidea.flutterblelib.backend.BackendDevice;
+import com.polidea.flutterblelib.utils.BleLog;
+import com.polidea.flutterblelib.utils.IdGenerator;
+import com.polidea.flutterblelib.wrapper.Characteristic;
+import com.polidea.flutterblelib.wrapper.Device;
+import com.polidea.flutterblelib.wrapper.Service;
+import com.polidea.rxandroidble.internal.RxBleLog;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+import rx.Observable;
+
+/**
+ * Per-value cost of characteristic value logging with the log level set to NONE, against the eager
+ * string building it replaced.
+ */
+@State(Scope.Thread)
+public class BleLogBenchmark {
+
+    private static final UUID SERVICE_UUID = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+    private static final UUID CHARACTERISTIC_UUID = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+    private static final char[] HEX_ARRAY = "0123456789ABCDEF".toCharArray();
+
+    private final byte[] value = new byte[20];
+    private Characteristic characteristic;
+
+    @Setup
+    public void setUp() {
+        BleLog.setLogLevel(RxBleLog.NONE);
+        final BackendDevice backendDevice = new BackendDevice() {
+            @Override
+            public String getMacAddress() {
+                return "AA:BB:CC:DD:EE:FF";
+            }
+
+            @Override
+            public String getName() {
+                return null;
+            }
+
+            @Override
+            public boolean isConnected() {
+                return true;
+            }
+
+            @Override
+            public Observable<BackendConnection> establishConnection(boolean autoConnect) {
+                return Observable.never();
+            }
+        };
+        final Service service = new Service(new Device(backendDevice, null),
+                new BluetoothGattService(SERVICE_UUID, BluetoothGattService.SERVICE_TYPE_PRIMARY),
+                new IdGenerator());
+        characteristic = new Characteristic(service, new BluetoothGattCharacteristic(CHARACTERISTIC_UUID,
+                BluetoothGattCharacteristic.PROPERTY_NOTIFY, BluetoothGattCharacteristic.PERMISSION_READ));
+    }
+
+    @Benchmark
+    public void logValue() {
+        characteristic.logValue("Notification from", value);
+    }
+
+    /**
+     * Message building done by logValue before it was gated on the log level.
+     */
+    @Benchmark
+    public void logValueEager() {
+        final String hexValue = bytesToHex(value);
+        RxBleLog.v("Notification from" +
+                " Characteristic(uuid: " + characteristic.getUUID().toString() +
+                ", id: " + characteristic.getId() +
+                ", value: " + hexValue + ")");
+    }
+
+    private static String bytesToHex(byte[] bytes) {
+        char[] hexChars = new char[bytes.length * 2];
+        for (int j = 0; j < bytes.length; j++) {
+            int v = bytes[j] & 0xFF;
+            hexChars[j * 2] = HEX_ARRAY[v >>> 4];
+            hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
+        }
+        return new String(hexChars);
+    }
+}
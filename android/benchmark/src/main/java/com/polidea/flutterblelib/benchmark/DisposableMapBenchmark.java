@@ -0,0 +1,50 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import com.polidea.flutterblelib.TransactionsContainer;
+import com.polidea.flutterblelib.utils.DisposableMap;
+import com.polidea.flutterblelib.utils.LongDisposableMap;
+import com.polidea.flutterblelib.utils.TransactionId;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import rx.Subscription;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Register and cancel churn of a single transaction, as done for every read, write and monitor.
+ */
+@State(Scope.Thread)
+public class DisposableMapBenchmark {
+
+    private static final String DEVICE_ID = "AA:BB:CC:DD:EE:FF";
+
+    private final DisposableMap disposableMap = new DisposableMap();
+    private final LongDisposableMap longDisposableMap = new LongDisposableMap();
+    private final TransactionsContainer transactions = new TransactionsContainer();
+    private final Subscription subscription = Subscriptions.unsubscribed();
+    private long counter;
+
+    @Benchmark
+    public boolean stringKeyChurn() {
+        final String key = String.valueOf(counter++);
+        disposableMap.replaceSubscription(key, subscription);
+        return disposableMap.removeSubscription(key);
+    }
+
+    @Benchmark
+    public boolean longKeyChurn() {
+        final long key = counter++;
+        longDisposableMap.replaceSubscription(key, subscription);
+        return longDisposableMap.removeSubscription(key);
+    }
+
+    @Benchmark
+    public boolean transactionHandleChurn() {
+        final TransactionId transactionId = TransactionId.ofHandle(counter++);
+        transactions.replaceTransactionSubscription(DEVICE_ID, transactionId, subscription);
+        return transactions.removeTransactionSubscription(transactionId);
+    }
+}
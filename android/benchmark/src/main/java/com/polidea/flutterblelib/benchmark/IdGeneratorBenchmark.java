@@ -0,0 +1,33 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import com.polidea.flutterblelib.utils.IdGenerator;
+import com.polidea.flutterblelib.utils.IdGeneratorKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+@State(Scope.Thread)
+public class IdGeneratorBenchmark {
+
+    private static final String MAC_ADDRESS = "AA:BB:CC:DD:EE:FF";
+
+    private final UUID uuid = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+
+    private final IdGenerator idGenerator = new IdGenerator();
+
+    @Setup
+    public void setUp() {
+        idGenerator.clear();
+        idGenerator.getIdForKey(new IdGeneratorKey(MAC_ADDRESS, uuid, 0));
+    }
+
+    @Benchmark
+    public int getIdForExistingKey() {
+        return idGenerator.getIdForKey(new IdGeneratorKey(MAC_ADDRESS, uuid, 0));
+    }
+}
@@ -0,0 +1,52 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import com.polidea.flutterblelib.metrics.LatencyHistogram;
+import com.polidea.flutterblelib.trace.TraceEvent;
+import com.polidea.flutterblelib.trace.TraceRecorder;
+import com.polidea.flutterblelib.utils.MacAddress;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-event cost of latency recording and tracing on the notification path.
+ */
+@State(Scope.Thread)
+public class InstrumentationBenchmark {
+
+    private static final String MAC_ADDRESS = "AA:BB:CC:DD:EE:FF";
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+    private final TraceRecorder enabledRecorder = new TraceRecorder();
+    private final TraceRecorder disabledRecorder = new TraceRecorder();
+    private final byte[] value = new byte[20];
+    private long latency;
+
+    @Setup
+    public void setUp() {
+        enabledRecorder.setEnabled(true);
+    }
+
+    @Benchmark
+    public void recordLatency() {
+        histogram.record(latency++ & 0xFFFF);
+    }
+
+    @Benchmark
+    public long packMacAddress() {
+        return MacAddress.pack(MAC_ADDRESS);
+    }
+
+    @Benchmark
+    public void traceEnabled() {
+        enabledRecorder.record(TraceEvent.NOTIFICATION, 0xAABBCCDDEEFFL, 1, TraceRecorder.STATUS_OK, value);
+    }
+
+    @Benchmark
+    public void traceDisabled() {
+        disabledRecorder.record(TraceEvent.NOTIFICATION, 0xAABBCCDDEEFFL, 1, TraceRecorder.STATUS_OK, value);
+    }
+}
@@ -0,0 +1,77 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import com.polidea.flutterblelib.decoder.PayloadDecoder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes a 20 byte sensor frame: a uint8 flags byte split into two bitfields, three scaled int16le axes,
+ * a float32le temperature and three uint16le samples.
+ */
+@State(Scope.Thread)
+public class PayloadDecoderBenchmark {
+
+    private final byte[] frame = new byte[20];
+
+    private PayloadDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        final ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 0x5A).putShort((short) -120).putShort((short) 340).putShort((short) 981)
+                .putFloat(21.5f).putShort((short) 1).putShort((short) 2).putShort((short) 3);
+
+        final List<Map<String, Object>> schema = new ArrayList<>();
+        schema.add(field("uint8", 0, 1, 0, 4, 1));
+        schema.add(field("uint8", 0, 1, 4, 4, 1));
+        schema.add(field("int16le", 1, 3, 0, 0, 0.01));
+        schema.add(field("float32le", 7, 1, 0, 0, 1));
+        schema.add(field("uint16le", 11, 3, 0, 0, 1));
+        decoder = PayloadDecoder.compile(1, schema);
+    }
+
+    @Benchmark
+    public double[] compiledDecoder() {
+        return decoder.decode(frame);
+    }
+
+    @Benchmark
+    public double[] handWrittenByteBuffer() {
+        final ByteBuffer buffer = ByteBuffer.wrap(frame).order(ByteOrder.LITTLE_ENDIAN);
+        final double[] out = new double[9];
+        final int flags = buffer.get() & 0xFF;
+        out[0] = flags & 0x0F;
+        out[1] = flags >>> 4;
+        for (int i = 0; i < 3; i++) {
+            out[2 + i] = buffer.getShort() * 0.01;
+        }
+        out[5] = buffer.getFloat();
+        for (int i = 0; i < 3; i++) {
+            out[6 + i] = buffer.getShort() & 0xFFFF;
+        }
+        return out;
+    }
+
+    private static Map<String, Object> field(String format, int byteOffset, int count,
+                                             int bitOffset, int bitLength, double scale) {
+        final Map<String, Object> field = new HashMap<>();
+        field.put("format", format);
+        field.put("byteOffset", byteOffset);
+        field.put("count", count);
+        field.put("bitOffset", bitOffset);
+        field.put("bitLength", bitLength);
+        field.put("scale", scale);
+        return field;
+    }
+}
@@ -0,0 +1,73 @@
+package com.polidea.flutterblelib.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Success envelope of the Flutter StandardMethodCodec for a byte[] result, as produced for every
+ * {@code result.success(message.toByteArray())} and {@code eventSink.success(bytes)}: the value is written into a
+ * growing stream behind the envelope header and then copied into a direct buffer. Kept as the baseline of
+ * {@link TransportBenchmark}, counting every byte it copies.
+ */
+class StandardCodecEnvelope {
+
+    private static final byte SUCCESS = 0;
+    private static final byte BYTE_ARRAY = 8;
+
+    long copiedBytes;
+
+    ByteBuffer encodeSuccessEnvelope(byte[] value) {
+        final CountingStream stream = new CountingStream();
+        stream.write(SUCCESS);
+        stream.write(BYTE_ARRAY);
+        writeSize(stream, value.length);
+        stream.write(value, 0, value.length);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(stream.size());
+        buffer.put(stream.buffer(), 0, stream.size());
+        copiedBytes += stream.size();
+        return buffer;
+    }
+
+    private static void writeSize(ByteArrayOutputStream stream, int value) {
+        if (value < 254) {
+            stream.write(value);
+        } else if (value <= 0xffff) {
+            stream.write(254);
+            stream.write(value);
+            stream.write(value >>> 8);
+        } else {
+            stream.write(255);
+            stream.write(value);
+            stream.write(value >>> 8);
+            stream.write(value >>> 16);
+            stream.write(value >>> 24);
+        }
+    }
+
+    private class CountingStream extends ByteArrayOutputStream {
+
+        byte[] buffer() {
+            return buf;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            countGrowth(1);
+            super.write(b);
+            copiedBytes++;
+        }
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            countGrowth(len);
+            super.write(b, off, len);
+            copiedBytes += len;
+        }
+
+        private void countGrowth(int length) {
+            if (count + length > buf.length) {
+                copiedBytes += count;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.MessageLite;
+import com.polidea.flutterblelib.BleData;
+import com.polidea.flutterblelib.transport.BinaryFrames;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cost of putting a result message on the wire: the standard codec path of MessageLiteOnSuccessAction, which
+ * serializes the message to an array and lets the codec copy it, against the binary transport serializing it
+ * straight into the direct reply buffer. The copiedBytes counter divided by the score is the number of bytes
+ * copied per message, serialization included.
+ */
+@State(Scope.Thread)
+public class TransportBenchmark {
+
+    @Param({"notification", "batchResult"})
+    public String message;
+
+    private MessageLite payload;
+
+    private final StandardCodecEnvelope codec = new StandardCodecEnvelope();
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Copies {
+        public long copiedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            copiedBytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        final ByteString value = ByteString.copyFrom(new byte[20]);
+        if ("notification".equals(message)) {
+            payload = BleData.CharacteristicValueMessage.newBuilder()
+                    .setHandle(42)
+                    .setValue(value)
+                    .setTimestampNanos(123456789012345L)
+                    .setTransactionHandle(7)
+                    .build();
+        } else {
+            final BleData.BatchResultMessage.Builder builder = BleData.BatchResultMessage.newBuilder();
+            for (int i = 0; i < 64; i++) {
+                builder.addResults(BleData.BatchCommandResultMessage.newBuilder().setValue(value));
+            }
+            payload = builder.build();
+        }
+    }
+
+    @Benchmark
+    public ByteBuffer standardCodec(Copies copies) {
+        final byte[] bytes = payload.toByteArray();
+        codec.copiedBytes = bytes.length;
+        final ByteBuffer envelope = codec.encodeSuccessEnvelope(bytes);
+        copies.copiedBytes += codec.copiedBytes;
+        return envelope;
+    }
+
+    @Benchmark
+    public ByteBuffer binaryTransport(Copies copies) {
+        final ByteBuffer frame = BinaryFrames.encodeReply(payload);
+        copies.copiedBytes += frame.position();
+        return frame;
+    }
+}
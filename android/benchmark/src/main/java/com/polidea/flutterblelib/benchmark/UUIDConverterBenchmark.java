@@ -0,0 +1,84 @@
+package com.polidea.flutterblelib.benchmark;
+
+
+import com.polidea.flutterblelib.utils.UUIDConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.UUID;
+
+/**
+ * Compares {@link UUIDConverter} with {@link LegacyUUIDConverter}, run with -Pjmh.include=UUIDConverter.
+ */
+@State(Scope.Thread)
+public class UUIDConverterBenchmark {
+
+    private static final String SHORT_UUID = "180D";
+    private static final String FULL_UUID = "0000180D-0000-1000-8000-00805F9B34FB";
+    private static final String VENDOR_UUID = "6E400001-B5A3-F393-E0A9-E50E24DCCA9E";
+
+    private final UUID shortUUID = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+    private final UUID vendorUUID = UUID.fromString(VENDOR_UUID);
+
+    @Benchmark
+    public UUID convertShortUUID() {
+        return UUIDConverter.convert(SHORT_UUID);
+    }
+
+    @Benchmark
+    public UUID legacyConvertShortUUID() {
+        return LegacyUUIDConverter.convert(SHORT_UUID);
+    }
+
+    @Benchmark
+    public UUID convertFullUUID() {
+        return UUIDConverter.convert(FULL_UUID);
+    }
+
+    @Benchmark
+    public UUID legacyConvertFullUUID() {
+        return LegacyUUIDConverter.convert(FULL_UUID);
+    }
+
+    @Benchmark
+    public UUID convertVendorUUID() {
+        return UUIDConverter.convert(VENDOR_UUID);
+    }
+
+    @Benchmark
+    public UUID legacyConvertVendorUUID() {
+        return LegacyUUIDConverter.convert(VENDOR_UUID);
+    }
+
+    @Benchmark
+    public UUID[] convertServiceAndCharacteristic() {
+        return UUIDConverter.convert("180D", "2A37");
+    }
+
+    @Benchmark
+    public UUID[] legacyConvertServiceAndCharacteristic() {
+        return LegacyUUIDConverter.convert("180D", "2A37");
+    }
+
+    @Benchmark
+    public String fromShortUUID() {
+        return UUIDConverter.fromUUID(shortUUID);
+    }
+
+    @Benchmark
+    public String legacyFromShortUUID() {
+        return LegacyUUIDConverter.fromUUID(shortUUID);
+    }
+
+    @Benchmark
+    public String fromVendorUUID() {
+        return UUIDConverter.fromUUID(vendorUUID);
+    }
+
+    @Benchmark
+    public String legacyFromVendorUUID() {
+        return LegacyUUIDConverter.fromUUID(vendorUUID);
+    }
+}
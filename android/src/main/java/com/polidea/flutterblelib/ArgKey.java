@@ -12,4 +12,26 @@ public interface ArgKey {
     String response = "response";
     String transactionId = "transactionId";
     String mtu = "mtu";
+    String simulatedBackend = "simulatedBackend";
+    String compactProtocol = "compactProtocol";
+    String binaryTransport = "binaryTransport";
+    String maxAgeMillis = "maxAgeMillis";
+    String ttlMillis = "ttlMillis";
+    String maxEntries = "maxEntries";
+    String sampleEvery = "sampleEvery";
+    String throttleMillis = "throttleMillis";
+    String debounceMillis = "debounceMillis";
+    String distinct = "distinct";
+    String windowSize = "windowSize";
+    String windowFormat = "windowFormat";
+    String windowOffset = "windowOffset";
+    String payloadSchema = "payloadSchema";
+    String recordingId = "recordingId";
+    String recordingDirectory = "recordingDirectory";
+    String segmentSize = "segmentSize";
+    String syncIntervalMillis = "syncIntervalMillis";
+    String ringId = "ringId";
+    String ringCapacity = "ringCapacity";
+    String expiryMillis = "expiryMillis";
+    String maxDevices = "maxDevices";
 }
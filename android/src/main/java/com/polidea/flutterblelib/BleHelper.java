@@ -3,18 +3,32 @@ package com.polidea.flutterblelib;
 
 import android.bluetooth.BluetoothAdapter;
 import android.bluetooth.BluetoothGattCharacteristic;
-import android.bluetooth.BluetoothGattDescriptor;
 import android.bluetooth.BluetoothGattService;
 import android.bluetooth.BluetoothManager;
 import android.content.Context;
 import android.content.pm.PackageManager;
 import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.util.Base64;
 import android.util.SparseArray;
 
-import com.polidea.flutterblelib.exception.CannotMonitorCharacteristicException;
+import com.google.protobuf.MessageLite;
+import com.polidea.flutterblelib.backend.BackendConnection;
+import com.polidea.flutterblelib.backend.BackendDevice;
+import com.polidea.flutterblelib.backend.BackendScanResult;
+import com.polidea.flutterblelib.backend.BleBackend;
+import com.polidea.flutterblelib.backend.RxBleBackend;
+import com.polidea.flutterblelib.backend.SimulatedBackend;
+import com.polidea.flutterblelib.backend.SimulationConfig;
+import com.polidea.flutterblelib.batch.BatchExecution;
+import com.polidea.flutterblelib.cache.CharacteristicValueCache;
+import com.polidea.flutterblelib.decoder.PayloadDecoder;
+import com.polidea.flutterblelib.decoder.PayloadDecoderRegistry;
+import com.polidea.flutterblelib.exception.BleErrorException;
 import com.polidea.flutterblelib.exception.CharacteristicNotFoundException;
 import com.polidea.flutterblelib.exception.ConnectionNotFoundException;
 import com.polidea.flutterblelib.exception.RxBleDeviceNotFoundException;
@@ -22,37 +36,62 @@ import com.polidea.flutterblelib.exception.ServiceNotFoundException;
 import com.polidea.flutterblelib.listener.EventDelegate;
 import com.polidea.flutterblelib.listener.OnErrorAction;
 import com.polidea.flutterblelib.listener.OnSuccessAction;
+import com.polidea.flutterblelib.metrics.BleMetrics;
+import com.polidea.flutterblelib.metrics.LatencyHistogram;
+import com.polidea.flutterblelib.metrics.MemoryEstimates;
+import com.polidea.flutterblelib.metrics.Operation;
+import com.polidea.flutterblelib.metrics.RegistryStats;
+import com.polidea.flutterblelib.metrics.StartupMetrics;
+import com.polidea.flutterblelib.operator.NotificationOperators;
+import com.polidea.flutterblelib.recording.NotificationRecorder;
+import com.polidea.flutterblelib.recording.NotificationRecordings;
+import com.polidea.flutterblelib.restore.RestoreStateStore;
+import com.polidea.flutterblelib.scan.ScannedDeviceRegistry;
+import com.polidea.flutterblelib.script.GattProgram;
+import com.polidea.flutterblelib.trace.TraceEvent;
+import com.polidea.flutterblelib.trace.TraceRecorder;
+import com.polidea.flutterblelib.transport.NotificationRing;
+import com.polidea.flutterblelib.transport.NotificationRings;
+import com.polidea.flutterblelib.utils.BleLog;
+import com.polidea.flutterblelib.utils.IdGenerator;
+import com.polidea.flutterblelib.utils.MacAddress;
 import com.polidea.flutterblelib.utils.SafeAction;
 import com.polidea.flutterblelib.utils.StringUtils;
+import com.polidea.flutterblelib.utils.TransactionId;
 import com.polidea.flutterblelib.utils.UUIDConverter;
 import com.polidea.flutterblelib.wrapper.Characteristic;
 import com.polidea.flutterblelib.wrapper.Device;
 import com.polidea.flutterblelib.wrapper.ScanSettingsWrapper;
 import com.polidea.flutterblelib.wrapper.Service;
-import com.polidea.rxandroidble.NotificationSetupMode;
 import com.polidea.rxandroidble.RxBleAdapterStateObservable;
-import com.polidea.rxandroidble.RxBleClient;
-import com.polidea.rxandroidble.RxBleConnection;
-import com.polidea.rxandroidble.RxBleDevice;
-import com.polidea.rxandroidble.RxBleDeviceServices;
 import com.polidea.rxandroidble.exceptions.BleCharacteristicNotFoundException;
 import com.polidea.rxandroidble.internal.RxBleLog;
-import com.polidea.rxandroidble.scan.ScanResult;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import rx.Observable;
 import rx.Observer;
 import rx.Subscription;
+import rx.exceptions.Exceptions;
 import rx.functions.Action0;
 import rx.functions.Action1;
+import rx.functions.Func0;
 import rx.functions.Func1;
+import rx.schedulers.Schedulers;
 
 public class BleHelper {
     private static final int NO_VALUE = -1;
 
+    private static final int DEFAULT_MTU = 23;
+
     private final Converter converter;
 
     private final ConnectedDeviceContainer connectedDevices;
@@ -65,23 +104,73 @@ public class BleHelper {
 
     private final TransactionsContainer transactions = new TransactionsContainer();
 
+    private final BleMetrics metrics = new BleMetrics();
+
+    private final TraceRecorder traceRecorder = new TraceRecorder();
+
+    private final CharacteristicValueCache valueCache = new CharacteristicValueCache();
+
+    private final SharedNotificationsContainer sharedNotifications = new SharedNotificationsContainer();
+
+    private final PayloadDecoderRegistry payloadDecoders = new PayloadDecoderRegistry();
+
+    private final NotificationRecordings recordings = new NotificationRecordings();
+
+    private final NotificationRings notificationRings = new NotificationRings();
+
+    private final ScannedDeviceRegistry scannedDevices = new ScannedDeviceRegistry();
+
+    private final IdGenerator idGenerator = new IdGenerator();
+
+    private final AtomicLong nextBatchId = new AtomicLong();
+    private final AtomicLong nextGattProgramId = new AtomicLong();
+
+    private final StartupMetrics startupMetrics;
+
     private final Context context;
 
+    private final Handler mainThreadHandler = new Handler(Looper.getMainLooper());
+
     private final StringUtils stringUtils;
 
-    private RxBleClient rxBleClient;
+    private final BleBackend.Factory defaultBackendFactory;
+
+    private volatile BleBackend backend;
 
     private Subscription scanDevicesSubscription;
 
+    @Nullable
+    private Subscription clientCreationSubscription;
+
+    @Nullable
+    private SafeAction<Void> pendingClientCreation;
+
     @Nullable
     private Subscription adapterStateChangesSubscription;
 
+    private boolean adapterStateObserved;
+
     private int currentLogLevel = RxBleLog.NONE;
 
-    private EventDelegate eventDelegate;
+    private volatile boolean compactProtocol;
+
+    @Nullable
+    private volatile RestoreStateStore restoreStateStore;
+
+    private volatile EventDelegate eventDelegate;
 
     BleHelper(Context context) {
+        this(context, RxBleBackend.FACTORY);
+    }
+
+    BleHelper(Context context, BleBackend.Factory defaultBackendFactory) {
+        this(context, defaultBackendFactory, new StartupMetrics());
+    }
+
+    BleHelper(Context context, BleBackend.Factory defaultBackendFactory, StartupMetrics startupMetrics) {
         this.context = context;
+        this.defaultBackendFactory = defaultBackendFactory;
+        this.startupMetrics = startupMetrics;
         stringUtils = new StringUtils();
         converter = new Converter(stringUtils);
         connectedDevices = new ConnectedDeviceContainer();
@@ -89,20 +178,226 @@ public class BleHelper {
     }
 
     private boolean isRxBleDeviceReady(final OnErrorAction error) {
-        if (rxBleClient == null) {
-            error.onError(new IllegalStateException("BleManager not created when tried to start device scan"));
+        if (backend == null) {
+            error.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_CLIENT_NOT_CREATED,
+                    "BleManager not created when tried to start device scan"));
             return false;
         }
         return true;
     }
 
-    void createClient(String restoreStateIdentifier, OnSuccessAction<Void> successAction) {
-        rxBleClient = RxBleClient.create(context);
-        adapterStateChangesSubscription = monitorAdapterStateChanges(context);
-        if (restoreStateIdentifier != null) {
-            sendEvent(Event.RestoreStateEvent, null);
+    void createClient(String restoreStateIdentifier, OnSuccessAction<Void> successAction, OnErrorAction errorAction) {
+        createClient(restoreStateIdentifier, (BleBackend.Factory) null, successAction, errorAction);
+    }
+
+    void createClient(String restoreStateIdentifier,
+                      @Nullable byte[] simulatedBackendMessageBytes,
+                      OnSuccessAction<Void> successAction,
+                      OnErrorAction errorAction) {
+        if (simulatedBackendMessageBytes == null) {
+            createClient(restoreStateIdentifier, successAction, errorAction);
+            return;
+        }
+        final SimulationConfig simulationConfig = converter.convertToSimulationConfig(simulatedBackendMessageBytes);
+        if (simulationConfig == null) {
+            errorAction.onError(new IllegalArgumentException("simulatedBackend argument contains wrong data"));
+            return;
+        }
+        createClient(restoreStateIdentifier, SimulatedBackend.factory(simulationConfig), successAction, errorAction);
+    }
+
+    /**
+     * Creates the backend and loads persisted state on a background thread, so the calling thread is not
+     * charged for it. The restored state is emitted and the success action called on the main thread, which
+     * platform channels require. Other operations fail until the success action is called.
+     */
+    void createClient(final String restoreStateIdentifier,
+                      @Nullable BleBackend.Factory backendFactory,
+                      OnSuccessAction<Void> successAction,
+                      OnErrorAction errorAction) {
+        final BleBackend.Factory factory = backendFactory != null ? backendFactory : defaultBackendFactory;
+        final SafeAction<Void> safeAction = new SafeAction<>(successAction, errorAction);
+        final long requestNanos = System.nanoTime();
+        synchronized (this) {
+            cancelClientCreation();
+            pendingClientCreation = safeAction;
+            clientCreationSubscription = Observable
+                    .fromCallable(new Callable<BleBackend>() {
+                        @Override
+                        public BleBackend call() {
+                            startupMetrics.recordClientCreationDelay(requestNanos);
+                            final long startNanos = System.nanoTime();
+                            final BleBackend createdBackend = factory.create(context);
+                            startupMetrics.recordClientCreation(startNanos);
+                            return createdBackend;
+                        }
+                    })
+                    .subscribeOn(Schedulers.io())
+                    .subscribe(new Observer<BleBackend>() {
+                        @Override
+                        public void onCompleted() {
+                        }
+
+                        @Override
+                        public void onError(Throwable e) {
+                            synchronized (BleHelper.this) {
+                                if (pendingClientCreation == safeAction) {
+                                    pendingClientCreation = null;
+                                }
+                            }
+                            safeAction.onError(e);
+                        }
+
+                        @Override
+                        public void onNext(final BleBackend createdBackend) {
+                            synchronized (BleHelper.this) {
+                                if (pendingClientCreation != safeAction) {
+                                    return;
+                                }
+                                pendingClientCreation = null;
+                                backend = createdBackend;
+                                updateAdapterStateSubscription();
+                            }
+                            final BleData.RestoreStateMessage restoredState;
+                            if (restoreStateIdentifier != null) {
+                                final long startNanos = System.nanoTime();
+                                restoredState = loadRestoreState(restoreStateIdentifier);
+                                startupMetrics.recordRestoreState(startNanos);
+                            } else {
+                                restoredState = null;
+                            }
+                            mainThreadHandler.post(new Runnable() {
+                                @Override
+                                public void run() {
+                                    if (backend != createdBackend) {
+                                        safeAction.onError(new IllegalStateException("Client destroyed before it was created"));
+                                        return;
+                                    }
+                                    if (restoredState != null) {
+                                        restoreState(restoredState);
+                                    }
+                                    safeAction.onSuccess(null);
+                                }
+                            });
+                        }
+                    });
+        }
+    }
+
+    private synchronized void cancelClientCreation() {
+        if (clientCreationSubscription != null) {
+            clientCreationSubscription.unsubscribe();
+            clientCreationSubscription = null;
+        }
+        if (pendingClientCreation != null) {
+            pendingClientCreation.onError(new IllegalStateException("Client destroyed before it was created"));
+            pendingClientCreation = null;
+        }
+    }
+
+    /**
+     * The adapter state receiver is registered only while the state change channel has a listener and the
+     * client exists.
+     */
+    synchronized void setAdapterStateObserved(boolean observed) {
+        adapterStateObserved = observed;
+        updateAdapterStateSubscription();
+    }
+
+    private synchronized void updateAdapterStateSubscription() {
+        if (adapterStateObserved && backend != null) {
+            if (adapterStateChangesSubscription == null) {
+                final long startNanos = System.nanoTime();
+                adapterStateChangesSubscription = monitorAdapterStateChanges(context);
+                startupMetrics.recordAdapterStateRegistration(startNanos);
+            }
+        } else if (adapterStateChangesSubscription != null) {
+            adapterStateChangesSubscription.unsubscribe();
+            adapterStateChangesSubscription = null;
+        }
+    }
+
+    /**
+     * Emits the state persisted under given identifier and reconnects all its devices in parallel. Every restored
+     * connection rediscovers services and resubscribes monitors with their original transaction ids.
+     */
+    private BleData.RestoreStateMessage loadRestoreState(String restoreStateIdentifier) {
+        final RestoreStateStore store = new RestoreStateStore(
+                RestoreStateStore.fileFor(context, restoreStateIdentifier), Schedulers.io());
+        final BleData.RestoreStateMessage restoredState = store.load();
+        restoreStateStore = store;
+        return restoredState != null ? restoredState : BleData.RestoreStateMessage.getDefaultInstance();
+    }
+
+    /**
+     * Emits the loaded state before reconnecting its devices, so their events follow it.
+     */
+    private void restoreState(BleData.RestoreStateMessage restoredState) {
+        final RestoreStateStore store = restoreStateStore;
+        sendEvent(Event.RestoreStateEvent, restoredState);
+        if (store == null) {
+            return;
+        }
+        for (BleData.RestoredDeviceMessage restoredDevice : restoredState.getDevicesList()) {
+            restoreConnection(store, restoredDevice);
+        }
+    }
+
+    private void restoreConnection(RestoreStateStore store, final BleData.RestoredDeviceMessage restoredDevice) {
+        final String deviceId = restoredDevice.getDevice().getId();
+        final OnErrorAction errorAction = new OnErrorAction() {
+            @Override
+            public void onError(Throwable t) {
+                BleLog.e(t, "Restoring connection to %s failed", deviceId);
+            }
+        };
+        final BackendDevice backendDevice = backend.getBleDevice(deviceId);
+        if (backendDevice == null) {
+            errorAction.onError(new RxBleDeviceNotFoundException("Not found device for mac address : " + deviceId, deviceId));
+            store.deviceDisconnected(deviceId);
+            return;
+        }
+        final int restoredMtu = restoredDevice.getDevice().getMtu();
+        saveConnectToDevice(
+                backendDevice,
+                restoredDevice.getIsAutoConnect(),
+                restoredMtu > DEFAULT_MTU ? restoredMtu : NO_VALUE,
+                new SafeAction<>(new OnSuccessAction<BleData.BleDeviceMessage>() {
+                    @Override
+                    public void onSuccess(BleData.BleDeviceMessage bleDeviceMessage) {
+                        final Device device = getDeviceOrReject(deviceId, errorAction);
+                        if (device == null) {
+                            return;
+                        }
+                        safeDiscoverAllServicesAndCharacteristicsForDevice(device, new SafeAction<>(
+                                new OnSuccessAction<BleData.BleDeviceMessage>() {
+                                    @Override
+                                    public void onSuccess(BleData.BleDeviceMessage bleDeviceMessage) {
+                                        restoreMonitors(restoredDevice, errorAction);
+                                    }
+                                }, errorAction));
+                    }
+                }, errorAction));
+    }
+
+    private void restoreMonitors(BleData.RestoredDeviceMessage restoredDevice, OnErrorAction errorAction) {
+        final OnSuccessAction<Void> successAction = new OnSuccessAction<Void>() {
+            @Override
+            public void onSuccess(Void ignored) {
+            }
+        };
+        for (BleData.RestoredMonitorMessage monitor : restoredDevice.getMonitorsList()) {
+            final Characteristic characteristic = getCharacteristicOrReject(restoredDevice.getDevice().getId(),
+                    monitor.getServiceUuid(), monitor.getCharacteristicUuid(), errorAction);
+            if (characteristic == null) {
+                continue;
+            }
+            final TransactionId transactionId = monitor.getTransactionId().isEmpty()
+                    ? TransactionId.ofHandle(monitor.getTransactionHandle())
+                    : TransactionId.ofString(monitor.getTransactionId());
+            safeMonitorCharacteristicForDevice(characteristic, NotificationOperators.NONE,
+                    NotificationRecordings.NO_RECORDING, NotificationRings.NO_RING, transactionId, new SafeAction<>(successAction, errorAction));
         }
-        successAction.onSuccess(null);
     }
 
     void registerEventDelegate(EventDelegate eventDelegate) {
@@ -110,19 +405,47 @@ public class BleHelper {
     }
 
     void destroyClient() {
+        cancelClientCreation();
+        final RestoreStateStore store = restoreStateStore;
+        if (store != null) {
+            restoreStateStore = null;
+            store.close();
+        }
         // Subscriptions
-        if (adapterStateChangesSubscription != null) {
-            adapterStateChangesSubscription.unsubscribe();
-            adapterStateChangesSubscription = null;
+        synchronized (this) {
+            backend = null;
+            updateAdapterStateSubscription();
         }
         if (scanDevicesSubscription != null && !scanDevicesSubscription.isUnsubscribed()) {
             scanDevicesSubscription.unsubscribe();
         }
         scanDevicesSubscription = null;
+        // Transactions first, so monitors and pending operations end before their connections
+        transactions.clearTransactionsSubscription();
+        connectingDevices.clearConnectigDeviceSubscription();
 
+        // Registries
         connectedDevices.clear();
+        discoveredServices.clear();
+        discoveredCharacteristics.clear();
+        idGenerator.clear();
+        metrics.forgetDevices();
+        valueCache.clear();
+        scannedDevices.clear();
+        sharedNotifications.clear();
+        payloadDecoders.clear();
+        recordings.closeAll();
+        notificationRings.closeAll();
         eventDelegate = null;
-        rxBleClient = null;
+        compactProtocol = false;
+    }
+
+    /**
+     * Switches read, write and notification results from full {@link BleData.CharacteristicMessage}s to
+     * {@link BleData.CharacteristicValueMessage}s, which refer to the characteristic by the id sent at discovery.
+     */
+    void setCompactProtocol(boolean compactProtocol) {
+        this.compactProtocol = compactProtocol;
     }
 
     void startDeviceScan(byte[] scanSettingsWrapperBytes,
@@ -135,16 +458,28 @@ public class BleHelper {
         successAction.onSuccess(null);
     }
 
+    /**
+     * Scans started in registry-only mode record results in the scanned device registry and send no scan events.
+     */
     private void safeStartDeviceScan(ScanSettingsWrapper scanSettingsWrapper ,  final OnErrorAction errorAction) {
-        if (rxBleClient == null) {
-            throw new IllegalStateException("BleManager not created when tried to start device scan");
+        if (backend == null) {
+            throw new BleErrorException(BleData.BleErrorCodeMessage.ERROR_CLIENT_NOT_CREATED,
+                    "BleManager not created when tried to start device scan");
         }
-        scanDevicesSubscription = rxBleClient
-                .scanBleDevices(scanSettingsWrapper.getScanSetting(), scanSettingsWrapper.getScanFilters())
-                .subscribe(new Action1<ScanResult>() {
+        final boolean registryOnly = scanSettingsWrapper.isRegistryOnly();
+        scanDevicesSubscription = backend
+                .scanBleDevices(scanSettingsWrapper)
+                .subscribe(new Action1<BackendScanResult>() {
                     @Override
-                    public void call(ScanResult rxBleScanResult) {
-                        sendEvent(Event.ScanEvent, converter.convertToScanResultMessage(rxBleScanResult));
+                    public void call(BackendScanResult scanResult) {
+                        trace(TraceEvent.SCAN_RESULT, scanResult.getBleDevice().getMacAddress(), scanResult.getRssi(), TraceRecorder.STATUS_OK, null);
+                        if (scannedDevices.isEnabled()) {
+                            scannedDevices.record(scanResult.getBleDevice().getMacAddress(), scanResult.getLocalName(),
+                                    scanResult.getRssi(), SystemClock.elapsedRealtimeNanos());
+                        }
+                        if (!registryOnly) {
+                            sendEvent(Event.ScanEvent, converter.convertToScanResultMessage(scanResult));
+                        }
                     }
                 }, new Action1<Throwable>() {
                     @Override
@@ -154,19 +489,213 @@ public class BleHelper {
                 });
     }
 
-    void cancelTransaction(String transactionId) {
-        transactions.removeTransactionSubscription(transactionId);
+    void cancelTransaction(TransactionId transactionId) {
+        if (transactions.removeTransactionSubscription(transactionId)) {
+            trace(TraceEvent.CANCEL, null, NO_VALUE, TraceRecorder.STATUS_OK, null);
+        }
+    }
+
+    void setTraceEnabled(boolean enabled) {
+        traceRecorder.setEnabled(enabled);
+    }
+
+    void dumpTrace(String filePath, OnSuccessAction<Integer> successAction, OnErrorAction errorAction) {
+        try {
+            successAction.onSuccess(traceRecorder.dump(new File(filePath)));
+        } catch (IOException e) {
+            errorAction.onError(e);
+        }
+    }
+
+    void openRecording(String directoryPath,
+                       int segmentSize,
+                       long syncIntervalMillis,
+                       OnSuccessAction<Integer> successAction,
+                       OnErrorAction errorAction) {
+        try {
+            successAction.onSuccess(recordings.open(new File(directoryPath), segmentSize, syncIntervalMillis));
+        } catch (IOException e) {
+            errorAction.onError(e);
+        }
+    }
+
+    void rotateRecording(int recordingId, OnSuccessAction<String> successAction, OnErrorAction errorAction) {
+        final NotificationRecorder recorder = recordings.get(recordingId);
+        if (recorder == null) {
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Recording not found for id : " + recordingId));
+            return;
+        }
+        try {
+            successAction.onSuccess(recorder.rotate().getPath());
+        } catch (IOException e) {
+            errorAction.onError(e);
+        }
+    }
+
+    void closeRecording(int recordingId, OnSuccessAction<String> successAction, OnErrorAction errorAction) {
+        try {
+            final File lastSegment = recordings.close(recordingId);
+            successAction.onSuccess(lastSegment != null ? lastSegment.getPath() : null);
+        } catch (IOException e) {
+            errorAction.onError(e);
+        }
+    }
+
+    void openNotificationRing(int capacity,
+                              OnSuccessAction<BleData.NotificationRingMessage> successAction,
+                              OnErrorAction errorAction) {
+        final NotificationRing ring;
+        try {
+            ring = notificationRings.open(capacity, new NotificationRing.Listener() {
+                @Override
+                public void onWakeUp(NotificationRing ring) {
+                    sendEvent(Event.NotificationRingEvent, converter.convertToNotificationRingEventMessage(
+                            ring, BleData.NotificationRingEventTypeMessage.RING_WAKE_UP, ring.getDroppedCount()));
+                }
+
+                @Override
+                public void onOverflow(NotificationRing ring, long droppedCount) {
+                    sendEvent(Event.NotificationRingEvent, converter.convertToNotificationRingEventMessage(
+                            ring, BleData.NotificationRingEventTypeMessage.RING_OVERFLOW, droppedCount));
+                }
+            });
+        } catch (UnsupportedOperationException | OutOfMemoryError e) {
+            errorAction.onError(e);
+            return;
+        }
+        successAction.onSuccess(converter.convertToNotificationRingMessage(ring));
+    }
+
+    void closeNotificationRing(int ringId, OnSuccessAction<Void> successAction, OnErrorAction errorAction) {
+        if (!notificationRings.close(ringId)) {
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Notification ring not found for id : " + ringId));
+            return;
+        }
+        successAction.onSuccess(null);
     }
 
     void setLogLevel(BleData.LogLevelMessage logLevel) {
         currentLogLevel = converter.convertLogLevelMessageToInt(logLevel);
-        RxBleClient.setLogLevel(currentLogLevel);
+        BleLog.setLogLevel(currentLogLevel);
     }
 
     void logLevel(OnSuccessAction<BleData.LogLevelMessage> successAction) {
         successAction.onSuccess(converter.convertIntToLogLevel(currentLogLevel));
     }
 
+    void metrics(OnSuccessAction<BleData.MetricsMessage> successAction) {
+        successAction.onSuccess(converter.convertToMetricsMessage(metrics, startupMetrics, valueCache));
+    }
+
+    void memoryStats(OnSuccessAction<BleData.MemoryStatsMessage> successAction) {
+        successAction.onSuccess(converter.convertToMemoryStatsMessage(collectRegistryStats()));
+    }
+
+    private List<RegistryStats> collectRegistryStats() {
+        final List<RegistryStats> stats = new ArrayList<>();
+        final int connected = connectedDevices.size();
+        stats.add(new RegistryStats("connectedDevices", connected,
+                connected * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.MAC_ADDRESS + MemoryEstimates.DEVICE)));
+        final int connecting = connectingDevices.getConnectingDevicesCount();
+        stats.add(new RegistryStats("connectingDevices", connecting,
+                connecting * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.MAC_ADDRESS + MemoryEstimates.SUBSCRIPTION)));
+        final int services = discoveredServices.size();
+        stats.add(new RegistryStats("discoveredServices", services,
+                services * (MemoryEstimates.SPARSE_ARRAY_ENTRY + MemoryEstimates.SERVICE)));
+        final int characteristics = discoveredCharacteristics.size();
+        stats.add(new RegistryStats("discoveredCharacteristics", characteristics,
+                characteristics * (MemoryEstimates.SPARSE_ARRAY_ENTRY + MemoryEstimates.CHARACTERISTIC)));
+        final int transactionCount = transactions.getTransactionsCount();
+        stats.add(new RegistryStats("transactions", transactionCount,
+                transactionCount * (3 * MemoryEstimates.MAP_ENTRY + MemoryEstimates.TRANSACTION_ID
+                        + MemoryEstimates.SUBSCRIPTION)));
+        final int ids = idGenerator.size();
+        stats.add(new RegistryStats("ids", ids,
+                ids * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.ID_KEY + MemoryEstimates.BOXED_INT)));
+        final int notifications = sharedNotifications.size();
+        stats.add(new RegistryStats("sharedNotifications", notifications,
+                notifications * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.BOXED_INT + MemoryEstimates.SUBSCRIPTION)));
+        final int cachedValues = valueCache.size();
+        stats.add(new RegistryStats("valueCache", cachedValues,
+                cachedValues * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.BOXED_INT + MemoryEstimates.CACHE_ENTRY
+                        + MemoryEstimates.byteArray(0)) + valueCache.getValueBytes()));
+        final int scanned = scannedDevices.size();
+        stats.add(new RegistryStats("scannedDevices", scanned, scannedDevices.getArrayBytes()));
+        final int decoders = payloadDecoders.size();
+        stats.add(new RegistryStats("payloadDecoders", decoders,
+                decoders * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.UUID + MemoryEstimates.PAYLOAD_DECODER)));
+        final int recorders = recordings.size();
+        stats.add(new RegistryStats("recordings", recorders,
+                recorders * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.BOXED_INT + MemoryEstimates.RECORDER),
+                recordings.getMappedBytes()));
+        final int rings = notificationRings.size();
+        stats.add(new RegistryStats("notificationRings", rings,
+                rings * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.BOXED_INT + MemoryEstimates.NOTIFICATION_RING),
+                notificationRings.getDirectBytes()));
+        int histograms = 0;
+        for (AtomicReferenceArray<LatencyHistogram> deviceHistograms : metrics.getDeviceHistograms().values()) {
+            for (int i = 0; i < deviceHistograms.length(); i++) {
+                if (deviceHistograms.get(i) != null) {
+                    histograms++;
+                }
+            }
+        }
+        final int devices = metrics.getDeviceHistograms().size();
+        stats.add(new RegistryStats("deviceMetrics", devices,
+                devices * (MemoryEstimates.MAP_ENTRY + MemoryEstimates.MAC_ADDRESS
+                        + MemoryEstimates.byteArray(Operation.values().length * 4))
+                        + histograms * MemoryEstimates.LATENCY_HISTOGRAM));
+        final int traceCapacity = traceRecorder.getCapacity();
+        stats.add(new RegistryStats("trace", traceCapacity, MemoryEstimates.byteArray(traceCapacity * TraceRecorder.RECORD_SIZE)));
+        return stats;
+    }
+
+    void configureValueCache(long ttlMillis, int maxEntries) {
+        valueCache.configure(ttlMillis, maxEntries);
+    }
+
+    void configureScannedDeviceRegistry(long expiryMillis, int maxDevices) {
+        scannedDevices.configure(expiryMillis, maxDevices);
+    }
+
+    void queryScannedDevices(byte[] queryBytes,
+                             OnSuccessAction<BleData.ScannedDevicesMessage> successAction,
+                             OnErrorAction errorAction) {
+        final BleData.ScannedDeviceQueryMessage query = converter.convertToScannedDeviceQueryMessage(queryBytes);
+        if (query == null) {
+            errorAction.onError(new IllegalArgumentException("query argument contains wrong data"));
+            return;
+        }
+        successAction.onSuccess(scannedDevices.query(query, SystemClock.elapsedRealtimeNanos()));
+    }
+
+    void registerPayloadSchema(String characteristicUUID,
+                               List<Map<String, Object>> schema,
+                               OnSuccessAction<Integer> successAction,
+                               OnErrorAction errorAction) {
+        final UUID uuid = UUIDConverter.convert(characteristicUUID);
+        if (uuid == null) {
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Invalid UUID for characteristic : " + characteristicUUID));
+            return;
+        }
+        final int schemaId;
+        try {
+            schemaId = payloadDecoders.register(uuid, schema);
+        } catch (IllegalArgumentException | ClassCastException e) {
+            errorAction.onError(e);
+            return;
+        }
+        successAction.onSuccess(schemaId);
+    }
+
+    void unregisterPayloadSchema(String characteristicUUID, OnSuccessAction<Boolean> successAction) {
+        final UUID uuid = UUIDConverter.convert(characteristicUUID);
+        successAction.onSuccess(uuid != null && payloadDecoders.unregister(uuid));
+    }
+
     void state(OnSuccessAction<BleData.BluetoothStateMessage> successAction) {
         successAction.onSuccess(getCurrentState());
     }
@@ -241,7 +770,7 @@ public class BleHelper {
     void requestMTUForDevice(
             final String deviceId,
             final int mtu,
-            final String transactionId,
+            final TransactionId transactionId,
             final OnSuccessAction<BleData.BleDeviceMessage> successAction,
             final OnErrorAction errorAction) {
         final Device device = getDeviceOrReject(deviceId, errorAction);
@@ -249,18 +778,19 @@ public class BleHelper {
             return;
         }
 
-        final RxBleConnection connection = getConnectionOrReject(device, errorAction);
+        final BackendConnection connection = getConnectionOrReject(device, errorAction);
         if (connection == null) {
             return;
         }
         if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.LOLLIPOP) {
             final SafeAction<BleData.BleDeviceMessage> safeAction = new SafeAction<>(successAction, errorAction);
+            final long startNanos = System.nanoTime();
             final Subscription subscription = connection
                     .requestMtu(mtu)
                     .doOnUnsubscribe(new Action0() {
                         @Override
                         public void call() {
-                            safeAction.onError(new Throwable("Reject"));
+                            safeAction.onError(BleErrorException.OPERATION_CANCELLED);
                             transactions.removeTransactionSubscription(transactionId);
                         }
                     }).subscribe(new Observer<Integer>() {
@@ -271,25 +801,35 @@ public class BleHelper {
 
                         @Override
                         public void onError(Throwable e) {
+                            metrics.recordError(e);
+                            trace(TraceEvent.MTU, deviceId, NO_VALUE, TraceRecorder.STATUS_ERROR, null);
                             safeAction.onError(e);
                             transactions.removeTransactionSubscription(transactionId);
                         }
 
                         @Override
                         public void onNext(Integer integer) {
-                            safeAction.onSuccess(converter.convertToBleDeviceMessage(device.getRxBleDevice(), integer, NO_VALUE));
+                            metrics.recordLatency(Operation.MTU, deviceId, startNanos);
+                            trace(TraceEvent.MTU, deviceId, NO_VALUE, TraceRecorder.STATUS_OK, null);
+                            final RestoreStateStore store = restoreStateStore;
+                            if (store != null) {
+                                store.mtuChanged(deviceId, integer);
+                            }
+                            safeAction.onSuccess(converter.convertToBleDeviceMessage(device.getBackendDevice(), integer, NO_VALUE));
                         }
                     });
 
-            transactions.replaceTransactionSubscription(transactionId, subscription);
+            if (!subscription.isUnsubscribed()) {
+                transactions.replaceTransactionSubscription(deviceId, transactionId, subscription);
+            }
         } else {
-            successAction.onSuccess(converter.convertToBleDeviceMessage(device.getRxBleDevice(), connection.getMtu(), NO_VALUE));
+            successAction.onSuccess(converter.convertToBleDeviceMessage(device.getBackendDevice(), connection.getMtu(), NO_VALUE));
         }
     }
 
     void readRSSIForDevice(
             final String deviceId,
-            final String transactionId,
+            final TransactionId transactionId,
             final OnSuccessAction<BleData.BleDeviceMessage> successAction,
             final OnErrorAction errorAction) {
 
@@ -297,18 +837,19 @@ public class BleHelper {
         if (device == null) {
             return;
         }
-        final RxBleConnection connection = getConnectionOrReject(device, errorAction);
+        final BackendConnection connection = getConnectionOrReject(device, errorAction);
         if (connection == null) {
             return;
         }
 
         final SafeAction<BleData.BleDeviceMessage> safeAction = new SafeAction<>(successAction, errorAction);
+        final long startNanos = System.nanoTime();
         final Subscription subscription = connection
                 .readRssi()
                 .doOnUnsubscribe(new Action0() {
                     @Override
                     public void call() {
-                        safeAction.onError(new Throwable("Reject"));
+                        safeAction.onError(BleErrorException.OPERATION_CANCELLED);
                         transactions.removeTransactionSubscription(transactionId);
                     }
                 })
@@ -320,17 +861,23 @@ public class BleHelper {
 
                     @Override
                     public void onError(Throwable e) {
+                        metrics.recordError(e);
+                        trace(TraceEvent.RSSI, deviceId, NO_VALUE, TraceRecorder.STATUS_ERROR, null);
                         safeAction.onError(e);
                         transactions.removeTransactionSubscription(transactionId);
                     }
 
                     @Override
                     public void onNext(Integer rssi) {
-                        safeAction.onSuccess(converter.convertToBleDeviceMessage(device.getRxBleDevice(), NO_VALUE, rssi));
+                        metrics.recordLatency(Operation.RSSI, deviceId, startNanos);
+                        trace(TraceEvent.RSSI, deviceId, NO_VALUE, TraceRecorder.STATUS_OK, null);
+                        safeAction.onSuccess(converter.convertToBleDeviceMessage(device.getBackendDevice(), NO_VALUE, rssi));
                     }
                 });
 
-        transactions.replaceTransactionSubscription(transactionId, subscription);
+        if (!subscription.isUnsubscribed()) {
+            transactions.replaceTransactionSubscription(deviceId, transactionId, subscription);
+        }
     }
 
 
@@ -348,65 +895,76 @@ public class BleHelper {
             return;
         }
         final String macAddress = connectToDeviceDataMessage.getMacAddress();
-        final RxBleDevice rxBleDevice = rxBleClient.getBleDevice(macAddress);
-        if (rxBleDevice == null) {
-            errorAction.onError(new RxBleDeviceNotFoundException("Not found device for mac address : " + macAddress));
+        final BackendDevice backendDevice = backend.getBleDevice(macAddress);
+        if (backendDevice == null) {
+            errorAction.onError(new RxBleDeviceNotFoundException("Not found device for mac address : " + macAddress, macAddress));
             return;
         }
         final boolean isAutoConnect = connectToDeviceDataMessage.getIsAutoConnect();
         final int requestMtu = connectToDeviceDataMessage.getRequestMtu();
-        saveConnectToDevice(rxBleDevice, isAutoConnect, requestMtu, new SafeAction<>(successAction, errorAction));
+        saveConnectToDevice(backendDevice, isAutoConnect, requestMtu, new SafeAction<>(successAction, errorAction));
     }
 
-    private void saveConnectToDevice(final RxBleDevice device, boolean autoConnect, final int requestMtu,
+    private void saveConnectToDevice(final BackendDevice device, final boolean autoConnect, final int requestMtu,
                                      final SafeAction<BleData.BleDeviceMessage> safeAction) {
-        Observable<RxBleConnection> connect = device
+        final long startNanos = System.nanoTime();
+        trace(TraceEvent.CONNECT, device.getMacAddress(), NO_VALUE, TraceRecorder.STATUS_STARTED, null);
+        Observable<BackendConnection> connect = device
                 .establishConnection(autoConnect)
                 .doOnUnsubscribe(new Action0() {
                     @Override
                     public void call() {
-                        safeAction.onError(new Throwable("Reject"));
+                        safeAction.onError(BleErrorException.OPERATION_CANCELLED);
                         onDeviceDisconnected(device);
                     }
                 });
 
         if (requestMtu > 0) {
-            connect = connect.flatMap(new Func1<RxBleConnection, Observable<RxBleConnection>>() {
+            connect = connect.flatMap(new Func1<BackendConnection, Observable<BackendConnection>>() {
                 @Override
-                public Observable<RxBleConnection> call(final RxBleConnection rxBleConnection) {
+                public Observable<BackendConnection> call(final BackendConnection connection) {
                     if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                        return rxBleConnection
+                        return connection
                                 .requestMtu(requestMtu)
-                                .map(new Func1<Integer, RxBleConnection>() {
+                                .map(new Func1<Integer, BackendConnection>() {
                                     @Override
-                                    public RxBleConnection call(Integer integer) {
-                                        return rxBleConnection;
+                                    public BackendConnection call(Integer integer) {
+                                        return connection;
                                     }
                                 });
                     } else {
-                        return Observable.just(rxBleConnection);
+                        return Observable.just(connection);
                     }
                 }
             });
         }
 
         final Subscription subscription = connect
-                .subscribe(new Observer<RxBleConnection>() {
+                .subscribe(new Observer<BackendConnection>() {
                     @Override
                     public void onCompleted() {
                     }
 
                     @Override
                     public void onError(Throwable e) {
+                        metrics.recordError(e);
+                        trace(TraceEvent.CONNECTED, device.getMacAddress(), NO_VALUE, TraceRecorder.STATUS_ERROR, null);
                         safeAction.onError(e);
                         onDeviceDisconnected(device);
                     }
 
                     @Override
-                    public void onNext(RxBleConnection connection) {
+                    public void onNext(BackendConnection connection) {
+                        metrics.recordLatency(Operation.CONNECT, device.getMacAddress(), startNanos);
+                        trace(TraceEvent.CONNECTED, device.getMacAddress(), NO_VALUE, TraceRecorder.STATUS_OK, null);
                         Device deviceWrapper = new Device(device, connection);
                         cleanServicesAndCharacteristicsForDevice(deviceWrapper);
                         connectedDevices.put(device.getMacAddress(), deviceWrapper);
+                        final RestoreStateStore store = restoreStateStore;
+                        if (store != null) {
+                            store.deviceConnected(
+                                    converter.convertToBleDeviceMessage(device, connection.getMtu(), NO_VALUE), autoConnect);
+                        }
                         safeAction.onSuccess(converter.convertToBleDeviceMessage(device, requestMtu, NO_VALUE));
                     }
                 });
@@ -415,33 +973,39 @@ public class BleHelper {
     }
 
 
-    private void onDeviceDisconnected(RxBleDevice device) {
+    private void onDeviceDisconnected(BackendDevice device) {
         final Device connectedDevice = connectedDevices.remove(device.getMacAddress());
         if (connectedDevice == null) {
             return;
         }
 
+        trace(TraceEvent.DISCONNECTED, device.getMacAddress(), NO_VALUE, TraceRecorder.STATUS_OK, null);
+        final RestoreStateStore store = restoreStateStore;
+        if (store != null) {
+            store.deviceDisconnected(device.getMacAddress());
+        }
         cleanServicesAndCharacteristicsForDevice(connectedDevice);
-        final RxBleConnection connection = connectedDevice.getConnection();
+        final BackendConnection connection = connectedDevice.getConnection();
         int mtu = connection != null ? connection.getMtu() : NO_VALUE;
         sendEvent(Event.DisconnectionEvent, converter.convertToBleDeviceMessage(device, mtu, NO_VALUE));
         connectingDevices.removeConnectingDeviceSubscription(device.getMacAddress());
+        transactions.removeDeviceTransactionSubscriptions(device.getMacAddress());
+        metrics.forgetDevice(device.getMacAddress());
     }
 
     void isDeviceConnected(String macAddress, OnSuccessAction<Boolean> successAction, OnErrorAction errorAction) {
-        if (rxBleClient == null) {
-            throw new IllegalStateException("BleManager not created when tried to check device connection");
+        if (backend == null) {
+            throw new BleErrorException(BleData.BleErrorCodeMessage.ERROR_CLIENT_NOT_CREATED,
+                    "BleManager not created when tried to check device connection");
         }
 
-        final RxBleDevice device = rxBleClient.getBleDevice(macAddress);
+        final BackendDevice device = backend.getBleDevice(macAddress);
         if (device == null) {
-            errorAction.onError(new RxBleDeviceNotFoundException("Can't find device with id : " + macAddress));
+            errorAction.onError(new RxBleDeviceNotFoundException("Can't find device with id : " + macAddress, macAddress));
             return;
         }
 
-        boolean connected = device.getConnectionState()
-                .equals(RxBleConnection.RxBleConnectionState.CONNECTED);
-        successAction.onSuccess(connected);
+        successAction.onSuccess(device.isConnected());
     }
 
     void discoverAllServicesAndCharacteristicsForDevice(String deviceId, OnSuccessAction<BleData.BleDeviceMessage> successAction, OnErrorAction errorAction) {
@@ -455,30 +1019,44 @@ public class BleHelper {
 
     private void safeDiscoverAllServicesAndCharacteristicsForDevice(final Device device,
                                                                     final SafeAction<BleData.BleDeviceMessage> safeAction) {
-        final RxBleConnection connection = getConnectionOrReject(device, safeAction);
+        final BackendConnection connection = getConnectionOrReject(device, safeAction);
         if (connection == null) {
-            safeAction.onError(new ConnectionNotFoundException("Cannot find connection for : " + device.getRxBleDevice().getMacAddress()));
+            safeAction.onError(new ConnectionNotFoundException("Cannot find connection for : " + device.getBackendDevice().getMacAddress(),
+                    device.getBackendDevice().getMacAddress()));
             return;
         }
 
+        final long startNanos = System.nanoTime();
         connection
                 .discoverServices()
-                .subscribe(new Observer<RxBleDeviceServices>() {
+                .subscribe(new Observer<List<BluetoothGattService>>() {
                     @Override
                     public void onCompleted() {
+                        metrics.recordLatency(Operation.DISCOVERY, device.getBackendDevice().getMacAddress(), startNanos);
+                        trace(TraceEvent.DISCOVERY, device.getBackendDevice().getMacAddress(), NO_VALUE, TraceRecorder.STATUS_OK, null);
+                        final RestoreStateStore store = restoreStateStore;
+                        if (store != null) {
+                            final List<BleData.RestoredServiceMessage> services = new ArrayList<>();
+                            for (Service service : device.getServices()) {
+                                services.add(converter.convertToRestoredServiceMessage(service));
+                            }
+                            store.servicesDiscovered(device.getBackendDevice().getMacAddress(), services);
+                        }
                         safeAction.onSuccess(converter.convertToBleDeviceMessage(device));
                     }
 
                     @Override
                     public void onError(Throwable e) {
+                        metrics.recordError(e);
+                        trace(TraceEvent.DISCOVERY, device.getBackendDevice().getMacAddress(), NO_VALUE, TraceRecorder.STATUS_ERROR, null);
                         safeAction.onError(e);
                     }
 
                     @Override
-                    public void onNext(RxBleDeviceServices rxBleDeviceServices) {
+                    public void onNext(List<BluetoothGattService> gattServices) {
                         ArrayList<Service> services = new ArrayList<>();
-                        for (BluetoothGattService gattService : rxBleDeviceServices.getBluetoothGattServices()) {
-                            Service service = new Service(device, gattService);
+                        for (BluetoothGattService gattService : gattServices) {
+                            Service service = new Service(device, gattService, idGenerator);
                             discoveredServices.put(service.getId(), service);
                             services.add(service);
 
@@ -494,17 +1072,18 @@ public class BleHelper {
 
 
     void cancelDeviceConnection(String deviceId, OnSuccessAction<BleData.BleDeviceMessage> successAction, OnErrorAction errorAction) {
-        if (rxBleClient == null) {
-            throw new IllegalStateException("BleManager not created when tried cancel device connection");
+        if (backend == null) {
+            throw new BleErrorException(BleData.BleErrorCodeMessage.ERROR_CLIENT_NOT_CREATED,
+                    "BleManager not created when tried cancel device connection");
         }
-        final RxBleDevice device = rxBleClient.getBleDevice(deviceId);
+        final BackendDevice device = backend.getBleDevice(deviceId);
         if (connectingDevices.removeConnectingDeviceSubscription(deviceId) && device != null) {
             successAction.onSuccess(converter.convertToBleDeviceMessage(device));
         } else {
             if (device == null) {
-                errorAction.onError(new RxBleDeviceNotFoundException("Not found device with id = " + deviceId));
+                errorAction.onError(new RxBleDeviceNotFoundException("Not found device with id = " + deviceId, deviceId));
             } else {
-                errorAction.onError(new ConnectionNotFoundException("Device with id = " + deviceId + " is not connected."));
+                errorAction.onError(new ConnectionNotFoundException("Device with id = " + deviceId + " is not connected.", deviceId));
             }
         }
     }
@@ -534,7 +1113,8 @@ public class BleHelper {
 
         final UUID convertedServiceUUID = UUIDConverter.convert(serviceUUID);
         if (convertedServiceUUID == null) {
-            errorAction.onError(new Throwable("UUID conversion error"));
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "UUID conversion error"));
             return;
         }
 
@@ -545,7 +1125,7 @@ public class BleHelper {
 
         final Service service = device.getServiceByUUID(convertedServiceUUID);
         if (service == null) {
-            errorAction.onError(new ServiceNotFoundException("Cannot find service for  UUID : " + serviceUUID));
+            errorAction.onError(new ServiceNotFoundException("Cannot find service for  UUID : " + serviceUUID, deviceId, BleErrorException.NO_ATTRIBUTE));
             return;
         }
 
@@ -557,7 +1137,8 @@ public class BleHelper {
                                    final OnErrorAction errorAction) {
         Service service = discoveredServices.get(serviceIdentifier);
         if (service == null) {
-            errorAction.onError(new ServiceNotFoundException("Cannot find service for  service identifier : " + serviceIdentifier));
+            errorAction.onError(new ServiceNotFoundException("Cannot find service for  service identifier : " + serviceIdentifier,
+                    null, serviceIdentifier));
             return;
         }
 
@@ -574,13 +1155,221 @@ public class BleHelper {
         successAction.onSuccess(builder.build());
     }
 
+    /**
+     * Executes read, write, MTU and RSSI commands of a {@link BleData.BatchMessage}, see {@link BatchExecution}.
+     * Commands without a transaction id are registered as {@code <batch transaction id>#<command index>}.
+     */
+    void batch(byte[] batchMessageBytes,
+               final OnSuccessAction<BleData.BatchResultMessage> successAction,
+               final OnErrorAction errorAction) {
+        if (!isRxBleDeviceReady(errorAction)) {
+            return;
+        }
+        final BleData.BatchMessage batch = converter.convertToBatchMessage(batchMessageBytes);
+        if (batch == null) {
+            errorAction.onError(new IllegalArgumentException("batch argument contains wrong data"));
+            return;
+        }
+        final String batchTransactionId = batch.getTransactionId().isEmpty()
+                ? "batch-" + nextBatchId.incrementAndGet()
+                : batch.getTransactionId();
+        new BatchExecution(batch, new BatchExecution.CommandExecutor() {
+            @Override
+            public void execute(int index,
+                                BleData.BatchCommandMessage command,
+                                OnSuccessAction<BleData.BatchCommandResultMessage> commandSuccessAction,
+                                OnErrorAction commandErrorAction) {
+                final TransactionId transactionId = TransactionId.ofString(command.getTransactionId().isEmpty()
+                        ? batchTransactionId + "#" + index
+                        : command.getTransactionId());
+                executeBatchCommand(command, transactionId, commandSuccessAction, commandErrorAction);
+            }
+        }, successAction).start();
+    }
+
+    private void executeBatchCommand(final BleData.BatchCommandMessage command,
+                                     final TransactionId transactionId,
+                                     final OnSuccessAction<BleData.BatchCommandResultMessage> successAction,
+                                     final OnErrorAction errorAction) {
+        switch (command.getType()) {
+            case READ: {
+                final Characteristic characteristic = getCharacteristicOrReject(
+                        command.getDeviceId(), command.getServiceUuid(), command.getCharacteristicUuid(), errorAction);
+                if (characteristic == null) {
+                    return;
+                }
+                // 0 accepts a cached value of any age, like a read without maxAgeMillis, negative values never do
+                final long maxAgeMillis = command.getMaxAgeMillis() == 0
+                        ? CharacteristicValueCache.ANY_AGE
+                        : Math.max(0, command.getMaxAgeMillis());
+                safeReadCharacteristicForDevice(characteristic, maxAgeMillis, transactionId,
+                        new SafeAction<>(batchValueResult(successAction), errorAction));
+                return;
+            }
+            case WRITE: {
+                final Characteristic characteristic = getCharacteristicOrReject(
+                        command.getDeviceId(), command.getServiceUuid(), command.getCharacteristicUuid(), errorAction);
+                if (characteristic == null) {
+                    return;
+                }
+                characteristic.getNativeCharacteristic()
+                        .setWriteType(command.getWithResponse() ?
+                                BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT :
+                                BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE);
+                safeWriteCharacteristicForDevice(characteristic, command.getValue().toByteArray(), transactionId,
+                        new SafeAction<>(batchValueResult(successAction), errorAction));
+                return;
+            }
+            case REQUEST_MTU: {
+                requestMTUForDevice(command.getDeviceId(), command.getMtu(), transactionId,
+                        new OnSuccessAction<BleData.BleDeviceMessage>() {
+                            @Override
+                            public void onSuccess(BleData.BleDeviceMessage bleDeviceMessage) {
+                                successAction.onSuccess(converter.convertToBatchCommandResultMessage(
+                                        null, bleDeviceMessage.getMtu(), 0));
+                            }
+                        }, errorAction);
+                return;
+            }
+            case READ_RSSI: {
+                readRSSIForDevice(command.getDeviceId(), transactionId,
+                        new OnSuccessAction<BleData.BleDeviceMessage>() {
+                            @Override
+                            public void onSuccess(BleData.BleDeviceMessage bleDeviceMessage) {
+                                successAction.onSuccess(converter.convertToBatchCommandResultMessage(
+                                        null, 0, bleDeviceMessage.getRssi()));
+                            }
+                        }, errorAction);
+                return;
+            }
+            default:
+                errorAction.onError(new IllegalArgumentException("Unknown batch command type : " + command.getType()));
+        }
+    }
+
+    private OnSuccessAction<byte[]> batchValueResult(final OnSuccessAction<BleData.BatchCommandResultMessage> successAction) {
+        return new OnSuccessAction<byte[]>() {
+            @Override
+            public void onSuccess(byte[] value) {
+                successAction.onSuccess(converter.convertToBatchCommandResultMessage(value, 0, 0));
+            }
+        };
+    }
+
+    /**
+     * Runs a {@link BleData.GattProgramMessage} against a connected device, see {@link GattProgram}. The program
+     * is registered as a single transaction, cancelling it stops the running instruction. Programs without
+     * a transaction id are registered as {@code gattProgram-<n>}.
+     */
+    void runGattProgram(byte[] programMessageBytes,
+                        final OnSuccessAction<BleData.GattProgramResultMessage> successAction,
+                        final OnErrorAction errorAction) {
+        if (!isRxBleDeviceReady(errorAction)) {
+            return;
+        }
+        final BleData.GattProgramMessage program = converter.convertToGattProgramMessage(programMessageBytes);
+        if (program == null) {
+            errorAction.onError(new IllegalArgumentException("program argument contains wrong data"));
+            return;
+        }
+        final Device device = getDeviceOrReject(program.getDeviceId(), errorAction);
+        if (device == null) {
+            return;
+        }
+        final BackendConnection connection = getConnectionOrReject(device, errorAction);
+        if (connection == null) {
+            return;
+        }
+        final Characteristic[] characteristics = new Characteristic[program.getAttributesCount()];
+        for (int i = 0; i < characteristics.length; i++) {
+            final BleData.GattAttributeMessage attribute = program.getAttributes(i);
+            characteristics[i] = getCharacteristicOrReject(
+                    program.getDeviceId(), attribute.getServiceUuid(), attribute.getCharacteristicUuid(), errorAction);
+            if (characteristics[i] == null) {
+                return;
+            }
+        }
+        final GattProgram gattProgram;
+        try {
+            gattProgram = new GattProgram(program, gattOperations(connection, characteristics), Schedulers.computation());
+        } catch (IllegalArgumentException e) {
+            errorAction.onError(e);
+            return;
+        }
+
+        final TransactionId transactionId = TransactionId.ofString(program.getTransactionId().isEmpty()
+                ? "gattProgram-" + nextGattProgramId.incrementAndGet()
+                : program.getTransactionId());
+        final SafeAction<BleData.GattProgramResultMessage> safeAction = new SafeAction<>(successAction, errorAction);
+        final Subscription subscription = Observable.unsafeCreate(gattProgram)
+                .doOnUnsubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        safeAction.onError(BleErrorException.OPERATION_CANCELLED);
+                        transactions.removeTransactionSubscription(transactionId);
+                    }
+                })
+                .subscribe(new Observer<BleData.GattProgramResultMessage>() {
+                    @Override
+                    public void onCompleted() {
+                        transactions.removeTransactionSubscription(transactionId);
+                    }
+
+                    @Override
+                    public void onError(Throwable e) {
+                        safeAction.onError(e);
+                        transactions.removeTransactionSubscription(transactionId);
+                    }
+
+                    @Override
+                    public void onNext(BleData.GattProgramResultMessage result) {
+                        safeAction.onSuccess(result);
+                    }
+                });
+
+        // programs without waiting instructions finish before they could be registered
+        if (!subscription.isUnsubscribed()) {
+            transactions.replaceTransactionSubscription(program.getDeviceId(), transactionId, subscription);
+        }
+    }
+
+    private GattProgram.Operations gattOperations(final BackendConnection connection,
+                                                  final Characteristic[] characteristics) {
+        return new GattProgram.Operations() {
+            @Override
+            public Observable<byte[]> write(int attribute, byte[] value, final boolean withResponse) {
+                final Characteristic characteristic = characteristics[attribute];
+                return instrumentedWrite(characteristic, connection, value)
+                        .doOnSubscribe(new Action0() {
+                            @Override
+                            public void call() {
+                                characteristic.getNativeCharacteristic()
+                                        .setWriteType(withResponse ?
+                                                BluetoothGattCharacteristic.WRITE_TYPE_DEFAULT :
+                                                BluetoothGattCharacteristic.WRITE_TYPE_NO_RESPONSE);
+                            }
+                        });
+            }
+
+            @Override
+            public Observable<byte[]> read(int attribute) {
+                return instrumentedRead(characteristics[attribute], connection);
+            }
+
+            @Override
+            public Observable<byte[]> notifications(int attribute) {
+                return instrumentedNotifications(characteristics[attribute], connection);
+            }
+        };
+    }
+
     void writeCharacteristicForDevice(final String deviceId,
                                       final String serviceUUID,
                                       final String characteristicUUID,
                                       final String valueBase64,
                                       final Boolean response,
-                                      final String transactionId,
-                                      final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+                                      final TransactionId transactionId,
+                                      final OnSuccessAction<MessageLite> successAction,
                                       final OnErrorAction errorAction) {
 
         final Characteristic characteristic = getCharacteristicOrReject(
@@ -602,8 +1391,8 @@ public class BleHelper {
                                        final String characteristicUUID,
                                        final String valueBase64,
                                        final Boolean response,
-                                       final String transactionId,
-                                       final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+                                       final TransactionId transactionId,
+                                       final OnSuccessAction<MessageLite> successAction,
                                        final OnErrorAction errorAction) {
         final Characteristic characteristic = getCharacteristicOrReject(
                 serviceIdentifier, characteristicUUID, errorAction);
@@ -624,8 +1413,8 @@ public class BleHelper {
             final int characteristicIdentifier,
             final String valueBase64,
             final Boolean response,
-            final String transactionId,
-            final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+            final TransactionId transactionId,
+            final OnSuccessAction<MessageLite> successAction,
             final OnErrorAction errorAction) {
         final Characteristic characteristic = getCharacteristicOrReject(characteristicIdentifier, errorAction);
         if (characteristic == null) {
@@ -644,16 +1433,18 @@ public class BleHelper {
     private void writeCharacteristicWithValue(final Characteristic characteristic,
                                               final String valueBase64,
                                               final Boolean response,
-                                              final String transactionId,
-                                              final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+                                              final TransactionId transactionId,
+                                              final OnSuccessAction<MessageLite> successAction,
                                               final OnErrorAction errorAction) {
         final byte[] value;
         try {
             value = Base64.decode(valueBase64, Base64.NO_WRAP);
         } catch (Throwable e) {
-            errorAction.onError(new Throwable("Invalid write data for characteristic"
-                    + UUIDConverter.fromUUID(characteristic.getNativeCharacteristic().getUuid()),
-                    e));
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Invalid write data for characteristic "
+                            + UUIDConverter.fromUUID(characteristic.getNativeCharacteristic().getUuid())
+                            + " : " + e.getMessage(),
+                    characteristic.getDeviceId(), characteristic.getId(), BleErrorException.NO_GATT_STATUS));
             return;
         }
 
@@ -666,23 +1457,22 @@ public class BleHelper {
                 characteristic,
                 value,
                 transactionId,
-                new SafeAction<>(successAction, errorAction));
+                new SafeAction<>(characteristicResult(characteristic, successAction), errorAction));
     }
 
     private void safeWriteCharacteristicForDevice(final Characteristic characteristic,
                                                   final byte[] value,
-                                                  final String transactionId,
-                                                  final SafeAction<BleData.CharacteristicMessage> safeAction) {
-        final RxBleConnection connection = getConnectionOrReject(characteristic.getService().getDevice(), safeAction);
+                                                  final TransactionId transactionId,
+                                                  final SafeAction<byte[]> safeAction) {
+        final BackendConnection connection = getConnectionOrReject(characteristic.getService().getDevice(), safeAction);
         if (connection == null) {
             return;
         }
-        final Subscription subscription = connection
-                .writeCharacteristic(characteristic.getNativeCharacteristic(), value)
+        final Subscription subscription = instrumentedWrite(characteristic, connection, value)
                 .doOnUnsubscribe(new Action0() {
                     @Override
                     public void call() {
-                        safeAction.onError(new Throwable("Canceled"));
+                        safeAction.onError(BleErrorException.OPERATION_CANCELLED);
                         transactions.removeTransactionSubscription(transactionId);
                     }
                 })
@@ -698,8 +1488,10 @@ public class BleHelper {
                             safeAction.onError(new CharacteristicNotFoundException(
                                     "Characteristic not found for :"
                                             + UUIDConverter.fromUUID(
-                                            characteristic.getNativeCharacteristic().getUuid())
+                                            characteristic.getNativeCharacteristic().getUuid()),
+                                    characteristic.getDeviceId(), characteristic.getId()
                             ));
+                            transactions.removeTransactionSubscription(transactionId);
                             return;
                         }
                         safeAction.onError(e);
@@ -708,19 +1500,21 @@ public class BleHelper {
 
                     @Override
                     public void onNext(byte[] bytes) {
-                        characteristic.logValue("Write to", bytes);
-                        safeAction.onSuccess(converter.convertToBleCharacteristicMessage(characteristic, bytes));
+                        safeAction.onSuccess(bytes);
                     }
                 });
 
-        transactions.replaceTransactionSubscription(transactionId, subscription);
+        if (!subscription.isUnsubscribed()) {
+            transactions.replaceTransactionSubscription(characteristic.getDeviceId(), transactionId, subscription);
+        }
     }
 
     void readCharacteristicForDevice(final String deviceId,
                                      final String serviceUUID,
                                      final String characteristicUUID,
-                                     final String transactionId,
-                                     final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+                                     final long maxAgeMillis,
+                                     final TransactionId transactionId,
+                                     final OnSuccessAction<MessageLite> successAction,
                                      final OnErrorAction errorAction) {
 
         final Characteristic characteristic = getCharacteristicOrReject(
@@ -729,13 +1523,15 @@ public class BleHelper {
             return;
         }
 
-        safeReadCharacteristicForDevice(characteristic, transactionId, new SafeAction<>(successAction, errorAction));
+        safeReadCharacteristicForDevice(characteristic, maxAgeMillis, transactionId,
+                new SafeAction<>(characteristicResult(characteristic, successAction), errorAction));
     }
 
     void readCharacteristicForService(final int serviceIdentifier,
                                       final String characteristicUUID,
-                                      final String transactionId,
-                                      final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+                                      final long maxAgeMillis,
+                                      final TransactionId transactionId,
+                                      final OnSuccessAction<MessageLite> successAction,
                                       final OnErrorAction errorAction) {
 
         final Characteristic characteristic = getCharacteristicOrReject(
@@ -744,12 +1540,14 @@ public class BleHelper {
             return;
         }
 
-        safeReadCharacteristicForDevice(characteristic, transactionId, new SafeAction<>(successAction, errorAction));
+        safeReadCharacteristicForDevice(characteristic, maxAgeMillis, transactionId,
+                new SafeAction<>(characteristicResult(characteristic, successAction), errorAction));
     }
 
     void readCharacteristic(final int characteristicIdentifier,
-                            final String transactionId,
-                            final OnSuccessAction<BleData.CharacteristicMessage> successAction,
+                            final long maxAgeMillis,
+                            final TransactionId transactionId,
+                            final OnSuccessAction<MessageLite> successAction,
                             final OnErrorAction errorAction) {
 
         final Characteristic characteristic = getCharacteristicOrReject(characteristicIdentifier, errorAction);
@@ -757,24 +1555,33 @@ public class BleHelper {
             return;
         }
 
-        safeReadCharacteristicForDevice(characteristic, transactionId, new SafeAction<>(successAction, errorAction));
+        safeReadCharacteristicForDevice(characteristic, maxAgeMillis, transactionId,
+                new SafeAction<>(characteristicResult(characteristic, successAction), errorAction));
     }
 
 
     private void safeReadCharacteristicForDevice(final Characteristic characteristic,
-                                                 final String transactionId,
-                                                 final SafeAction<BleData.CharacteristicMessage> safeAction) {
-        final RxBleConnection connection = getConnectionOrReject(characteristic.getService().getDevice(), safeAction);
+                                                 final long maxAgeMillis,
+                                                 final TransactionId transactionId,
+                                                 final SafeAction<byte[]> safeAction) {
+        final byte[] cachedValue = valueCache.get(characteristic.getId(), maxAgeMillis);
+        if (cachedValue != null) {
+            trace(TraceEvent.READ, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_CACHED, cachedValue);
+            characteristic.logValue("Cached read from", cachedValue);
+            safeAction.onSuccess(cachedValue);
+            return;
+        }
+
+        final BackendConnection connection = getConnectionOrReject(characteristic.getService().getDevice(), safeAction);
         if (connection == null) {
             return;
         }
 
-        final Subscription subscription = connection
-                .readCharacteristic(characteristic.getNativeCharacteristic())
+        final Subscription subscription = instrumentedRead(characteristic, connection)
                 .doOnUnsubscribe(new Action0() {
                     @Override
                     public void call() {
-                        safeAction.onError(new Throwable("Canceled"));
+                        safeAction.onError(BleErrorException.OPERATION_CANCELLED);
                         transactions.removeTransactionSubscription(transactionId);
                     }
                 })
@@ -790,7 +1597,9 @@ public class BleHelper {
                             safeAction.onError(new CharacteristicNotFoundException(
                                     "Characteristic not found for :"
                                             + UUIDConverter.fromUUID(
-                                            characteristic.getNativeCharacteristic().getUuid())));
+                                            characteristic.getNativeCharacteristic().getUuid()),
+                                    characteristic.getDeviceId(), characteristic.getId()));
+                            transactions.removeTransactionSubscription(transactionId);
                             return;
                         }
                         safeAction.onError(e);
@@ -799,18 +1608,22 @@ public class BleHelper {
 
                     @Override
                     public void onNext(byte[] bytes) {
-                        characteristic.logValue("Read from", bytes);
-                        safeAction.onSuccess(converter.convertToBleCharacteristicMessage(characteristic, bytes));
+                        safeAction.onSuccess(bytes);
                     }
                 });
 
-        transactions.replaceTransactionSubscription(transactionId, subscription);
+        if (!subscription.isUnsubscribed()) {
+            transactions.replaceTransactionSubscription(characteristic.getDeviceId(), transactionId, subscription);
+        }
     }
 
     void monitorCharacteristicForDevice(final String deviceId,
                                                final String serviceUUID,
                                                final String characteristicUUID,
-                                               final String transactionId,
+                                               final NotificationOperators operators,
+                                               final int recordingId,
+                                               final int ringId,
+                                               final TransactionId transactionId,
                                                final OnSuccessAction<Void> successAction,
                                                final OnErrorAction errorAction) {
 
@@ -820,12 +1633,16 @@ public class BleHelper {
             return;
         }
 
-        safeMonitorCharacteristicForDevice(characteristic, transactionId, new SafeAction<>(successAction, errorAction));
+        safeMonitorCharacteristicForDevice(characteristic, operators, recordingId, ringId, transactionId,
+                new SafeAction<>(successAction, errorAction));
     }
 
     void monitorCharacteristicForService(final int serviceIdentifier,
                                                 final String characteristicUUID,
-                                                final String transactionId,
+                                                final NotificationOperators operators,
+                                                final int recordingId,
+                                                final int ringId,
+                                                final TransactionId transactionId,
                                                 final OnSuccessAction<Void> successAction,
                                                 final OnErrorAction errorAction) {
 
@@ -835,11 +1652,15 @@ public class BleHelper {
             return;
         }
 
-        safeMonitorCharacteristicForDevice(characteristic, transactionId, new SafeAction<>(successAction, errorAction));
+        safeMonitorCharacteristicForDevice(characteristic, operators, recordingId, ringId, transactionId,
+                new SafeAction<>(successAction, errorAction));
     }
 
     void monitorCharacteristic(final int characteristicIdentifier,
-                                      final String transactionId,
+                                      final NotificationOperators operators,
+                                      final int recordingId,
+                                      final int ringId,
+                                      final TransactionId transactionId,
                                       final OnSuccessAction<Void> successAction,
                                       final OnErrorAction errorAction) {
 
@@ -848,56 +1669,42 @@ public class BleHelper {
             return;
         }
 
-        safeMonitorCharacteristicForDevice(characteristic, transactionId, new SafeAction<>(successAction, errorAction));
+        safeMonitorCharacteristicForDevice(characteristic, operators, recordingId, ringId, transactionId,
+                new SafeAction<>(successAction, errorAction));
     }
 
     private void safeMonitorCharacteristicForDevice(final Characteristic characteristic,
-                                                    final String transactionId,
+                                                    final NotificationOperators operators,
+                                                    final int recordingId,
+                                                    final int ringId,
+                                                    final TransactionId transactionId,
                                                     final SafeAction<Void> safeAction) {
-        final RxBleConnection connection = getConnectionOrReject(characteristic.getService().getDevice(), safeAction);
+        final BackendConnection connection = getConnectionOrReject(characteristic.getService().getDevice(), safeAction);
         if (connection == null) {
             return;
         }
+        final NotificationRecorder recorder = recordingId != NotificationRecordings.NO_RECORDING
+                ? recordings.get(recordingId) : null;
+        if (recordingId != NotificationRecordings.NO_RECORDING && recorder == null) {
+            safeAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Recording not found for id : " + recordingId));
+            return;
+        }
+        final NotificationRing ring = ringId != NotificationRings.NO_RING ? notificationRings.get(ringId) : null;
+        if (ringId != NotificationRings.NO_RING && ring == null) {
+            safeAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Notification ring not found for id : " + ringId));
+            return;
+        }
 
-        final BluetoothGattCharacteristic gattCharacteristic = characteristic.getNativeCharacteristic();
-
-        final int properties = gattCharacteristic.getProperties();
-        final boolean notifications = (properties & BluetoothGattCharacteristic.PROPERTY_NOTIFY) != 0;
-        final boolean indications = (properties & BluetoothGattCharacteristic.PROPERTY_INDICATE) != 0;
-
-        final Subscription subscription = Observable.just(connection)
-                .flatMap(new Func1<RxBleConnection, Observable<Observable<byte[]>>>() {
-                    @Override
-                    public Observable<Observable<byte[]>> call(RxBleConnection connection) {
-                        if (notifications || indications) {
-                            // NotificationSetupMode.COMPAT does not write CCC Descriptor on it's own
-                            return connection.setupNotification(gattCharacteristic, NotificationSetupMode.COMPAT);
-                        }
-
-                        return Observable.error(new CannotMonitorCharacteristicException(gattCharacteristic));
-                    }
-                })
-                .flatMap(new Func1<Observable<byte[]>, Observable<byte[]>>() {
-                    @Override
-                    public Observable<byte[]> call(Observable<byte[]> observable) {
-                        BluetoothGattDescriptor cccDescriptor =
-                                gattCharacteristic.getDescriptor(Characteristic.CLIENT_CHARACTERISTIC_CONFIG_UUID);
-                        if (cccDescriptor == null) {
-                            return observable;
-                        } else {
-                            byte[] enableValue = notifications
-                                    ? BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE
-                                    : BluetoothGattDescriptor.ENABLE_INDICATION_VALUE;
-                            // Keep in mind that every subscription to this observable will initiate another descriptor write
-                            return observable.mergeWith(connection.writeDescriptor(cccDescriptor, enableValue).ignoreElements());
-                        }
-                    }
-                })
+        final Subscription subscription = operators
+                .apply(instrumentedNotifications(characteristic, connection), Schedulers.computation())
                 .doOnUnsubscribe(new Action0() {
                     @Override
                     public void call() {
                         safeAction.onSuccess(null);
                         transactions.removeTransactionSubscription(transactionId);
+                        forgetMonitor(characteristic, transactionId);
                     }
                 })
                 .subscribe(new Observer<byte[]>() {
@@ -905,27 +1712,147 @@ public class BleHelper {
                     public void onCompleted() {
                         safeAction.onSuccess(null);
                         transactions.removeTransactionSubscription(transactionId);
+                        forgetMonitor(characteristic, transactionId);
                     }
 
                     @Override
                     public void onError(Throwable e) {
                         safeAction.onError(e);
                         transactions.removeTransactionSubscription(transactionId);
+                        forgetMonitor(characteristic, transactionId);
                     }
 
                     @Override
                     public void onNext(byte[] bytes) {
-                        characteristic.logValue("Notification from", bytes);
-                        BleData.MonitorCharacteristicMessage monitorCharacteristicMessage = BleData.MonitorCharacteristicMessage.newBuilder()
-                                .setTransactionId(transactionId)
-                                .setCharacteristicMessage(converter.convertToBleCharacteristicMessage(characteristic, bytes))
-                                .build();
-                        sendEvent(Event.ReadEvent, monitorCharacteristicMessage);
+                        final long startNanos = System.nanoTime();
+                        if (ring != null) {
+                            ring.append(characteristic.getId(), SystemClock.elapsedRealtimeNanos(), bytes);
+                        } else if (recorder != null) {
+                            try {
+                                recorder.append(characteristic.getId(), SystemClock.elapsedRealtimeNanos(), bytes);
+                            } catch (IOException e) {
+                                throw Exceptions.propagate(e);
+                            }
+                        } else if (compactProtocol) {
+                            sendEvent(transactionId, Event.CharacteristicValueEvent, converter.convertToCharacteristicValueMessage(
+                                    transactionId, characteristic, bytes, SystemClock.elapsedRealtimeNanos(),
+                                    payloadDecoders.get(characteristic.getUUID())));
+                        } else {
+                            sendEvent(transactionId, Event.ReadEvent, converter.convertToMonitorCharacteristicMessage(
+                                    transactionId, characteristic, bytes, payloadDecoders.get(characteristic.getUUID())));
+                        }
+                        metrics.recordLatency(Operation.NOTIFICATION, characteristic.getDeviceId(), startNanos);
                     }
                 });
 
         safeAction.onSuccess(null);
-        transactions.replaceTransactionSubscription(transactionId, subscription);
+        if (!subscription.isUnsubscribed()) {
+            transactions.replaceTransactionSubscription(characteristic.getDeviceId(), transactionId, subscription);
+        }
+        final RestoreStateStore store = restoreStateStore;
+        if (store != null && !subscription.isUnsubscribed()) {
+            store.monitorStarted(characteristic.getDeviceId(),
+                    converter.convertToRestoredMonitorMessage(characteristic, transactionId));
+        }
+    }
+
+    private void forgetMonitor(Characteristic characteristic, TransactionId transactionId) {
+        final RestoreStateStore store = restoreStateStore;
+        if (store != null) {
+            store.monitorStopped(characteristic.getDeviceId(), transactionId);
+        }
+    }
+
+    /**
+     * Writes the characteristic, recording metrics and trace events and invalidating the cached value.
+     */
+    private Observable<byte[]> instrumentedWrite(final Characteristic characteristic,
+                                                 final BackendConnection connection,
+                                                 final byte[] value) {
+        return Observable.defer(new Func0<Observable<byte[]>>() {
+            @Override
+            public Observable<byte[]> call() {
+                final long startNanos = System.nanoTime();
+                return connection
+                        .writeCharacteristic(characteristic.getNativeCharacteristic(), value)
+                        .doOnNext(new Action1<byte[]>() {
+                            @Override
+                            public void call(byte[] bytes) {
+                                metrics.recordLatency(Operation.WRITE, characteristic.getDeviceId(), startNanos);
+                                metrics.recordBytesOut(bytes);
+                                trace(TraceEvent.WRITE, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_OK, bytes);
+                                characteristic.logValue("Write to", bytes);
+                                valueCache.invalidate(characteristic.getId());
+                            }
+                        })
+                        .doOnError(new Action1<Throwable>() {
+                            @Override
+                            public void call(Throwable throwable) {
+                                metrics.recordError(throwable);
+                                trace(TraceEvent.WRITE, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_ERROR, null);
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * Reads the characteristic, recording metrics and trace events and caching the value.
+     */
+    private Observable<byte[]> instrumentedRead(final Characteristic characteristic,
+                                                final BackendConnection connection) {
+        return Observable.defer(new Func0<Observable<byte[]>>() {
+            @Override
+            public Observable<byte[]> call() {
+                final long startNanos = System.nanoTime();
+                return connection
+                        .readCharacteristic(characteristic.getNativeCharacteristic())
+                        .doOnNext(new Action1<byte[]>() {
+                            @Override
+                            public void call(byte[] bytes) {
+                                metrics.recordLatency(Operation.READ, characteristic.getDeviceId(), startNanos);
+                                metrics.recordBytesIn(bytes);
+                                trace(TraceEvent.READ, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_OK, bytes);
+                                characteristic.logValue("Read from", bytes);
+                                valueCache.put(characteristic.getId(), bytes);
+                            }
+                        })
+                        .doOnError(new Action1<Throwable>() {
+                            @Override
+                            public void call(Throwable throwable) {
+                                metrics.recordError(throwable);
+                                trace(TraceEvent.READ, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_ERROR, null);
+                            }
+                        });
+            }
+        });
+    }
+
+    /**
+     * Notifications of the characteristic shared with every other listener, recording metrics and trace events
+     * and invalidating the cached value.
+     */
+    private Observable<byte[]> instrumentedNotifications(final Characteristic characteristic,
+                                                         final BackendConnection connection) {
+        final Observable<byte[]> notifications = Observable
+                .merge(connection.setupNotification(characteristic.getNativeCharacteristic()))
+                .doOnNext(new Action1<byte[]>() {
+                    @Override
+                    public void call(byte[] bytes) {
+                        metrics.recordBytesIn(bytes);
+                        trace(TraceEvent.NOTIFICATION, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_OK, bytes);
+                        characteristic.logValue("Notification from", bytes);
+                        valueCache.invalidate(characteristic.getId());
+                    }
+                })
+                .doOnError(new Action1<Throwable>() {
+                    @Override
+                    public void call(Throwable throwable) {
+                        metrics.recordError(throwable);
+                        trace(TraceEvent.NOTIFICATION, characteristic.getDeviceId(), characteristic.getId(), TraceRecorder.STATUS_ERROR, null);
+                    }
+                });
+        return sharedNotifications.share(characteristic.getId(), notifications);
     }
 
     @Nullable
@@ -936,25 +1863,27 @@ public class BleHelper {
 
         final UUID[] UUIDs = UUIDConverter.convert(serviceUUID, characteristicUUID);
         if (UUIDs == null) {
-            errorAction.onError(new Throwable("Invalid UUIDs for service : " + serviceUUID + " and characteristic " + characteristicUUID));
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "Invalid UUIDs for service : " + serviceUUID + " and characteristic " + characteristicUUID));
             return null;
         }
 
-        final Device device = connectedDevices.get(deviceId);
+        final Device device = connectedDevices.getConnectedDeviceMessage(deviceId);
         if (device == null) {
-            errorAction.onError(new RxBleDeviceNotFoundException("Device not found for id : " + deviceId));
+            errorAction.onError(new RxBleDeviceNotFoundException("Device not found for id : " + deviceId, deviceId));
             return null;
         }
 
         final Service service = device.getServiceByUUID(UUIDs[0]);
         if (service == null) {
-            errorAction.onError(new ServiceNotFoundException("Service not found for uuid : " + serviceUUID));
+            errorAction.onError(new ServiceNotFoundException("Service not found for uuid : " + serviceUUID, deviceId, BleErrorException.NO_ATTRIBUTE));
             return null;
         }
 
         final Characteristic characteristic = service.getCharacteristicByUUID(UUIDs[1]);
         if (characteristic == null) {
-            errorAction.onError(new ServiceNotFoundException("Characteristic not found for uuid : " + characteristicUUID));
+            errorAction.onError(new CharacteristicNotFoundException("Characteristic not found for uuid : " + characteristicUUID,
+                    deviceId, BleErrorException.NO_ATTRIBUTE));
             return null;
         }
 
@@ -968,19 +1897,22 @@ public class BleHelper {
 
         final UUID uuid = UUIDConverter.convert(characteristicUUID);
         if (uuid == null) {
-            errorAction.onError(new Throwable("UUID parse exception for " + characteristicUUID));
+            errorAction.onError(new BleErrorException(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT,
+                    "UUID parse exception for " + characteristicUUID));
             return null;
         }
 
         final Service service = discoveredServices.get(serviceIdentifier);
         if (service == null) {
-            errorAction.onError(new ServiceNotFoundException("Service not found for identifier " + serviceIdentifier));
+            errorAction.onError(new ServiceNotFoundException("Service not found for identifier " + serviceIdentifier,
+                    null, serviceIdentifier));
             return null;
         }
 
         final Characteristic characteristic = service.getCharacteristicByUUID(uuid);
         if (characteristic == null) {
-            errorAction.onError(new CharacteristicNotFoundException("Characteristic not found for uuid " + uuid));
+            errorAction.onError(new CharacteristicNotFoundException("Characteristic not found for uuid " + uuid,
+                    service.getDevice().getBackendDevice().getMacAddress(), BleErrorException.NO_ATTRIBUTE));
             return null;
         }
         return characteristic;
@@ -991,18 +1923,20 @@ public class BleHelper {
 
         final Characteristic characteristic = discoveredCharacteristics.get(characteristicIdentifier);
         if (characteristic == null) {
-            errorAction.onError(new CharacteristicNotFoundException("Characteristic not found for identifier " + characteristicIdentifier));
+            errorAction.onError(new CharacteristicNotFoundException("Characteristic not found for identifier " + characteristicIdentifier,
+                    null, characteristicIdentifier));
             return null;
         }
 
         return characteristic;
     }
 
-    private RxBleConnection getConnectionOrReject(final Device device,
-                                                  OnErrorAction errorAction) {
-        final RxBleConnection connection = device.getConnection();
+    private BackendConnection getConnectionOrReject(final Device device,
+                                                    OnErrorAction errorAction) {
+        final BackendConnection connection = device.getConnection();
         if (connection == null) {
-            errorAction.onError(new ConnectionNotFoundException("Could not find connection for : " + device.getRxBleDevice().getMacAddress()));
+            errorAction.onError(new ConnectionNotFoundException("Could not find connection for : " + device.getBackendDevice().getMacAddress(),
+                    device.getBackendDevice().getMacAddress()));
             return null;
         }
         return connection;
@@ -1013,7 +1947,8 @@ public class BleHelper {
                                               @NonNull OnErrorAction errorAction) {
         final List<Service> services = device.getServices();
         if (services == null) {
-            errorAction.onError(new ServiceNotFoundException(device.getRxBleDevice().getMacAddress()));
+            errorAction.onError(new ServiceNotFoundException(device.getBackendDevice().getMacAddress(),
+                    device.getBackendDevice().getMacAddress(), BleErrorException.NO_ATTRIBUTE));
             return null;
         }
         return services;
@@ -1021,20 +1956,23 @@ public class BleHelper {
 
     @Nullable
     private Device getDeviceOrReject(final String deviceId, OnErrorAction errorAction) {
-        final Device device = connectedDevices.get(deviceId);
+        final Device device = connectedDevices.getConnectedDeviceMessage(deviceId);
         if (device == null) {
-            errorAction.onError(new RxBleDeviceNotFoundException(deviceId));
+            errorAction.onError(new RxBleDeviceNotFoundException(deviceId, deviceId));
             return null;
         }
         return device;
     }
 
+    /**
+     * Releases discovered attributes of the device together with their identifiers and cached values.
+     */
     private void cleanServicesAndCharacteristicsForDevice(Device device) {
         for (int i = discoveredServices.size() - 1; i >=0; i--) {
             int key = discoveredServices.keyAt(i);
             Service service = discoveredServices.get(key);
 
-            if (service.getDevice().getRxBleDevice().getMacAddress().equals(device.getRxBleDevice().getMacAddress())) {
+            if (service.getDevice().getBackendDevice().getMacAddress().equals(device.getBackendDevice().getMacAddress())) {
                 discoveredServices.remove(key);
             }
         }
@@ -1042,15 +1980,57 @@ public class BleHelper {
             int key = discoveredCharacteristics.keyAt(i);
             Characteristic characteristic = discoveredCharacteristics.get(key);
 
-            if (characteristic.getService().getDevice().getRxBleDevice().getMacAddress().equals(device.getRxBleDevice().getMacAddress())) {
+            if (characteristic.getService().getDevice().getBackendDevice().getMacAddress().equals(device.getBackendDevice().getMacAddress())) {
                 discoveredCharacteristics.remove(key);
+                valueCache.invalidate(key);
             }
         }
+        idGenerator.forgetDevice(device.getBackendDevice().getMacAddress());
     }
 
-    private <T> void sendEvent(Event event, T value){
+    private OnSuccessAction<byte[]> characteristicResult(final Characteristic characteristic,
+                                                         final OnSuccessAction<MessageLite> successAction) {
+        return new OnSuccessAction<byte[]>() {
+            @Override
+            public void onSuccess(byte[] value) {
+                successAction.onSuccess(convertToCharacteristicResultMessage(characteristic, value));
+            }
+        };
+    }
+
+    private MessageLite convertToCharacteristicResultMessage(Characteristic characteristic, byte[] value) {
+        final PayloadDecoder decoder = payloadDecoders.get(characteristic.getUUID());
+        if (compactProtocol) {
+            return converter.convertToCharacteristicValueMessage(
+                    null, characteristic, value, SystemClock.elapsedRealtimeNanos(), decoder);
+        }
+        return converter.convertToBleCharacteristicMessage(characteristic, value, decoder);
+    }
+
+    private void trace(TraceEvent event, @Nullable String deviceId, int attributeId, short status, @Nullable byte[] value) {
+        if (traceRecorder.isEnabled()) {
+            traceRecorder.record(event, MacAddress.pack(deviceId), attributeId, status, value);
+        }
+    }
+
+    private <T> void sendEvent(Event event, T value) {
+        sendEvent(null, event, value);
+    }
+
+    private <T> void sendEvent(@Nullable TransactionId transactionId, Event event, T value){
+        final EventDelegate eventDelegate = this.eventDelegate;
         if (eventDelegate != null) {
-            eventDelegate.dispatchEvent(event, value);
+            final long startNanos = metrics.onDispatchStarted();
+            try {
+                if (transactionId != null) {
+                    eventDelegate.dispatchEvent(transactionId, event, value);
+                } else {
+                    eventDelegate.dispatchEvent(event, value);
+                }
+            } finally {
+                metrics.onEventDispatched(startNanos);
+            }
+            trace(TraceEvent.EVENT_EMISSION, null, event.ordinal(), TraceRecorder.STATUS_OK, null);
         }
     }
 }
\ No newline at end of file
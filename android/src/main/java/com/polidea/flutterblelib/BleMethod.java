@@ -29,4 +29,21 @@ public interface BleMethod {
     String monitorCharacteristicForDevice = "monitorCharacteristicForDevice";
     String monitorCharacteristicForService = "monitorCharacteristicForService";
     String monitorCharacteristic = "monitorCharacteristic";
+    String openMonitorChannel = "openMonitorChannel";
+    String batch = "batch";
+    String runGattProgram = "runGattProgram";
+    String metrics = "metrics";
+    String memoryStats = "memoryStats";
+    String setTraceEnabled = "setTraceEnabled";
+    String dumpTrace = "dumpTrace";
+    String configureValueCache = "configureValueCache";
+    String configureScannedDeviceRegistry = "configureScannedDeviceRegistry";
+    String queryScannedDevices = "queryScannedDevices";
+    String registerPayloadSchema = "registerPayloadSchema";
+    String unregisterPayloadSchema = "unregisterPayloadSchema";
+    String openRecording = "openRecording";
+    String rotateRecording = "rotateRecording";
+    String closeRecording = "closeRecording";
+    String openNotificationRing = "openNotificationRing";
+    String closeNotificationRing = "closeNotificationRing";
 }
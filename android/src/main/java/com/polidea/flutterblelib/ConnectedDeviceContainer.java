@@ -5,16 +5,23 @@ import android.support.annotation.Nullable;
 
 import com.polidea.flutterblelib.wrapper.Device;
 
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class ConnectedDeviceContainer extends HashMap<String, Device> {
+/**
+ * Connected devices by MAC address. Devices are added and removed from Rx callbacks of connections while
+ * the platform thread looks them up, so the container is concurrent.
+ */
+public class ConnectedDeviceContainer extends ConcurrentHashMap<String, Device> {
 
     public void register(Device connectedDeviceData) {
-        this.put(connectedDeviceData.getRxBleDevice().getMacAddress(), connectedDeviceData);
+        this.put(connectedDeviceData.getBackendDevice().getMacAddress(), connectedDeviceData);
     }
 
+    /**
+     * @return connected device or null, also for a null address, which the map itself rejects
+     */
     @Nullable
-    public Device getConnectedDeviceMessage(String macAddress) {
-        return get(macAddress);
+    public Device getConnectedDeviceMessage(@Nullable String macAddress) {
+        return macAddress != null ? get(macAddress) : null;
     }
 }
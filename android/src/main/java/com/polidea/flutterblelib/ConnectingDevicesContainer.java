@@ -17,6 +17,10 @@ public class ConnectingDevicesContainer {
         return disposableMap.removeSubscription(key);
     }
 
+    public int getConnectingDevicesCount() {
+        return disposableMap.size();
+    }
+
     public void clearConnectigDeviceSubscription() {
         disposableMap.removeAllSubscriptions();
     }
@@ -4,20 +4,43 @@ package com.polidea.flutterblelib;
 import android.support.annotation.Nullable;
 import android.util.Base64;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import com.polidea.flutterblelib.backend.BackendConnection;
+import com.polidea.flutterblelib.backend.BackendDevice;
+import com.polidea.flutterblelib.backend.BackendScanResult;
+import com.polidea.flutterblelib.backend.LatencyDistribution;
+import com.polidea.flutterblelib.backend.SimulationConfig;
+import com.polidea.flutterblelib.cache.CharacteristicValueCache;
+import com.polidea.flutterblelib.decoder.PayloadDecoder;
+import com.polidea.flutterblelib.exception.BleErrorException;
+import com.polidea.flutterblelib.exception.CannotMonitorCharacteristicException;
+import com.polidea.flutterblelib.exception.SimulatedFaultException;
+import com.polidea.flutterblelib.metrics.BleMetrics;
+import com.polidea.flutterblelib.metrics.LatencyHistogram;
+import com.polidea.flutterblelib.metrics.Operation;
+import com.polidea.flutterblelib.metrics.RegistryStats;
+import com.polidea.flutterblelib.metrics.StartupMetrics;
+import com.polidea.flutterblelib.transport.NotificationRing;
 import com.polidea.flutterblelib.utils.StringUtils;
+import com.polidea.flutterblelib.utils.TransactionId;
 import com.polidea.flutterblelib.utils.UUIDConverter;
 import com.polidea.flutterblelib.wrapper.Characteristic;
 import com.polidea.flutterblelib.wrapper.Device;
 import com.polidea.flutterblelib.wrapper.ScanSettingsWrapper;
 import com.polidea.flutterblelib.wrapper.Service;
-import com.polidea.rxandroidble.RxBleConnection;
-import com.polidea.rxandroidble.RxBleDevice;
+import com.polidea.rxandroidble.exceptions.BleCharacteristicNotFoundException;
+import com.polidea.rxandroidble.exceptions.BleDisconnectedException;
+import com.polidea.rxandroidble.exceptions.BleGattException;
+import com.polidea.rxandroidble.exceptions.BleScanException;
 import com.polidea.rxandroidble.internal.RxBleLog;
-import com.polidea.rxandroidble.scan.ScanResult;
 import com.polidea.rxandroidble.scan.ScanSettings;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 
 class Converter {
@@ -53,16 +76,17 @@ class Converter {
                 .setScanMode(scanDataMessage.getScanMode())
                 .setCallbackType(scanDataMessage.getCallbackType())
                 .build(),
-                uuids
+                uuids,
+                scanDataMessage.getRegistryOnly()
         );
     }
 
-    BleData.ScanResultMessage convertToScanResultMessage(ScanResult scanResult) {
+    BleData.ScanResultMessage convertToScanResultMessage(BackendScanResult scanResult) {
         return BleData.ScanResultMessage.newBuilder()
                 .setBleDeviceMessage(convertToBleDeviceMessage(scanResult.getBleDevice()))
                 .setRssi(scanResult.getRssi())
                 .setTimestampNanos(scanResult.getTimestampNanos())
-                .setScanCallbackTypeMessage(scanResult.getCallbackType().ordinal())
+                .setScanCallbackTypeMessage(scanResult.getCallbackType())
                 .build();
     }
 
@@ -85,6 +109,84 @@ class Converter {
 
     }
 
+    @Nullable
+    BleData.BatchMessage convertToBatchMessage(byte[] batchMessageBytes) {
+        try {
+            return BleData.BatchMessage.parseFrom(batchMessageBytes);
+        } catch (InvalidProtocolBufferException e) {
+            return null;
+        }
+    }
+
+    @Nullable
+    BleData.ScannedDeviceQueryMessage convertToScannedDeviceQueryMessage(byte[] queryMessageBytes) {
+        try {
+            return BleData.ScannedDeviceQueryMessage.parseFrom(queryMessageBytes);
+        } catch (InvalidProtocolBufferException e) {
+            return null;
+        }
+    }
+
+    BleData.GattProgramMessage convertToGattProgramMessage(byte[] programMessageBytes) {
+        try {
+            return BleData.GattProgramMessage.parseFrom(programMessageBytes);
+        } catch (InvalidProtocolBufferException e) {
+            return null;
+        }
+    }
+
+    BleData.BatchCommandResultMessage convertToBatchCommandResultMessage(@Nullable byte[] value, int mtu, int rssi) {
+        final BleData.BatchCommandResultMessage.Builder builder = BleData.BatchCommandResultMessage.newBuilder()
+                .setStatus(BleData.BatchCommandStatusMessage.SUCCEEDED)
+                .setMtu(mtu)
+                .setRssi(rssi);
+        if (value != null) {
+            builder.setValue(ByteString.copyFrom(value));
+        }
+        return builder.build();
+    }
+
+    @Nullable
+    SimulationConfig convertToSimulationConfig(byte[] simulatedBackendMessageBytes) {
+        final BleData.SimulatedBackendMessage message;
+        try {
+            message = BleData.SimulatedBackendMessage.newBuilder().mergeFrom(simulatedBackendMessageBytes).build();
+        } catch (InvalidProtocolBufferException e) {
+            return null;
+        }
+        final SimulationConfig.Builder builder = new SimulationConfig.Builder()
+                .setConnectFailureRate(message.getConnectFailureRate())
+                .setGattFailureRate(message.getGattFailureRate())
+                .setNotificationDropRate(message.getNotificationDropRate())
+                .setLinkLossRate(message.getLinkLossRate())
+                .setSeed(message.getSeed());
+        if (message.getDeviceCount() > 0) {
+            builder.setDeviceCount(message.getDeviceCount());
+        }
+        if (message.getAdvertisementIntervalMillis() > 0) {
+            builder.setAdvertisementIntervalMillis(message.getAdvertisementIntervalMillis());
+        }
+        if (message.getMaxConnectLatencyMillis() > 0) {
+            builder.setConnectLatency(LatencyDistribution.uniform(
+                    message.getMinConnectLatencyMillis(), message.getMaxConnectLatencyMillis()));
+        }
+        if (message.getMaxDiscoveryLatencyMillis() > 0) {
+            builder.setDiscoveryLatency(LatencyDistribution.uniform(
+                    message.getMinDiscoveryLatencyMillis(), message.getMaxDiscoveryLatencyMillis()));
+        }
+        if (message.getMaxGattLatencyMillis() > 0) {
+            builder.setGattLatency(LatencyDistribution.uniform(
+                    message.getMinGattLatencyMillis(), message.getMaxGattLatencyMillis()));
+        }
+        if (message.getNotificationIntervalMillis() > 0) {
+            builder.setNotificationIntervalMillis(message.getNotificationIntervalMillis());
+        }
+        if (message.getNotificationPayloadSize() > 0) {
+            builder.setNotificationPayloadSize(message.getNotificationPayloadSize());
+        }
+        return builder.build();
+    }
+
     int convertLogLevelMessageToInt(BleData.LogLevelMessage logLevel) {
         switch (logLevel) {
             case VERBOSE:
@@ -125,25 +227,24 @@ class Converter {
 
 
     BleData.BleDeviceMessage convertToBleDeviceMessage(Device device) {
-        final RxBleDevice rxBleDevice = device.getRxBleDevice();
-        if (rxBleDevice == null) {
+        final BackendDevice backendDevice = device.getBackendDevice();
+        if (backendDevice == null) {
             return null;
         }
-        final RxBleConnection rxBleConnection = device.getConnection();
-        if (rxBleConnection == null) {
-            return convertToBleDeviceMessage(rxBleDevice, NO_VALUE, NO_VALUE);
+        final BackendConnection connection = device.getConnection();
+        if (connection == null) {
+            return convertToBleDeviceMessage(backendDevice, NO_VALUE, NO_VALUE);
         }
-        return convertToBleDeviceMessage(rxBleDevice, rxBleConnection.getMtu(), NO_VALUE);
+        return convertToBleDeviceMessage(backendDevice, connection.getMtu(), NO_VALUE);
 
     }
 
-    BleData.BleDeviceMessage convertToBleDeviceMessage(RxBleDevice rxBleDevice) {
-        return convertToBleDeviceMessage(rxBleDevice, NO_VALUE, NO_VALUE);
+    BleData.BleDeviceMessage convertToBleDeviceMessage(BackendDevice device) {
+        return convertToBleDeviceMessage(device, NO_VALUE, NO_VALUE);
     }
 
-    BleData.BleDeviceMessage convertToBleDeviceMessage(RxBleDevice device, int mtu, int rssi) {
-        final boolean isConnected = device.getConnectionState()
-                .equals(RxBleConnection.RxBleConnectionState.CONNECTED);
+    BleData.BleDeviceMessage convertToBleDeviceMessage(BackendDevice device, int mtu, int rssi) {
+        final boolean isConnected = device.isConnected();
 
         return BleData.BleDeviceMessage.newBuilder()
                 .setId(stringUtils.safeNullInstance(device.getMacAddress()))
@@ -164,24 +265,261 @@ class Converter {
                 .build();
     }
 
+    BleData.RestoredServiceMessage convertToRestoredServiceMessage(Service service) {
+        final BleData.RestoredServiceMessage.Builder builder = BleData.RestoredServiceMessage.newBuilder()
+                .setUuid(UUIDConverter.fromUUID(service.getUuid()))
+                .setIsPrimary(service.isPrimary());
+        for (Characteristic characteristic : service.getCharacteristics()) {
+            builder.addCharacteristicUuids(UUIDConverter.fromUUID(characteristic.getUUID()));
+        }
+        return builder.build();
+    }
+
+    BleData.RestoredMonitorMessage convertToRestoredMonitorMessage(Characteristic characteristic,
+                                                                   TransactionId transactionId) {
+        final BleData.RestoredMonitorMessage.Builder builder = BleData.RestoredMonitorMessage.newBuilder()
+                .setServiceUuid(UUIDConverter.fromUUID(characteristic.getService().getUuid()))
+                .setCharacteristicUuid(UUIDConverter.fromUUID(characteristic.getUUID()));
+        if (transactionId.isHandle()) {
+            builder.setTransactionHandle(transactionId.getHandle());
+        } else {
+            builder.setTransactionId(stringUtils.safeNullInstance(transactionId.getId()));
+        }
+        return builder.build();
+    }
+
     BleData.CharacteristicMessage convertToBleCharacteristicMessage(Characteristic characteristic, byte[] value){
+        return convertToBleCharacteristicMessage(characteristic, value, null);
+    }
+
+    /**
+     * @param decoder schema of the characteristic value, the decoded value replaces the raw one when it fits
+     */
+    BleData.CharacteristicMessage convertToBleCharacteristicMessage(Characteristic characteristic,
+                                                                    byte[] value,
+                                                                    @Nullable PayloadDecoder decoder) {
         final Service service = characteristic.getService();
         if (value == null) {
             value = characteristic.getValue();
         }
-        return BleData.CharacteristicMessage.newBuilder()
+        final double[] decodedValues = decoder != null ? decoder.decode(value) : null;
+        final BleData.CharacteristicMessage.Builder builder = BleData.CharacteristicMessage.newBuilder()
                 .setId(characteristic.getId())
                 .setUuid(UUIDConverter.fromUUID(characteristic.getUUID()))
                 .setServiceId(service.getId())
                 .setServiceUuid(UUIDConverter.fromUUID(service.getUuid()))
-                .setDeviceId(service.getDevice().getRxBleDevice().getMacAddress())
+                .setDeviceId(characteristic.getDeviceId())
                 .setIsReadable(characteristic.isReadable())
                 .setIsWritableWithResponse(characteristic.isWritableWithResponse())
                 .setIsWritableWithoutResponse(characteristic.isWritableWithoutResponse())
                 .setIsNotificable(characteristic.isNotifiable())
-                .setIsIndicatable(characteristic.isIndicatable())
-                .setValue(value != null ?  Base64.encodeToString(value, Base64.NO_WRAP) : NO_STRING_VALUE)
+                .setIsIndicatable(characteristic.isIndicatable());
+        if (decodedValues != null) {
+            builder.setDecodedValue(convertToDecodedValueMessage(decoder, decodedValues));
+        } else {
+            builder.setValue(value != null ?  Base64.encodeToString(value, Base64.NO_WRAP) : NO_STRING_VALUE);
+        }
+        return builder.build();
+    }
+
+    BleData.MonitorCharacteristicMessage convertToMonitorCharacteristicMessage(TransactionId transactionId,
+                                                                               Characteristic characteristic,
+                                                                               byte[] value,
+                                                                               @Nullable PayloadDecoder decoder) {
+        final BleData.MonitorCharacteristicMessage.Builder builder = BleData.MonitorCharacteristicMessage.newBuilder()
+                .setCharacteristicMessage(convertToBleCharacteristicMessage(characteristic, value, decoder));
+        if (transactionId.isHandle()) {
+            builder.setTransactionHandle(transactionId.getHandle());
+        } else {
+            builder.setTransactionId(stringUtils.safeNullInstance(transactionId.getId()));
+        }
+        return builder.build();
+    }
+
+    BleData.CharacteristicValueMessage convertToCharacteristicValueMessage(@Nullable TransactionId transactionId,
+                                                                           Characteristic characteristic,
+                                                                           byte[] value,
+                                                                           long timestampNanos,
+                                                                           @Nullable PayloadDecoder decoder) {
+        if (value == null) {
+            value = characteristic.getValue();
+        }
+        final double[] decodedValues = decoder != null ? decoder.decode(value) : null;
+        final BleData.CharacteristicValueMessage.Builder builder = BleData.CharacteristicValueMessage.newBuilder()
+                .setHandle(characteristic.getId())
+                .setTimestampNanos(timestampNanos);
+        if (decodedValues != null) {
+            builder.setDecodedValue(convertToDecodedValueMessage(decoder, decodedValues));
+        } else {
+            builder.setValue(value != null ? ByteString.copyFrom(value) : ByteString.EMPTY);
+        }
+        if (transactionId != null) {
+            if (transactionId.isHandle()) {
+                builder.setTransactionHandle(transactionId.getHandle());
+            } else {
+                builder.setTransactionId(stringUtils.safeNullInstance(transactionId.getId()));
+            }
+        }
+        return builder.build();
+    }
+
+    private BleData.DecodedValueMessage convertToDecodedValueMessage(PayloadDecoder decoder, double[] values) {
+        final BleData.DecodedValueMessage.Builder builder = BleData.DecodedValueMessage.newBuilder()
+                .setSchemaId(decoder.getId());
+        for (double value : values) {
+            builder.addValues(value);
+        }
+        return builder.build();
+    }
+
+    BleData.MetricsMessage convertToMetricsMessage(BleMetrics metrics,
+                                                   StartupMetrics startupMetrics,
+                                                   CharacteristicValueCache valueCache) {
+        final BleData.MetricsMessage.Builder builder = BleData.MetricsMessage.newBuilder()
+                .setBytesIn(metrics.getBytesIn())
+                .setBytesOut(metrics.getBytesOut())
+                .setEventsDispatched(metrics.getEventsDispatched())
+                .setConcurrentDispatches(metrics.getConcurrentDispatches())
+                .setMaxConcurrentDispatches(metrics.getMaxConcurrentDispatches())
+                .setValueCacheHits(valueCache.getHits())
+                .setValueCacheMisses(valueCache.getMisses())
+                .setValueCacheEvictions(valueCache.getEvictions())
+                .setStartup(convertToStartupMetricsMessage(startupMetrics));
+
+        final Operation[] operations = Operation.values();
+        for (Operation operation : operations) {
+            final LatencyHistogram histogram = metrics.getHistogram(operation);
+            if (histogram.getCount() > 0) {
+                builder.addHistograms(convertToLatencyHistogramMessage(operation, NO_STRING_VALUE, histogram));
+            }
+        }
+        for (Map.Entry<String, AtomicReferenceArray<LatencyHistogram>> entry : metrics.getDeviceHistograms().entrySet()) {
+            for (Operation operation : operations) {
+                final LatencyHistogram histogram = entry.getValue().get(operation.ordinal());
+                if (histogram != null && histogram.getCount() > 0) {
+                    builder.addHistograms(convertToLatencyHistogramMessage(operation, entry.getKey(), histogram));
+                }
+            }
+        }
+        for (Map.Entry<String, AtomicLong> entry : metrics.getErrors().entrySet()) {
+            builder.addErrors(BleData.ErrorCountMessage.newBuilder()
+                    .setExceptionClass(entry.getKey())
+                    .setCount(entry.getValue().get())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    BleData.MemoryStatsMessage convertToMemoryStatsMessage(List<RegistryStats> registries) {
+        final BleData.MemoryStatsMessage.Builder builder = BleData.MemoryStatsMessage.newBuilder();
+        long totalEstimatedBytes = 0;
+        long totalNativeBytes = 0;
+        for (RegistryStats registry : registries) {
+            builder.addRegistries(BleData.RegistryStatsMessage.newBuilder()
+                    .setName(registry.getName())
+                    .setEntries(registry.getEntries())
+                    .setEstimatedBytes(registry.getEstimatedBytes())
+                    .setNativeBytes(registry.getNativeBytes())
+                    .build());
+            totalEstimatedBytes += registry.getEstimatedBytes();
+            totalNativeBytes += registry.getNativeBytes();
+        }
+        return builder
+                .setTotalEstimatedBytes(totalEstimatedBytes)
+                .setTotalNativeBytes(totalNativeBytes)
                 .build();
+    }
+
+    /**
+     * Maps failures of the plugin and of RxAndroidBle to error codes, keeping the device, attribute and GATT status
+     * when the failure carries them.
+     */
+    static BleData.BleErrorMessage convertToBleErrorMessage(Throwable throwable) {
+        final BleData.BleErrorMessage.Builder builder = BleData.BleErrorMessage.newBuilder()
+                .setMessage(throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getName())
+                .setGattStatus(BleErrorException.NO_GATT_STATUS);
+        if (throwable instanceof BleErrorException) {
+            final BleErrorException error = (BleErrorException) throwable;
+            builder.setCode(error.getCode())
+                    .setAttributeId(error.getAttributeId())
+                    .setGattStatus(error.getGattStatus());
+            if (error.getDeviceId() != null) {
+                builder.setDeviceId(error.getDeviceId());
+            }
+        } else if (throwable instanceof BleGattException) {
+            final BleGattException error = (BleGattException) throwable;
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_GATT)
+                    .setGattStatus(error.getStatus());
+            if (error.getMacAddress() != null) {
+                builder.setDeviceId(error.getMacAddress());
+            }
+        } else if (throwable instanceof BleDisconnectedException) {
+            final BleDisconnectedException error = (BleDisconnectedException) throwable;
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_DEVICE_DISCONNECTED);
+            if (error.bluetoothDeviceAddress != null) {
+                builder.setDeviceId(error.bluetoothDeviceAddress);
+            }
+        } else if (throwable instanceof BleScanException) {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_SCAN_FAILED);
+        } else if (throwable instanceof BleCharacteristicNotFoundException) {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_CHARACTERISTIC_NOT_FOUND);
+        } else if (throwable instanceof CannotMonitorCharacteristicException) {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_NOTIFICATIONS_UNSUPPORTED);
+        } else if (throwable instanceof SimulatedFaultException) {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_GATT);
+        } else if (throwable instanceof TimeoutException) {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_OPERATION_TIMED_OUT);
+        } else if (throwable instanceof IllegalArgumentException) {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_INVALID_ARGUMENT);
+        } else {
+            builder.setCode(BleData.BleErrorCodeMessage.ERROR_UNKNOWN);
+        }
+        return builder.build();
+    }
 
+    BleData.NotificationRingMessage convertToNotificationRingMessage(NotificationRing ring) {
+        return BleData.NotificationRingMessage.newBuilder()
+                .setRingId(ring.getId())
+                .setAddress(ring.getAddress())
+                .setCapacity(ring.getCapacity())
+                .setHeaderSize(NotificationRing.HEADER_SIZE)
+                .build();
+    }
+
+    BleData.NotificationRingEventMessage convertToNotificationRingEventMessage(NotificationRing ring,
+                                                                               BleData.NotificationRingEventTypeMessage type,
+                                                                               long droppedCount) {
+        return BleData.NotificationRingEventMessage.newBuilder()
+                .setRingId(ring.getId())
+                .setType(type)
+                .setHead(ring.getHead())
+                .setDroppedCount(droppedCount)
+                .build();
+    }
+
+    private BleData.StartupMetricsMessage convertToStartupMetricsMessage(StartupMetrics startupMetrics) {
+        return BleData.StartupMetricsMessage.newBuilder()
+                .setPluginRegistrationMicros(startupMetrics.getPluginRegistrationMicros())
+                .setHelperCreationMicros(startupMetrics.getHelperCreationMicros())
+                .setClientCreationDelayMicros(startupMetrics.getClientCreationDelayMicros())
+                .setClientCreationMicros(startupMetrics.getClientCreationMicros())
+                .setRestoreStateMicros(startupMetrics.getRestoreStateMicros())
+                .setAdapterStateRegistrationMicros(startupMetrics.getAdapterStateRegistrationMicros())
+                .build();
+    }
+
+    private BleData.LatencyHistogramMessage convertToLatencyHistogramMessage(Operation operation,
+                                                                             String deviceId,
+                                                                             LatencyHistogram histogram) {
+        return BleData.LatencyHistogramMessage.newBuilder()
+                .setOperation(operation.name())
+                .setDeviceId(deviceId)
+                .setCount(histogram.getCount())
+                .setMeanMicros(histogram.getMeanMicros())
+                .setP50Micros(histogram.getPercentileMicros(50))
+                .setP90Micros(histogram.getPercentileMicros(90))
+                .setP99Micros(histogram.getPercentileMicros(99))
+                .setMaxMicros(histogram.getMaxMicros())
+                .build();
     }
 }
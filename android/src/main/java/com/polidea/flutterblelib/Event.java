@@ -8,7 +8,9 @@ public enum Event {
     ReadEvent("ReadEvent"),
     StateChangeEvent("StateChangeEvent"),
     RestoreStateEvent("RestoreStateEvent"),
-    DisconnectionEvent("DisconnectionEvent");
+    DisconnectionEvent("DisconnectionEvent"),
+    CharacteristicValueEvent("CharacteristicValueEvent"),
+    NotificationRingEvent("NotificationRingEvent");
 
     public String name;
 
@@ -2,18 +2,42 @@ package com.polidea.flutterblelib;
 
 
 import android.content.Context;
+import android.support.annotation.Nullable;
 import android.util.Log;
 
 import com.google.protobuf.MessageLite;
+import com.polidea.flutterblelib.backend.RxBleBackend;
+import com.polidea.flutterblelib.cache.CharacteristicValueCache;
 import com.polidea.flutterblelib.chanelhandler.BluetoothStateHandler;
 import com.polidea.flutterblelib.chanelhandler.DeviceConnectionChangedHandler;
+import com.polidea.flutterblelib.chanelhandler.MonitorChannels;
 import com.polidea.flutterblelib.chanelhandler.MonitorCharacteristicHandler;
+import com.polidea.flutterblelib.chanelhandler.NotificationRingHandler;
 import com.polidea.flutterblelib.chanelhandler.ScanDevicesHandler;
 import com.polidea.flutterblelib.listener.EventDelegate;
 import com.polidea.flutterblelib.listener.Namespace;
 import com.polidea.flutterblelib.listener.OnErrorAction;
 import com.polidea.flutterblelib.listener.OnSuccessAction;
-
+import com.polidea.flutterblelib.listener.StreamListenStateListener;
+import com.polidea.flutterblelib.metrics.StartupMetrics;
+import com.polidea.flutterblelib.operator.NotificationOperators;
+import com.polidea.flutterblelib.operator.NumericFormat;
+import com.polidea.flutterblelib.recording.NotificationRecorder;
+import com.polidea.flutterblelib.recording.NotificationRecordings;
+import com.polidea.flutterblelib.transport.BinaryFrames;
+import com.polidea.flutterblelib.transport.BinaryResult;
+import com.polidea.flutterblelib.transport.NotificationRing;
+import com.polidea.flutterblelib.transport.NotificationRings;
+import com.polidea.flutterblelib.utils.TransactionId;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
@@ -28,55 +52,152 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
     private BluetoothStateHandler bluetoothStateHandler;
     private DeviceConnectionChangedHandler deviceConnectionChangedHandler;
     private MonitorCharacteristicHandler monitorCharacteristicHandler;
+    private NotificationRingHandler notificationRingHandler;
+
+    private static final Set<String> BINARY_METHODS = new HashSet<>(Arrays.asList(
+            BleMethod.startDeviceScan,
+            BleMethod.connectToDevice,
+            BleMethod.batch,
+            BleMethod.runGattProgram,
+            BleMethod.metrics,
+            BleMethod.memoryStats,
+            BleMethod.queryScannedDevices
+    ));
+
+    private final Context context;
+
+    private final StartupMetrics startupMetrics = new StartupMetrics();
 
+    @Nullable
     private BleHelper bleHelper;
 
+    private MethodChannel methodChannel;
+
+    @Nullable
+    private MonitorChannels monitorChannels;
+
+    @Nullable
+    private BinaryMessenger messenger;
+
+    private volatile boolean binaryEvents;
+
 
-    private FlutterBleLibPlugin(Context context) {
-        bleHelper = new BleHelper(context);
+    FlutterBleLibPlugin(Context context) {
+        this.context = context;
         scanDevicesHandler = new ScanDevicesHandler();
-        bluetoothStateHandler = new BluetoothStateHandler();
+        bluetoothStateHandler = new BluetoothStateHandler(new StreamListenStateListener() {
+            @Override
+            public void onListenStateChanged(boolean listened) {
+                if (listened || bleHelper != null) {
+                    bleHelper().setAdapterStateObserved(listened);
+                }
+            }
+        });
         deviceConnectionChangedHandler = new DeviceConnectionChangedHandler();
         monitorCharacteristicHandler = new MonitorCharacteristicHandler();
+        notificationRingHandler = new NotificationRingHandler();
     }
 
     public static void registerWith(Registrar registrar) {
+        final long startNanos = System.nanoTime();
         final MethodChannel channel = new MethodChannel(registrar.messenger(), Namespace.flutter_ble_lib);
         final EventChannel scanDevicesChannel = new EventChannel(registrar.messenger(), Namespace.flutter_ble_lib_scanDevices);
         final EventChannel bluetoothStateChanel = new EventChannel(registrar.messenger(), Namespace.flutter_ble_lib_stateChange);
         final EventChannel deviceConnectionChangedChanel = new EventChannel(registrar.messenger(), Namespace.flutter_ble_lib_deviceConnectionChange);
         final EventChannel monitorCharacteristicChanel = new EventChannel(registrar.messenger(), Namespace.flutter_ble_lib_monitorCharacteristicChange);
+        final EventChannel notificationRingChanel = new EventChannel(registrar.messenger(), Namespace.flutter_ble_lib_notificationRing);
         final FlutterBleLibPlugin handler = new FlutterBleLibPlugin(registrar.activity().getApplicationContext());
         channel.setMethodCallHandler(handler);
-        scanDevicesChannel.setStreamHandler(handler.scanDevicesHandler);
-        bluetoothStateChanel.setStreamHandler(handler.bluetoothStateHandler);
-        deviceConnectionChangedChanel.setStreamHandler(handler.deviceConnectionChangedHandler);
-        monitorCharacteristicChanel.setStreamHandler(handler.monitorCharacteristicHandler);
+        handler.methodChannel = channel;
+        handler.monitorChannels = new MonitorChannels(registrar.messenger());
+        handler.messenger = registrar.messenger();
+        registrar.messenger().setMessageHandler(Namespace.flutter_ble_lib_binary, handler.binaryMethodHandler());
+        scanDevicesChannel.setStreamHandler(handler.getStreamHandler(Namespace.flutter_ble_lib_scanDevices));
+        bluetoothStateChanel.setStreamHandler(handler.getStreamHandler(Namespace.flutter_ble_lib_stateChange));
+        deviceConnectionChangedChanel.setStreamHandler(handler.getStreamHandler(Namespace.flutter_ble_lib_deviceConnectionChange));
+        monitorCharacteristicChanel.setStreamHandler(handler.getStreamHandler(Namespace.flutter_ble_lib_monitorCharacteristicChange));
+        notificationRingChanel.setStreamHandler(handler.getStreamHandler(Namespace.flutter_ble_lib_notificationRing));
+        handler.startupMetrics.recordPluginRegistration(startNanos);
+    }
+
+    /**
+     * Creates the helper on first use, so registering the plugin does not pay for BLE state it may never need.
+     */
+    private synchronized BleHelper bleHelper() {
+        if (bleHelper == null) {
+            final long startNanos = System.nanoTime();
+            bleHelper = new BleHelper(context, RxBleBackend.FACTORY, startupMetrics);
+            startupMetrics.recordHelperCreation(startNanos);
+        }
+        return bleHelper;
+    }
+
+    /**
+     * Handles method calls of the binary transport, see {@link BinaryFrames}. Only methods taking a serialized
+     * message or no arguments are available, other methods reply as not implemented.
+     */
+    BinaryMessenger.BinaryMessageHandler binaryMethodHandler() {
+        return new BinaryMessenger.BinaryMessageHandler() {
+            @Override
+            public void onMessage(ByteBuffer message, BinaryMessenger.BinaryReply reply) {
+                final BinaryResult result = new BinaryResult(reply);
+                final String method = BinaryFrames.decodeMethod(message);
+                if (!BINARY_METHODS.contains(method)) {
+                    result.notImplemented();
+                    return;
+                }
+                onMethodCall(new MethodCall(method, BinaryFrames.decodeArguments(message)), result);
+            }
+        };
+    }
+
+    EventChannel.StreamHandler getStreamHandler(String namespace) {
+        switch (namespace) {
+            case Namespace.flutter_ble_lib_scanDevices:
+                return scanDevicesHandler;
+            case Namespace.flutter_ble_lib_stateChange:
+                return bluetoothStateHandler;
+            case Namespace.flutter_ble_lib_deviceConnectionChange:
+                return deviceConnectionChangedHandler;
+            case Namespace.flutter_ble_lib_monitorCharacteristicChange:
+                return monitorCharacteristicHandler;
+            case Namespace.flutter_ble_lib_notificationRing:
+                return notificationRingHandler;
+            default:
+                throw new IllegalArgumentException("Unknown event channel: " + namespace);
+        }
     }
 
     @Override
     public void onMethodCall(MethodCall call, final Result result) {
         switch (call.method) {
             case BleMethod.createClient: {
-                final String restoreStateIdentifier = call.argument(ArgKey.restoreStateIdentifier);
-                bleHelper.createClient(restoreStateIdentifier, new VoidOnSuccessAction(result));
-                bleHelper.registerEventDelegate(this);
+                createClient(call, result);
                 return;
             }
             case BleMethod.destroyClient: {
-                bleHelper.destroyClient();
+                if (bleHelper != null) {
+                    bleHelper.destroyClient();
+                }
+                if (monitorChannels != null) {
+                    monitorChannels.closeAll();
+                }
+                return;
+            }
+            case BleMethod.openMonitorChannel: {
+                openMonitorChannel(call, result);
                 return;
             }
             case BleMethod.cancelTransaction: {
-                bleHelper.cancelTransaction(call.arguments.toString());
+                bleHelper().cancelTransaction(TransactionId.of(call.arguments));
                 return;
             }
             case BleMethod.setLogLevel: {
-                bleHelper.setLogLevel(BleData.LogLevelMessage.valueOf(call.arguments.toString()));
+                bleHelper().setLogLevel(BleData.LogLevelMessage.valueOf(call.arguments.toString()));
                 return;
             }
             case BleMethod.logLevel: {
-                bleHelper.logLevel(new OnSuccessAction<BleData.LogLevelMessage>() {
+                bleHelper().logLevel(new OnSuccessAction<BleData.LogLevelMessage>() {
                     @Override
                     public void onSuccess(BleData.LogLevelMessage logLevelMessage) {
                         result.success(logLevelMessage.ordinal());
@@ -85,7 +206,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
                 return;
             }
             case BleMethod.state: {
-                bleHelper.state(new OnSuccessAction<BleData.BluetoothStateMessage>() {
+                bleHelper().state(new OnSuccessAction<BleData.BluetoothStateMessage>() {
                     @Override
                     public void onSuccess(BleData.BluetoothStateMessage success) {
                         result.success(success.ordinal());
@@ -98,7 +219,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
                 return;
             }
             case BleMethod.stopDeviceScan: {
-                bleHelper.stopDeviceScan();
+                bleHelper().stopDeviceScan();
                 return;
             }
             case BleMethod.requestMTUForDevice: {
@@ -173,6 +294,84 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
                 monitorCharacteristic(call, result);
                 return;
             }
+            case BleMethod.batch: {
+                bleHelper().batch((byte[]) call.arguments,
+                        new MessageLiteOnSuccessAction<BleData.BatchResultMessage>(result),
+                        new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.runGattProgram: {
+                bleHelper().runGattProgram((byte[]) call.arguments,
+                        new MessageLiteOnSuccessAction<BleData.GattProgramResultMessage>(result),
+                        new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.metrics: {
+                bleHelper().metrics(new MessageLiteOnSuccessAction<BleData.MetricsMessage>(result));
+                return;
+            }
+            case BleMethod.memoryStats: {
+                bleHelper().memoryStats(new MessageLiteOnSuccessAction<BleData.MemoryStatsMessage>(result));
+                return;
+            }
+            case BleMethod.setTraceEnabled: {
+                bleHelper().setTraceEnabled((Boolean) call.arguments);
+                result.success(null);
+                return;
+            }
+            case BleMethod.dumpTrace: {
+                dumpTrace(call, result);
+                return;
+            }
+            case BleMethod.configureValueCache: {
+                configureValueCache(call, result);
+                return;
+            }
+            case BleMethod.configureScannedDeviceRegistry: {
+                configureScannedDeviceRegistry(call, result);
+                return;
+            }
+            case BleMethod.queryScannedDevices: {
+                bleHelper().queryScannedDevices((byte[]) call.arguments,
+                        new MessageLiteOnSuccessAction<BleData.ScannedDevicesMessage>(result),
+                        new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.openRecording: {
+                openRecording(call, result);
+                return;
+            }
+            case BleMethod.rotateRecording: {
+                bleHelper().rotateRecording(((Number) call.arguments).intValue(),
+                        new StringOnSuccessAction(result), new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.closeRecording: {
+                bleHelper().closeRecording(((Number) call.arguments).intValue(),
+                        new StringOnSuccessAction(result), new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.openNotificationRing: {
+                final Number capacity = call.argument(ArgKey.ringCapacity);
+                bleHelper().openNotificationRing(
+                        capacity != null ? capacity.intValue() : NotificationRing.DEFAULT_CAPACITY,
+                        new MessageLiteOnSuccessAction<BleData.NotificationRingMessage>(result),
+                        new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.closeNotificationRing: {
+                bleHelper().closeNotificationRing(((Number) call.arguments).intValue(),
+                        new VoidOnSuccessAction(result), new DefaultOnErrorAction(result));
+                return;
+            }
+            case BleMethod.registerPayloadSchema: {
+                registerPayloadSchema(call, result);
+                return;
+            }
+            case BleMethod.unregisterPayloadSchema: {
+                unregisterPayloadSchema(call, result);
+                return;
+            }
             default:
                 result.notImplemented();
 
@@ -186,29 +385,177 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
                 scanDevicesHandler.handleScanDevice((BleData.ScanResultMessage) value);
                 break;
             case ReadEvent:
-                monitorCharacteristicHandler.handleMonitorCharacteristic((BleData.MonitorCharacteristicMessage) value);
+                if (!sendBinaryEvent((MessageLite) value)) {
+                    monitorCharacteristicHandler.handleMonitorCharacteristic((BleData.MonitorCharacteristicMessage) value);
+                }
                 break;
             case StateChangeEvent:
                 bluetoothStateHandler.handleBluetoothState((BleData.BluetoothStateMessage) value);
                 break;
             case RestoreStateEvent:
-                //TODO
+                if (methodChannel != null) {
+                    methodChannel.invokeMethod(event.name, ((BleData.RestoreStateMessage) value).toByteArray());
+                }
                 break;
             case DisconnectionEvent:
                 deviceConnectionChangedHandler.handleBluetoothState((BleData.BleDeviceMessage) value);
                 break;
+            case CharacteristicValueEvent:
+                if (!sendBinaryEvent((MessageLite) value)) {
+                    monitorCharacteristicHandler.handleCharacteristicValue((BleData.CharacteristicValueMessage) value);
+                }
+                break;
+            case NotificationRingEvent:
+                notificationRingHandler.handleNotificationRingEvent((BleData.NotificationRingEventMessage) value);
+                break;
+        }
+    }
+
+    /**
+     * @return false when the client was created without the binary transport and the event was not sent
+     */
+    private boolean sendBinaryEvent(MessageLite message) {
+        final BinaryMessenger messenger = this.messenger;
+        if (!binaryEvents || messenger == null) {
+            return false;
+        }
+        messenger.send(Namespace.flutter_ble_lib_monitorCharacteristicBinary, BinaryFrames.encodeEvent(message));
+        return true;
+    }
+
+    @Override
+    public <T> void dispatchEvent(TransactionId transactionId, Event event, T value) {
+        final MonitorChannels monitorChannels = this.monitorChannels;
+        if (monitorChannels == null || !monitorChannels.send(transactionId, (MessageLite) value)) {
+            dispatchEvent(event, value);
+        }
+    }
+
+    private void openMonitorChannel(MethodCall call, Result result) {
+        if (monitorChannels == null) {
+            new DefaultOnErrorAction(result).onError(
+                    new IllegalStateException("Dedicated monitor channels require a registered plugin"));
+            return;
         }
+        try {
+            result.success(monitorChannels.open(TransactionId.of(call.arguments)));
+        } catch (IllegalArgumentException e) {
+            new DefaultOnErrorAction(result).onError(e);
+        }
+    }
+
+    private void createClient(MethodCall call, final Result result) {
+        final String restoreStateIdentifier = call.argument(ArgKey.restoreStateIdentifier);
+        final byte[] simulatedBackendBytes = call.argument(ArgKey.simulatedBackend);
+        final Boolean compactProtocol = call.argument(ArgKey.compactProtocol);
+        final Boolean binaryTransport = call.argument(ArgKey.binaryTransport);
+        final BleHelper bleHelper = bleHelper();
+        bleHelper.setCompactProtocol(Boolean.TRUE.equals(compactProtocol));
+        binaryEvents = Boolean.TRUE.equals(binaryTransport);
+        bleHelper.registerEventDelegate(this);
+        bleHelper.createClient(restoreStateIdentifier,
+                simulatedBackendBytes,
+                new VoidOnSuccessAction(result),
+                new DefaultOnErrorAction(result)
+        );
+    }
+
+    private void configureValueCache(MethodCall call, Result result) {
+        final Number ttlMillis = call.argument(ArgKey.ttlMillis);
+        final Number maxEntries = call.argument(ArgKey.maxEntries);
+        bleHelper().configureValueCache(
+                ttlMillis != null ? ttlMillis.longValue() : 0,
+                maxEntries != null ? maxEntries.intValue() : 0
+        );
+        result.success(null);
+    }
+
+    private void configureScannedDeviceRegistry(MethodCall call, Result result) {
+        final Number expiryMillis = call.argument(ArgKey.expiryMillis);
+        final Number maxDevices = call.argument(ArgKey.maxDevices);
+        bleHelper().configureScannedDeviceRegistry(
+                expiryMillis != null ? expiryMillis.longValue() : 0,
+                maxDevices != null ? maxDevices.intValue() : 0
+        );
+        result.success(null);
+    }
+
+    private void dumpTrace(MethodCall call, final Result result) {
+        final String filePath = call.arguments();
+        bleHelper().dumpTrace(
+                filePath,
+                new OnSuccessAction<Integer>() {
+                    @Override
+                    public void onSuccess(Integer recordCount) {
+                        result.success(recordCount);
+                    }
+                },
+                new DefaultOnErrorAction(result)
+        );
+    }
+
+    private void openRecording(MethodCall call, final Result result) {
+        final String directory = call.argument(ArgKey.recordingDirectory);
+        final Number segmentSize = call.argument(ArgKey.segmentSize);
+        final Number syncIntervalMillis = call.argument(ArgKey.syncIntervalMillis);
+        bleHelper().openRecording(
+                directory,
+                segmentSize != null ? segmentSize.intValue() : NotificationRecorder.DEFAULT_SEGMENT_SIZE,
+                syncIntervalMillis != null ? syncIntervalMillis.longValue() : NotificationRecorder.DEFAULT_SYNC_INTERVAL_MILLIS,
+                new OnSuccessAction<Integer>() {
+                    @Override
+                    public void onSuccess(Integer recordingId) {
+                        result.success(recordingId);
+                    }
+                },
+                new DefaultOnErrorAction(result)
+        );
+    }
+
+    private int recordingId(MethodCall call) {
+        final Number recordingId = call.argument(ArgKey.recordingId);
+        return recordingId != null ? recordingId.intValue() : NotificationRecordings.NO_RECORDING;
+    }
+
+    private int ringId(MethodCall call) {
+        final Number ringId = call.argument(ArgKey.ringId);
+        return ringId != null ? ringId.intValue() : NotificationRings.NO_RING;
+    }
+
+    private void registerPayloadSchema(MethodCall call, final Result result) {
+        final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
+        final List<Map<String, Object>> schema = call.argument(ArgKey.payloadSchema);
+        bleHelper().registerPayloadSchema(
+                characteristicUUID,
+                schema,
+                new OnSuccessAction<Integer>() {
+                    @Override
+                    public void onSuccess(Integer schemaId) {
+                        result.success(schemaId);
+                    }
+                },
+                new DefaultOnErrorAction(result)
+        );
+    }
+
+    private void unregisterPayloadSchema(MethodCall call, final Result result) {
+        bleHelper().unregisterPayloadSchema(call.arguments.toString(), new OnSuccessAction<Boolean>() {
+            @Override
+            public void onSuccess(Boolean removed) {
+                result.success(removed);
+            }
+        });
     }
 
     private void discoverAllServicesAndCharacteristicsForDevice(MethodCall call, final Result result) {
-        bleHelper.discoverAllServicesAndCharacteristicsForDevice(call.arguments.toString(),
+        bleHelper().discoverAllServicesAndCharacteristicsForDevice(call.arguments.toString(),
                 new MessageLiteOnSuccessAction<BleData.BleDeviceMessage>(result),
                 new DefaultOnErrorAction(result)
         );
     }
 
     private void cancelDeviceConnection(MethodCall call, final Result result) {
-        bleHelper.cancelDeviceConnection(call.arguments.toString(),
+        bleHelper().cancelDeviceConnection(call.arguments.toString(),
                 new MessageLiteOnSuccessAction<BleData.BleDeviceMessage>(result),
                 new DefaultOnErrorAction(result)
         );
@@ -218,8 +565,8 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
     private void readRSSIForDevice(MethodCall call, final Result result) {
 
         final String deviceId = call.argument(ArgKey.deviceId);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.readRSSIForDevice(deviceId, transactionId,
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().readRSSIForDevice(deviceId, transactionId,
                 new MessageLiteOnSuccessAction<BleData.BleDeviceMessage>(result),
                 new DefaultOnErrorAction(result)
         );
@@ -229,8 +576,8 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
         final String deviceId = call.argument(ArgKey.deviceId);
         final int mtu = call.argument(ArgKey.mtu);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.requestMTUForDevice(deviceId, mtu, transactionId,
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().requestMTUForDevice(deviceId, mtu, transactionId,
                 new MessageLiteOnSuccessAction<BleData.BleDeviceMessage>(result),
                 new DefaultOnErrorAction(result)
         );
@@ -238,7 +585,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
     private void startDeviceScan(MethodCall call, final Result result) {
         final byte[] scanSettingsWrapperBytes = call.arguments();
-        bleHelper.startDeviceScan(scanSettingsWrapperBytes,
+        bleHelper().startDeviceScan(scanSettingsWrapperBytes,
                 new VoidOnSuccessAction(result),
                 new DefaultOnErrorAction(result)
         );
@@ -246,7 +593,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
     private void connectToDevice(final MethodCall call, final Result result) {
         final byte[] connectToDeviceDataMessageByte = call.arguments();
-        bleHelper.connectToDevice(
+        bleHelper().connectToDevice(
                 connectToDeviceDataMessageByte,
                 new MessageLiteOnSuccessAction<BleData.BleDeviceMessage>(result),
                 new DefaultOnErrorAction(result)
@@ -255,7 +602,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
     private void isDeviceConnected(MethodCall call, final Result result) {
         final String macAddress = call.arguments();
-        bleHelper.isDeviceConnected(
+        bleHelper().isDeviceConnected(
                 macAddress,
                 new OnSuccessAction<Boolean>() {
                     @Override
@@ -269,7 +616,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
     private void servicesForDevice(MethodCall call, final Result result) {
         final String macAddress = call.arguments();
-        bleHelper.servicesForDevice(
+        bleHelper().servicesForDevice(
                 macAddress,
                 new MessageLiteOnSuccessAction<BleData.ServiceMessages>(result),
                 new DefaultOnErrorAction(result)
@@ -280,7 +627,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
         final String macAddressByte = call.argument(ArgKey.deviceId);
         final String serviceUUID = call.argument(ArgKey.serviceUUID);
-        bleHelper.characteristicsForDevice(macAddressByte,
+        bleHelper().characteristicsForDevice(macAddressByte,
                 serviceUUID,
                 new MessageLiteOnSuccessAction<BleData.CharacteristicMessages>(result),
                 new DefaultOnErrorAction(result)
@@ -289,7 +636,7 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
     private void characteristicsForService(MethodCall call, final Result result) {
         final int serviceIdentifier = ((Double)call.argument(ArgKey.serviceIdentifier)).intValue();
-        bleHelper.characteristicsForService(serviceIdentifier,
+        bleHelper().characteristicsForService(serviceIdentifier,
                 new MessageLiteOnSuccessAction<BleData.CharacteristicMessages>(result),
                 new DefaultOnErrorAction(result)
         );
@@ -301,15 +648,15 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
         final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
         final String valueBase64 = call.argument(ArgKey.valueBase64);
         final Boolean response = call.argument(ArgKey.response);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.writeCharacteristicForDevice(
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().writeCharacteristicForDevice(
                 deviceId,
                 serviceUUID,
                 characteristicUUID,
                 valueBase64,
                 response,
                 transactionId,
-                new MessageLiteOnSuccessAction<BleData.CharacteristicMessage>(result),
+                new MessageLiteOnSuccessAction<MessageLite>(result),
                 new DefaultOnErrorAction(result)
         );
     }
@@ -319,14 +666,14 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
         final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
         final String valueBase64 = call.argument(ArgKey.valueBase64);
         final Boolean response = call.argument(ArgKey.response);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.writeCharacteristicForService(
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().writeCharacteristicForService(
                 serviceIdentifier,
                 characteristicUUID,
                 valueBase64,
                 response,
                 transactionId,
-                new MessageLiteOnSuccessAction<BleData.CharacteristicMessage>(result),
+                new MessageLiteOnSuccessAction<MessageLite>(result),
                 new DefaultOnErrorAction(result)
         );
     }
@@ -335,13 +682,13 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
         final int characteristicIdentifier =  ((Double)call.argument(ArgKey.characteristicIdentifier)).intValue();
         final String valueBase64 = call.argument(ArgKey.valueBase64);
         final Boolean response = call.argument(ArgKey.response);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.writeCharacteristic(
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().writeCharacteristic(
                 characteristicIdentifier,
                 valueBase64,
                 response,
                 transactionId,
-                new MessageLiteOnSuccessAction<BleData.CharacteristicMessage>(result),
+                new MessageLiteOnSuccessAction<MessageLite>(result),
                 new DefaultOnErrorAction(result)
         );
     }
@@ -350,13 +697,14 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
         final String deviceId = call.argument(ArgKey.deviceId);
         final String serviceUUID = call.argument(ArgKey.serviceUUID);
         final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.readCharacteristicForDevice(
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().readCharacteristicForDevice(
                 deviceId,
                 serviceUUID,
                 characteristicUUID,
+                maxAgeMillis(call),
                 transactionId,
-                new MessageLiteOnSuccessAction<BleData.CharacteristicMessage>(result),
+                new MessageLiteOnSuccessAction<MessageLite>(result),
                 new DefaultOnErrorAction(result)
         );
     }
@@ -364,36 +712,50 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
     private void readCharacteristicForService(MethodCall call, final Result result) {
         final int serviceIdentifier = ((Double)call.argument(ArgKey.serviceIdentifier)).intValue();
         final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.readCharacteristicForService(
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().readCharacteristicForService(
                 serviceIdentifier,
                 characteristicUUID,
+                maxAgeMillis(call),
                 transactionId,
-                new MessageLiteOnSuccessAction<BleData.CharacteristicMessage>(result),
+                new MessageLiteOnSuccessAction<MessageLite>(result),
                 new DefaultOnErrorAction(result)
         );
     }
 
     private void readCharacteristic(MethodCall call, final Result result) {
         final int characteristicIdentifier = ((Double)call.argument(ArgKey.characteristicIdentifier)).intValue();
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.readCharacteristic(
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().readCharacteristic(
                 characteristicIdentifier,
+                maxAgeMillis(call),
                 transactionId,
-                new MessageLiteOnSuccessAction<BleData.CharacteristicMessage>(result),
+                new MessageLiteOnSuccessAction<MessageLite>(result),
                 new DefaultOnErrorAction(result)
         );
     }
 
+    private long maxAgeMillis(MethodCall call) {
+        final Number maxAgeMillis = call.argument(ArgKey.maxAgeMillis);
+        return maxAgeMillis != null ? maxAgeMillis.longValue() : CharacteristicValueCache.ANY_AGE;
+    }
+
     private void monitorCharacteristicForDevice(MethodCall call, final Result result) {
         final String deviceId = call.argument(ArgKey.deviceId);
         final String serviceUUID = call.argument(ArgKey.serviceUUID);
         final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.monitorCharacteristicForDevice(
+        final NotificationOperators operators = notificationOperators(call, result);
+        if (operators == null) {
+            return;
+        }
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().monitorCharacteristicForDevice(
                 deviceId,
                 serviceUUID,
                 characteristicUUID,
+                operators,
+                recordingId(call),
+                ringId(call),
                 transactionId,
                 new VoidOnSuccessAction(result),
                 new DefaultOnErrorAction(result)
@@ -403,10 +765,17 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
     private void monitorCharacteristicForService(MethodCall call, final Result result) {
         final int serviceIdentifier = ((Double)call.argument(ArgKey.serviceIdentifier)).intValue();
         final String characteristicUUID = call.argument(ArgKey.characteristicUUID);
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.monitorCharacteristicForService(
+        final NotificationOperators operators = notificationOperators(call, result);
+        if (operators == null) {
+            return;
+        }
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().monitorCharacteristicForService(
                 serviceIdentifier,
                 characteristicUUID,
+                operators,
+                recordingId(call),
+                ringId(call),
                 transactionId,
                 new VoidOnSuccessAction(result),
                 new DefaultOnErrorAction(result)
@@ -415,15 +784,54 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
     private void monitorCharacteristic(MethodCall call, final Result result) {
         final int characteristicIdentifier = ((Double)call.argument(ArgKey.characteristicIdentifier)).intValue();
-        final String transactionId = call.argument(ArgKey.transactionId);
-        bleHelper.monitorCharacteristic(
+        final NotificationOperators operators = notificationOperators(call, result);
+        if (operators == null) {
+            return;
+        }
+        final TransactionId transactionId = TransactionId.of(call.argument(ArgKey.transactionId));
+        bleHelper().monitorCharacteristic(
                 characteristicIdentifier,
+                operators,
+                recordingId(call),
+                ringId(call),
                 transactionId,
                 new VoidOnSuccessAction(result),
                 new DefaultOnErrorAction(result)
         );
     }
 
+    /**
+     * @return operators declared in the call or null when they are invalid and the call was rejected
+     */
+    @Nullable
+    private NotificationOperators notificationOperators(MethodCall call, Result result) {
+        final Number sampleEvery = call.argument(ArgKey.sampleEvery);
+        final Number throttleMillis = call.argument(ArgKey.throttleMillis);
+        final Number debounceMillis = call.argument(ArgKey.debounceMillis);
+        final Boolean distinct = call.argument(ArgKey.distinct);
+        final Number windowSize = call.argument(ArgKey.windowSize);
+        final String windowFormat = call.argument(ArgKey.windowFormat);
+        final Number windowOffset = call.argument(ArgKey.windowOffset);
+        if (sampleEvery == null && throttleMillis == null && debounceMillis == null && distinct == null
+                && windowSize == null) {
+            return NotificationOperators.NONE;
+        }
+        try {
+            return new NotificationOperators(
+                    sampleEvery != null ? sampleEvery.intValue() : 0,
+                    throttleMillis != null ? throttleMillis.longValue() : 0,
+                    debounceMillis != null ? debounceMillis.longValue() : 0,
+                    Boolean.TRUE.equals(distinct),
+                    windowSize != null ? windowSize.intValue() : 0,
+                    windowFormat != null ? NumericFormat.fromName(windowFormat) : null,
+                    windowOffset != null ? windowOffset.intValue() : 0
+            );
+        } catch (IllegalArgumentException e) {
+            new DefaultOnErrorAction(result).onError(e);
+            return null;
+        }
+    }
+
     private static class MessageLiteOnSuccessAction<T extends MessageLite> implements  OnSuccessAction<T> {
         private Result result;
 
@@ -433,7 +841,11 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
         @Override
         public void onSuccess(T message) {
-            result.success(message.toByteArray());
+            if (result instanceof BinaryResult) {
+                ((BinaryResult) result).successMessage(message);
+            } else {
+                result.success(message.toByteArray());
+            }
         }
     }
 
@@ -446,7 +858,21 @@ public class FlutterBleLibPlugin implements MethodCallHandler, EventDelegate {
 
         @Override
         public void onError(Throwable t) {
-            result.error("Error occurred", t.getMessage(), t);
+            final BleData.BleErrorMessage error = Converter.convertToBleErrorMessage(t);
+            result.error(error.getCode().name(), error.getMessage(), error.toByteArray());
+        }
+    }
+
+    private static class StringOnSuccessAction implements OnSuccessAction<String> {
+        private Result result;
+
+        private StringOnSuccessAction(Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public void onSuccess(String value) {
+            result.success(value);
         }
     }
 
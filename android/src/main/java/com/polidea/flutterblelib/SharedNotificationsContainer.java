@@ -0,0 +1,134 @@
+package com.polidea.flutterblelib;
+
+
+import java.util.HashMap;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.observables.ConnectableObservable;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * Shares one notification observable per characteristic between all transactions monitoring it, so that
+ * notifications are set up and the CCC descriptor is written only for the first listener. The notification is
+ * torn down when the last listener unsubscribes, when it terminates or when the container is cleared.
+ * <p>
+ * Listeners are counted and shares removed under the container's lock, so a listener arriving while the last
+ * one leaves either joins the live share or starts a new one, never one that is being torn down.
+ * <p>
+ * Characteristic identifiers are generated from the device address, so they already identify the device.
+ */
+public class SharedNotificationsContainer {
+
+    final private HashMap<Integer, SharedNotification> notifications = new HashMap<>();
+
+    /**
+     * @param source notifications of the characteristic, subscribed only when no live share exists when the returned
+     *               observable is subscribed
+     * @return observable joining the share of the characteristic on every subscription
+     */
+    public Observable<byte[]> share(final int characteristicId, final Observable<byte[]> source) {
+        return Observable.unsafeCreate(new Observable.OnSubscribe<byte[]>() {
+            @Override
+            public void call(Subscriber<? super byte[]> subscriber) {
+                final SharedNotification sharedNotification = acquire(characteristicId, source);
+                subscriber.add(Subscriptions.create(new Action0() {
+                    @Override
+                    public void call() {
+                        release(sharedNotification);
+                    }
+                }));
+                sharedNotification.observable.unsafeSubscribe(subscriber);
+                connect(sharedNotification);
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return notifications.size();
+    }
+
+    /**
+     * Unsubscribes the sources of all live shares.
+     */
+    public synchronized void clear() {
+        for (SharedNotification sharedNotification : notifications.values()) {
+            sharedNotification.released = true;
+            sharedNotification.disconnect();
+        }
+        notifications.clear();
+    }
+
+    private synchronized SharedNotification acquire(int characteristicId, Observable<byte[]> source) {
+        SharedNotification sharedNotification = notifications.get(characteristicId);
+        if (sharedNotification == null) {
+            sharedNotification = new SharedNotification(characteristicId, source);
+            notifications.put(characteristicId, sharedNotification);
+        }
+        sharedNotification.listeners++;
+        return sharedNotification;
+    }
+
+    /**
+     * Connects after the listener subscribed, so it gets the values the source emits right away. A listener that
+     * joined a share just before it terminated connects it again and gets the source's new terminal event.
+     */
+    private synchronized void connect(SharedNotification sharedNotification) {
+        final Subscription connection = sharedNotification.connection;
+        if (!sharedNotification.released && (connection == null || connection.isUnsubscribed())) {
+            sharedNotification.connection = sharedNotification.observable.connect();
+        }
+    }
+
+    /**
+     * The source of the last listener's share is unsubscribed before the lock is released, so it has stopped
+     * before a new share of the characteristic subscribes its source.
+     */
+    private synchronized void release(SharedNotification sharedNotification) {
+        if (--sharedNotification.listeners > 0) {
+            return;
+        }
+        sharedNotification.released = true;
+        remove(sharedNotification);
+        sharedNotification.disconnect();
+    }
+
+    private synchronized void remove(SharedNotification sharedNotification) {
+        if (notifications.get(sharedNotification.characteristicId) == sharedNotification) {
+            notifications.remove(sharedNotification.characteristicId);
+        }
+    }
+
+    private class SharedNotification implements Action0 {
+
+        private final int characteristicId;
+        private final ConnectableObservable<byte[]> observable;
+
+        // Guarded by the container
+        private int listeners;
+        private boolean released;
+        private Subscription connection;
+
+        private SharedNotification(int characteristicId, Observable<byte[]> source) {
+            this.characteristicId = characteristicId;
+            this.observable = source.doOnTerminate(this).publish();
+        }
+
+        /**
+         * A terminated share is removed right away, so new listeners start a new one.
+         */
+        @Override
+        public void call() {
+            remove(this);
+        }
+
+        private void disconnect() {
+            if (connection != null) {
+                connection.unsubscribe();
+                connection = null;
+            }
+        }
+    }
+}
@@ -2,6 +2,12 @@ package com.polidea.flutterblelib;
 
 
 import com.polidea.flutterblelib.utils.DisposableMap;
+import com.polidea.flutterblelib.utils.LongDisposableMap;
+import com.polidea.flutterblelib.utils.TransactionId;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
 
 import rx.Subscription;
 
@@ -9,18 +15,131 @@ public class TransactionsContainer {
 
     final private DisposableMap disposableMap = new DisposableMap();
 
-    public void replaceTransactionSubscription(String key, Subscription subscription) {
-        disposableMap.replaceSubscription(key, subscription);
+    final private LongDisposableMap handleDisposableMap = new LongDisposableMap();
+
+    /**
+     * Guards the device index, so a transaction indexed while the transactions of its device are being cancelled
+     * lands either in the set being cancelled or in a new one, never in a set that was already detached.
+     */
+    final private Object indexLock = new Object();
+
+    final private HashMap<TransactionId, String> transactionDevices = new HashMap<>();
+
+    final private HashMap<String, Set<TransactionId>> deviceTransactions = new HashMap<>();
+
+    public void replaceTransactionSubscription(TransactionId transactionId, Subscription subscription) {
+        if (transactionId.isHandle()) {
+            handleDisposableMap.replaceSubscription(transactionId.getHandle(), subscription);
+        } else {
+            disposableMap.replaceSubscription(transactionId.getId(), subscription);
+        }
+    }
+
+    /**
+     * Registers transaction subscription and indexes it by device, so it can be cancelled
+     * together with all other transactions of that device. Handles keep their device in the
+     * handle map itself, so they are registered without boxing or index entries.
+     * <p>
+     * The subscription is registered before it is indexed, so a concurrent cancel of the device's transactions
+     * never leaves it registered without an index entry.
+     */
+    public void replaceTransactionSubscription(String deviceId, TransactionId transactionId, Subscription subscription) {
+        if (transactionId.isHandle()) {
+            handleDisposableMap.replaceSubscription(transactionId.getHandle(), deviceId, subscription);
+            return;
+        }
+        replaceTransactionSubscription(transactionId, subscription);
+        if (deviceId != null) {
+            synchronized (indexLock) {
+                final String previousDeviceId = transactionDevices.put(transactionId, deviceId);
+                if (previousDeviceId != null && !previousDeviceId.equals(deviceId)) {
+                    unindex(previousDeviceId, transactionId);
+                }
+                transactionsOf(deviceId).add(transactionId);
+            }
+        }
+    }
+
+    public boolean removeTransactionSubscription(TransactionId transactionId) {
+        if (transactionId.isHandle()) {
+            return handleDisposableMap.removeSubscription(transactionId.getHandle());
+        }
+        synchronized (indexLock) {
+            final String deviceId = transactionDevices.remove(transactionId);
+            if (deviceId != null) {
+                unindex(deviceId, transactionId);
+            }
+        }
+        return remove(transactionId);
     }
 
-    public boolean removeTransactionSubscription(String key) {
-        return disposableMap.removeSubscription(key);
+    /**
+     * Cancels all transactions registered for given device.
+     *
+     * @return number of cancelled transactions
+     */
+    public int removeDeviceTransactionSubscriptions(String deviceId) {
+        int removed = handleDisposableMap.removeSubscriptions(deviceId);
+        final Set<TransactionId> transactionIds;
+        synchronized (indexLock) {
+            transactionIds = deviceTransactions.remove(deviceId);
+            if (transactionIds == null) {
+                return removed;
+            }
+            for (TransactionId transactionId : transactionIds) {
+                transactionDevices.remove(transactionId);
+            }
+        }
+        for (TransactionId transactionId : transactionIds) {
+            if (remove(transactionId)) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    public int getTransactionsCount() {
+        return disposableMap.size() + handleDisposableMap.size();
+    }
+
+    public int getTransactionsCount(String deviceId) {
+        synchronized (indexLock) {
+            final Set<TransactionId> transactionIds = deviceTransactions.get(deviceId);
+            return handleDisposableMap.size(deviceId) + (transactionIds != null ? transactionIds.size() : 0);
+        }
     }
 
     public void clearTransactionsSubscription() {
+        synchronized (indexLock) {
+            deviceTransactions.clear();
+            transactionDevices.clear();
+        }
         disposableMap.removeAllSubscriptions();
+        handleDisposableMap.removeAllSubscriptions();
     }
-}
 
+    private boolean remove(TransactionId transactionId) {
+        if (transactionId.isHandle()) {
+            return handleDisposableMap.removeSubscription(transactionId.getHandle());
+        }
+        return disposableMap.removeSubscription(transactionId.getId());
+    }
 
+    // Guarded by indexLock
+    private Set<TransactionId> transactionsOf(String deviceId) {
+        Set<TransactionId> transactionIds = deviceTransactions.get(deviceId);
+        if (transactionIds == null) {
+            transactionIds = new HashSet<>();
+            deviceTransactions.put(deviceId, transactionIds);
+        }
+        return transactionIds;
+    }
 
+    // Guarded by indexLock
+    private void unindex(String deviceId, TransactionId transactionId) {
+        final Set<TransactionId> transactionIds = deviceTransactions.get(deviceId);
+        if (transactionIds != null) {
+            transactionIds.remove(transactionId);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+
+import java.util.List;
+
+import rx.Observable;
+
+public interface BackendConnection {
+
+    Observable<List<BluetoothGattService>> discoverServices();
+
+    Observable<byte[]> readCharacteristic(BluetoothGattCharacteristic characteristic);
+
+    Observable<byte[]> writeCharacteristic(BluetoothGattCharacteristic characteristic, byte[] value);
+
+    /**
+     * Enables notifications or indications, writing the Client Characteristic Configuration descriptor
+     * when present. Emits a single observable of characteristic values.
+     */
+    Observable<Observable<byte[]>> setupNotification(BluetoothGattCharacteristic characteristic);
+
+    Observable<Integer> readRssi();
+
+    Observable<Integer> requestMtu(int mtu);
+
+    int getMtu();
+}
@@ -0,0 +1,21 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.support.annotation.Nullable;
+
+import rx.Observable;
+
+public interface BackendDevice {
+
+    String getMacAddress();
+
+    @Nullable
+    String getName();
+
+    boolean isConnected();
+
+    /**
+     * Connection stays established as long as returned observable is subscribed.
+     */
+    Observable<BackendConnection> establishConnection(boolean autoConnect);
+}
@@ -0,0 +1,47 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.support.annotation.Nullable;
+
+public class BackendScanResult {
+
+    private final BackendDevice device;
+    private final int rssi;
+    private final long timestampNanos;
+    private final int callbackType;
+    @Nullable
+    private final String localName;
+
+    /**
+     * @param localName name advertised in the scan record, null when the advertisement has none
+     */
+    public BackendScanResult(BackendDevice device, int rssi, long timestampNanos, int callbackType,
+                             @Nullable String localName) {
+        this.device = device;
+        this.rssi = rssi;
+        this.timestampNanos = timestampNanos;
+        this.callbackType = callbackType;
+        this.localName = localName;
+    }
+
+    public BackendDevice getBleDevice() {
+        return device;
+    }
+
+    public int getRssi() {
+        return rssi;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public int getCallbackType() {
+        return callbackType;
+    }
+
+    @Nullable
+    public String getLocalName() {
+        return localName;
+    }
+}
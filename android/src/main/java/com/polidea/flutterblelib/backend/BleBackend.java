@@ -0,0 +1,25 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.wrapper.ScanSettingsWrapper;
+
+import rx.Observable;
+
+/**
+ * Source of BLE devices used by the plugin. The default implementation is backed by RxAndroidBle,
+ * {@link SimulatedBackend} runs simulated peripherals in-process for load testing.
+ */
+public interface BleBackend {
+
+    interface Factory {
+        BleBackend create(Context context);
+    }
+
+    Observable<BackendScanResult> scanBleDevices(ScanSettingsWrapper scanSettingsWrapper);
+
+    @Nullable
+    BackendDevice getBleDevice(String macAddress);
+}
@@ -0,0 +1,45 @@
+package com.polidea.flutterblelib.backend;
+
+
+import java.util.Random;
+
+/**
+ * Distribution of simulated operation latencies, in milliseconds.
+ */
+public abstract class LatencyDistribution {
+
+    public abstract long sampleMillis(Random random);
+
+    public static LatencyDistribution fixed(final long millis) {
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(Random random) {
+                return millis;
+            }
+        };
+    }
+
+    public static LatencyDistribution uniform(final long minMillis, final long maxMillis) {
+        if (maxMillis <= minMillis) {
+            return fixed(minMillis);
+        }
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(Random random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+            }
+        };
+    }
+
+    /**
+     * Shifted exponential distribution, models occasional long radio retries on top of a minimal latency.
+     */
+    public static LatencyDistribution exponential(final long minMillis, final double meanExtraMillis) {
+        return new LatencyDistribution() {
+            @Override
+            public long sampleMillis(Random random) {
+                return minMillis + (long) (-meanExtraMillis * Math.log(1.0 - random.nextDouble()));
+            }
+        };
+    }
+}
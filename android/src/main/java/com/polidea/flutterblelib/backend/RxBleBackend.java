@@ -0,0 +1,180 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.exception.CannotMonitorCharacteristicException;
+import com.polidea.flutterblelib.wrapper.Characteristic;
+import com.polidea.flutterblelib.wrapper.ScanSettingsWrapper;
+import com.polidea.rxandroidble.NotificationSetupMode;
+import com.polidea.rxandroidble.RxBleClient;
+import com.polidea.rxandroidble.RxBleConnection;
+import com.polidea.rxandroidble.RxBleDevice;
+import com.polidea.rxandroidble.RxBleDeviceServices;
+import com.polidea.rxandroidble.scan.ScanResult;
+
+import java.util.List;
+
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * {@link BleBackend} talking to real radios through RxAndroidBle.
+ */
+public class RxBleBackend implements BleBackend {
+
+    public static final Factory FACTORY = new Factory() {
+        @Override
+        public BleBackend create(Context context) {
+            return new RxBleBackend(RxBleClient.create(context));
+        }
+    };
+
+    private final RxBleClient rxBleClient;
+
+    public RxBleBackend(RxBleClient rxBleClient) {
+        this.rxBleClient = rxBleClient;
+    }
+
+    @Override
+    public Observable<BackendScanResult> scanBleDevices(ScanSettingsWrapper scanSettingsWrapper) {
+        return rxBleClient
+                .scanBleDevices(scanSettingsWrapper.getScanSetting(), scanSettingsWrapper.getScanFilters())
+                .map(new Func1<ScanResult, BackendScanResult>() {
+                    @Override
+                    public BackendScanResult call(ScanResult scanResult) {
+                        return new BackendScanResult(
+                                new RxBackendDevice(scanResult.getBleDevice()),
+                                scanResult.getRssi(),
+                                scanResult.getTimestampNanos(),
+                                scanResult.getCallbackType().ordinal(),
+                                scanResult.getScanRecord().getDeviceName());
+                    }
+                });
+    }
+
+    @Nullable
+    @Override
+    public BackendDevice getBleDevice(String macAddress) {
+        final RxBleDevice rxBleDevice = rxBleClient.getBleDevice(macAddress);
+        return rxBleDevice != null ? new RxBackendDevice(rxBleDevice) : null;
+    }
+
+    private static class RxBackendDevice implements BackendDevice {
+
+        private final RxBleDevice rxBleDevice;
+
+        private RxBackendDevice(RxBleDevice rxBleDevice) {
+            this.rxBleDevice = rxBleDevice;
+        }
+
+        @Override
+        public String getMacAddress() {
+            return rxBleDevice.getMacAddress();
+        }
+
+        @Nullable
+        @Override
+        public String getName() {
+            return rxBleDevice.getName();
+        }
+
+        @Override
+        public boolean isConnected() {
+            return rxBleDevice.getConnectionState().equals(RxBleConnection.RxBleConnectionState.CONNECTED);
+        }
+
+        @Override
+        public Observable<BackendConnection> establishConnection(boolean autoConnect) {
+            return rxBleDevice
+                    .establishConnection(autoConnect)
+                    .map(new Func1<RxBleConnection, BackendConnection>() {
+                        @Override
+                        public BackendConnection call(RxBleConnection rxBleConnection) {
+                            return new RxBackendConnection(rxBleConnection);
+                        }
+                    });
+        }
+    }
+
+    private static class RxBackendConnection implements BackendConnection {
+
+        private final RxBleConnection connection;
+
+        private RxBackendConnection(RxBleConnection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Observable<List<BluetoothGattService>> discoverServices() {
+            return connection
+                    .discoverServices()
+                    .map(new Func1<RxBleDeviceServices, List<BluetoothGattService>>() {
+                        @Override
+                        public List<BluetoothGattService> call(RxBleDeviceServices rxBleDeviceServices) {
+                            return rxBleDeviceServices.getBluetoothGattServices();
+                        }
+                    });
+        }
+
+        @Override
+        public Observable<byte[]> readCharacteristic(BluetoothGattCharacteristic characteristic) {
+            return connection.readCharacteristic(characteristic);
+        }
+
+        @Override
+        public Observable<byte[]> writeCharacteristic(BluetoothGattCharacteristic characteristic, byte[] value) {
+            return connection.writeCharacteristic(characteristic, value);
+        }
+
+        @Override
+        public Observable<Observable<byte[]>> setupNotification(final BluetoothGattCharacteristic gattCharacteristic) {
+            final int properties = gattCharacteristic.getProperties();
+            final boolean notifications = (properties & BluetoothGattCharacteristic.PROPERTY_NOTIFY) != 0;
+            final boolean indications = (properties & BluetoothGattCharacteristic.PROPERTY_INDICATE) != 0;
+
+            if (!notifications && !indications) {
+                return Observable.error(new CannotMonitorCharacteristicException(gattCharacteristic));
+            }
+
+            // NotificationSetupMode.COMPAT does not write CCC Descriptor on it's own
+            return connection
+                    .setupNotification(gattCharacteristic, NotificationSetupMode.COMPAT)
+                    .map(new Func1<Observable<byte[]>, Observable<byte[]>>() {
+                        @Override
+                        public Observable<byte[]> call(Observable<byte[]> observable) {
+                            BluetoothGattDescriptor cccDescriptor =
+                                    gattCharacteristic.getDescriptor(Characteristic.CLIENT_CHARACTERISTIC_CONFIG_UUID);
+                            if (cccDescriptor == null) {
+                                return observable;
+                            } else {
+                                byte[] enableValue = notifications
+                                        ? BluetoothGattDescriptor.ENABLE_NOTIFICATION_VALUE
+                                        : BluetoothGattDescriptor.ENABLE_INDICATION_VALUE;
+                                // Every subscription to this observable initiates another descriptor write, callers share it per characteristic
+                                return observable.mergeWith(connection.writeDescriptor(cccDescriptor, enableValue).ignoreElements());
+                            }
+                        }
+                    });
+        }
+
+        @Override
+        public Observable<Integer> readRssi() {
+            return connection.readRssi();
+        }
+
+        @Override
+        public Observable<Integer> requestMtu(int mtu) {
+            return connection.requestMtu(mtu);
+        }
+
+        @Override
+        public int getMtu() {
+            return connection.getMtu();
+        }
+    }
+}
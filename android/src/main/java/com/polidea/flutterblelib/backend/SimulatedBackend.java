@@ -0,0 +1,84 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.wrapper.ScanSettingsWrapper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.functions.Func1;
+
+/**
+ * In-process {@link BleBackend} with a configurable population of simulated peripherals. Every
+ * peripheral advertises periodically, exposes a small GATT database (see {@link SimulatedPeripheral})
+ * and answers operations after latencies drawn from {@link SimulationConfig}, optionally failing them.
+ * No radio or Android Bluetooth stack is involved beyond the GATT data classes.
+ */
+public class SimulatedBackend implements BleBackend {
+
+    private static final int CALLBACK_TYPE_ALL_MATCHES = 0;
+
+    private final SimulationConfig config;
+    private final List<SimulatedPeripheral> peripherals;
+    private final Map<String, SimulatedPeripheral> peripheralsByMacAddress;
+
+    public SimulatedBackend(SimulationConfig config) {
+        this.config = config;
+        final int deviceCount = config.getDeviceCount();
+        peripherals = new ArrayList<>(deviceCount);
+        peripheralsByMacAddress = new HashMap<>(deviceCount * 2);
+        for (int index = 0; index < deviceCount; index++) {
+            final SimulatedPeripheral peripheral = new SimulatedPeripheral(index, config);
+            peripherals.add(peripheral);
+            peripheralsByMacAddress.put(peripheral.getMacAddress(), peripheral);
+        }
+    }
+
+    public static Factory factory(final SimulationConfig config) {
+        return new Factory() {
+            @Override
+            public BleBackend create(Context context) {
+                return new SimulatedBackend(config);
+            }
+        };
+    }
+
+    public List<SimulatedPeripheral> getPeripherals() {
+        return peripherals;
+    }
+
+    /**
+     * Scan settings and filters are ignored, every simulated peripheral is reported.
+     */
+    @Override
+    public Observable<BackendScanResult> scanBleDevices(ScanSettingsWrapper scanSettingsWrapper) {
+        final long interval = Math.max(1, config.getAdvertisementIntervalMillis());
+        final List<Observable<BackendScanResult>> advertisements = new ArrayList<>(peripherals.size());
+        for (final SimulatedPeripheral peripheral : peripherals) {
+            final long initialDelay = peripheral.getIndex() % interval;
+            advertisements.add(Observable
+                    .interval(initialDelay, interval, TimeUnit.MILLISECONDS, config.getScheduler())
+                    .map(new Func1<Long, BackendScanResult>() {
+                        @Override
+                        public BackendScanResult call(Long tick) {
+                            return new BackendScanResult(peripheral, peripheral.nextRssi(),
+                                    System.nanoTime(), CALLBACK_TYPE_ALL_MATCHES, peripheral.getName());
+                        }
+                    }));
+        }
+        return Observable.merge(advertisements);
+    }
+
+    @Nullable
+    @Override
+    public BackendDevice getBleDevice(String macAddress) {
+        return peripheralsByMacAddress.get(macAddress);
+    }
+}
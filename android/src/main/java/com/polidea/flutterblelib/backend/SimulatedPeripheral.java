@@ -0,0 +1,282 @@
+package com.polidea.flutterblelib.backend;
+
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattDescriptor;
+import android.bluetooth.BluetoothGattService;
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.exception.SimulatedFaultException;
+import com.polidea.flutterblelib.wrapper.Characteristic;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.subjects.PublishSubject;
+
+/**
+ * Simulated peripheral exposing one service with three characteristics:
+ * <ul>
+ * <li>{@link #INFO_CHARACTERISTIC_UUID} - readable, contains the device name,</li>
+ * <li>{@link #CONTROL_CHARACTERISTIC_UUID} - readable and writable, reads return the last written value,</li>
+ * <li>{@link #DATA_CHARACTERISTIC_UUID} - notifying at the configured rate. Every notification starts with
+ * the emission time ({@link System#nanoTime()}, 8 bytes little endian) followed by a 4 byte sequence number
+ * and filler, truncated to the configured payload size.</li>
+ * </ul>
+ */
+public class SimulatedPeripheral implements BackendDevice {
+
+    public static final UUID SERVICE_UUID = UUID.fromString("5a000000-0000-1000-8000-00805f9b34fb");
+    public static final UUID INFO_CHARACTERISTIC_UUID = UUID.fromString("5a000001-0000-1000-8000-00805f9b34fb");
+    public static final UUID CONTROL_CHARACTERISTIC_UUID = UUID.fromString("5a000002-0000-1000-8000-00805f9b34fb");
+    public static final UUID DATA_CHARACTERISTIC_UUID = UUID.fromString("5a000003-0000-1000-8000-00805f9b34fb");
+
+    private static final int DEFAULT_MTU = 23;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final int index;
+    private final String macAddress;
+    private final String name;
+    private final SimulationConfig config;
+    private final Random random;
+
+    private volatile boolean connected;
+    private volatile byte[] controlValue = new byte[0];
+    @Nullable
+    private List<BluetoothGattService> services;
+
+    SimulatedPeripheral(int index, SimulationConfig config) {
+        this.index = index;
+        this.config = config;
+        this.macAddress = String.format(Locale.US, "5A:00:00:%02X:%02X:%02X",
+                (index >> 16) & 0xFF, (index >> 8) & 0xFF, index & 0xFF);
+        this.name = "SimulatedDevice-" + index;
+        this.random = new Random(config.getSeed() * 31 + index);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @Override
+    public String getMacAddress() {
+        return macAddress;
+    }
+
+    @Nullable
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public Observable<BackendConnection> establishConnection(boolean autoConnect) {
+        return Observable
+                .timer(config.getConnectLatency().sampleMillis(random), TimeUnit.MILLISECONDS, config.getScheduler())
+                .flatMap(new Func1<Long, Observable<BackendConnection>>() {
+                    @Override
+                    public Observable<BackendConnection> call(Long ignored) {
+                        if (shouldFail(config.getConnectFailureRate())) {
+                            return Observable.error(new SimulatedFaultException("Connection failed for " + macAddress));
+                        }
+                        connected = true;
+                        final SimulatedConnection connection = new SimulatedConnection();
+                        return Observable.<BackendConnection>just(connection).concatWith(connection.linkLoss);
+                    }
+                })
+                .doOnUnsubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        connected = false;
+                    }
+                })
+                .doOnTerminate(new Action0() {
+                    @Override
+                    public void call() {
+                        connected = false;
+                    }
+                });
+    }
+
+    int nextRssi() {
+        return config.getMinRssi() + random.nextInt(Math.max(1, config.getMaxRssi() - config.getMinRssi() + 1));
+    }
+
+    private boolean shouldFail(double rate) {
+        return rate > 0 && random.nextDouble() < rate;
+    }
+
+    private synchronized List<BluetoothGattService> getServices() {
+        if (services == null) {
+            final BluetoothGattService service = new BluetoothGattService(SERVICE_UUID, BluetoothGattService.SERVICE_TYPE_PRIMARY);
+            service.addCharacteristic(new BluetoothGattCharacteristic(INFO_CHARACTERISTIC_UUID,
+                    BluetoothGattCharacteristic.PROPERTY_READ,
+                    BluetoothGattCharacteristic.PERMISSION_READ));
+            service.addCharacteristic(new BluetoothGattCharacteristic(CONTROL_CHARACTERISTIC_UUID,
+                    BluetoothGattCharacteristic.PROPERTY_READ
+                            | BluetoothGattCharacteristic.PROPERTY_WRITE
+                            | BluetoothGattCharacteristic.PROPERTY_WRITE_NO_RESPONSE,
+                    BluetoothGattCharacteristic.PERMISSION_READ | BluetoothGattCharacteristic.PERMISSION_WRITE));
+            final BluetoothGattCharacteristic data = new BluetoothGattCharacteristic(DATA_CHARACTERISTIC_UUID,
+                    BluetoothGattCharacteristic.PROPERTY_NOTIFY,
+                    BluetoothGattCharacteristic.PERMISSION_READ);
+            data.addDescriptor(new BluetoothGattDescriptor(Characteristic.CLIENT_CHARACTERISTIC_CONFIG_UUID,
+                    BluetoothGattDescriptor.PERMISSION_READ | BluetoothGattDescriptor.PERMISSION_WRITE));
+            service.addCharacteristic(data);
+            services = Collections.singletonList(service);
+        }
+        return services;
+    }
+
+    private class SimulatedConnection implements BackendConnection {
+
+        private final PublishSubject<BackendConnection> linkLoss = PublishSubject.create();
+        private volatile int mtu = DEFAULT_MTU;
+
+        @Override
+        public Observable<List<BluetoothGattService>> discoverServices() {
+            return delayed(config.getDiscoveryLatency(), new Func1<Long, Observable<List<BluetoothGattService>>>() {
+                @Override
+                public Observable<List<BluetoothGattService>> call(Long ignored) {
+                    return Observable.just(getServices());
+                }
+            });
+        }
+
+        @Override
+        public Observable<byte[]> readCharacteristic(final BluetoothGattCharacteristic characteristic) {
+            return delayed(config.getGattLatency(), new Func1<Long, Observable<byte[]>>() {
+                @Override
+                public Observable<byte[]> call(Long ignored) {
+                    final UUID uuid = characteristic.getUuid();
+                    if (INFO_CHARACTERISTIC_UUID.equals(uuid)) {
+                        return Observable.just(name.getBytes(UTF_8));
+                    }
+                    if (CONTROL_CHARACTERISTIC_UUID.equals(uuid)) {
+                        return Observable.just(controlValue);
+                    }
+                    return Observable.error(new SimulatedFaultException("Characteristic is not readable: " + uuid));
+                }
+            });
+        }
+
+        @Override
+        public Observable<byte[]> writeCharacteristic(final BluetoothGattCharacteristic characteristic, final byte[] value) {
+            return delayed(config.getGattLatency(), new Func1<Long, Observable<byte[]>>() {
+                @Override
+                public Observable<byte[]> call(Long ignored) {
+                    if (!CONTROL_CHARACTERISTIC_UUID.equals(characteristic.getUuid())) {
+                        return Observable.error(new SimulatedFaultException("Characteristic is not writable: " + characteristic.getUuid()));
+                    }
+                    controlValue = value;
+                    return Observable.just(value);
+                }
+            });
+        }
+
+        @Override
+        public Observable<Observable<byte[]>> setupNotification(final BluetoothGattCharacteristic characteristic) {
+            return delayed(config.getGattLatency(), new Func1<Long, Observable<Observable<byte[]>>>() {
+                @Override
+                public Observable<Observable<byte[]>> call(Long ignored) {
+                    if (!DATA_CHARACTERISTIC_UUID.equals(characteristic.getUuid())) {
+                        return Observable.error(new SimulatedFaultException("Characteristic is not notifiable: " + characteristic.getUuid()));
+                    }
+                    return Observable.just(notifications());
+                }
+            });
+        }
+
+        @Override
+        public Observable<Integer> readRssi() {
+            return delayed(config.getGattLatency(), new Func1<Long, Observable<Integer>>() {
+                @Override
+                public Observable<Integer> call(Long ignored) {
+                    return Observable.just(nextRssi());
+                }
+            });
+        }
+
+        @Override
+        public Observable<Integer> requestMtu(final int requestedMtu) {
+            return delayed(config.getGattLatency(), new Func1<Long, Observable<Integer>>() {
+                @Override
+                public Observable<Integer> call(Long ignored) {
+                    mtu = Math.max(DEFAULT_MTU, Math.min(requestedMtu, config.getMaxMtu()));
+                    return Observable.just(mtu);
+                }
+            });
+        }
+
+        @Override
+        public int getMtu() {
+            return mtu;
+        }
+
+        private Observable<byte[]> notifications() {
+            final long interval = Math.max(1, config.getNotificationIntervalMillis());
+            return Observable
+                    .interval(interval, TimeUnit.MILLISECONDS, config.getScheduler())
+                    .filter(new Func1<Long, Boolean>() {
+                        @Override
+                        public Boolean call(Long sequence) {
+                            if (shouldFail(config.getLinkLossRate())) {
+                                linkLoss.onError(new SimulatedFaultException("Link lost for " + macAddress));
+                                return false;
+                            }
+                            return !shouldFail(config.getNotificationDropRate());
+                        }
+                    })
+                    .map(new Func1<Long, byte[]>() {
+                        @Override
+                        public byte[] call(Long sequence) {
+                            return notificationPayload(System.nanoTime(), sequence);
+                        }
+                    });
+        }
+
+        private byte[] notificationPayload(long timestampNanos, long sequence) {
+            final byte[] payload = new byte[Math.max(0, config.getNotificationPayloadSize())];
+            for (int i = 0; i < payload.length; i++) {
+                if (i < 8) {
+                    payload[i] = (byte) (timestampNanos >>> (8 * i));
+                } else if (i < 12) {
+                    payload[i] = (byte) (sequence >>> (8 * (i - 8)));
+                } else {
+                    payload[i] = (byte) i;
+                }
+            }
+            return payload;
+        }
+
+        private <T> Observable<T> delayed(LatencyDistribution latency, final Func1<Long, Observable<T>> operation) {
+            return Observable
+                    .timer(latency.sampleMillis(random), TimeUnit.MILLISECONDS, config.getScheduler())
+                    .flatMap(new Func1<Long, Observable<T>>() {
+                        @Override
+                        public Observable<T> call(Long tick) {
+                            if (!connected) {
+                                return Observable.error(new SimulatedFaultException("Device is disconnected: " + macAddress));
+                            }
+                            if (shouldFail(config.getGattFailureRate())) {
+                                return Observable.error(new SimulatedFaultException("GATT operation failed for " + macAddress));
+                            }
+                            return operation.call(tick);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.polidea.flutterblelib.backend;
+
+
+import rx.Scheduler;
+import rx.schedulers.Schedulers;
+
+/**
+ * Parameters of {@link SimulatedBackend}. Runs with the same seed and a single-threaded scheduler
+ * (e.g. {@code rx.schedulers.TestScheduler}) are fully deterministic.
+ */
+public class SimulationConfig {
+
+    private final int deviceCount;
+    private final long advertisementIntervalMillis;
+    private final int minRssi;
+    private final int maxRssi;
+    private final LatencyDistribution connectLatency;
+    private final LatencyDistribution discoveryLatency;
+    private final LatencyDistribution gattLatency;
+    private final long notificationIntervalMillis;
+    private final int notificationPayloadSize;
+    private final int maxMtu;
+    private final double connectFailureRate;
+    private final double gattFailureRate;
+    private final double notificationDropRate;
+    private final double linkLossRate;
+    private final long seed;
+    private final Scheduler scheduler;
+
+    private SimulationConfig(Builder builder) {
+        deviceCount = builder.deviceCount;
+        advertisementIntervalMillis = builder.advertisementIntervalMillis;
+        minRssi = builder.minRssi;
+        maxRssi = builder.maxRssi;
+        connectLatency = builder.connectLatency;
+        discoveryLatency = builder.discoveryLatency;
+        gattLatency = builder.gattLatency;
+        notificationIntervalMillis = builder.notificationIntervalMillis;
+        notificationPayloadSize = builder.notificationPayloadSize;
+        maxMtu = builder.maxMtu;
+        connectFailureRate = builder.connectFailureRate;
+        gattFailureRate = builder.gattFailureRate;
+        notificationDropRate = builder.notificationDropRate;
+        linkLossRate = builder.linkLossRate;
+        seed = builder.seed;
+        scheduler = builder.scheduler;
+    }
+
+    public int getDeviceCount() {
+        return deviceCount;
+    }
+
+    public long getAdvertisementIntervalMillis() {
+        return advertisementIntervalMillis;
+    }
+
+    public int getMinRssi() {
+        return minRssi;
+    }
+
+    public int getMaxRssi() {
+        return maxRssi;
+    }
+
+    public LatencyDistribution getConnectLatency() {
+        return connectLatency;
+    }
+
+    public LatencyDistribution getDiscoveryLatency() {
+        return discoveryLatency;
+    }
+
+    public LatencyDistribution getGattLatency() {
+        return gattLatency;
+    }
+
+    public long getNotificationIntervalMillis() {
+        return notificationIntervalMillis;
+    }
+
+    public int getNotificationPayloadSize() {
+        return notificationPayloadSize;
+    }
+
+    public int getMaxMtu() {
+        return maxMtu;
+    }
+
+    public double getConnectFailureRate() {
+        return connectFailureRate;
+    }
+
+    public double getGattFailureRate() {
+        return gattFailureRate;
+    }
+
+    public double getNotificationDropRate() {
+        return notificationDropRate;
+    }
+
+    /**
+     * Probability of losing the link on every notification tick.
+     */
+    public double getLinkLossRate() {
+        return linkLossRate;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    public static class Builder {
+        private int deviceCount = 10;
+        private long advertisementIntervalMillis = 100;
+        private int minRssi = -90;
+        private int maxRssi = -40;
+        private LatencyDistribution connectLatency = LatencyDistribution.uniform(50, 150);
+        private LatencyDistribution discoveryLatency = LatencyDistribution.uniform(100, 300);
+        private LatencyDistribution gattLatency = LatencyDistribution.uniform(7, 30);
+        private long notificationIntervalMillis = 50;
+        private int notificationPayloadSize = 20;
+        private int maxMtu = 247;
+        private double connectFailureRate;
+        private double gattFailureRate;
+        private double notificationDropRate;
+        private double linkLossRate;
+        private long seed = 0;
+        private Scheduler scheduler = Schedulers.computation();
+
+        public Builder setDeviceCount(int deviceCount) {
+            this.deviceCount = deviceCount;
+            return this;
+        }
+
+        public Builder setAdvertisementIntervalMillis(long advertisementIntervalMillis) {
+            this.advertisementIntervalMillis = advertisementIntervalMillis;
+            return this;
+        }
+
+        public Builder setRssiRange(int minRssi, int maxRssi) {
+            this.minRssi = minRssi;
+            this.maxRssi = maxRssi;
+            return this;
+        }
+
+        public Builder setConnectLatency(LatencyDistribution connectLatency) {
+            this.connectLatency = connectLatency;
+            return this;
+        }
+
+        public Builder setDiscoveryLatency(LatencyDistribution discoveryLatency) {
+            this.discoveryLatency = discoveryLatency;
+            return this;
+        }
+
+        public Builder setGattLatency(LatencyDistribution gattLatency) {
+            this.gattLatency = gattLatency;
+            return this;
+        }
+
+        public Builder setNotificationIntervalMillis(long notificationIntervalMillis) {
+            this.notificationIntervalMillis = notificationIntervalMillis;
+            return this;
+        }
+
+        public Builder setNotificationPayloadSize(int notificationPayloadSize) {
+            this.notificationPayloadSize = notificationPayloadSize;
+            return this;
+        }
+
+        public Builder setMaxMtu(int maxMtu) {
+            this.maxMtu = maxMtu;
+            return this;
+        }
+
+        public Builder setConnectFailureRate(double connectFailureRate) {
+            this.connectFailureRate = connectFailureRate;
+            return this;
+        }
+
+        public Builder setGattFailureRate(double gattFailureRate) {
+            this.gattFailureRate = gattFailureRate;
+            return this;
+        }
+
+        public Builder setNotificationDropRate(double notificationDropRate) {
+            this.notificationDropRate = notificationDropRate;
+            return this;
+        }
+
+        public Builder setLinkLossRate(double linkLossRate) {
+            this.linkLossRate = linkLossRate;
+            return this;
+        }
+
+        public Builder setSeed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder setScheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public SimulationConfig build() {
+            return new SimulationConfig(this);
+        }
+    }
+}
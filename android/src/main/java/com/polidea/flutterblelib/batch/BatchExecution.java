@@ -0,0 +1,146 @@
+package com.polidea.flutterblelib.batch;
+
+
+import com.polidea.flutterblelib.BleData;
+import com.polidea.flutterblelib.listener.OnErrorAction;
+import com.polidea.flutterblelib.listener.OnSuccessAction;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs commands of a {@link BleData.BatchMessage}. Commands of one device run one after another in batch order,
+ * devices run in parallel. The combined result, with one entry per command in batch order, is reported once all
+ * commands have finished.
+ */
+public class BatchExecution {
+
+    public interface CommandExecutor {
+
+        /**
+         * Starts the command at given batch index, exactly one of the actions has to be called when it finishes.
+         */
+        void execute(int index,
+                     BleData.BatchCommandMessage command,
+                     OnSuccessAction<BleData.BatchCommandResultMessage> successAction,
+                     OnErrorAction errorAction);
+    }
+
+    private final BleData.BatchMessage batch;
+    private final CommandExecutor executor;
+    private final OnSuccessAction<BleData.BatchResultMessage> successAction;
+    private final BleData.BatchCommandResultMessage[] results;
+    private final AtomicInteger remaining;
+
+    public BatchExecution(BleData.BatchMessage batch,
+                          CommandExecutor executor,
+                          OnSuccessAction<BleData.BatchResultMessage> successAction) {
+        this.batch = batch;
+        this.executor = executor;
+        this.successAction = successAction;
+        this.results = new BleData.BatchCommandResultMessage[batch.getCommandsCount()];
+        this.remaining = new AtomicInteger(results.length);
+    }
+
+    public void start() {
+        if (results.length == 0) {
+            successAction.onSuccess(BleData.BatchResultMessage.getDefaultInstance());
+            return;
+        }
+        final Map<String, List<Integer>> deviceCommands = new LinkedHashMap<>();
+        for (int i = 0; i < results.length; i++) {
+            final String deviceId = batch.getCommands(i).getDeviceId();
+            List<Integer> indices = deviceCommands.get(deviceId);
+            if (indices == null) {
+                indices = new ArrayList<>();
+                deviceCommands.put(deviceId, indices);
+            }
+            indices.add(i);
+        }
+        for (List<Integer> indices : deviceCommands.values()) {
+            new DeviceQueue(indices).drain();
+        }
+    }
+
+    private void complete(int index, BleData.BatchCommandResultMessage result) {
+        results[index] = result;
+        if (remaining.decrementAndGet() == 0) {
+            final BleData.BatchResultMessage.Builder builder = BleData.BatchResultMessage.newBuilder();
+            for (BleData.BatchCommandResultMessage commandResult : results) {
+                builder.addResults(commandResult);
+            }
+            successAction.onSuccess(builder.build());
+        }
+    }
+
+    private static BleData.BatchCommandResultMessage status(BleData.BatchCommandStatusMessage status, String errorMessage) {
+        return BleData.BatchCommandResultMessage.newBuilder()
+                .setStatus(status)
+                .setErrorMessage(errorMessage)
+                .build();
+    }
+
+    /**
+     * Commands of a single device. Every finished command schedules the next one; commands that finish
+     * synchronously are picked up by the already running drain loop instead of recursing.
+     */
+    private class DeviceQueue {
+
+        private final List<Integer> indices;
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile int position;
+        private volatile boolean failed;
+
+        private DeviceQueue(List<Integer> indices) {
+            this.indices = indices;
+        }
+
+        void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (position < indices.size()) {
+                    executeNext();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        private void executeNext() {
+            final int index = indices.get(position);
+            if (failed && batch.getSkipDeviceCommandsAfterFailure()) {
+                finish(index, status(BleData.BatchCommandStatusMessage.SKIPPED, "Previous command of the device failed"));
+                return;
+            }
+            final AtomicInteger finished = new AtomicInteger();
+            executor.execute(index, batch.getCommands(index),
+                    new OnSuccessAction<BleData.BatchCommandResultMessage>() {
+                        @Override
+                        public void onSuccess(BleData.BatchCommandResultMessage result) {
+                            if (finished.getAndIncrement() == 0) {
+                                finish(index, result);
+                            }
+                        }
+                    },
+                    new OnErrorAction() {
+                        @Override
+                        public void onError(Throwable t) {
+                            if (finished.getAndIncrement() == 0) {
+                                failed = true;
+                                finish(index, status(BleData.BatchCommandStatusMessage.FAILED,
+                                        t.getMessage() != null ? t.getMessage() : t.getClass().getName()));
+                            }
+                        }
+                    });
+        }
+
+        private void finish(int index, BleData.BatchCommandResultMessage result) {
+            position++;
+            complete(index, result);
+            drain();
+        }
+    }
+}
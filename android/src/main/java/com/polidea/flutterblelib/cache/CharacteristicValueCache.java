@@ -0,0 +1,163 @@
+package com.polidea.flutterblelib.cache;
+
+
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in cache of characteristic values keyed by characteristic id. Entries expire after the configured
+ * time to live and the least recently used entry is evicted once the cache is full. The cache is disabled
+ * until {@link #configure(long, int)} is called with a positive size.
+ * <p>
+ * Cached arrays are shared with the callers of {@link #get(int, long)} and must not be modified.
+ */
+public class CharacteristicValueCache {
+
+    /**
+     * Max age of {@link #get(int, long)} that accepts any entry within the time to live.
+     */
+    public static final long ANY_AGE = -1;
+
+    private final LinkedHashMap<Integer, CachedValue> entries = new LinkedHashMap<Integer, CachedValue>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, CachedValue> eldest) {
+            if (size() > maxEntries) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile boolean enabled;
+    private int maxEntries;
+    private long ttlNanos;
+
+    /**
+     * @param ttlMillis  time after which entries expire, 0 keeps entries until they are invalidated or evicted
+     * @param maxEntries maximum number of cached values, 0 disables the cache and drops all entries
+     */
+    public synchronized void configure(long ttlMillis, int maxEntries) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, ttlMillis));
+        this.maxEntries = Math.max(0, maxEntries);
+        this.enabled = this.maxEntries > 0;
+        if (!enabled) {
+            entries.clear();
+            return;
+        }
+        while (entries.size() > this.maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+            evictions.incrementAndGet();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param maxAgeMillis maximum accepted age of the value or {@link #ANY_AGE}, 0 always misses
+     * @return cached value or null on a miss
+     */
+    @Nullable
+    public byte[] get(int characteristicId, long maxAgeMillis) {
+        if (!enabled) {
+            return null;
+        }
+        final byte[] value = getFresh(characteristicId, maxAgeMillis);
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    @Nullable
+    private synchronized byte[] getFresh(int characteristicId, long maxAgeMillis) {
+        final CachedValue entry = entries.get(characteristicId);
+        if (entry == null) {
+            return null;
+        }
+        final long ageNanos = SystemClock.elapsedRealtimeNanos() - entry.storedAtNanos;
+        if (ttlNanos > 0 && ageNanos > ttlNanos) {
+            entries.remove(characteristicId);
+            return null;
+        }
+        if (maxAgeMillis != ANY_AGE && ageNanos >= TimeUnit.MILLISECONDS.toNanos(maxAgeMillis)) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(int characteristicId, byte[] value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        final CachedValue entry = new CachedValue(value.clone(), SystemClock.elapsedRealtimeNanos());
+        synchronized (this) {
+            if (enabled) {
+                entries.put(characteristicId, entry);
+            }
+        }
+    }
+
+    public void invalidate(int characteristicId) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            entries.remove(characteristicId);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return total length of cached values
+     */
+    public synchronized long getValueBytes() {
+        long valueBytes = 0;
+        for (CachedValue entry : entries.values()) {
+            valueBytes += entry.value.length;
+        }
+        return valueBytes;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    private static class CachedValue {
+        private final byte[] value;
+        private final long storedAtNanos;
+
+        private CachedValue(byte[] value, long storedAtNanos) {
+            this.value = value;
+            this.storedAtNanos = storedAtNanos;
+        }
+    }
+}
@@ -1,21 +1,38 @@
 package com.polidea.flutterblelib.chanelhandler;
 
 import com.polidea.flutterblelib.BleData;
+import com.polidea.flutterblelib.listener.StreamListenStateListener;
 
 import io.flutter.plugin.common.EventChannel;
 
 public class BluetoothStateHandler implements EventChannel.StreamHandler {
 
+    private final StreamListenStateListener listenStateListener;
+
     private EventChannel.EventSink bluetoothStateSlink;
 
+    public BluetoothStateHandler() {
+        this(StreamListenStateListener.NULL);
+    }
+
+    /**
+     * @param listenStateListener notified when Dart starts and stops listening, so the adapter state receiver
+     *                            is only registered while there is a listener
+     */
+    public BluetoothStateHandler(StreamListenStateListener listenStateListener) {
+        this.listenStateListener = listenStateListener;
+    }
+
     @Override
     public void onListen(Object o, EventChannel.EventSink eventSink) {
         bluetoothStateSlink = eventSink;
+        listenStateListener.onListenStateChanged(true);
     }
 
     @Override
     public void onCancel(Object o) {
         bluetoothStateSlink = null;
+        listenStateListener.onListenStateChanged(false);
     }
 
     public void handleBluetoothState(BleData.BluetoothStateMessage bluetoothStateMessage) {
@@ -23,4 +40,4 @@ public class BluetoothStateHandler implements EventChannel.StreamHandler {
             bluetoothStateSlink.success(bluetoothStateMessage.ordinal());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.polidea.flutterblelib.chanelhandler;
+
+import com.google.protobuf.MessageLite;
+import com.polidea.flutterblelib.listener.Namespace;
+import com.polidea.flutterblelib.utils.TransactionId;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.EventChannel;
+
+/**
+ * Event channels dedicated to single monitor transactions, named
+ * {@code flutter_ble_lib/monitorCharacteristicChange/<transaction id>}. Events of a transaction with an open
+ * channel are sent only to that channel, so its listener decodes its own notifications and nothing else.
+ * A channel is closed when its listener cancels or when the client is destroyed, later events of the transaction
+ * go to the shared channel again.
+ */
+public class MonitorChannels {
+
+    private final BinaryMessenger messenger;
+
+    private final ConcurrentHashMap<TransactionId, MonitorChannel> channels = new ConcurrentHashMap<>();
+
+    public MonitorChannels(BinaryMessenger messenger) {
+        this.messenger = messenger;
+    }
+
+    /**
+     * Registers the channel of the transaction, unless it is already open.
+     *
+     * @return name of the channel to listen to before the monitor is started
+     */
+    public synchronized String open(TransactionId transactionId) {
+        if (!transactionId.isHandle() && transactionId.getId() == null) {
+            throw new IllegalArgumentException("Dedicated monitor channel requires a transaction id");
+        }
+        MonitorChannel channel = channels.get(transactionId);
+        if (channel == null) {
+            channel = new MonitorChannel(transactionId,
+                    Namespace.flutter_ble_lib_monitorCharacteristicChange + "/" + transactionId);
+            channels.put(transactionId, channel);
+            channel.eventChannel.setStreamHandler(channel);
+        }
+        return channel.name;
+    }
+
+    /**
+     * @return false when the transaction has no channel of its own and the message was not sent
+     */
+    public boolean send(TransactionId transactionId, MessageLite message) {
+        final MonitorChannel channel = channels.get(transactionId);
+        if (channel == null) {
+            return false;
+        }
+        final EventChannel.EventSink sink = channel.sink;
+        if (sink != null) {
+            sink.success(message.toByteArray());
+        }
+        return true;
+    }
+
+    /**
+     * Ends the streams of all listeners and unregisters every channel.
+     */
+    public synchronized void closeAll() {
+        for (MonitorChannel channel : channels.values()) {
+            final EventChannel.EventSink sink = channel.sink;
+            if (sink != null) {
+                sink.endOfStream();
+            }
+            close(channel);
+        }
+    }
+
+    public int size() {
+        return channels.size();
+    }
+
+    private synchronized void close(MonitorChannel channel) {
+        channel.sink = null;
+        if (channels.remove(channel.transactionId, channel)) {
+            channel.eventChannel.setStreamHandler(null);
+        }
+    }
+
+    private class MonitorChannel implements EventChannel.StreamHandler {
+
+        private final TransactionId transactionId;
+        private final String name;
+        private final EventChannel eventChannel;
+        private volatile EventChannel.EventSink sink;
+
+        private MonitorChannel(TransactionId transactionId, String name) {
+            this.transactionId = transactionId;
+            this.name = name;
+            this.eventChannel = new EventChannel(messenger, name);
+        }
+
+        @Override
+        public void onListen(Object o, EventChannel.EventSink eventSink) {
+            sink = eventSink;
+        }
+
+        @Override
+        public void onCancel(Object o) {
+            close(this);
+        }
+    }
+}
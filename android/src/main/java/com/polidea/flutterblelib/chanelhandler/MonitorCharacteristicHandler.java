@@ -23,4 +23,10 @@ public class MonitorCharacteristicHandler implements EventChannel.StreamHandler
             monitorCharacteristicSlink.success(monitorCharacteristicMessage.toByteArray());
         }
     }
+
+    public void handleCharacteristicValue(BleData.CharacteristicValueMessage characteristicValueMessage) {
+        if (monitorCharacteristicSlink != null) {
+            monitorCharacteristicSlink.success(characteristicValueMessage.toByteArray());
+        }
+    }
 }
\ No newline at end of file
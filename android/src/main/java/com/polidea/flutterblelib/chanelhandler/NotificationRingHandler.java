@@ -0,0 +1,26 @@
+package com.polidea.flutterblelib.chanelhandler;
+
+import com.polidea.flutterblelib.BleData;
+
+import io.flutter.plugin.common.EventChannel;
+
+public class NotificationRingHandler implements EventChannel.StreamHandler {
+
+    private EventChannel.EventSink notificationRingSlink;
+
+    @Override
+    public void onListen(Object o, EventChannel.EventSink eventSink) {
+        notificationRingSlink = eventSink;
+    }
+
+    @Override
+    public void onCancel(Object o) {
+        notificationRingSlink = null;
+    }
+
+    public void handleNotificationRingEvent(BleData.NotificationRingEventMessage notificationRingEventMessage) {
+        if (notificationRingSlink != null) {
+            notificationRingSlink.success(notificationRingEventMessage.toByteArray());
+        }
+    }
+}
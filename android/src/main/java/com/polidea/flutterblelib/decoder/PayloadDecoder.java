@@ -0,0 +1,108 @@
+package com.polidea.flutterblelib.decoder;
+
+
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.operator.NumericFormat;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Payload schema compiled into a fixed list of fields. Decoding a value writes the elements of every field,
+ * in schema order, into a flat array without looking at the schema definition again.
+ */
+public class PayloadDecoder {
+
+    private static final String FORMAT = "format";
+    private static final String BYTE_OFFSET = "byteOffset";
+    private static final String COUNT = "count";
+    private static final String STRIDE = "stride";
+    private static final String BIT_OFFSET = "bitOffset";
+    private static final String BIT_LENGTH = "bitLength";
+    private static final String SCALE = "scale";
+    private static final String OFFSET = "offset";
+
+    private final int id;
+    private final PayloadField[] fields;
+    private final int valueCount;
+    private final int minLength;
+
+    private PayloadDecoder(int id, PayloadField[] fields) {
+        this.id = id;
+        this.fields = fields;
+        int valueCount = 0;
+        int minLength = 0;
+        for (PayloadField field : fields) {
+            valueCount += field.getCount();
+            minLength = Math.max(minLength, field.getEnd());
+        }
+        this.valueCount = valueCount;
+        this.minLength = minLength;
+    }
+
+    /**
+     * Compiles schema sent over the method channel, a list of field definitions with keys: format (e.g.
+     * "int16le", see {@link NumericFormat}), byteOffset, count (array length, 1 by default), stride (bytes
+     * between array elements, format size by default), bitOffset and bitLength (bitfield of an integer field),
+     * scale (1 by default) and offset (0 by default).
+     *
+     * @throws IllegalArgumentException when the schema is invalid
+     */
+    public static PayloadDecoder compile(int id, List<Map<String, Object>> schema) {
+        if (schema == null || schema.isEmpty()) {
+            throw new IllegalArgumentException("Payload schema has no fields");
+        }
+        final PayloadField[] fields = new PayloadField[schema.size()];
+        for (int i = 0; i < fields.length; i++) {
+            final Map<String, Object> field = schema.get(i);
+            final NumericFormat format = NumericFormat.fromName((String) field.get(FORMAT));
+            fields[i] = new PayloadField(
+                    format,
+                    intValue(field, BYTE_OFFSET, 0),
+                    intValue(field, COUNT, 1),
+                    intValue(field, STRIDE, format.getSize()),
+                    intValue(field, BIT_OFFSET, 0),
+                    intValue(field, BIT_LENGTH, 0),
+                    doubleValue(field, SCALE, 1),
+                    doubleValue(field, OFFSET, 0)
+            );
+        }
+        return new PayloadDecoder(id, fields);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * @return decoded elements or null when the value is too short for the schema
+     */
+    @Nullable
+    public double[] decode(byte[] value) {
+        if (value == null || value.length < minLength) {
+            return null;
+        }
+        final double[] out = new double[valueCount];
+        int index = 0;
+        for (PayloadField field : fields) {
+            field.decode(value, out, index);
+            index += field.getCount();
+        }
+        return out;
+    }
+
+    private static int intValue(Map<String, Object> field, String key, int defaultValue) {
+        final Object value = field.get(key);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    private static double doubleValue(Map<String, Object> field, String key, double defaultValue) {
+        final Object value = field.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+}
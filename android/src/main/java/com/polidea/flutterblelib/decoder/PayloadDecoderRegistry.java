@@ -0,0 +1,48 @@
+package com.polidea.flutterblelib.decoder;
+
+
+import android.support.annotation.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Payload decoders registered per characteristic UUID. Schemas are compiled on registration, values of
+ * characteristics without a schema are sent undecoded.
+ */
+public class PayloadDecoderRegistry {
+
+    private final ConcurrentHashMap<UUID, PayloadDecoder> decoders = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * @return id of the compiled schema, sent with every decoded value
+     * @throws IllegalArgumentException when the schema is invalid
+     */
+    public int register(UUID characteristicUUID, List<Map<String, Object>> schema) {
+        final PayloadDecoder decoder = PayloadDecoder.compile(nextId.getAndIncrement(), schema);
+        decoders.put(characteristicUUID, decoder);
+        return decoder.getId();
+    }
+
+    public boolean unregister(UUID characteristicUUID) {
+        return decoders.remove(characteristicUUID) != null;
+    }
+
+    @Nullable
+    public PayloadDecoder get(UUID characteristicUUID) {
+        return decoders.isEmpty() ? null : decoders.get(characteristicUUID);
+    }
+
+    public int size() {
+        return decoders.size();
+    }
+
+    public void clear() {
+        decoders.clear();
+    }
+}
@@ -0,0 +1,75 @@
+package com.polidea.flutterblelib.decoder;
+
+
+import com.polidea.flutterblelib.operator.NumericFormat;
+
+/**
+ * Compiled field of a payload schema: {@code count} elements of given format starting at {@code byteOffset}
+ * and {@code stride} bytes apart, optionally narrowed to a bitfield and mapped with {@code raw * scale + offset}.
+ */
+class PayloadField {
+
+    private final NumericFormat format;
+    private final int byteOffset;
+    private final int count;
+    private final int stride;
+    private final int bitOffset;
+    private final long bitMask;
+    private final boolean bitfield;
+    private final double scale;
+    private final double offset;
+    private final boolean scaled;
+
+    PayloadField(NumericFormat format,
+                 int byteOffset,
+                 int count,
+                 int stride,
+                 int bitOffset,
+                 int bitLength,
+                 double scale,
+                 double offset) {
+        if (byteOffset < 0 || count < 1 || stride < format.getSize()) {
+            throw new IllegalArgumentException("Invalid layout of " + format.getName() + " field at " + byteOffset
+                    + ": count " + count + ", stride " + stride);
+        }
+        this.bitfield = bitLength > 0;
+        if (bitfield && (format.isFloatingPoint() || bitOffset < 0 || bitOffset + bitLength > format.getSize() * 8)) {
+            throw new IllegalArgumentException("Invalid bitfield of " + format.getName() + " field at " + byteOffset
+                    + ": bits " + bitOffset + "+" + bitLength);
+        }
+        this.format = format;
+        this.byteOffset = byteOffset;
+        this.count = count;
+        this.stride = stride;
+        this.bitOffset = bitfield ? bitOffset : 0;
+        this.bitMask = bitfield ? -1L >>> (64 - bitLength) : -1L;
+        this.scale = scale;
+        this.offset = offset;
+        this.scaled = scale != 1 || offset != 0;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * @return number of bytes the value needs to hold all elements of the field
+     */
+    int getEnd() {
+        return byteOffset + (count - 1) * stride + format.getSize();
+    }
+
+    /**
+     * Writes all elements to {@code out} starting at {@code index}, the value is at least {@link #getEnd()} long.
+     */
+    void decode(byte[] value, double[] out, int index) {
+        int position = byteOffset;
+        for (int i = 0; i < count; i++) {
+            final double raw = bitfield
+                    ? (format.readBits(value, position) >>> bitOffset) & bitMask
+                    : format.read(value, position);
+            out[index + i] = scaled ? raw * scale + offset : raw;
+            position += stride;
+        }
+    }
+}
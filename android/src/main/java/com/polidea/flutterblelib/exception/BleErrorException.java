@@ -0,0 +1,80 @@
+package com.polidea.flutterblelib.exception;
+
+
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.BleData;
+
+/**
+ * Failure reported with a structured {@link BleData.BleErrorMessage}. The error code and the device and attribute
+ * it carries locate the failure, so the exception does not capture a stack trace; cancellations and timeouts
+ * are routine under load and use the shared instances.
+ */
+public class BleErrorException extends RuntimeException {
+
+    public static final int NO_ATTRIBUTE = 0;
+    /**
+     * Not a GATT status, 0 is GATT_SUCCESS.
+     */
+    public static final int NO_GATT_STATUS = -1;
+
+    public static final BleErrorException OPERATION_CANCELLED = new BleErrorException(
+            BleData.BleErrorCodeMessage.ERROR_OPERATION_CANCELLED, "Operation cancelled");
+    public static final BleErrorException OPERATION_TIMED_OUT = new BleErrorException(
+            BleData.BleErrorCodeMessage.ERROR_OPERATION_TIMED_OUT, "Operation timed out");
+
+    private final BleData.BleErrorCodeMessage code;
+    @Nullable
+    private final String deviceId;
+    private final int attributeId;
+    private final int gattStatus;
+
+    public BleErrorException(BleData.BleErrorCodeMessage code, String message) {
+        this(code, message, null, NO_ATTRIBUTE, NO_GATT_STATUS);
+    }
+
+    public BleErrorException(BleData.BleErrorCodeMessage code, String message, @Nullable String deviceId) {
+        this(code, message, deviceId, NO_ATTRIBUTE, NO_GATT_STATUS);
+    }
+
+    /**
+     * @param attributeId identifier of the service or characteristic, {@link #NO_ATTRIBUTE} when not known
+     * @param gattStatus  status reported by the GATT callback, {@link #NO_GATT_STATUS} when not known
+     */
+    public BleErrorException(BleData.BleErrorCodeMessage code,
+                             String message,
+                             @Nullable String deviceId,
+                             int attributeId,
+                             int gattStatus) {
+        super(message);
+        this.code = code;
+        this.deviceId = deviceId;
+        this.attributeId = attributeId;
+        this.gattStatus = gattStatus;
+    }
+
+    /**
+     * The constructor disabling stack traces requires API 24.
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    public BleData.BleErrorCodeMessage getCode() {
+        return code;
+    }
+
+    @Nullable
+    public String getDeviceId() {
+        return deviceId;
+    }
+
+    public int getAttributeId() {
+        return attributeId;
+    }
+
+    public int getGattStatus() {
+        return gattStatus;
+    }
+}
@@ -1,8 +1,12 @@
 package com.polidea.flutterblelib.exception;
 
 
-public class CharacteristicNotFoundException extends Exception{
-    public CharacteristicNotFoundException(String message){
-        super(message);
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.BleData;
+
+public class CharacteristicNotFoundException extends BleErrorException {
+    public CharacteristicNotFoundException(String message, @Nullable String deviceId, int characteristicId) {
+        super(BleData.BleErrorCodeMessage.ERROR_CHARACTERISTIC_NOT_FOUND, message, deviceId, characteristicId, NO_GATT_STATUS);
     }
 }
@@ -1,8 +1,10 @@
 package com.polidea.flutterblelib.exception;
 
 
-public class ConnectionNotFoundException extends Exception {
-    public ConnectionNotFoundException(String message) {
-        super(message);
+import com.polidea.flutterblelib.BleData;
+
+public class ConnectionNotFoundException extends BleErrorException {
+    public ConnectionNotFoundException(String message, String deviceId) {
+        super(BleData.BleErrorCodeMessage.ERROR_DEVICE_NOT_CONNECTED, message, deviceId);
     }
 }
@@ -1,8 +1,10 @@
 package com.polidea.flutterblelib.exception;
 
 
-public class RxBleDeviceNotFoundException extends Exception {
-    public RxBleDeviceNotFoundException(String message) {
-        super(message);
+import com.polidea.flutterblelib.BleData;
+
+public class RxBleDeviceNotFoundException extends BleErrorException {
+    public RxBleDeviceNotFoundException(String message, String deviceId) {
+        super(BleData.BleErrorCodeMessage.ERROR_DEVICE_NOT_FOUND, message, deviceId);
     }
 }
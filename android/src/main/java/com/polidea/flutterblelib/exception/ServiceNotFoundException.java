@@ -1,8 +1,12 @@
 package com.polidea.flutterblelib.exception;
 
 
-public class ServiceNotFoundException extends Exception{
-    public ServiceNotFoundException(String message){
-        super(message);
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.BleData;
+
+public class ServiceNotFoundException extends BleErrorException {
+    public ServiceNotFoundException(String message, @Nullable String deviceId, int serviceId) {
+        super(BleData.BleErrorCodeMessage.ERROR_SERVICE_NOT_FOUND, message, deviceId, serviceId, NO_GATT_STATUS);
     }
 }
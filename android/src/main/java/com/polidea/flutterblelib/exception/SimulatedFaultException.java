@@ -0,0 +1,8 @@
+package com.polidea.flutterblelib.exception;
+
+
+public class SimulatedFaultException extends RuntimeException {
+    public SimulatedFaultException(String message) {
+        super(message);
+    }
+}
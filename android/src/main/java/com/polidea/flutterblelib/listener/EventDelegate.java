@@ -2,7 +2,13 @@ package com.polidea.flutterblelib.listener;
 
 
 import com.polidea.flutterblelib.Event;
+import com.polidea.flutterblelib.utils.TransactionId;
 
 public interface EventDelegate {
     <T> void dispatchEvent(Event event, T value);
+
+    /**
+     * Dispatches an event produced by a single transaction, such as a notification of a monitor.
+     */
+    <T> void dispatchEvent(TransactionId transactionId, Event event, T value);
 }
@@ -9,4 +9,7 @@ public interface Namespace {
     String flutter_ble_lib_stateChange = flutter_ble_lib + "/stateChange";
     String flutter_ble_lib_deviceConnectionChange = flutter_ble_lib + "/deviceConnectionChange";
     String flutter_ble_lib_monitorCharacteristicChange = flutter_ble_lib + "/monitorCharacteristicChange";
+    String flutter_ble_lib_binary = flutter_ble_lib + "/binary";
+    String flutter_ble_lib_monitorCharacteristicBinary = flutter_ble_lib + "/monitorCharacteristicBinary";
+    String flutter_ble_lib_notificationRing = flutter_ble_lib + "/notificationRing";
 }
@@ -0,0 +1,14 @@
+package com.polidea.flutterblelib.listener;
+
+
+public interface StreamListenStateListener {
+
+    StreamListenStateListener NULL = new StreamListenStateListener() {
+        @Override
+        public void onListenStateChanged(boolean listened) {
+
+        }
+    };
+
+    void onListenStateChanged(boolean listened);
+}
@@ -0,0 +1,152 @@
+package com.polidea.flutterblelib.metrics;
+
+
+import android.support.annotation.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Collects latency histograms per operation type and per device together with traffic and error
+ * counters. All recording methods are lock-free and allocation-free once the histograms for a given
+ * device have been created.
+ */
+public class BleMetrics {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[OPERATIONS.length];
+    private final ConcurrentHashMap<String, AtomicReferenceArray<LatencyHistogram>> deviceHistograms
+            = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final AtomicLong bytesIn = new AtomicLong();
+    private final AtomicLong bytesOut = new AtomicLong();
+    private final AtomicLong eventsDispatched = new AtomicLong();
+    private final AtomicInteger concurrentDispatches = new AtomicInteger();
+    private final AtomicInteger maxConcurrentDispatches = new AtomicInteger();
+
+    public BleMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    public void recordLatency(Operation operation, @Nullable String deviceId, long startNanos) {
+        final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        histograms[operation.ordinal()].record(micros);
+        if (deviceId != null) {
+            histogramFor(deviceId, operation).record(micros);
+        }
+    }
+
+    public void recordBytesIn(@Nullable byte[] value) {
+        if (value != null) {
+            bytesIn.addAndGet(value.length);
+        }
+    }
+
+    public void recordBytesOut(@Nullable byte[] value) {
+        if (value != null) {
+            bytesOut.addAndGet(value.length);
+        }
+    }
+
+    public void recordError(Throwable throwable) {
+        final String exceptionClass = throwable.getClass().getName();
+        AtomicLong counter = errors.get(exceptionClass);
+        if (counter == null) {
+            final AtomicLong newCounter = new AtomicLong();
+            counter = errors.putIfAbsent(exceptionClass, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        counter.incrementAndGet();
+    }
+
+    /**
+     * Marks start of an event emission and returns its start time, to be passed to {@link #onEventDispatched(long)}.
+     * Events are sent synchronously, so the number of emissions in progress counts threads dispatching at once,
+     * not events waiting in the event channel.
+     */
+    public long onDispatchStarted() {
+        final int dispatches = concurrentDispatches.incrementAndGet();
+        int max = maxConcurrentDispatches.get();
+        while (dispatches > max && !maxConcurrentDispatches.compareAndSet(max, dispatches)) {
+            max = maxConcurrentDispatches.get();
+        }
+        return System.nanoTime();
+    }
+
+    public void onEventDispatched(long startNanos) {
+        concurrentDispatches.decrementAndGet();
+        eventsDispatched.incrementAndGet();
+        recordLatency(Operation.EVENT_EMISSION, null, startNanos);
+    }
+
+    public void forgetDevice(String deviceId) {
+        deviceHistograms.remove(deviceId);
+    }
+
+    public void forgetDevices() {
+        deviceHistograms.clear();
+    }
+
+    public LatencyHistogram getHistogram(Operation operation) {
+        return histograms[operation.ordinal()];
+    }
+
+    /**
+     * Returns histograms of given device indexed by {@link Operation#ordinal()}, entries are null for
+     * operations that were never recorded.
+     */
+    public Map<String, AtomicReferenceArray<LatencyHistogram>> getDeviceHistograms() {
+        return deviceHistograms;
+    }
+
+    public Map<String, AtomicLong> getErrors() {
+        return errors;
+    }
+
+    public long getBytesIn() {
+        return bytesIn.get();
+    }
+
+    public long getBytesOut() {
+        return bytesOut.get();
+    }
+
+    public long getEventsDispatched() {
+        return eventsDispatched.get();
+    }
+
+    public int getConcurrentDispatches() {
+        return concurrentDispatches.get();
+    }
+
+    public int getMaxConcurrentDispatches() {
+        return maxConcurrentDispatches.get();
+    }
+
+    private LatencyHistogram histogramFor(String deviceId, Operation operation) {
+        AtomicReferenceArray<LatencyHistogram> deviceOperations = deviceHistograms.get(deviceId);
+        if (deviceOperations == null) {
+            final AtomicReferenceArray<LatencyHistogram> newDeviceOperations
+                    = new AtomicReferenceArray<>(OPERATIONS.length);
+            deviceOperations = deviceHistograms.putIfAbsent(deviceId, newDeviceOperations);
+            if (deviceOperations == null) {
+                deviceOperations = newDeviceOperations;
+            }
+        }
+        LatencyHistogram histogram = deviceOperations.get(operation.ordinal());
+        if (histogram == null) {
+            deviceOperations.compareAndSet(operation.ordinal(), null, new LatencyHistogram());
+            histogram = deviceOperations.get(operation.ordinal());
+        }
+        return histogram;
+    }
+}
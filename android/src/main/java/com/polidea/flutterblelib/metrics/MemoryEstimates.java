@@ -0,0 +1,40 @@
+package com.polidea.flutterblelib.metrics;
+
+
+/**
+ * Rough retained sizes of registry entries, assuming a 64-bit runtime with compressed references: 12 byte object
+ * headers, 4 byte references and objects aligned to 8 bytes. They are meant to spot unbounded growth, not to
+ * match a heap dump. Objects owned by the Bluetooth stack, like GATT services, are not counted.
+ */
+public final class MemoryEstimates {
+
+    /** Hash map node: header, hash, key, value and next references. */
+    public static final int MAP_ENTRY = 32;
+    /** Boxed int key or value. */
+    public static final int BOXED_INT = 16;
+    /** Device address string with its 17 character array. */
+    public static final int MAC_ADDRESS = 80;
+    public static final int UUID = 32;
+    /** Key and value slots of a {@code SparseArray}. */
+    public static final int SPARSE_ARRAY_ENTRY = 8;
+    /** Head of a subscribed Rx chain: safe subscriber, subscription list and the operator subscribers it references. */
+    public static final int SUBSCRIPTION = 192;
+    public static final int TRANSACTION_ID = 24;
+    public static final int ID_KEY = 24;
+    public static final int DEVICE = 24;
+    public static final int SERVICE = 32;
+    public static final int CHARACTERISTIC = 24;
+    public static final int CACHE_ENTRY = 56;
+    public static final int PAYLOAD_DECODER = 128;
+    public static final int RECORDER = 96;
+    /** Ring with its direct buffer object and cleaner, the buffer memory itself is off-heap. */
+    public static final int NOTIFICATION_RING = 160;
+    public static final int LATENCY_HISTOGRAM = 80 + LatencyHistogram.BUCKETS * 8;
+
+    private MemoryEstimates() {
+    }
+
+    public static long byteArray(int length) {
+        return (16 + length + 7) & ~7L;
+    }
+}
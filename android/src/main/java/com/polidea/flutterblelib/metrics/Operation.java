@@ -0,0 +1,13 @@
+package com.polidea.flutterblelib.metrics;
+
+
+public enum Operation {
+    CONNECT,
+    DISCOVERY,
+    MTU,
+    RSSI,
+    READ,
+    WRITE,
+    NOTIFICATION,
+    EVENT_EMISSION
+}
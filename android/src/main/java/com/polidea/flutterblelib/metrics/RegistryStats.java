@@ -0,0 +1,43 @@
+package com.polidea.flutterblelib.metrics;
+
+
+/**
+ * Entry count and estimated retained size of one of the client's registries, see {@link MemoryEstimates}.
+ */
+public class RegistryStats {
+
+    private final String name;
+    private final int entries;
+    private final long estimatedBytes;
+    private final long nativeBytes;
+
+    public RegistryStats(String name, int entries, long estimatedBytes) {
+        this(name, entries, estimatedBytes, 0);
+    }
+
+    /**
+     * @param nativeBytes memory held outside of the Java heap, e.g. mapped files
+     */
+    public RegistryStats(String name, int entries, long estimatedBytes, long nativeBytes) {
+        this.name = name;
+        this.entries = entries;
+        this.estimatedBytes = estimatedBytes;
+        this.nativeBytes = nativeBytes;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getEntries() {
+        return entries;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public long getNativeBytes() {
+        return nativeBytes;
+    }
+}
@@ -0,0 +1,73 @@
+package com.polidea.flutterblelib.metrics;
+
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durations of the plugin's startup steps in microseconds, 0 for steps that have not run yet. Steps that can
+ * repeat (client creation, adapter state registration) keep the duration of the last run.
+ */
+public class StartupMetrics {
+
+    private volatile long pluginRegistrationMicros;
+    private volatile long helperCreationMicros;
+    private volatile long clientCreationDelayMicros;
+    private volatile long clientCreationMicros;
+    private volatile long restoreStateMicros;
+    private volatile long adapterStateRegistrationMicros;
+
+    public void recordPluginRegistration(long startNanos) {
+        pluginRegistrationMicros = microsSince(startNanos);
+    }
+
+    public void recordHelperCreation(long startNanos) {
+        helperCreationMicros = microsSince(startNanos);
+    }
+
+    /**
+     * Time between the createClient call and the start of client creation on a background thread.
+     */
+    public void recordClientCreationDelay(long requestNanos) {
+        clientCreationDelayMicros = microsSince(requestNanos);
+    }
+
+    public void recordClientCreation(long startNanos) {
+        clientCreationMicros = microsSince(startNanos);
+    }
+
+    public void recordRestoreState(long startNanos) {
+        restoreStateMicros = microsSince(startNanos);
+    }
+
+    public void recordAdapterStateRegistration(long startNanos) {
+        adapterStateRegistrationMicros = microsSince(startNanos);
+    }
+
+    public long getPluginRegistrationMicros() {
+        return pluginRegistrationMicros;
+    }
+
+    public long getHelperCreationMicros() {
+        return helperCreationMicros;
+    }
+
+    public long getClientCreationDelayMicros() {
+        return clientCreationDelayMicros;
+    }
+
+    public long getClientCreationMicros() {
+        return clientCreationMicros;
+    }
+
+    public long getRestoreStateMicros() {
+        return restoreStateMicros;
+    }
+
+    public long getAdapterStateRegistrationMicros() {
+        return adapterStateRegistrationMicros;
+    }
+
+    private static long microsSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+}
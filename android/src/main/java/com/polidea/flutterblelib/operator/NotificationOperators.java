@@ -0,0 +1,175 @@
+package com.polidea.flutterblelib.operator;
+
+
+import android.support.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Func1;
+
+/**
+ * Reduces notifications of a single monitor transaction before they are serialized and sent to Dart.
+ * Operators are applied in order: distinct-until-changed, sample every N-th value, throttle, debounce and
+ * finally the fixed window statistics.
+ * <p>
+ * A window of {@code windowSize} numeric fields read with {@code windowFormat} at {@code windowOffset} is
+ * replaced by a single 24 byte value holding min, max and mean as little endian float64. Values too short
+ * to hold the field are skipped.
+ */
+public class NotificationOperators {
+
+    public static final NotificationOperators NONE = new NotificationOperators(0, 0, 0, false, 0, null, 0);
+
+    private static final int WINDOW_STATS_SIZE = 24;
+
+    private final int sampleEvery;
+    private final long throttleMillis;
+    private final long debounceMillis;
+    private final boolean distinct;
+    private final int windowSize;
+    private final NumericFormat windowFormat;
+    private final int windowOffset;
+
+    /**
+     * @param sampleEvery    passes every N-th value, 0 or 1 passes all values
+     * @param throttleMillis passes the first value of every period, 0 disables throttling
+     * @param debounceMillis passes a value once no other value followed it for the period, 0 disables debouncing
+     * @param distinct       drops values equal to the previous one
+     * @param windowSize     number of samples aggregated into window statistics, 0 disables windowing
+     * @param windowFormat   layout of the aggregated field, required when windowing is enabled
+     * @param windowOffset   offset of the aggregated field in the value
+     */
+    public NotificationOperators(int sampleEvery,
+                                 long throttleMillis,
+                                 long debounceMillis,
+                                 boolean distinct,
+                                 int windowSize,
+                                 @Nullable NumericFormat windowFormat,
+                                 int windowOffset) {
+        if (windowSize > 0 && windowFormat == null) {
+            throw new IllegalArgumentException("Window format is required for window of size " + windowSize);
+        }
+        if (windowOffset < 0) {
+            throw new IllegalArgumentException("Invalid window offset: " + windowOffset);
+        }
+        this.sampleEvery = Math.max(1, sampleEvery);
+        this.throttleMillis = Math.max(0, throttleMillis);
+        this.debounceMillis = Math.max(0, debounceMillis);
+        this.distinct = distinct;
+        this.windowSize = Math.max(0, windowSize);
+        this.windowFormat = windowFormat;
+        this.windowOffset = windowOffset;
+    }
+
+    public boolean isEmpty() {
+        return sampleEvery == 1 && throttleMillis == 0 && debounceMillis == 0 && !distinct && windowSize == 0;
+    }
+
+    /**
+     * @param scheduler scheduler of throttle and debounce timers
+     */
+    public Observable<byte[]> apply(Observable<byte[]> notifications, Scheduler scheduler) {
+        Observable<byte[]> result = notifications;
+        if (distinct) {
+            result = result.filter(new Func1<byte[], Boolean>() {
+                private byte[] previous;
+
+                @Override
+                public Boolean call(byte[] value) {
+                    final boolean changed = !Arrays.equals(previous, value);
+                    previous = value;
+                    return changed;
+                }
+            });
+        }
+        if (sampleEvery > 1) {
+            result = result.filter(new Func1<byte[], Boolean>() {
+                private int count;
+
+                @Override
+                public Boolean call(byte[] value) {
+                    if (++count < sampleEvery) {
+                        return false;
+                    }
+                    count = 0;
+                    return true;
+                }
+            });
+        }
+        if (throttleMillis > 0) {
+            result = result.throttleFirst(throttleMillis, TimeUnit.MILLISECONDS, scheduler);
+        }
+        if (debounceMillis > 0) {
+            result = result.debounce(debounceMillis, TimeUnit.MILLISECONDS, scheduler);
+        }
+        if (windowSize > 0) {
+            result = result
+                    .map(new WindowStats(windowSize, windowFormat, windowOffset))
+                    .filter(new Func1<byte[], Boolean>() {
+                        @Override
+                        public Boolean call(byte[] stats) {
+                            return stats != null;
+                        }
+                    });
+        }
+        return result;
+    }
+
+    /**
+     * Accumulates samples and returns encoded statistics once the window is full, null otherwise.
+     */
+    private static class WindowStats implements Func1<byte[], byte[]> {
+
+        private final int size;
+        private final NumericFormat format;
+        private final int offset;
+
+        private int count;
+        private double min;
+        private double max;
+        private double sum;
+
+        private WindowStats(int size, NumericFormat format, int offset) {
+            this.size = size;
+            this.format = format;
+            this.offset = offset;
+        }
+
+        @Override
+        public byte[] call(byte[] value) {
+            if (!format.fits(value, offset)) {
+                return null;
+            }
+            final double sample = format.read(value, offset);
+            if (count == 0) {
+                min = sample;
+                max = sample;
+                sum = 0;
+            } else {
+                min = Math.min(min, sample);
+                max = Math.max(max, sample);
+            }
+            sum += sample;
+            if (++count < size) {
+                return null;
+            }
+            count = 0;
+            final byte[] stats = new byte[WINDOW_STATS_SIZE];
+            putDouble(stats, 0, min);
+            putDouble(stats, 8, max);
+            putDouble(stats, 16, sum / size);
+            return stats;
+        }
+
+        private static void putDouble(byte[] bytes, int offset, double value) {
+            long bits = Double.doubleToLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                bytes[offset + i] = (byte) bits;
+                bits >>>= 8;
+            }
+        }
+    }
+}
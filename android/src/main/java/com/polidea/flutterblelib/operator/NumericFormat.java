@@ -0,0 +1,182 @@
+package com.polidea.flutterblelib.operator;
+
+
+/**
+ * Layout of a single numeric field inside a characteristic value. Every format reads its field with
+ * dedicated code, so no size or byte order checks are made per value.
+ */
+public enum NumericFormat {
+    UINT8("uint8", 1, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return value[offset] & 0xFF;
+        }
+    },
+    INT8("int8", 1, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return value[offset];
+        }
+    },
+    UINT16_LE("uint16le", 2, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return (value[offset] & 0xFF) | (value[offset + 1] & 0xFF) << 8;
+        }
+    },
+    UINT16_BE("uint16be", 2, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return (value[offset] & 0xFF) << 8 | (value[offset + 1] & 0xFF);
+        }
+    },
+    INT16_LE("int16le", 2, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return (short) ((value[offset] & 0xFF) | value[offset + 1] << 8);
+        }
+    },
+    INT16_BE("int16be", 2, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return (short) (value[offset] << 8 | (value[offset + 1] & 0xFF));
+        }
+    },
+    UINT32_LE("uint32le", 4, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return int32le(value, offset) & 0xFFFF_FFFFL;
+        }
+    },
+    UINT32_BE("uint32be", 4, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return int32be(value, offset) & 0xFFFF_FFFFL;
+        }
+    },
+    INT32_LE("int32le", 4, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return int32le(value, offset);
+        }
+    },
+    INT32_BE("int32be", 4, false) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return int32be(value, offset);
+        }
+    },
+    FLOAT32_LE("float32le", 4, true) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return int32le(value, offset) & 0xFFFF_FFFFL;
+        }
+
+        @Override
+        public double read(byte[] value, int offset) {
+            return Float.intBitsToFloat(int32le(value, offset));
+        }
+    },
+    FLOAT32_BE("float32be", 4, true) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return int32be(value, offset) & 0xFFFF_FFFFL;
+        }
+
+        @Override
+        public double read(byte[] value, int offset) {
+            return Float.intBitsToFloat(int32be(value, offset));
+        }
+    },
+    FLOAT64_LE("float64le", 8, true) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return (int32le(value, offset) & 0xFFFF_FFFFL) | (long) int32le(value, offset + 4) << 32;
+        }
+
+        @Override
+        public double read(byte[] value, int offset) {
+            return Double.longBitsToDouble(readBits(value, offset));
+        }
+    },
+    FLOAT64_BE("float64be", 8, true) {
+        @Override
+        public long readBits(byte[] value, int offset) {
+            return (long) int32be(value, offset) << 32 | (int32be(value, offset + 4) & 0xFFFF_FFFFL);
+        }
+
+        @Override
+        public double read(byte[] value, int offset) {
+            return Double.longBitsToDouble(readBits(value, offset));
+        }
+    };
+
+    private final String name;
+    private final int size;
+    private final boolean floatingPoint;
+
+    NumericFormat(String name, int size, boolean floatingPoint) {
+        this.name = name;
+        this.size = size;
+        this.floatingPoint = floatingPoint;
+    }
+
+    /**
+     * @param name format name, e.g. "int16le" or "float32le"
+     * @throws IllegalArgumentException when the name is unknown
+     */
+    public static NumericFormat fromName(String name) {
+        for (NumericFormat format : values()) {
+            if (format.name.equals(name)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unknown numeric format: " + name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isFloatingPoint() {
+        return floatingPoint;
+    }
+
+    /**
+     * @return whether the value is long enough to hold the field at given offset
+     */
+    public boolean fits(byte[] value, int offset) {
+        return offset >= 0 && value.length - offset >= size;
+    }
+
+    /**
+     * Reads the raw field at given offset, sign extended for signed integer formats. The caller checks
+     * {@link #fits(byte[], int)} first.
+     */
+    public abstract long readBits(byte[] value, int offset);
+
+    /**
+     * Reads the field at given offset, the caller checks {@link #fits(byte[], int)} first.
+     */
+    public double read(byte[] value, int offset) {
+        return readBits(value, offset);
+    }
+
+    private static int int32le(byte[] value, int offset) {
+        return (value[offset] & 0xFF)
+                | (value[offset + 1] & 0xFF) << 8
+                | (value[offset + 2] & 0xFF) << 16
+                | value[offset + 3] << 24;
+    }
+
+    private static int int32be(byte[] value, int offset) {
+        return value[offset] << 24
+                | (value[offset + 1] & 0xFF) << 16
+                | (value[offset + 2] & 0xFF) << 8
+                | (value[offset + 3] & 0xFF);
+    }
+}
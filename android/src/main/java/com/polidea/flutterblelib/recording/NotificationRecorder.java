@@ -0,0 +1,212 @@
+package com.polidea.flutterblelib.recording;
+
+
+import android.os.SystemClock;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends raw notification frames to memory-mapped segment files in a directory. A segment is mapped with
+ * its full size up front, so appending a frame is a few absolute puts; the mapping is forced to disk at most
+ * every sync interval and whenever a segment is rotated or closed. A full segment is rotated automatically.
+ * <p>
+ * Segment layout (little endian):
+ * <pre>
+ *  0  int32  magic "BLER"
+ *  4  int32  version
+ *  8  int32  header size
+ * 12  int32  segment index
+ * 16  int64  wall clock time of segment creation, milliseconds since epoch
+ * 24  int64  SystemClock.elapsedRealtimeNanos() at segment creation
+ * </pre>
+ * followed by records:
+ * <pre>
+ *  0  int32  record size including this header, 0 marks the end of the segment
+ *  4  int32  characteristic identifier
+ *  8  int64  SystemClock.elapsedRealtimeNanos() of the notification
+ * 16  byte[] value
+ * </pre>
+ * The record size is written last, so a segment cut short by a crash ends at the last complete record.
+ * Closed segments are truncated to their written length.
+ */
+public class NotificationRecorder {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 4 << 20;
+    public static final long DEFAULT_SYNC_INTERVAL_MILLIS = 1000;
+    public static final int MIN_SEGMENT_SIZE = 64 << 10;
+
+    private static final int MAGIC = 0x52454C42; // "BLER" in little endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_HEADER_SIZE = 16;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".blrec";
+
+    private final File directory;
+    private final int segmentSize;
+    private final long syncIntervalNanos;
+
+    private int segmentIndex;
+    private File segmentFile;
+    private RandomAccessFile segmentAccess;
+    private MappedByteBuffer segment;
+    private long lastSyncNanos;
+    private long recordCount;
+    private long droppedCount;
+    private boolean closed;
+
+    /**
+     * @param directory          directory of segment files, created when missing; numbering continues after
+     *                           segments already in the directory
+     * @param segmentSize        size of a segment file in bytes, at least {@link #MIN_SEGMENT_SIZE}
+     * @param syncIntervalMillis maximum time appended records stay unsynced, 0 syncs after every record
+     */
+    public NotificationRecorder(File directory, int segmentSize, long syncIntervalMillis) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create recording directory " + directory);
+        }
+        this.directory = directory;
+        this.segmentSize = Math.max(MIN_SEGMENT_SIZE, segmentSize);
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, syncIntervalMillis));
+        this.segmentIndex = lastSegmentIndex(directory);
+        openSegment();
+    }
+
+    /**
+     * @return false when the value does not fit in an empty segment and was dropped
+     */
+    public synchronized boolean append(int characteristicId, long timestampNanos, byte[] value) throws IOException {
+        if (closed) {
+            throw new IOException("Recording in " + directory + " is closed");
+        }
+        final int recordSize = RECORD_HEADER_SIZE + value.length;
+        if (HEADER_SIZE + recordSize + 4 > segmentSize) {
+            droppedCount++;
+            return false;
+        }
+        if (segment.position() + recordSize + 4 > segmentSize) {
+            closeSegment();
+            openSegment();
+        }
+        final int offset = segment.position();
+        segment.putInt(offset + 4, characteristicId);
+        segment.putLong(offset + 8, timestampNanos);
+        segment.position(offset + RECORD_HEADER_SIZE);
+        segment.put(value);
+        segment.putInt(offset, recordSize);
+        recordCount++;
+
+        final long nowNanos = SystemClock.elapsedRealtimeNanos();
+        if (nowNanos - lastSyncNanos >= syncIntervalNanos) {
+            segment.force();
+            lastSyncNanos = nowNanos;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the current segment and starts the next one.
+     *
+     * @return closed segment file
+     */
+    public synchronized File rotate() throws IOException {
+        if (closed) {
+            throw new IOException("Recording in " + directory + " is closed");
+        }
+        final File closedSegment = segmentFile;
+        closeSegment();
+        openSegment();
+        return closedSegment;
+    }
+
+    /**
+     * Syncs and closes the current segment, the recorder cannot be used afterwards.
+     *
+     * @return last segment file or null when the recorder was already closed
+     */
+    @Nullable
+    public synchronized File close() throws IOException {
+        if (closed) {
+            return null;
+        }
+        closed = true;
+        final File closedSegment = segmentFile;
+        closeSegment();
+        return closedSegment;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public synchronized long getRecordCount() {
+        return recordCount;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    private void openSegment() throws IOException {
+        segmentIndex++;
+        segmentFile = new File(directory, String.format(Locale.US, "%s%06d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+        segmentAccess = new RandomAccessFile(segmentFile, "rw");
+        try {
+            segment = segmentAccess.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        } catch (IOException e) {
+            segmentAccess.close();
+            throw e;
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        lastSyncNanos = SystemClock.elapsedRealtimeNanos();
+        segment.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(HEADER_SIZE)
+                .putInt(segmentIndex)
+                .putLong(System.currentTimeMillis())
+                .putLong(lastSyncNanos);
+        segment.putInt(HEADER_SIZE, 0);
+    }
+
+    private void closeSegment() throws IOException {
+        final int length = segment.position();
+        segment.putInt(length, 0);
+        segment.force();
+        segment = null;
+        try {
+            segmentAccess.setLength(length + 4);
+        } finally {
+            segmentAccess.close();
+        }
+    }
+
+    private static int lastSegmentIndex(File directory) {
+        int lastIndex = 0;
+        final String[] names = directory.list();
+        if (names == null) {
+            return lastIndex;
+        }
+        for (String name : names) {
+            if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                try {
+                    lastIndex = Math.max(lastIndex, Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return lastIndex;
+    }
+}
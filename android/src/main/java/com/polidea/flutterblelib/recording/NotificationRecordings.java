@@ -0,0 +1,72 @@
+package com.polidea.flutterblelib.recording;
+
+
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.utils.BleLog;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open notification recordings by id.
+ */
+public class NotificationRecordings {
+
+    public static final int NO_RECORDING = 0;
+
+    private final ConcurrentHashMap<Integer, NotificationRecorder> recorders = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger(NO_RECORDING + 1);
+
+    /**
+     * @return id of the opened recording
+     */
+    public int open(File directory, int segmentSize, long syncIntervalMillis) throws IOException {
+        final NotificationRecorder recorder = new NotificationRecorder(directory, segmentSize, syncIntervalMillis);
+        final int id = nextId.getAndIncrement();
+        recorders.put(id, recorder);
+        return id;
+    }
+
+    @Nullable
+    public NotificationRecorder get(int id) {
+        return recorders.get(id);
+    }
+
+    /**
+     * @return last segment of the closed recording or null when there is no recording with given id
+     */
+    @Nullable
+    public File close(int id) throws IOException {
+        final NotificationRecorder recorder = recorders.remove(id);
+        return recorder != null ? recorder.close() : null;
+    }
+
+    public int size() {
+        return recorders.size();
+    }
+
+    /**
+     * @return bytes of segment files currently mapped into memory
+     */
+    public long getMappedBytes() {
+        long mappedBytes = 0;
+        for (NotificationRecorder recorder : recorders.values()) {
+            mappedBytes += recorder.getSegmentSize();
+        }
+        return mappedBytes;
+    }
+
+    public void closeAll() {
+        for (Integer id : recorders.keySet()) {
+            try {
+                close(id);
+            } catch (IOException e) {
+                BleLog.e(e, "Closing recording %s failed", id);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.polidea.flutterblelib.restore;
+
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.BleData;
+import com.polidea.flutterblelib.utils.BleLog;
+import com.polidea.flutterblelib.utils.TransactionId;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import rx.Scheduler;
+import rx.functions.Action0;
+
+/**
+ * Connected devices, their discovered services, negotiated MTU and active monitors, persisted under a restore
+ * state identifier so the client can reconnect and resubscribe right after a process restart.
+ * <p>
+ * Changes are applied to an in-memory state and written to disk on the given scheduler; bursts of changes are
+ * coalesced into a single write, which replaces the file atomically.
+ */
+public class RestoreStateStore {
+
+    private static final String DIRECTORY = "flutter_ble_lib";
+
+    private final File file;
+    private final Scheduler.Worker worker;
+    private final AtomicBoolean saveScheduled = new AtomicBoolean();
+    private final LinkedHashMap<String, BleData.RestoredDeviceMessage> devices = new LinkedHashMap<>();
+
+    private final Action0 save = new Action0() {
+        @Override
+        public void call() {
+            saveScheduled.set(false);
+            try {
+                write(snapshot());
+            } catch (IOException e) {
+                BleLog.e(e, "Saving restore state to %s failed", file);
+            }
+        }
+    };
+
+    public RestoreStateStore(File file, Scheduler scheduler) {
+        this.file = file;
+        this.worker = scheduler.createWorker();
+    }
+
+    public static File fileFor(Context context, String restoreStateIdentifier) {
+        final String name = restoreStateIdentifier.replaceAll("[^A-Za-z0-9._-]", "_");
+        return new File(new File(context.getFilesDir(), DIRECTORY), "restore-" + name + ".pb");
+    }
+
+    /**
+     * Reads persisted state and makes it the current one.
+     *
+     * @return persisted state or null when nothing was persisted or the file is corrupted
+     */
+    @Nullable
+    public synchronized BleData.RestoreStateMessage load() {
+        devices.clear();
+        if (!file.isFile()) {
+            return null;
+        }
+        final BleData.RestoreStateMessage state;
+        try {
+            final FileInputStream inputStream = new FileInputStream(file);
+            try {
+                state = BleData.RestoreStateMessage.parseFrom(inputStream);
+            } finally {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            BleLog.e(e, "Reading restore state from %s failed", file);
+            return null;
+        }
+        for (BleData.RestoredDeviceMessage device : state.getDevicesList()) {
+            devices.put(device.getDevice().getId(), device);
+        }
+        return state;
+    }
+
+    /**
+     * Keeps services and monitors already stored for the device, so a restored connection does not lose them.
+     */
+    public synchronized void deviceConnected(BleData.BleDeviceMessage device, boolean autoConnect) {
+        final BleData.RestoredDeviceMessage stored = devices.get(device.getId());
+        final BleData.RestoredDeviceMessage.Builder builder = stored != null
+                ? stored.toBuilder()
+                : BleData.RestoredDeviceMessage.newBuilder();
+        devices.put(device.getId(), builder.setDevice(device).setIsAutoConnect(autoConnect).build());
+        scheduleSave();
+    }
+
+    public synchronized void mtuChanged(String deviceId, int mtu) {
+        final BleData.RestoredDeviceMessage stored = devices.get(deviceId);
+        if (stored == null) {
+            return;
+        }
+        devices.put(deviceId, stored.toBuilder()
+                .setDevice(stored.getDevice().toBuilder().setMtu(mtu))
+                .build());
+        scheduleSave();
+    }
+
+    public synchronized void servicesDiscovered(String deviceId, List<BleData.RestoredServiceMessage> services) {
+        final BleData.RestoredDeviceMessage stored = devices.get(deviceId);
+        if (stored == null) {
+            return;
+        }
+        devices.put(deviceId, stored.toBuilder().clearServices().addAllServices(services).build());
+        scheduleSave();
+    }
+
+    /**
+     * Replaces a stored monitor of the same transaction.
+     */
+    public synchronized void monitorStarted(String deviceId, BleData.RestoredMonitorMessage monitor) {
+        final BleData.RestoredDeviceMessage stored = devices.get(deviceId);
+        if (stored == null) {
+            return;
+        }
+        final int index = indexOf(stored, monitor.getTransactionId(), monitor.getTransactionHandle());
+        final BleData.RestoredDeviceMessage.Builder builder = stored.toBuilder();
+        if (index >= 0) {
+            builder.setMonitors(index, monitor);
+        } else {
+            builder.addMonitors(monitor);
+        }
+        devices.put(deviceId, builder.build());
+        scheduleSave();
+    }
+
+    public synchronized void monitorStopped(String deviceId, TransactionId transactionId) {
+        final BleData.RestoredDeviceMessage stored = devices.get(deviceId);
+        if (stored == null) {
+            return;
+        }
+        final int index = transactionId.isHandle()
+                ? indexOf(stored, "", transactionId.getHandle())
+                : indexOf(stored, transactionId.getId() != null ? transactionId.getId() : "", 0);
+        if (index < 0) {
+            return;
+        }
+        devices.put(deviceId, stored.toBuilder().removeMonitors(index).build());
+        scheduleSave();
+    }
+
+    public synchronized void deviceDisconnected(String deviceId) {
+        if (devices.remove(deviceId) != null) {
+            scheduleSave();
+        }
+    }
+
+    public synchronized BleData.RestoreStateMessage snapshot() {
+        return BleData.RestoreStateMessage.newBuilder().addAllDevices(devices.values()).build();
+    }
+
+    /**
+     * Stops scheduling writes and writes pending changes on the calling thread.
+     */
+    public void close() {
+        worker.unsubscribe();
+        if (saveScheduled.get()) {
+            save.call();
+        }
+    }
+
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            worker.schedule(save);
+        }
+    }
+
+    private void write(BleData.RestoreStateMessage state) throws IOException {
+        final File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory " + directory);
+        }
+        final File temporaryFile = new File(directory, file.getName() + ".tmp");
+        final FileOutputStream outputStream = new FileOutputStream(temporaryFile);
+        try {
+            state.writeTo(outputStream);
+            outputStream.getFD().sync();
+        } finally {
+            outputStream.close();
+        }
+        if (!temporaryFile.renameTo(file)) {
+            throw new IOException("Cannot replace " + file);
+        }
+    }
+
+    private static int indexOf(BleData.RestoredDeviceMessage device, String transactionId, long transactionHandle) {
+        for (int i = 0; i < device.getMonitorsCount(); i++) {
+            final BleData.RestoredMonitorMessage monitor = device.getMonitors(i);
+            if (monitor.getTransactionHandle() == transactionHandle && monitor.getTransactionId().equals(transactionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,396 @@
+package com.polidea.flutterblelib.scan;
+
+
+import android.support.annotation.Nullable;
+
+import com.polidea.flutterblelib.BleData;
+import com.polidea.flutterblelib.metrics.MemoryEstimates;
+import com.polidea.flutterblelib.utils.MacAddress;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opt-in registry of devices seen by the scan, answering queries like the strongest devices or the devices not
+ * seen recently with a few entries instead of every scan result. The registry is disabled until
+ * {@link #configure(long, int)} is called with a positive size.
+ * <p>
+ * Entries live in parallel primitive arrays indexed by an open addressing table keyed by the packed MAC address,
+ * so a registered device costs about 50 bytes besides its name and a sighting allocates nothing. Entries expire
+ * through a hashed timing wheel: every entry sits in the bucket of its deadline and is checked only when the
+ * wheel reaches that bucket, entries seen again in the meantime are moved to the bucket of their new deadline.
+ * The wheel advances on sightings and queries, there is no timer.
+ */
+public class ScannedDeviceRegistry {
+
+    public static final int DEFAULT_QUERY_LIMIT = 10;
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NO_ENTRY = -1;
+    private static final long NO_TICK = -1;
+    private static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private volatile boolean enabled;
+    private int maxDevices;
+    private long expiryNanos;
+    private long tickNanos;
+    private long currentTick = NO_TICK;
+
+    private long[] macAddresses = new long[0];
+    private String[] names = new String[0];
+    private int[] rssi = new int[0];
+    private int[] sightings = new int[0];
+    private long[] firstSeenNanos = new long[0];
+    private long[] lastSeenNanos = new long[0];
+    /** Next entry in the same wheel bucket, or in the free list for removed entries. */
+    private int[] next = new int[0];
+    /** Entry index plus one, 0 marks an empty slot. */
+    private int[] index = new int[0];
+    private final int[] wheel = new int[WHEEL_SIZE];
+
+    private int size;
+    private int allocated;
+    private int freeHead = NO_ENTRY;
+    private long rejectedCount;
+
+    public ScannedDeviceRegistry() {
+        Arrays.fill(wheel, NO_ENTRY);
+    }
+
+    /**
+     * @param expiryMillis time after which devices that were not seen again are removed, 0 keeps them until
+     *                     the registry is cleared
+     * @param maxDevices   maximum number of registered devices, new devices are rejected once it is full;
+     *                     0 disables the registry and drops all entries
+     */
+    public synchronized void configure(long expiryMillis, int maxDevices) {
+        this.maxDevices = Math.max(0, maxDevices);
+        this.enabled = this.maxDevices > 0;
+        this.expiryNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiryMillis));
+        this.tickNanos = Math.max(MIN_TICK_NANOS, expiryNanos / (WHEEL_SIZE / 2));
+        clear();
+        macAddresses = new long[0];
+        names = new String[0];
+        rssi = new int[0];
+        sightings = new int[0];
+        firstSeenNanos = new long[0];
+        lastSeenNanos = new long[0];
+        next = new int[0];
+        index = new int[0];
+        if (this.maxDevices > 0) {
+            resize(Math.min(INITIAL_CAPACITY, this.maxDevices));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a sighting of the device, or refreshes its entry when it is already registered.
+     *
+     * @param name advertised name, null keeps the name of an earlier sighting
+     */
+    public synchronized void record(String macAddress, @Nullable String name, int rssi, long nowNanos) {
+        if (maxDevices == 0) {
+            return;
+        }
+        final long packed = MacAddress.pack(macAddress);
+        if (packed == MacAddress.NO_ADDRESS) {
+            return;
+        }
+        advance(nowNanos);
+        int entry = find(packed);
+        if (entry == NO_ENTRY) {
+            entry = allocate();
+            if (entry == NO_ENTRY) {
+                rejectedCount++;
+                return;
+            }
+            macAddresses[entry] = packed;
+            names[entry] = name;
+            sightings[entry] = 0;
+            firstSeenNanos[entry] = nowNanos;
+            lastSeenNanos[entry] = nowNanos;
+            insertIndex(entry);
+            schedule(entry);
+            size++;
+        } else if (name != null && !name.equals(names[entry])) {
+            names[entry] = name;
+        }
+        this.rssi[entry] = rssi;
+        sightings[entry]++;
+        lastSeenNanos[entry] = nowNanos;
+    }
+
+    /**
+     * @return at most the query's limit of matching devices in the requested order
+     */
+    public synchronized BleData.ScannedDevicesMessage query(BleData.ScannedDeviceQueryMessage query, long nowNanos) {
+        final BleData.ScannedDevicesMessage.Builder builder = BleData.ScannedDevicesMessage.newBuilder();
+        if (maxDevices == 0) {
+            return builder.build();
+        }
+        advance(nowNanos);
+        final int limit = query.getLimit() > 0 ? query.getLimit() : DEFAULT_QUERY_LIMIT;
+        final String nameFilter = query.getNameFilter();
+        final long seenWithinNanos = TimeUnit.MILLISECONDS.toNanos(query.getSeenWithinMillis());
+        final long notSeenForNanos = TimeUnit.MILLISECONDS.toNanos(query.getNotSeenForMillis());
+        final int[] heap = new int[Math.min(limit, size)];
+        int heapSize = 0;
+        int matchedCount = 0;
+        for (int entry = 0; entry < allocated; entry++) {
+            if (macAddresses[entry] == MacAddress.NO_ADDRESS
+                    || (query.getMinRssi() != 0 && rssi[entry] < query.getMinRssi())
+                    || (seenWithinNanos > 0 && nowNanos - lastSeenNanos[entry] > seenWithinNanos)
+                    || (notSeenForNanos > 0 && nowNanos - lastSeenNanos[entry] < notSeenForNanos)
+                    || (!nameFilter.isEmpty() && !containsIgnoreCase(names[entry], nameFilter))) {
+                continue;
+            }
+            matchedCount++;
+            if (heapSize < heap.length) {
+                heap[heapSize++] = entry;
+                siftUp(heap, heapSize - 1, query.getOrder());
+            } else if (heap.length > 0 && key(entry, query.getOrder()) > key(heap[0], query.getOrder())) {
+                heap[0] = entry;
+                siftDown(heap, heapSize, query.getOrder());
+            }
+        }
+        final int[] ordered = new int[heapSize];
+        while (heapSize > 0) {
+            ordered[heapSize - 1] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, query.getOrder());
+        }
+        for (int entry : ordered) {
+            final BleData.ScannedDeviceMessage.Builder device = BleData.ScannedDeviceMessage.newBuilder()
+                    .setId(MacAddress.unpack(macAddresses[entry]))
+                    .setRssi(rssi[entry])
+                    .setSightings(sightings[entry])
+                    .setFirstSeenNanos(firstSeenNanos[entry])
+                    .setLastSeenNanos(lastSeenNanos[entry]);
+            if (names[entry] != null) {
+                device.setName(names[entry]);
+            }
+            builder.addDevices(device);
+        }
+        return builder
+                .setMatchedCount(matchedCount)
+                .setRegisteredCount(size)
+                .setRejectedCount(rejectedCount)
+                .build();
+    }
+
+    /**
+     * Drops all entries, the configuration is kept.
+     */
+    public synchronized void clear() {
+        Arrays.fill(macAddresses, MacAddress.NO_ADDRESS);
+        Arrays.fill(names, null);
+        Arrays.fill(index, 0);
+        Arrays.fill(wheel, NO_ENTRY);
+        size = 0;
+        allocated = 0;
+        freeHead = NO_ENTRY;
+        rejectedCount = 0;
+        currentTick = NO_TICK;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return estimated bytes of the entry arrays and the index, names are not included
+     */
+    public synchronized long getArrayBytes() {
+        final int capacity = macAddresses.length;
+        return 3 * MemoryEstimates.byteArray(capacity * 8)
+                + 4 * MemoryEstimates.byteArray(capacity * 4)
+                + MemoryEstimates.byteArray(index.length * 4);
+    }
+
+    private void advance(long nowNanos) {
+        final long nowTick = nowNanos / tickNanos;
+        final long fromTick = currentTick;
+        currentTick = nowTick;
+        if (fromTick == NO_TICK || expiryNanos == 0) {
+            return;
+        }
+        final long lastTick = Math.min(nowTick, fromTick + WHEEL_SIZE);
+        for (long tick = fromTick + 1; tick <= lastTick; tick++) {
+            final int bucket = (int) (tick & (WHEEL_SIZE - 1));
+            int entry = wheel[bucket];
+            wheel[bucket] = NO_ENTRY;
+            while (entry != NO_ENTRY) {
+                final int nextEntry = next[entry];
+                if (nowNanos - lastSeenNanos[entry] >= expiryNanos) {
+                    remove(entry);
+                } else {
+                    schedule(entry);
+                }
+                entry = nextEntry;
+            }
+        }
+    }
+
+    private void schedule(int entry) {
+        if (expiryNanos == 0) {
+            return;
+        }
+        final long deadlineTick = Math.max(currentTick + 1, (lastSeenNanos[entry] + expiryNanos) / tickNanos);
+        final int bucket = (int) (deadlineTick & (WHEEL_SIZE - 1));
+        next[entry] = wheel[bucket];
+        wheel[bucket] = entry;
+    }
+
+    private int allocate() {
+        if (freeHead != NO_ENTRY) {
+            final int entry = freeHead;
+            freeHead = next[entry];
+            return entry;
+        }
+        if (allocated == macAddresses.length) {
+            if (allocated == maxDevices) {
+                return NO_ENTRY;
+            }
+            resize((int) Math.min(maxDevices, 2L * allocated));
+        }
+        return allocated++;
+    }
+
+    private void remove(int entry) {
+        removeIndex(entry);
+        macAddresses[entry] = MacAddress.NO_ADDRESS;
+        names[entry] = null;
+        next[entry] = freeHead;
+        freeHead = entry;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        final int oldCapacity = macAddresses.length;
+        macAddresses = Arrays.copyOf(macAddresses, capacity);
+        Arrays.fill(macAddresses, oldCapacity, capacity, MacAddress.NO_ADDRESS);
+        names = Arrays.copyOf(names, capacity);
+        rssi = Arrays.copyOf(rssi, capacity);
+        sightings = Arrays.copyOf(sightings, capacity);
+        firstSeenNanos = Arrays.copyOf(firstSeenNanos, capacity);
+        lastSeenNanos = Arrays.copyOf(lastSeenNanos, capacity);
+        next = Arrays.copyOf(next, capacity);
+        index = new int[Integer.highestOneBit(capacity * 4 - 1)];
+        for (int entry = 0; entry < allocated; entry++) {
+            if (macAddresses[entry] != MacAddress.NO_ADDRESS) {
+                insertIndex(entry);
+            }
+        }
+    }
+
+    private int find(long macAddress) {
+        final int mask = index.length - 1;
+        for (int slot = hash(macAddress) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            if (macAddresses[index[slot] - 1] == macAddress) {
+                return index[slot] - 1;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    private void insertIndex(int entry) {
+        final int mask = index.length - 1;
+        int slot = hash(macAddresses[entry]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+    }
+
+    /**
+     * Removes the entry from the index, shifting back later entries of the probe sequence instead of leaving
+     * a tombstone.
+     */
+    private void removeIndex(int entry) {
+        final int mask = index.length - 1;
+        int hole = hash(macAddresses[entry]) & mask;
+        while (index[hole] != entry + 1) {
+            hole = (hole + 1) & mask;
+        }
+        index[hole] = 0;
+        for (int slot = (hole + 1) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            final int home = hash(macAddresses[index[slot] - 1]) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                index[hole] = index[slot];
+                index[slot] = 0;
+                hole = slot;
+            }
+        }
+    }
+
+    private long key(int entry, BleData.ScannedDeviceOrderMessage order) {
+        switch (order) {
+            case ORDER_BY_LAST_SEEN:
+                return lastSeenNanos[entry];
+            case ORDER_BY_LEAST_RECENTLY_SEEN:
+                return -lastSeenNanos[entry];
+            default:
+                return rssi[entry];
+        }
+    }
+
+    /**
+     * Min-heap on the order key, so the root is the weakest of the best entries found so far.
+     */
+    private void siftUp(int[] heap, int position, BleData.ScannedDeviceOrderMessage order) {
+        final int entry = heap[position];
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (key(heap[parent], order) <= key(entry, order)) {
+                break;
+            }
+            heap[position] = heap[parent];
+            position = parent;
+        }
+        heap[position] = entry;
+    }
+
+    private void siftDown(int[] heap, int heapSize, BleData.ScannedDeviceOrderMessage order) {
+        if (heapSize == 0) {
+            return;
+        }
+        final int entry = heap[0];
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && key(heap[child + 1], order) < key(heap[child], order)) {
+                child++;
+            }
+            if (key(entry, order) <= key(heap[child], order)) {
+                break;
+            }
+            heap[position] = heap[child];
+            position = child;
+        }
+        heap[position] = entry;
+    }
+
+    private static boolean containsIgnoreCase(@Nullable String name, String filter) {
+        if (name == null) {
+            return false;
+        }
+        for (int i = 0; i + filter.length() <= name.length(); i++) {
+            if (name.regionMatches(true, i, filter, 0, filter.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int hash(long macAddress) {
+        final long mixed = macAddress * 0x9E3779B97F4A7C15L;
+        return (int) (mixed >>> 32) ^ (int) mixed;
+    }
+}
@@ -0,0 +1,483 @@
+package com.polidea.flutterblelib.script;
+
+
+import com.google.protobuf.ByteString;
+import com.polidea.flutterblelib.BleData;
+import com.polidea.flutterblelib.exception.BleErrorException;
+
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Observer;
+import rx.Scheduler;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.subscriptions.SerialSubscription;
+
+/**
+ * Interpreter of a {@link BleData.GattProgramMessage}. Instructions run one after another against the attributes
+ * of a single connected device, only the final outcome and the captured values are reported.
+ * <ul>
+ * <li>{@code OP_WRITE} writes {@code value} to {@code attribute}.</li>
+ * <li>{@code OP_READ} reads {@code attribute}.</li>
+ * <li>{@code OP_AWAIT_NOTIFICATION} waits for a notification of {@code attribute} satisfying the comparison,
+ * notifications that do not satisfy it are discarded.</li>
+ * <li>{@code OP_DELAY} waits {@code timeoutMillis}.</li>
+ * <li>{@code OP_COMPARE} jumps to {@code target} when the last read or notified value satisfies the comparison.</li>
+ * <li>{@code OP_JUMP} jumps to {@code target}.</li>
+ * <li>{@code OP_LOOP} jumps to {@code target} the first {@code count} times it is reached, then falls through.
+ * Its count starts over whenever the instructions from {@code target} to the loop are left, by falling through
+ * or by a jump out of them, so a nested loop runs its full count on every iteration of the enclosing loop.</li>
+ * <li>{@code OP_FAIL} aborts the program with {@code errorMessage}.</li>
+ * </ul>
+ * Comparisons look at the bytes of the value starting at {@code offset}. Equality compares them with
+ * {@code value} under the optional {@code mask}, ordering compares them as unsigned little endian integers of
+ * up to 8 bytes. An empty {@code value} is satisfied by any value, values that are too short never satisfy
+ * a comparison.
+ * <p>
+ * Notifications of awaited attributes are enabled when the program starts, so a notification answering a write
+ * is not missed. The program completes after the last instruction or when it jumps past it.
+ */
+public class GattProgram implements Observable.OnSubscribe<BleData.GattProgramResultMessage> {
+
+    public static final int DEFAULT_MAX_STEPS = 10000;
+
+    private static final int MAX_BUFFERED_NOTIFICATIONS = 64;
+    private static final int MAX_ORDERED_OPERAND_LENGTH = 8;
+
+    public interface Operations {
+
+        Observable<byte[]> write(int attribute, byte[] value, boolean withResponse);
+
+        Observable<byte[]> read(int attribute);
+
+        Observable<byte[]> notifications(int attribute);
+    }
+
+    private final BleData.GattProgramMessage program;
+    private final Operations operations;
+    private final Scheduler scheduler;
+    private final int maxSteps;
+    private final boolean[] awaitedAttributes;
+    private final int[] loops;
+
+    /**
+     * @throws IllegalArgumentException when an instruction refers to a missing attribute or instruction
+     */
+    public GattProgram(BleData.GattProgramMessage program, Operations operations, Scheduler scheduler) {
+        this.program = program;
+        this.operations = operations;
+        this.scheduler = scheduler;
+        this.maxSteps = program.getMaxSteps() > 0 ? program.getMaxSteps() : DEFAULT_MAX_STEPS;
+        this.awaitedAttributes = new boolean[program.getAttributesCount()];
+        int loopCount = 0;
+        for (int i = 0; i < program.getInstructionsCount(); i++) {
+            validate(i, program.getInstructions(i));
+            if (program.getInstructions(i).getOp() == BleData.GattOpMessage.OP_LOOP) {
+                loopCount++;
+            }
+        }
+        this.loops = new int[loopCount];
+        for (int i = 0, loop = 0; i < program.getInstructionsCount(); i++) {
+            if (program.getInstructions(i).getOp() == BleData.GattOpMessage.OP_LOOP) {
+                loops[loop++] = i;
+            }
+        }
+    }
+
+    private void validate(int index, BleData.GattInstructionMessage instruction) {
+        switch (instruction.getOp()) {
+            case OP_AWAIT_NOTIFICATION:
+                checkAttribute(index, instruction);
+                checkComparison(index, instruction);
+                awaitedAttributes[instruction.getAttribute()] = true;
+                break;
+            case OP_WRITE:
+            case OP_READ:
+                checkAttribute(index, instruction);
+                break;
+            case OP_COMPARE:
+                checkComparison(index, instruction);
+                checkTarget(index, instruction);
+                break;
+            case OP_LOOP:
+                if (instruction.getCount() < 0) {
+                    throw new IllegalArgumentException("Negative loop count in instruction " + index);
+                }
+                checkTarget(index, instruction);
+                break;
+            case OP_JUMP:
+                checkTarget(index, instruction);
+                break;
+            case OP_DELAY:
+            case OP_FAIL:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown op in instruction " + index + " : " + instruction.getOp());
+        }
+    }
+
+    private void checkAttribute(int index, BleData.GattInstructionMessage instruction) {
+        if (instruction.getAttribute() < 0 || instruction.getAttribute() >= program.getAttributesCount()) {
+            throw new IllegalArgumentException("Unknown attribute in instruction " + index + " : " + instruction.getAttribute());
+        }
+    }
+
+    private void checkTarget(int index, BleData.GattInstructionMessage instruction) {
+        if (instruction.getTarget() < 0 || instruction.getTarget() > program.getInstructionsCount()) {
+            throw new IllegalArgumentException("Unknown target in instruction " + index + " : " + instruction.getTarget());
+        }
+    }
+
+    private void checkComparison(int index, BleData.GattInstructionMessage instruction) {
+        if (instruction.getOffset() < 0) {
+            throw new IllegalArgumentException("Negative offset in instruction " + index);
+        }
+        final boolean ordered = instruction.getComparison() == BleData.GattComparisonMessage.LESS_THAN
+                || instruction.getComparison() == BleData.GattComparisonMessage.GREATER_THAN;
+        if (ordered && instruction.getValue().size() > MAX_ORDERED_OPERAND_LENGTH) {
+            throw new IllegalArgumentException("Operand of instruction " + index + " is longer than "
+                    + MAX_ORDERED_OPERAND_LENGTH + " bytes");
+        }
+    }
+
+    @Override
+    public void call(Subscriber<? super BleData.GattProgramResultMessage> subscriber) {
+        new Execution(subscriber).start();
+    }
+
+    static boolean satisfies(byte[] data, BleData.GattInstructionMessage instruction) {
+        final ByteString operand = instruction.getValue();
+        final int length = operand.size();
+        if (length == 0) {
+            return true;
+        }
+        final int offset = instruction.getOffset();
+        if (data.length - offset < length) {
+            return false;
+        }
+        final ByteString mask = instruction.getMask();
+        switch (instruction.getComparison()) {
+            case EQUAL:
+            case NOT_EQUAL: {
+                boolean equal = true;
+                for (int i = 0; i < length && equal; i++) {
+                    final int m = i < mask.size() ? mask.byteAt(i) & 0xFF : 0xFF;
+                    equal = (data[offset + i] & m) == (operand.byteAt(i) & m);
+                }
+                return equal == (instruction.getComparison() == BleData.GattComparisonMessage.EQUAL);
+            }
+            case LESS_THAN:
+            case GREATER_THAN: {
+                long actual = 0;
+                long expected = 0;
+                for (int i = length - 1; i >= 0; i--) {
+                    final int m = i < mask.size() ? mask.byteAt(i) & 0xFF : 0xFF;
+                    actual = (actual << 8) | (data[offset + i] & m);
+                    expected = (expected << 8) | (operand.byteAt(i) & m);
+                }
+                final int order = compareUnsigned(actual, expected);
+                return instruction.getComparison() == BleData.GattComparisonMessage.LESS_THAN ? order < 0 : order > 0;
+            }
+            default:
+                return false;
+        }
+    }
+
+    private static int compareUnsigned(long x, long y) {
+        x += Long.MIN_VALUE;
+        y += Long.MIN_VALUE;
+        return x < y ? -1 : (x == y ? 0 : 1);
+    }
+
+    private static String messageOf(Throwable throwable) {
+        return throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getName();
+    }
+
+    /**
+     * State of a single run. Finished operations advance the program counter and resume the drain loop;
+     * operations that finish synchronously are picked up by the already running loop instead of recursing.
+     */
+    private class Execution {
+
+        private final Subscriber<? super BleData.GattProgramResultMessage> subscriber;
+        private final Scheduler.Worker worker;
+        private final SerialSubscription current = new SerialSubscription();
+        private final NotificationBuffer[] buffers = new NotificationBuffer[awaitedAttributes.length];
+        private final int[] loopCounters = new int[program.getInstructionsCount()];
+        private final Map<String, byte[]> captures = new LinkedHashMap<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final long startNanos = System.nanoTime();
+
+        private volatile int programCounter;
+        private volatile int executedSteps;
+        private volatile byte[] lastValue = new byte[0];
+
+        private Execution(Subscriber<? super BleData.GattProgramResultMessage> subscriber) {
+            this.subscriber = subscriber;
+            this.worker = scheduler.createWorker();
+        }
+
+        void start() {
+            subscriber.add(worker);
+            subscriber.add(current);
+            for (int attribute = 0; attribute < buffers.length; attribute++) {
+                if (awaitedAttributes[attribute]) {
+                    buffers[attribute] = new NotificationBuffer();
+                    subscriber.add(operations.notifications(attribute).subscribe(buffers[attribute]));
+                }
+            }
+            if (program.getTimeoutMillis() > 0) {
+                worker.schedule(new Action0() {
+                    @Override
+                    public void call() {
+                        finish(BleData.GattProgramStatusMessage.TIMED_OUT, programCounter,
+                                "Program timed out after " + program.getTimeoutMillis() + "ms");
+                    }
+                }, program.getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            }
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                run();
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        /**
+         * Executes instructions until one of them has to wait or the program finishes.
+         */
+        private void run() {
+            while (!finished.get() && !subscriber.isUnsubscribed()) {
+                final int index = programCounter;
+                if (index >= program.getInstructionsCount()) {
+                    finish(BleData.GattProgramStatusMessage.COMPLETED, index, "");
+                    return;
+                }
+                if (executedSteps >= maxSteps) {
+                    finish(BleData.GattProgramStatusMessage.ABORTED, index, "Step limit of " + maxSteps + " exceeded");
+                    return;
+                }
+                executedSteps++;
+                final BleData.GattInstructionMessage instruction = program.getInstructions(index);
+                switch (instruction.getOp()) {
+                    case OP_WRITE:
+                        execute(index, instruction, operations.write(instruction.getAttribute(),
+                                instruction.getValue().toByteArray(), instruction.getWithResponse()));
+                        return;
+                    case OP_READ:
+                        execute(index, instruction, operations.read(instruction.getAttribute()));
+                        return;
+                    case OP_AWAIT_NOTIFICATION:
+                        buffers[instruction.getAttribute()].await(index, instruction);
+                        return;
+                    case OP_DELAY:
+                        current.set(worker.schedule(new Action0() {
+                            @Override
+                            public void call() {
+                                advance(index + 1);
+                            }
+                        }, instruction.getTimeoutMillis(), TimeUnit.MILLISECONDS));
+                        return;
+                    case OP_COMPARE:
+                        if (satisfies(lastValue, instruction)) {
+                            jump(index, instruction.getTarget());
+                        } else {
+                            programCounter = index + 1;
+                        }
+                        break;
+                    case OP_JUMP:
+                        jump(index, instruction.getTarget());
+                        break;
+                    case OP_LOOP:
+                        if (loopCounters[index] < instruction.getCount()) {
+                            loopCounters[index]++;
+                            jump(index, instruction.getTarget());
+                        } else {
+                            loopCounters[index] = 0;
+                            programCounter = index + 1;
+                        }
+                        break;
+                    case OP_FAIL:
+                        finish(BleData.GattProgramStatusMessage.ABORTED, index, instruction.getErrorMessage().isEmpty()
+                                ? "Program failed at instruction " + index
+                                : instruction.getErrorMessage());
+                        return;
+                    default:
+                        finish(BleData.GattProgramStatusMessage.ABORTED, index, "Unknown op : " + instruction.getOp());
+                        return;
+                }
+            }
+        }
+
+        /**
+         * Resets the counters of the loops the jump leaves, the loop falling through resets its own.
+         */
+        private void jump(int index, int target) {
+            for (int loop : loops) {
+                if (loop != index && inLoop(loop, index) && !inLoop(loop, target)) {
+                    loopCounters[loop] = 0;
+                }
+            }
+            programCounter = target;
+        }
+
+        private boolean inLoop(int loop, int index) {
+            final int target = program.getInstructions(loop).getTarget();
+            return index >= Math.min(loop, target) && index <= Math.max(loop, target);
+        }
+
+        private void execute(final int index, final BleData.GattInstructionMessage instruction, Observable<byte[]> operation) {
+            if (instruction.getTimeoutMillis() > 0) {
+                operation = operation.timeout(instruction.getTimeoutMillis(), TimeUnit.MILLISECONDS,
+                        Observable.<byte[]>error(BleErrorException.OPERATION_TIMED_OUT), scheduler);
+            }
+            current.set(operation.take(1).subscribe(new Observer<byte[]>() {
+                @Override
+                public void onCompleted() {
+                }
+
+                @Override
+                public void onError(Throwable e) {
+                    if (e == BleErrorException.OPERATION_TIMED_OUT) {
+                        finish(BleData.GattProgramStatusMessage.TIMED_OUT, index,
+                                "Instruction timed out after " + instruction.getTimeoutMillis() + "ms");
+                    } else {
+                        finish(BleData.GattProgramStatusMessage.ABORTED, index, messageOf(e));
+                    }
+                }
+
+                @Override
+                public void onNext(byte[] value) {
+                    onValue(index, instruction, value);
+                }
+            }));
+        }
+
+        private void onValue(int index, BleData.GattInstructionMessage instruction, byte[] value) {
+            if (instruction.getOp() != BleData.GattOpMessage.OP_WRITE) {
+                lastValue = value;
+                if (!instruction.getCaptureName().isEmpty()) {
+                    synchronized (captures) {
+                        captures.put(instruction.getCaptureName(), value);
+                    }
+                }
+            }
+            advance(index + 1);
+        }
+
+        private void advance(int nextIndex) {
+            programCounter = nextIndex;
+            drain();
+        }
+
+        private void finish(BleData.GattProgramStatusMessage status, int index, String errorMessage) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            final BleData.GattProgramResultMessage.Builder builder = BleData.GattProgramResultMessage.newBuilder()
+                    .setStatus(status)
+                    .setInstruction(index)
+                    .setErrorMessage(errorMessage)
+                    .setExecutedSteps(executedSteps)
+                    .setDurationMicros(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+            synchronized (captures) {
+                for (Map.Entry<String, byte[]> capture : captures.entrySet()) {
+                    builder.addCaptures(BleData.GattCaptureMessage.newBuilder()
+                            .setName(capture.getKey())
+                            .setValue(ByteString.copyFrom(capture.getValue())));
+                }
+            }
+            subscriber.onNext(builder.build());
+            subscriber.onCompleted();
+        }
+
+        /**
+         * Notifications of one attribute received while no instruction awaits them are kept, up to a limit,
+         * for the next await.
+         */
+        private class NotificationBuffer extends Subscriber<byte[]> {
+
+            private final ArrayDeque<byte[]> buffered = new ArrayDeque<>();
+            private BleData.GattInstructionMessage awaiting;
+            private int awaitingIndex;
+
+            void await(final int index, final BleData.GattInstructionMessage instruction) {
+                byte[] value;
+                synchronized (this) {
+                    while ((value = buffered.poll()) != null && !satisfies(value, instruction)) {
+                        // discarded
+                    }
+                    if (value == null) {
+                        awaiting = instruction;
+                        awaitingIndex = index;
+                    }
+                }
+                if (value != null) {
+                    onValue(index, instruction, value);
+                    return;
+                }
+                if (instruction.getTimeoutMillis() > 0) {
+                    current.set(worker.schedule(new Action0() {
+                        @Override
+                        public void call() {
+                            if (stopAwaiting(instruction)) {
+                                finish(BleData.GattProgramStatusMessage.TIMED_OUT, index,
+                                        "Notification not received within " + instruction.getTimeoutMillis() + "ms");
+                            }
+                        }
+                    }, instruction.getTimeoutMillis(), TimeUnit.MILLISECONDS));
+                }
+            }
+
+            private synchronized boolean stopAwaiting(BleData.GattInstructionMessage instruction) {
+                if (awaiting != instruction) {
+                    return false;
+                }
+                awaiting = null;
+                return true;
+            }
+
+            @Override
+            public void onNext(byte[] value) {
+                final BleData.GattInstructionMessage instruction;
+                final int index;
+                synchronized (this) {
+                    if (awaiting == null) {
+                        if (buffered.size() == MAX_BUFFERED_NOTIFICATIONS) {
+                            buffered.poll();
+                        }
+                        buffered.add(value);
+                        return;
+                    }
+                    if (!satisfies(value, awaiting)) {
+                        return;
+                    }
+                    instruction = awaiting;
+                    index = awaitingIndex;
+                    awaiting = null;
+                }
+                onValue(index, instruction, value);
+            }
+
+            @Override
+            public void onError(Throwable e) {
+                finish(BleData.GattProgramStatusMessage.ABORTED, programCounter, "Notifications failed : " + messageOf(e));
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        }
+    }
+}
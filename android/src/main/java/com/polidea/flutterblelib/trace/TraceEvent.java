@@ -0,0 +1,17 @@
+package com.polidea.flutterblelib.trace;
+
+
+public enum TraceEvent {
+    SCAN_RESULT,
+    CONNECT,
+    CONNECTED,
+    DISCONNECTED,
+    DISCOVERY,
+    MTU,
+    RSSI,
+    READ,
+    WRITE,
+    NOTIFICATION,
+    EVENT_EMISSION,
+    CANCEL
+}
@@ -0,0 +1,133 @@
+package com.polidea.flutterblelib.trace;
+
+
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-size binary ring buffer of BLE session events. Records never format strings; writers claim
+ * a slot with a single atomic increment and fill it with absolute puts, so recording is cheap enough
+ * to stay on for field units. Oldest records are overwritten once the buffer is full.
+ * <p>
+ * Record layout (little endian, {@link #RECORD_SIZE} bytes):
+ * <pre>
+ *  0  int64  timestamp, System.nanoTime()
+ *  8  int64  device MAC address packed to 48 bits, -1 when not applicable
+ * 16  int32  attribute identifier; RSSI for scan results, event ordinal for emissions; -1 when not applicable
+ * 20  int16  {@link TraceEvent} ordinal
+ * 22  int16  status, one of STATUS_* constants
+ * 24  int32  value length, -1 when there is no value
+ * 28  byte[4] first bytes of the value
+ * </pre>
+ * Dump files start with a header of magic "BLET", version, record size and record count (all int32).
+ */
+public class TraceRecorder {
+
+    public static final int RECORD_SIZE = 32;
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    public static final short STATUS_OK = 0;
+    public static final short STATUS_ERROR = 1;
+    public static final short STATUS_STARTED = 2;
+    public static final short STATUS_CACHED = 3;
+
+    private static final int MAGIC = 0x54454C42; // "BLET" in little endian
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int VALUE_PREFIX_SIZE = 4;
+
+    private final ByteBuffer buffer;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private volatile boolean enabled;
+
+    public TraceRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity number of records, rounded up to a power of two
+     */
+    public TraceRecorder(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        buffer = ByteBuffer.allocate(size * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        mask = size - 1;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(TraceEvent event, long device, int attributeId, short status, @Nullable byte[] value) {
+        if (!enabled) {
+            return;
+        }
+        final long sequence = nextSequence.getAndIncrement();
+        final int offset = (int) (sequence & mask) * RECORD_SIZE;
+        buffer.putLong(offset, System.nanoTime());
+        buffer.putLong(offset + 8, device);
+        buffer.putInt(offset + 16, attributeId);
+        buffer.putShort(offset + 20, (short) event.ordinal());
+        buffer.putShort(offset + 22, status);
+        buffer.putInt(offset + 24, value != null ? value.length : -1);
+        for (int i = 0; i < VALUE_PREFIX_SIZE; i++) {
+            buffer.put(offset + 28 + i, value != null && i < value.length ? value[i] : 0);
+        }
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    public int getRecordCount() {
+        return (int) Math.min(nextSequence.get(), mask + 1);
+    }
+
+    /**
+     * Writes recorded events, oldest first, to given file. Records written concurrently with the dump
+     * may appear torn; the dump is meant for offline analysis, not as an exact snapshot.
+     *
+     * @return number of dumped records
+     */
+    public int dump(File file) throws IOException {
+        final long endSequence = nextSequence.get();
+        final long startSequence = Math.max(0, endSequence - (mask + 1));
+        final int count = (int) (endSequence - startSequence);
+
+        final ByteBuffer output = ByteBuffer.allocate(HEADER_SIZE + count * RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        output.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE).putInt(count);
+        for (long sequence = startSequence; sequence < endSequence; sequence++) {
+            final int offset = (int) (sequence & mask) * RECORD_SIZE;
+            for (int i = 0; i < RECORD_SIZE; i++) {
+                output.put(buffer.get(offset + i));
+            }
+        }
+        output.flip();
+
+        final FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            final FileChannel channel = outputStream.getChannel();
+            while (output.hasRemaining()) {
+                channel.write(output);
+            }
+        } finally {
+            outputStream.close();
+        }
+        return count;
+    }
+
+    public void clear() {
+        nextSequence.set(0);
+    }
+}
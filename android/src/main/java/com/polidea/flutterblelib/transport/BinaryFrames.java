@@ -0,0 +1,102 @@
+package com.polidea.flutterblelib.transport;
+
+
+import android.support.annotation.Nullable;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * Frames of the binary transport, exchanged as raw platform messages instead of going through the standard codec.
+ * <p>
+ * A request is the length of the UTF-8 method name in one byte, the name and the serialized argument message,
+ * if any. A reply is a status byte followed by the serialized result message, the serialized
+ * {@code BleErrorMessage} of a failure or the UTF-8 message of any other error. Events are the bare serialized
+ * message.
+ * <p>
+ * Outgoing frames are direct buffers holding the frame between position zero and the current position, as
+ * expected by the binary messenger. Messages are serialized straight into them, so the payload is written
+ * once instead of being serialized to an array and copied by the codec into its stream and then into a direct
+ * buffer.
+ */
+public final class BinaryFrames {
+
+    public static final byte STATUS_SUCCESS = 0;
+    public static final byte STATUS_ERROR = 1;
+    public static final byte STATUS_NOT_IMPLEMENTED = 2;
+    public static final byte STATUS_BLE_ERROR = 3;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int STATUS_SIZE = 1;
+
+    private BinaryFrames() {
+    }
+
+    public static ByteBuffer encodeEvent(MessageLite message) {
+        final ByteBuffer frame = ByteBuffer.allocateDirect(message.getSerializedSize());
+        writeMessage(frame, message);
+        return frame;
+    }
+
+    public static ByteBuffer encodeReply(MessageLite message) {
+        final ByteBuffer frame = ByteBuffer.allocateDirect(STATUS_SIZE + message.getSerializedSize());
+        frame.put(STATUS_SUCCESS);
+        writeMessage(frame, message);
+        return frame;
+    }
+
+    public static ByteBuffer encodeReply(byte status, byte[] payload) {
+        final ByteBuffer frame = ByteBuffer.allocateDirect(STATUS_SIZE + payload.length);
+        frame.put(status);
+        frame.put(payload);
+        return frame;
+    }
+
+    public static ByteBuffer encodeError(String errorMessage) {
+        return encodeReply(STATUS_ERROR, errorMessage.getBytes(UTF_8));
+    }
+
+    /**
+     * @param request frame between position zero and the limit
+     */
+    public static String decodeMethod(ByteBuffer request) {
+        final int length = request.get(0) & 0xFF;
+        final byte[] name = new byte[length];
+        for (int i = 0; i < length; i++) {
+            name[i] = request.get(1 + i);
+        }
+        return new String(name, UTF_8);
+    }
+
+    /**
+     * @param request frame between position zero and the limit
+     * @return serialized argument message or null when the request has none
+     */
+    @Nullable
+    public static byte[] decodeArguments(ByteBuffer request) {
+        final int offset = 1 + (request.get(0) & 0xFF);
+        final int length = request.limit() - offset;
+        if (length <= 0) {
+            return null;
+        }
+        final byte[] arguments = new byte[length];
+        for (int i = 0; i < length; i++) {
+            arguments[i] = request.get(offset + i);
+        }
+        return arguments;
+    }
+
+    private static void writeMessage(ByteBuffer frame, MessageLite message) {
+        final CodedOutputStream output = CodedOutputStream.newInstance(frame);
+        try {
+            message.writeTo(output);
+            output.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException("Serializing " + message.getClass().getName() + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.polidea.flutterblelib.transport;
+
+
+import com.google.protobuf.MessageLite;
+
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugin.common.MethodChannel;
+
+/**
+ * Result of a method called over the binary transport, replies with {@link BinaryFrames} instead of the standard
+ * codec. Messages passed to {@link #successMessage(MessageLite)} are serialized straight into the reply buffer.
+ */
+public class BinaryResult implements MethodChannel.Result {
+
+    private final BinaryMessenger.BinaryReply reply;
+
+    public BinaryResult(BinaryMessenger.BinaryReply reply) {
+        this.reply = reply;
+    }
+
+    public void successMessage(MessageLite message) {
+        reply.reply(BinaryFrames.encodeReply(message));
+    }
+
+    @Override
+    public void success(Object result) {
+        if (result == null) {
+            reply.reply(BinaryFrames.encodeReply(BinaryFrames.STATUS_SUCCESS, new byte[0]));
+        } else if (result instanceof MessageLite) {
+            successMessage((MessageLite) result);
+        } else if (result instanceof byte[]) {
+            reply.reply(BinaryFrames.encodeReply(BinaryFrames.STATUS_SUCCESS, (byte[]) result));
+        } else {
+            reply.reply(BinaryFrames.encodeError("Result not supported by the binary transport: "
+                    + result.getClass().getName()));
+        }
+    }
+
+    @Override
+    public void error(String errorCode, String errorMessage, Object errorDetails) {
+        if (errorDetails instanceof byte[]) {
+            reply.reply(BinaryFrames.encodeReply(BinaryFrames.STATUS_BLE_ERROR, (byte[]) errorDetails));
+            return;
+        }
+        reply.reply(BinaryFrames.encodeError(errorMessage != null ? errorMessage : errorCode));
+    }
+
+    @Override
+    public void notImplemented() {
+        reply.reply(BinaryFrames.encodeReply(BinaryFrames.STATUS_NOT_IMPLEMENTED, new byte[0]));
+    }
+}
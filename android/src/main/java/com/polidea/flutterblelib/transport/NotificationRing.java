@@ -0,0 +1,216 @@
+package com.polidea.flutterblelib.transport;
+
+
+import java.lang.reflect.Field;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Single-producer single-consumer ring of notification frames in a direct buffer, read by a native consumer
+ * polling the buffer's address instead of receiving one platform message per notification. Only state changes
+ * the consumer cannot poll for, waking it up and frames being dropped, are reported through the listener.
+ * <p>
+ * Ring layout (native byte order):
+ * <pre>
+ *   0  int32  magic "BLNR"
+ *   4  int32  version
+ *   8  int32  header size
+ *  12  int32  capacity of the frame area in bytes, a power of two
+ *  16  int64  head, bytes of frames written so far, stored by the producer after the frames it covers
+ *  24  int64  frames dropped because the ring was full
+ *  64  int64  tail, bytes of frames read so far, stored by the consumer after it is done with them
+ *  72  int32  waiting, set to 1 by the consumer before it stops polling
+ * 128  frame area
+ * </pre>
+ * Frames start at {@code position % capacity} and are aligned to 8 bytes:
+ * <pre>
+ *  0  int32  frame size including this header, negative for padding up to the end of the frame area
+ *  4  int32  characteristic identifier
+ *  8  int64  SystemClock.elapsedRealtimeNanos() of the notification
+ * 16  byte[] value
+ * </pre>
+ * Head and tail live on separate cache lines, so producer and consumer do not contend for the line they
+ * write. Java 7 has no fences for off-heap memory; {@link #fullFence()} relies on a volatile store followed by
+ * a volatile load, which no runtime reorders with the surrounding accesses. The consumer has to load the head
+ * with acquire and store the tail with release semantics, and re-check the head after setting waiting.
+ */
+public class NotificationRing {
+
+    public interface Listener {
+
+        /**
+         * Called after a frame was written while the consumer was waiting.
+         */
+        void onWakeUp(NotificationRing ring);
+
+        /**
+         * Called for the first frame dropped after a frame was written successfully.
+         */
+        void onOverflow(NotificationRing ring, long droppedCount);
+    }
+
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final int MIN_CAPACITY = 4 << 10;
+    public static final int MAX_CAPACITY = 64 << 20;
+    public static final int HEADER_SIZE = 128;
+
+    private static final int MAGIC = 0x524E4C42; // "BLNR" in little endian
+    private static final int VERSION = 1;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int HEAD_OFFSET = 16;
+    private static final int DROPPED_OFFSET = 24;
+    private static final int TAIL_OFFSET = 64;
+    private static final int WAITING_OFFSET = 72;
+    private static final int FRAME_HEADER_SIZE = 16;
+    private static final int ALIGNMENT = 8;
+
+    private final int id;
+    private final int capacity;
+    private final ByteBuffer ring;
+    private final long address;
+    private final Listener listener;
+
+    private long head;
+    private long droppedCount;
+    private boolean overflowing;
+    private boolean closed;
+    private volatile int fence;
+
+    /**
+     * @param capacity size of the frame area, rounded up to a power of two between {@link #MIN_CAPACITY} and
+     *                 {@link #MAX_CAPACITY}
+     * @throws UnsupportedOperationException when the runtime does not expose the address of direct buffers
+     */
+    public NotificationRing(int id, int capacity, Listener listener) {
+        this.id = id;
+        this.capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, Math.min(MAX_CAPACITY, capacity)) * 2 - 1);
+        this.listener = listener;
+        this.ring = ByteBuffer.allocateDirect(HEADER_SIZE + this.capacity).order(ByteOrder.nativeOrder());
+        this.address = addressOf(ring);
+        ring.putInt(0, MAGIC)
+                .putInt(4, VERSION)
+                .putInt(8, HEADER_SIZE)
+                .putInt(CAPACITY_OFFSET, this.capacity);
+        fullFence();
+    }
+
+    /**
+     * @return false when the ring is closed or the frame does not fit in the space the consumer has released
+     */
+    public boolean append(int characteristicId, long timestampNanos, byte[] value) {
+        final long dropped;
+        synchronized (this) {
+            if (closed) {
+                return false;
+            }
+            final int frameSize = align(FRAME_HEADER_SIZE + value.length);
+            final int offset = (int) (head & (capacity - 1));
+            final int padding = capacity - offset < frameSize ? capacity - offset : 0;
+            final long tail = ring.getLong(TAIL_OFFSET);
+            fullFence();
+            if (padding + frameSize > capacity - (head - tail)) {
+                droppedCount++;
+                ring.putLong(DROPPED_OFFSET, droppedCount);
+                if (overflowing) {
+                    return false;
+                }
+                overflowing = true;
+                dropped = droppedCount;
+            } else {
+                int frameOffset = HEADER_SIZE + offset;
+                if (padding != 0) {
+                    ring.putInt(frameOffset, -padding);
+                    frameOffset = HEADER_SIZE;
+                }
+                ring.putInt(frameOffset + 4, characteristicId);
+                ring.putLong(frameOffset + 8, timestampNanos);
+                ring.position(frameOffset + FRAME_HEADER_SIZE);
+                ring.put(value);
+                ring.putInt(frameOffset, frameSize);
+                head += padding + frameSize;
+                overflowing = false;
+                fullFence();
+                ring.putLong(HEAD_OFFSET, head);
+                fullFence();
+                if (ring.getInt(WAITING_OFFSET) == 0) {
+                    return true;
+                }
+                ring.putInt(WAITING_OFFSET, 0);
+                dropped = -1;
+            }
+        }
+        if (dropped < 0) {
+            listener.onWakeUp(this);
+            return true;
+        }
+        listener.onOverflow(this, dropped);
+        return false;
+    }
+
+    /**
+     * Stops accepting frames. The buffer stays valid while the ring is referenced, the consumer has to stop
+     * reading it before the ring is dropped.
+     */
+    public synchronized void close() {
+        closed = true;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public long getAddress() {
+        return address;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSize() {
+        return HEADER_SIZE + capacity;
+    }
+
+    public synchronized long getHead() {
+        return head;
+    }
+
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * The ring as the native consumer sees it, in native byte order.
+     */
+    ByteBuffer consumerView() {
+        return ring.duplicate().order(ByteOrder.nativeOrder());
+    }
+
+    private int fullFence() {
+        fence = 0;
+        return fence;
+    }
+
+    private static int align(int size) {
+        return (size + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+
+    /**
+     * Reads the address direct buffers keep for native code, a field of {@link Buffer} on both Android and
+     * OpenJDK. JNI's GetDirectBufferAddress would need a native library this plugin does not ship.
+     */
+    private static long addressOf(ByteBuffer buffer) {
+        try {
+            final Field field = Buffer.class.getDeclaredField("address");
+            field.setAccessible(true);
+            final long address = field.getLong(buffer);
+            if (address == 0) {
+                throw new UnsupportedOperationException("Direct buffer has no native address");
+            }
+            return address;
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new UnsupportedOperationException("Native address of direct buffers is not available", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.polidea.flutterblelib.transport;
+
+
+import android.support.annotation.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open notification rings by id.
+ */
+public class NotificationRings {
+
+    public static final int NO_RING = 0;
+
+    private final ConcurrentHashMap<Integer, NotificationRing> rings = new ConcurrentHashMap<>();
+
+    private final AtomicInteger nextId = new AtomicInteger(NO_RING + 1);
+
+    public NotificationRing open(int capacity, NotificationRing.Listener listener) {
+        final NotificationRing ring = new NotificationRing(nextId.getAndIncrement(), capacity, listener);
+        rings.put(ring.getId(), ring);
+        return ring;
+    }
+
+    @Nullable
+    public NotificationRing get(int id) {
+        return rings.get(id);
+    }
+
+    /**
+     * @return false when there is no ring with given id
+     */
+    public boolean close(int id) {
+        final NotificationRing ring = rings.remove(id);
+        if (ring == null) {
+            return false;
+        }
+        ring.close();
+        return true;
+    }
+
+    public int size() {
+        return rings.size();
+    }
+
+    /**
+     * @return bytes of ring buffers allocated outside of the Java heap
+     */
+    public long getDirectBytes() {
+        long directBytes = 0;
+        for (NotificationRing ring : rings.values()) {
+            directBytes += ring.getSize();
+        }
+        return directBytes;
+    }
+
+    public void closeAll() {
+        for (Integer id : rings.keySet()) {
+            close(id);
+        }
+    }
+}
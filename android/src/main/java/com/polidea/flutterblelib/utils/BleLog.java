@@ -0,0 +1,39 @@
+package com.polidea.flutterblelib.utils;
+
+
+import com.polidea.rxandroidble.internal.RxBleLog;
+
+/**
+ * Level-checked front of {@link RxBleLog}. Messages are passed as a format string with arguments
+ * and formatted only when the level is enabled, so with logging off hot paths do no string work.
+ * Fixed-arity overloads avoid allocating a varargs array before the level check.
+ */
+public class BleLog {
+
+    private static volatile int logLevel = RxBleLog.NONE;
+
+    public static void setLogLevel(int logLevel) {
+        BleLog.logLevel = logLevel;
+        RxBleLog.setLogLevel(logLevel);
+    }
+
+    public static int getLogLevel() {
+        return logLevel;
+    }
+
+    public static boolean isLoggable(int level) {
+        return level >= logLevel;
+    }
+
+    public static void v(String format, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (isLoggable(RxBleLog.VERBOSE)) {
+            RxBleLog.v(format, arg1, arg2, arg3, arg4);
+        }
+    }
+
+    public static void e(Throwable throwable, String format, Object arg1) {
+        if (isLoggable(RxBleLog.ERROR)) {
+            RxBleLog.e(throwable, format, arg1);
+        }
+    }
+}
@@ -1,24 +1,35 @@
 package com.polidea.flutterblelib.utils;
 
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import rx.Subscription;
 
+/**
+ * Thread safe map of subscriptions. Entries are mutated both from the platform thread
+ * (new and cancelled transactions) and from Rx callbacks, so all operations are backed by
+ * a {@link ConcurrentHashMap} and never hold a lock while unsubscribing. The map does not take null keys,
+ * so the subscription of a null key is kept separately and never collides with any other key.
+ */
 public class DisposableMap {
 
-    final private Map<String, Subscription> subscriptions = new HashMap<>();
+    final private Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+
+    final private AtomicReference<Subscription> nullKeySubscription = new AtomicReference<>();
 
     public void replaceSubscription(String key, Subscription subscription) {
-        Subscription oldSubscription = subscriptions.put(key, subscription);
-        if (oldSubscription != null && !oldSubscription.isUnsubscribed()) {
+        Subscription oldSubscription = key != null
+                ? subscriptions.put(key, subscription)
+                : nullKeySubscription.getAndSet(subscription);
+        if (oldSubscription != null && oldSubscription != subscription && !oldSubscription.isUnsubscribed()) {
             oldSubscription.unsubscribe();
         }
     }
 
     public boolean removeSubscription(String key) {
-        Subscription subscription = subscriptions.remove(key);
+        Subscription subscription = key != null ? subscriptions.remove(key) : nullKeySubscription.getAndSet(null);
         if (subscription == null) return false;
         if (!subscription.isUnsubscribed()) {
             subscription.unsubscribe();
@@ -26,10 +37,22 @@ public class DisposableMap {
         return true;
     }
 
+    public boolean containsSubscription(String key) {
+        return key != null ? subscriptions.containsKey(key) : nullKeySubscription.get() != null;
+    }
+
+    public int size() {
+        return subscriptions.size() + (nullKeySubscription.get() != null ? 1 : 0);
+    }
+
     /**
      * Removes all subscriptions from map and unsubscribes them if they were subscribed.
      */
     public void removeAllSubscriptions() {
+        Subscription nullKeySubscription = this.nullKeySubscription.getAndSet(null);
+        if (nullKeySubscription != null && !nullKeySubscription.isUnsubscribed()) {
+            nullKeySubscription.unsubscribe();
+        }
         Iterator<Map.Entry<String, Subscription>> it = subscriptions.entrySet().iterator();
         while (it.hasNext()) {
             Subscription subscription = it.next().getValue();
@@ -1,12 +1,17 @@
 package com.polidea.flutterblelib.utils;
 
 import java.util.HashMap;
+import java.util.Iterator;
 
+/**
+ * Identifiers of discovered services and characteristics, scoped to a single client. Identifiers are never
+ * reused within a client, so one released together with its device cannot alias an attribute discovered later.
+ */
 public class IdGenerator {
-    private static HashMap<IdGeneratorKey, Integer> idMap = new HashMap<>();
-    private static int nextKey = 0;
+    private final HashMap<IdGeneratorKey, Integer> idMap = new HashMap<>();
+    private int nextKey = 0;
 
-    public static int getIdForKey(IdGeneratorKey idGeneratorKey) {
+    public synchronized int getIdForKey(IdGeneratorKey idGeneratorKey) {
         Integer id = idMap.get(idGeneratorKey);
         if (id != null) {
             return id;
@@ -15,8 +20,24 @@ public class IdGenerator {
         return nextKey;
     }
 
-    public static void clear() {
+    /**
+     * Releases identifiers of all attributes of given device.
+     */
+    public synchronized void forgetDevice(String macAddress) {
+        final Iterator<IdGeneratorKey> it = idMap.keySet().iterator();
+        while (it.hasNext()) {
+            if (it.next().getMacAddress().equals(macAddress)) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return idMap.size();
+    }
+
+    public synchronized void clear() {
         idMap.clear();
         nextKey = 0;
     }
-}
\ No newline at end of file
+}
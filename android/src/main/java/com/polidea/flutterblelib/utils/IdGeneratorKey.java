@@ -1,21 +1,24 @@
 package com.polidea.flutterblelib.utils;
 
 
-import com.polidea.rxandroidble.RxBleDevice;
 import java.util.UUID;
 
 public class IdGeneratorKey {
 
-    private final RxBleDevice bluetoothDevice;
+    private final String macAddress;
     private final UUID uuid;
     private final int id;
 
-    public IdGeneratorKey(RxBleDevice bluetoothDevice, UUID uuid, int id) {
-        this.bluetoothDevice = bluetoothDevice;
+    public IdGeneratorKey(String macAddress, UUID uuid, int id) {
+        this.macAddress = macAddress;
         this.uuid = uuid;
         this.id = id;
     }
 
+    public String getMacAddress() {
+        return macAddress;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -28,13 +31,13 @@ public class IdGeneratorKey {
         IdGeneratorKey that = (IdGeneratorKey) o;
 
         return id == that.id &&
-                bluetoothDevice.getMacAddress().equals(that.bluetoothDevice.getMacAddress()) &&
+                macAddress.equals(that.macAddress) &&
                 uuid.equals(that.uuid);
     }
 
     @Override
     public int hashCode() {
-        int result = bluetoothDevice.getMacAddress().hashCode();
+        int result = macAddress.hashCode();
         result = 31 * result + uuid.hashCode();
         result = 31 * result + id;
         return result;
@@ -0,0 +1,191 @@
+package com.polidea.flutterblelib.utils;
+
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import rx.Subscription;
+
+/**
+ * Map of subscriptions keyed by primitive long handles. Uses open addressing with linear probing,
+ * so lookups neither box keys nor allocate entries. Unsubscribing always happens outside of the lock.
+ * <p>
+ * Every subscription may carry an owner, such as the device of a transaction, kept in a parallel array so
+ * that all subscriptions of an owner can be removed together without a secondary index.
+ */
+public class LongDisposableMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private Subscription[] values = new Subscription[INITIAL_CAPACITY];
+    private String[] owners = new String[INITIAL_CAPACITY];
+    private int size;
+
+    public void replaceSubscription(long key, Subscription subscription) {
+        replaceSubscription(key, null, subscription);
+    }
+
+    public void replaceSubscription(long key, @Nullable String owner, Subscription subscription) {
+        final Subscription oldSubscription;
+        synchronized (this) {
+            oldSubscription = put(key, owner, subscription);
+        }
+        if (oldSubscription != null && oldSubscription != subscription && !oldSubscription.isUnsubscribed()) {
+            oldSubscription.unsubscribe();
+        }
+    }
+
+    public boolean removeSubscription(long key) {
+        final Subscription subscription;
+        synchronized (this) {
+            subscription = remove(key);
+        }
+        if (subscription == null) return false;
+        if (!subscription.isUnsubscribed()) {
+            subscription.unsubscribe();
+        }
+        return true;
+    }
+
+    /**
+     * Removes all subscriptions of given owner and unsubscribes them.
+     *
+     * @return number of removed subscriptions
+     */
+    public int removeSubscriptions(String owner) {
+        final List<Subscription> removed = new ArrayList<>();
+        synchronized (this) {
+            // Removal moves later entries of a probe chain, so collect the keys before removing any of them
+            final long[] ownedKeys = new long[size];
+            int ownedCount = 0;
+            for (int index = 0; index < values.length; index++) {
+                if (values[index] != null && owner.equals(owners[index])) {
+                    ownedKeys[ownedCount++] = keys[index];
+                }
+            }
+            for (int i = 0; i < ownedCount; i++) {
+                removed.add(remove(ownedKeys[i]));
+            }
+        }
+        for (Subscription subscription : removed) {
+            if (!subscription.isUnsubscribed()) {
+                subscription.unsubscribe();
+            }
+        }
+        return removed.size();
+    }
+
+    public synchronized boolean containsSubscription(long key) {
+        return values[indexOf(key)] != null;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int size(String owner) {
+        int ownerSize = 0;
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null && owner.equals(owners[index])) {
+                ownerSize++;
+            }
+        }
+        return ownerSize;
+    }
+
+    /**
+     * Removes all subscriptions from map and unsubscribes them if they were subscribed.
+     */
+    public void removeAllSubscriptions() {
+        final Subscription[] removed;
+        synchronized (this) {
+            removed = values;
+            keys = new long[INITIAL_CAPACITY];
+            values = new Subscription[INITIAL_CAPACITY];
+            owners = new String[INITIAL_CAPACITY];
+            size = 0;
+        }
+        for (Subscription subscription : removed) {
+            if (subscription != null && !subscription.isUnsubscribed()) {
+                subscription.unsubscribe();
+            }
+        }
+    }
+
+    private Subscription put(long key, @Nullable String owner, Subscription subscription) {
+        int index = indexOf(key);
+        final Subscription oldSubscription = values[index];
+        if (oldSubscription == null) {
+            if ((size + 1) * 4 > values.length * 3) {
+                resize();
+                index = indexOf(key);
+            }
+            keys[index] = key;
+            size++;
+        }
+        values[index] = subscription;
+        owners[index] = owner;
+        return oldSubscription;
+    }
+
+    private Subscription remove(long key) {
+        int index = indexOf(key);
+        final Subscription subscription = values[index];
+        if (subscription == null) {
+            return null;
+        }
+        values[index] = null;
+        owners[index] = null;
+        size--;
+
+        // Re-insert following entries of the probe chain so lookups do not stop at the gap
+        final int mask = values.length - 1;
+        index = (index + 1) & mask;
+        while (values[index] != null) {
+            final long movedKey = keys[index];
+            final Subscription movedValue = values[index];
+            final String movedOwner = owners[index];
+            values[index] = null;
+            owners[index] = null;
+            final int target = indexOf(movedKey);
+            keys[target] = movedKey;
+            values[target] = movedValue;
+            owners[target] = movedOwner;
+            index = (index + 1) & mask;
+        }
+        return subscription;
+    }
+
+    private int indexOf(long key) {
+        final int mask = values.length - 1;
+        int index = mix(key) & mask;
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void resize() {
+        final long[] oldKeys = keys;
+        final Subscription[] oldValues = values;
+        final String[] oldOwners = owners;
+        keys = new long[oldKeys.length * 2];
+        values = new Subscription[oldValues.length * 2];
+        owners = new String[oldOwners.length * 2];
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                final int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+                owners[index] = oldOwners[i];
+            }
+        }
+    }
+
+    private static int mix(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,45 @@
+package com.polidea.flutterblelib.utils;
+
+
+import android.support.annotation.Nullable;
+
+/**
+ * Packs textual MAC addresses ("AA:BB:CC:DD:EE:FF") into the lower 48 bits of a long and back,
+ * without intermediate allocations.
+ */
+public class MacAddress {
+
+    public static final long NO_ADDRESS = -1;
+
+    private static final int MAC_ADDRESS_LENGTH = 17;
+    private final static char[] hexArray = "0123456789ABCDEF".toCharArray();
+
+    public static long pack(@Nullable String macAddress) {
+        if (macAddress == null || macAddress.length() != MAC_ADDRESS_LENGTH) {
+            return NO_ADDRESS;
+        }
+        long packed = 0;
+        for (int i = 0; i < MAC_ADDRESS_LENGTH; i += 3) {
+            final int high = Character.digit(macAddress.charAt(i), 16);
+            final int low = Character.digit(macAddress.charAt(i + 1), 16);
+            if (high < 0 || low < 0) {
+                return NO_ADDRESS;
+            }
+            packed = (packed << 8) | (high << 4) | low;
+        }
+        return packed;
+    }
+
+    public static String unpack(long packed) {
+        final char[] chars = new char[MAC_ADDRESS_LENGTH];
+        for (int i = 0; i < 6; i++) {
+            final int octet = (int) (packed >>> (40 - 8 * i)) & 0xFF;
+            chars[i * 3] = hexArray[octet >>> 4];
+            chars[i * 3 + 1] = hexArray[octet & 0x0F];
+            if (i < 5) {
+                chars[i * 3 + 2] = ':';
+            }
+        }
+        return new String(chars);
+    }
+}
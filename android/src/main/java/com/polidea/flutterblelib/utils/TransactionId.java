@@ -0,0 +1,84 @@
+package com.polidea.flutterblelib.utils;
+
+
+import android.support.annotation.Nullable;
+
+/**
+ * Identifier of a cancellable operation. Dart side may identify a transaction either by a string
+ * or by a 64-bit integer handle. Handles are kept in primitive long-keyed storage and encoded as
+ * varints, which avoids string hashing and copying on hot paths such as high-rate monitoring.
+ */
+public final class TransactionId {
+
+    @Nullable
+    private final String id;
+    private final long handle;
+    private final boolean isHandle;
+
+    private TransactionId(@Nullable String id, long handle, boolean isHandle) {
+        this.id = id;
+        this.handle = handle;
+        this.isHandle = isHandle;
+    }
+
+    public static TransactionId of(@Nullable Object argument) {
+        if (argument instanceof Number) {
+            return ofHandle(((Number) argument).longValue());
+        }
+        return ofString(argument != null ? argument.toString() : null);
+    }
+
+    public static TransactionId ofString(@Nullable String id) {
+        return new TransactionId(id, 0, false);
+    }
+
+    public static TransactionId ofHandle(long handle) {
+        return new TransactionId(null, handle, true);
+    }
+
+    public boolean isHandle() {
+        return isHandle;
+    }
+
+    @Nullable
+    public String getId() {
+        return id;
+    }
+
+    public long getHandle() {
+        return handle;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TransactionId)) {
+            return false;
+        }
+
+        TransactionId that = (TransactionId) o;
+
+        if (isHandle != that.isHandle) {
+            return false;
+        }
+        if (isHandle) {
+            return handle == that.handle;
+        }
+        return id != null ? id.equals(that.id) : that.id == null;
+    }
+
+    @Override
+    public int hashCode() {
+        if (isHandle) {
+            return (int) (handle ^ (handle >>> 32));
+        }
+        return id != null ? id.hashCode() : 0;
+    }
+
+    @Override
+    public String toString() {
+        return isHandle ? "#" + handle : String.valueOf(id);
+    }
+}
@@ -1,44 +1,199 @@
 package com.polidea.flutterblelib.utils;
 
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+/**
+ * Parses and formats UUIDs without regular expressions or intermediate strings.
+ * <p>
+ * UUIDs derived from the Bluetooth base UUID with a 16-bit alias are interned, so converting "180D" always
+ * returns the same instance and formatting it returns a cached string. Other UUIDs keep their lowercase
+ * string in a bounded cache.
+ */
 public class UUIDConverter {
 
-    private static String baseUUIDPrefix = "0000";
-    private static String baseUUIDSuffix = "-0000-1000-8000-00805F9B34FB";
+    private static final long BASE_UUID_MOST_SIGNIFICANT_BITS_LOW = 0x0000_1000L;
+    private static final long BASE_UUID_LEAST_SIGNIFICANT_BITS = 0x8000_0080_5F9B_34FBL;
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int MAX_CACHED_STRINGS = 1024;
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final AtomicReferenceArray<ShortUUID[]> shortUUIDPages =
+            new AtomicReferenceArray<>(1 << (16 - PAGE_BITS));
+
+    private static final ConcurrentHashMap<UUID, String> uuidStrings = new ConcurrentHashMap<>();
 
     public static UUID convert(String sUUID) {
-        if (sUUID.length() == 4) {
-            sUUID = baseUUIDPrefix + sUUID + baseUUIDSuffix;
-        } else if (sUUID.length() == 8) {
-            sUUID = sUUID + baseUUIDSuffix;
-        }
-        try {
-            return UUID.fromString(sUUID);
-        } catch (Throwable e) {
+        if (sUUID == null) {
             return null;
         }
+        switch (sUUID.length()) {
+            case 4: {
+                final long alias = parseHex(sUUID, 0, 4);
+                return alias < 0 ? null : shortUUID((int) alias).uuid;
+            }
+            case 8: {
+                final long alias = parseHex(sUUID, 0, 8);
+                if (alias < 0) {
+                    return null;
+                }
+                return alias <= 0xFFFF ? shortUUID((int) alias).uuid : baseUUID(alias);
+            }
+            case 36:
+                return parseCanonical(sUUID);
+            default:
+                try {
+                    return UUID.fromString(sUUID);
+                } catch (Throwable e) {
+                    return null;
+                }
+        }
     }
 
     public static UUID[] convert(String... sUUIDs) {
         UUID[] UUIDs = new UUID[sUUIDs.length];
         for (int i = 0; i < sUUIDs.length; i++) {
-            try {
-                if (sUUIDs[i].length() == 4) {
-                    sUUIDs[i] = baseUUIDPrefix + sUUIDs[i] + baseUUIDSuffix;
-                } else if (sUUIDs[i].length() == 8) {
-                    sUUIDs[i] = sUUIDs[i] + baseUUIDSuffix;
-                }
-                UUIDs[i] = UUID.fromString(sUUIDs[i]);
-            } catch (Throwable e) {
+            UUIDs[i] = convert(sUUIDs[i]);
+            if (UUIDs[i] == null) {
                 return null;
             }
         }
         return UUIDs;
     }
 
-
     public static String fromUUID(UUID uuid) {
-        return uuid.toString().toLowerCase();
+        final int alias = shortAlias(uuid);
+        if (alias >= 0) {
+            return shortUUID(alias).string;
+        }
+        String string = uuidStrings.get(uuid);
+        if (string == null) {
+            string = format(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+            if (uuidStrings.size() < MAX_CACHED_STRINGS) {
+                uuidStrings.put(uuid, string);
+            }
+        }
+        return string;
+    }
+
+    private static int shortAlias(UUID uuid) {
+        final long mostSignificantBits = uuid.getMostSignificantBits();
+        if (uuid.getLeastSignificantBits() != BASE_UUID_LEAST_SIGNIFICANT_BITS
+                || (mostSignificantBits & 0xFFFF_FFFFL) != BASE_UUID_MOST_SIGNIFICANT_BITS_LOW
+                || (mostSignificantBits >>> 48) != 0) {
+            return -1;
+        }
+        return (int) (mostSignificantBits >>> 32);
+    }
+
+    private static ShortUUID shortUUID(int alias) {
+        final int pageIndex = alias >>> PAGE_BITS;
+        ShortUUID[] page = shortUUIDPages.get(pageIndex);
+        if (page == null) {
+            shortUUIDPages.compareAndSet(pageIndex, null, new ShortUUID[PAGE_SIZE]);
+            page = shortUUIDPages.get(pageIndex);
+        }
+        ShortUUID shortUUID = page[alias & PAGE_MASK];
+        if (shortUUID == null) {
+            // Racing threads may create equal instances, the last one written wins.
+            final UUID uuid = baseUUID(alias);
+            shortUUID = new ShortUUID(uuid, format(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()));
+            page[alias & PAGE_MASK] = shortUUID;
+        }
+        return shortUUID;
+    }
+
+    private static UUID baseUUID(long alias) {
+        return new UUID((alias << 32) | BASE_UUID_MOST_SIGNIFICANT_BITS_LOW, BASE_UUID_LEAST_SIGNIFICANT_BITS);
+    }
+
+    private static UUID parseCanonical(String sUUID) {
+        if (sUUID.charAt(8) != '-' || sUUID.charAt(13) != '-' || sUUID.charAt(18) != '-' || sUUID.charAt(23) != '-') {
+            return null;
+        }
+        final long timeLow = parseHex(sUUID, 0, 8);
+        final long timeMid = parseHex(sUUID, 9, 13);
+        final long timeHigh = parseHex(sUUID, 14, 18);
+        final long clockSequence = parseHex(sUUID, 19, 23);
+        final long nodeHigh = parseHex(sUUID, 24, 28);
+        final long nodeLow = parseHex(sUUID, 28, 36);
+        if ((timeLow | timeMid | timeHigh | clockSequence | nodeHigh | nodeLow) < 0) {
+            return null;
+        }
+        final long mostSignificantBits = (timeLow << 32) | (timeMid << 16) | timeHigh;
+        final long leastSignificantBits = (clockSequence << 48) | (nodeHigh << 32) | nodeLow;
+        if (leastSignificantBits == BASE_UUID_LEAST_SIGNIFICANT_BITS
+                && (mostSignificantBits & 0xFFFF_FFFFL) == BASE_UUID_MOST_SIGNIFICANT_BITS_LOW
+                && timeLow <= 0xFFFF) {
+            return shortUUID((int) timeLow).uuid;
+        }
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * @return value of the hex digits in [start, end) (at most 8 digits) or -1 when a character is not a hex digit
+     */
+    private static long parseHex(String s, int start, int end) {
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            final int digit = hexDigit(s.charAt(i));
+            if (digit < 0) {
+                return -1;
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Unlike {@link Character#digit(char, int)} accepts ASCII digits only, not the other Unicode digits.
+     */
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    private static String format(long mostSignificantBits, long leastSignificantBits) {
+        final char[] chars = new char[36];
+        formatHex(chars, 0, mostSignificantBits >>> 32, 8);
+        chars[8] = '-';
+        formatHex(chars, 9, mostSignificantBits >>> 16, 4);
+        chars[13] = '-';
+        formatHex(chars, 14, mostSignificantBits, 4);
+        chars[18] = '-';
+        formatHex(chars, 19, leastSignificantBits >>> 48, 4);
+        chars[23] = '-';
+        formatHex(chars, 24, leastSignificantBits, 12);
+        return new String(chars);
+    }
+
+    private static void formatHex(char[] chars, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+
+    private static class ShortUUID {
+        private final UUID uuid;
+        private final String string;
+
+        private ShortUUID(UUID uuid, String string) {
+            this.uuid = uuid;
+            this.string = string;
+        }
     }
-}
\ No newline at end of file
+}
@@ -4,7 +4,7 @@ package com.polidea.flutterblelib.wrapper;
 import android.bluetooth.BluetoothGattCharacteristic;
 import android.support.annotation.NonNull;
 
-import com.polidea.flutterblelib.utils.IdGenerator;
+import com.polidea.flutterblelib.utils.BleLog;
 import com.polidea.flutterblelib.utils.IdGeneratorKey;
 import com.polidea.rxandroidble.internal.RxBleLog;
 
@@ -21,7 +21,7 @@ public class Characteristic {
     public Characteristic(@NonNull Service service, @NonNull BluetoothGattCharacteristic characteristic) {
         this.service = service;
         this.characteristic = characteristic;
-        this.id = IdGenerator.getIdForKey(new IdGeneratorKey(service.getDevice().getRxBleDevice(), characteristic.getUuid(), characteristic.getInstanceId()));
+        this.id = service.getIdGenerator().getIdForKey(new IdGeneratorKey(service.getDevice().getBackendDevice().getMacAddress(), characteristic.getUuid(), characteristic.getInstanceId()));
     }
 
     public int getId() {
@@ -36,6 +36,10 @@ public class Characteristic {
         return service;
     }
 
+    public String getDeviceId() {
+        return service.getDevice().getBackendDevice().getMacAddress();
+    }
+
     public BluetoothGattCharacteristic getNativeCharacteristic() {
         return characteristic;
     }
@@ -53,14 +57,17 @@ public class Characteristic {
     }
 
     public void logValue(String message, byte[] value) {
+        if (!BleLog.isLoggable(RxBleLog.VERBOSE)) {
+            return;
+        }
         if (value == null) {
             value = characteristic.getValue();
         }
-        String hexValue = value != null ? bytesToHex(value) : "(null)";
-        RxBleLog.v(message +
-                " Characteristic(uuid: " + characteristic.getUuid().toString() +
-                ", id: " + id +
-                ", value: " + hexValue + ")");
+        BleLog.v("%s Characteristic(uuid: %s, id: %d, value: %s)",
+                message,
+                characteristic.getUuid(),
+                id,
+                value != null ? bytesToHex(value) : "(null)");
     }
 
     public boolean isReadable() {
@@ -4,10 +4,8 @@ package com.polidea.flutterblelib.wrapper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
-import com.polidea.flutterblelib.BleData;
-import com.polidea.flutterblelib.utils.StringUtils;
-import com.polidea.rxandroidble.RxBleConnection;
-import com.polidea.rxandroidble.RxBleDevice;
+import com.polidea.flutterblelib.backend.BackendConnection;
+import com.polidea.flutterblelib.backend.BackendDevice;
 
 import java.util.List;
 import java.util.UUID;
@@ -15,13 +13,13 @@ import java.util.UUID;
 public class Device {
 
 
-    private RxBleDevice device;
+    private BackendDevice device;
     @Nullable
-    private RxBleConnection connection;
+    private BackendConnection connection;
     @Nullable
     private List<Service> services;
 
-    public Device(@NonNull RxBleDevice device, @Nullable RxBleConnection connection) {
+    public Device(@NonNull BackendDevice device, @Nullable BackendConnection connection) {
         this.device = device;
         this.connection = connection;
     }
@@ -35,12 +33,12 @@ public class Device {
         return services;
     }
 
-    public RxBleDevice getRxBleDevice() {
+    public BackendDevice getBackendDevice() {
         return device;
     }
 
     @Nullable
-    public RxBleConnection getConnection() {
+    public BackendConnection getConnection() {
         return connection;
     }
 
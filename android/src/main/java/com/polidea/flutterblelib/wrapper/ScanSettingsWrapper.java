@@ -8,16 +8,29 @@ import com.polidea.rxandroidble.scan.ScanSettings;
 public class ScanSettingsWrapper {
     private final ScanSettings scanSettings;
     private final  String[] uuids;
+    private final boolean registryOnly;
 
     public ScanSettingsWrapper(ScanSettings scanSettings, String[] uuids) {
+        this(scanSettings, uuids, false);
+    }
+
+    /**
+     * @param registryOnly results are only recorded in the scanned device registry, no scan event is sent for them
+     */
+    public ScanSettingsWrapper(ScanSettings scanSettings, String[] uuids, boolean registryOnly) {
         this.scanSettings = scanSettings;
         this.uuids = uuids;
+        this.registryOnly = registryOnly;
     }
 
     public ScanSettings getScanSetting() {
         return scanSettings;
     }
 
+    public boolean isRegistryOnly() {
+        return registryOnly;
+    }
+
     public ScanFilter[] getScanFilters() {
         if (uuids == null) {
             return null;
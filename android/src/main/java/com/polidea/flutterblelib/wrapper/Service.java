@@ -18,18 +18,24 @@ public class Service {
 
     private Device device;
     private BluetoothGattService service;
+    private IdGenerator idGenerator;
     private int id;
 
-    public Service(@NonNull Device device, @NonNull BluetoothGattService service) {
+    public Service(@NonNull Device device, @NonNull BluetoothGattService service, @NonNull IdGenerator idGenerator) {
         this.device = device;
         this.service = service;
-        this.id = IdGenerator.getIdForKey(new IdGeneratorKey(device.getRxBleDevice(), service.getUuid(), service.getInstanceId()));
+        this.idGenerator = idGenerator;
+        this.id = idGenerator.getIdForKey(new IdGeneratorKey(device.getBackendDevice().getMacAddress(), service.getUuid(), service.getInstanceId()));
     }
 
     public int getId() {
         return id;
     }
 
+    IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
     public Device getDevice() {
         return device;
     }
@@ -0,0 +1,180 @@
+package com.polidea.flutterblelib;
+
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.polidea.flutterblelib.backend.SimulatedPeripheral;
+import com.polidea.flutterblelib.listener.Namespace;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that a disconnected device leaves neither its connection nor its transactions behind, while the
+ * transactions of other devices keep running.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 28)
+public class DeviceDisconnectionTest {
+
+    private static final long CALL_TIMEOUT_SECONDS = 10;
+    private static final long CLEANUP_TIMEOUT_MILLIS = 5000;
+    private static final String DEVICE_A = "5A:00:00:00:00:00";
+    private static final String DEVICE_B = "5A:00:00:00:00:01";
+
+    private FlutterBleLibPlugin plugin;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        plugin = new FlutterBleLibPlugin(RuntimeEnvironment.application);
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_monitorCharacteristicChange).onListen(null, new IgnoringSink());
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_deviceConnectionChange).onListen(null, new IgnoringSink());
+        final Map<String, Object> arguments = new HashMap<>();
+        arguments.put(ArgKey.simulatedBackend, BleData.SimulatedBackendMessage.newBuilder()
+                .setDeviceCount(2)
+                .setMaxConnectLatencyMillis(1)
+                .setMaxDiscoveryLatencyMillis(1)
+                .setMaxGattLatencyMillis(1)
+                .setNotificationIntervalMillis(50)
+                .build()
+                .toByteArray());
+        await(BleMethod.createClient, arguments);
+    }
+
+    @After
+    public void tearDown() {
+        plugin.onMethodCall(new MethodCall(BleMethod.destroyClient, null), new AwaitingResult(BleMethod.destroyClient));
+    }
+
+    @Test
+    public void disconnectionCancelsOnlyTransactionsOfThatDevice() throws InterruptedException {
+        connectAndMonitor(DEVICE_A, "monitorA");
+        connectAndMonitor(DEVICE_B, "monitorB");
+        assertEquals(2, registryEntries("connectedDevices"));
+        assertEquals(2, registryEntries("transactions"));
+
+        await(BleMethod.cancelDeviceConnection, DEVICE_A);
+
+        awaitRegistryEntries("connectedDevices", 1);
+        awaitRegistryEntries("transactions", 1);
+        assertEquals(true, await(BleMethod.isDeviceConnected, DEVICE_B));
+
+        await(BleMethod.cancelDeviceConnection, DEVICE_B);
+
+        awaitRegistryEntries("connectedDevices", 0);
+        awaitRegistryEntries("transactions", 0);
+    }
+
+    private void connectAndMonitor(String deviceId, String transactionId) throws InterruptedException {
+        await(BleMethod.connectToDevice, BleData.ConnectToDeviceDataMessage.newBuilder()
+                .setMacAddress(deviceId)
+                .build()
+                .toByteArray());
+        await(BleMethod.discoverAllServicesAndCharacteristicsForDevice, deviceId);
+        final Map<String, Object> arguments = new HashMap<>();
+        arguments.put(ArgKey.deviceId, deviceId);
+        arguments.put(ArgKey.serviceUUID, SimulatedPeripheral.SERVICE_UUID.toString());
+        arguments.put(ArgKey.characteristicUUID, SimulatedPeripheral.DATA_CHARACTERISTIC_UUID.toString());
+        arguments.put(ArgKey.transactionId, transactionId);
+        await(BleMethod.monitorCharacteristicForDevice, arguments);
+    }
+
+    /**
+     * Disconnection is handled on the connection's thread after cancelDeviceConnection returns.
+     */
+    private void awaitRegistryEntries(String registry, int expectedEntries) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + CLEANUP_TIMEOUT_MILLIS;
+        while (registryEntries(registry) != expectedEntries && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(registry, expectedEntries, registryEntries(registry));
+    }
+
+    private int registryEntries(String name) throws InterruptedException {
+        final BleData.MemoryStatsMessage stats;
+        try {
+            stats = BleData.MemoryStatsMessage.parseFrom((byte[]) await(BleMethod.memoryStats, null));
+        } catch (InvalidProtocolBufferException e) {
+            throw new AssertionError(e);
+        }
+        for (BleData.RegistryStatsMessage registry : stats.getRegistriesList()) {
+            if (name.equals(registry.getName())) {
+                return registry.getEntries();
+            }
+        }
+        throw new AssertionError("no registry " + name);
+    }
+
+    private Object await(String method, Object arguments) throws InterruptedException {
+        final AwaitingResult result = new AwaitingResult(method);
+        plugin.onMethodCall(new MethodCall(method, arguments), result);
+        return result.await();
+    }
+
+    private static class AwaitingResult implements MethodChannel.Result {
+        private final String method;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Object value;
+        private volatile String error;
+
+        private AwaitingResult(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public void success(Object result) {
+            value = result;
+            latch.countDown();
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+            error = errorCode + ": " + errorMessage;
+            latch.countDown();
+        }
+
+        @Override
+        public void notImplemented() {
+            error = "not implemented";
+            latch.countDown();
+        }
+
+        Object await() throws InterruptedException {
+            if (!MainThread.await(latch, CALL_TIMEOUT_SECONDS)) {
+                throw new AssertionError(method + " timed out");
+            }
+            if (error != null) {
+                throw new AssertionError(method + " failed with " + error);
+            }
+            return value;
+        }
+    }
+
+    private static class IgnoringSink implements EventChannel.EventSink {
+        @Override
+        public void success(Object event) {
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+        }
+
+        @Override
+        public void endOfStream() {
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.polidea.flutterblelib;
+
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test threads run as the main thread, results posted to it are only delivered while they run its tasks.
+ */
+final class MainThread {
+
+    private static final long POLL_MILLIS = 5;
+
+    private MainThread() {
+    }
+
+    /**
+     * Waits for the latch while running tasks posted to the main thread.
+     *
+     * @return false when the latch did not open in time
+     */
+    static boolean await(CountDownLatch latch, long timeoutSeconds) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        do {
+            ShadowLooper.runUiThreadTasks();
+            if (latch.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline);
+        return false;
+    }
+}
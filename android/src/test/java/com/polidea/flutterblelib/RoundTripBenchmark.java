@@ -0,0 +1,340 @@
+package com.polidea.flutterblelib;
+
+
+import android.bluetooth.BluetoothGattCharacteristic;
+import android.bluetooth.BluetoothGattService;
+import android.content.Context;
+
+import com.google.protobuf.MessageLite;
+import com.polidea.flutterblelib.backend.BackendConnection;
+import com.polidea.flutterblelib.backend.BackendDevice;
+import com.polidea.flutterblelib.backend.BackendScanResult;
+import com.polidea.flutterblelib.backend.BleBackend;
+import com.polidea.flutterblelib.cache.CharacteristicValueCache;
+import com.polidea.flutterblelib.listener.EventDelegate;
+import com.polidea.flutterblelib.listener.OnErrorAction;
+import com.polidea.flutterblelib.listener.OnSuccessAction;
+import com.polidea.flutterblelib.operator.NotificationOperators;
+import com.polidea.flutterblelib.recording.NotificationRecordings;
+import com.polidea.flutterblelib.transport.NotificationRings;
+import com.polidea.flutterblelib.utils.TransactionId;
+import com.polidea.flutterblelib.wrapper.ScanSettingsWrapper;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import rx.Observable;
+import rx.subjects.PublishSubject;
+
+/**
+ * Read and notification round trips through {@link BleHelper} against an in-memory backend that answers
+ * immediately, so only the plugin's own work is measured. A read round trip ends when the success action
+ * gets the value, a notification round trip when the event delegate gets the event.
+ * <p>
+ * Results are logged in ops/s and in bytes allocated per op, summed over all live threads. Robolectric
+ * is needed for the framework classes BleHelper uses, which is why this is not a JMH benchmark.
+ * <p>
+ * Not part of the regular unit test run, start it with:
+ * <pre>./gradlew :flutter_ble_lib:testDebugUnitTest -Pbenchmark [-Pbenchmark.warmupIterations=3]
+ *     [-Pbenchmark.iterations=5] [-Pbenchmark.iterationSeconds=2]</pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 28)
+public class RoundTripBenchmark {
+
+    private static final Logger LOGGER = Logger.getLogger(RoundTripBenchmark.class.getName());
+    private static final long CALL_TIMEOUT_SECONDS = 10;
+    private static final String DEVICE_ID = "AA:BB:CC:DD:EE:FF";
+    private static final UUID SERVICE_UUID = UUID.fromString("0000180d-0000-1000-8000-00805f9b34fb");
+    private static final UUID READ_CHARACTERISTIC_UUID = UUID.fromString("00002a38-0000-1000-8000-00805f9b34fb");
+    private static final UUID NOTIFY_CHARACTERISTIC_UUID = UUID.fromString("00002a37-0000-1000-8000-00805f9b34fb");
+
+    private final int warmupIterations = Integer.getInteger("benchmark.warmupIterations", 3);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 5);
+    private final int iterationSeconds = Integer.getInteger("benchmark.iterationSeconds", 2);
+
+    private final FakeBackend fakeBackend = new FakeBackend();
+    private final CountingEventDelegate eventDelegate = new CountingEventDelegate();
+    private BleHelper bleHelper;
+
+    @Before
+    public void setUp() throws InterruptedException {
+        bleHelper = new BleHelper(RuntimeEnvironment.application, new BleBackend.Factory() {
+            @Override
+            public BleBackend create(Context context) {
+                return fakeBackend;
+            }
+        });
+        bleHelper.registerEventDelegate(eventDelegate);
+
+        final AwaitingAction<Void> created = new AwaitingAction<>("createClient");
+        bleHelper.createClient(null, created, created);
+        created.await();
+
+        final AwaitingAction<BleData.BleDeviceMessage> connected = new AwaitingAction<>("connectToDevice");
+        bleHelper.connectToDevice(BleData.ConnectToDeviceDataMessage.newBuilder()
+                .setMacAddress(DEVICE_ID)
+                .build()
+                .toByteArray(), connected, connected);
+        connected.await();
+
+        final AwaitingAction<BleData.BleDeviceMessage> discovered = new AwaitingAction<>("discoverServices");
+        bleHelper.discoverAllServicesAndCharacteristicsForDevice(DEVICE_ID, discovered, discovered);
+        discovered.await();
+    }
+
+    @After
+    public void tearDown() {
+        bleHelper.destroyClient();
+    }
+
+    @Test
+    public void readRoundTrip() throws InterruptedException {
+        final TransactionId transactionId = TransactionId.ofString("read");
+        measure("read", new Operation() {
+            @Override
+            public void run() throws InterruptedException {
+                final AwaitingAction<MessageLite> read = new AwaitingAction<>("readCharacteristicForDevice");
+                bleHelper.readCharacteristicForDevice(DEVICE_ID,
+                        SERVICE_UUID.toString(),
+                        READ_CHARACTERISTIC_UUID.toString(),
+                        CharacteristicValueCache.ANY_AGE,
+                        transactionId,
+                        read,
+                        read);
+                read.await();
+            }
+        });
+    }
+
+    @Test
+    public void notificationRoundTrip() throws InterruptedException {
+        final AwaitingAction<Void> monitoring = new AwaitingAction<>("monitorCharacteristicForDevice");
+        bleHelper.monitorCharacteristicForDevice(DEVICE_ID,
+                SERVICE_UUID.toString(),
+                NOTIFY_CHARACTERISTIC_UUID.toString(),
+                NotificationOperators.NONE,
+                NotificationRecordings.NO_RECORDING,
+                NotificationRings.NO_RING,
+                TransactionId.ofHandle(1),
+                monitoring,
+                monitoring);
+        monitoring.await();
+        final byte[] value = new byte[20];
+        measure("notification", new Operation() {
+            @Override
+            public void run() throws InterruptedException {
+                fakeBackend.notifications.onNext(value);
+                eventDelegate.awaitEvent();
+            }
+        });
+    }
+
+    private void measure(String name, Operation operation) throws InterruptedException {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(name, "warmup " + (i + 1), operation);
+        }
+        for (int i = 0; i < iterations; i++) {
+            runIteration(name, "iteration " + (i + 1), operation);
+        }
+    }
+
+    private void runIteration(String name, String iteration, Operation operation) throws InterruptedException {
+        final Map<Long, Long> allocatedBefore = allocatedBytesPerThread();
+        final long startNanos = System.nanoTime();
+        final long endNanos = startNanos + TimeUnit.SECONDS.toNanos(iterationSeconds);
+        long operations = 0;
+        long nowNanos;
+        do {
+            operation.run();
+            operations++;
+            nowNanos = System.nanoTime();
+        } while (nowNanos < endNanos);
+        final long allocatedBytes = allocatedBytesSince(allocatedBefore);
+        LOGGER.info(String.format(Locale.US, "%s round trip, %s: %.0f ops/s, %.1f B/op",
+                name, iteration, operations * 1e9 / (nowNanos - startNanos), (double) allocatedBytes / operations));
+    }
+
+    private static Map<Long, Long> allocatedBytesPerThread() {
+        final com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long[] threadIds = threadBean.getAllThreadIds();
+        final long[] allocatedBytes = threadBean.getThreadAllocatedBytes(threadIds);
+        final Map<Long, Long> allocatedPerThread = new HashMap<>();
+        for (int i = 0; i < threadIds.length; i++) {
+            if (allocatedBytes[i] >= 0) {
+                allocatedPerThread.put(threadIds[i], allocatedBytes[i]);
+            }
+        }
+        return allocatedPerThread;
+    }
+
+    /**
+     * Allocations of threads that ended in between are lost, the plugin's schedulers keep their threads alive.
+     */
+    private static long allocatedBytesSince(Map<Long, Long> allocatedBefore) {
+        long allocatedBytes = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytesPerThread().entrySet()) {
+            final Long before = allocatedBefore.get(thread.getKey());
+            allocatedBytes += thread.getValue() - (before != null ? before : 0);
+        }
+        return allocatedBytes;
+    }
+
+    private interface Operation {
+        void run() throws InterruptedException;
+    }
+
+    private static class AwaitingAction<T> implements OnSuccessAction<T>, OnErrorAction {
+        private final String method;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Throwable error;
+
+        private AwaitingAction(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public void onSuccess(T success) {
+            latch.countDown();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+            latch.countDown();
+        }
+
+        void await() throws InterruptedException {
+            if (!MainThread.await(latch, CALL_TIMEOUT_SECONDS)) {
+                throw new AssertionError(method + " timed out");
+            }
+            if (error != null) {
+                throw new AssertionError(method + " failed", error);
+            }
+        }
+    }
+
+    private static class CountingEventDelegate implements EventDelegate {
+        private final Semaphore events = new Semaphore(0);
+
+        @Override
+        public <T> void dispatchEvent(Event event, T value) {
+        }
+
+        @Override
+        public <T> void dispatchEvent(TransactionId transactionId, Event event, T value) {
+            events.release();
+        }
+
+        void awaitEvent() throws InterruptedException {
+            if (!events.tryAcquire(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new AssertionError("notification was not delivered");
+            }
+        }
+    }
+
+    /**
+     * Single connectable device with a readable and a notifying characteristic, all operations complete on the
+     * subscribing thread.
+     */
+    private static class FakeBackend implements BleBackend, BackendDevice, BackendConnection {
+        private final PublishSubject<byte[]> notifications = PublishSubject.create();
+        private final byte[] readValue = new byte[20];
+        private final List<BluetoothGattService> services;
+
+        private FakeBackend() {
+            final BluetoothGattService service = new BluetoothGattService(SERVICE_UUID,
+                    BluetoothGattService.SERVICE_TYPE_PRIMARY);
+            service.addCharacteristic(new BluetoothGattCharacteristic(READ_CHARACTERISTIC_UUID,
+                    BluetoothGattCharacteristic.PROPERTY_READ,
+                    BluetoothGattCharacteristic.PERMISSION_READ));
+            service.addCharacteristic(new BluetoothGattCharacteristic(NOTIFY_CHARACTERISTIC_UUID,
+                    BluetoothGattCharacteristic.PROPERTY_NOTIFY,
+                    BluetoothGattCharacteristic.PERMISSION_READ));
+            services = Collections.singletonList(service);
+        }
+
+        @Override
+        public Observable<BackendScanResult> scanBleDevices(ScanSettingsWrapper scanSettingsWrapper) {
+            return Observable.never();
+        }
+
+        @Override
+        public BackendDevice getBleDevice(String macAddress) {
+            return DEVICE_ID.equals(macAddress) ? this : null;
+        }
+
+        @Override
+        public String getMacAddress() {
+            return DEVICE_ID;
+        }
+
+        @Override
+        public String getName() {
+            return "Fake";
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public Observable<BackendConnection> establishConnection(boolean autoConnect) {
+            return Observable.<BackendConnection>just(this).concatWith(Observable.<BackendConnection>never());
+        }
+
+        @Override
+        public Observable<List<BluetoothGattService>> discoverServices() {
+            return Observable.just(services);
+        }
+
+        @Override
+        public Observable<byte[]> readCharacteristic(BluetoothGattCharacteristic characteristic) {
+            return Observable.just(readValue);
+        }
+
+        @Override
+        public Observable<byte[]> writeCharacteristic(BluetoothGattCharacteristic characteristic, byte[] value) {
+            return Observable.just(value);
+        }
+
+        @Override
+        public Observable<Observable<byte[]>> setupNotification(BluetoothGattCharacteristic characteristic) {
+            return Observable.<Observable<byte[]>>just(notifications);
+        }
+
+        @Override
+        public Observable<Integer> readRssi() {
+            return Observable.just(-60);
+        }
+
+        @Override
+        public Observable<Integer> requestMtu(int mtu) {
+            return Observable.just(mtu);
+        }
+
+        @Override
+        public int getMtu() {
+            return 23;
+        }
+    }
+}
@@ -0,0 +1,352 @@
+package com.polidea.flutterblelib;
+
+
+import android.util.Base64;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.polidea.flutterblelib.backend.SimulatedPeripheral;
+import com.polidea.flutterblelib.listener.Namespace;
+import com.polidea.flutterblelib.metrics.LatencyHistogram;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * End-to-end load harness. Drives {@link FlutterBleLibPlugin#onMethodCall} the same way the Dart side does,
+ * against the simulated backend, and ramps up the number of connected and notifying devices.
+ * <p>
+ * Every stage reports delivered events per second, notification-to-sink latency (p50/p99), dropped events
+ * (gaps in the per-device notification sequence numbers) and heap usage.
+ * <p>
+ * Not part of the regular unit test run, start it with:
+ * <pre>./gradlew :flutter_ble_lib:testDebugUnitTest -Pscale [-Pscale.devices=100] [-Pscale.rampStep=10]
+ *     [-Pscale.stageSeconds=10] [-Pscale.notificationIntervalMillis=20] [-Pscale.payloadSize=20]
+ *     [-Pscale.dropRate=0] [-Pscale.compactProtocol=true]</pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 28)
+public class ScaleHarness {
+
+    private static final long CALL_TIMEOUT_SECONDS = 30;
+
+    private final int deviceCount = Integer.getInteger("scale.devices", 100);
+    private final int rampStep = Integer.getInteger("scale.rampStep", 10);
+    private final int stageSeconds = Integer.getInteger("scale.stageSeconds", 10);
+    private final int notificationIntervalMillis = Integer.getInteger("scale.notificationIntervalMillis", 20);
+    private final int payloadSize = Integer.getInteger("scale.payloadSize", 20);
+    private final double dropRate = Double.parseDouble(System.getProperty("scale.dropRate", "0"));
+    private final boolean compactProtocol = Boolean.getBoolean("scale.compactProtocol");
+
+    private FlutterBleLibPlugin plugin;
+    private NotificationSink notificationSink;
+
+    @Before
+    public void setUp() {
+        plugin = new FlutterBleLibPlugin(RuntimeEnvironment.application);
+        notificationSink = new NotificationSink(compactProtocol);
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_monitorCharacteristicChange).onListen(null, notificationSink);
+    }
+
+    @After
+    public void tearDown() {
+        invoke(BleMethod.destroyClient, null);
+    }
+
+    @Test
+    public void rampUpNotifyingDevices() throws InterruptedException {
+        final long baselineHeap = usedHeapAfterGc();
+        final Map<String, Object> createClientArguments = new HashMap<>();
+        createClientArguments.put(ArgKey.simulatedBackend, BleData.SimulatedBackendMessage.newBuilder()
+                .setDeviceCount(deviceCount)
+                .setNotificationIntervalMillis(notificationIntervalMillis)
+                .setNotificationPayloadSize(payloadSize)
+                .setNotificationDropRate(dropRate)
+                .build()
+                .toByteArray());
+        createClientArguments.put(ArgKey.compactProtocol, compactProtocol);
+        await(BleMethod.createClient, createClientArguments);
+
+        final List<String> deviceIds = scanDevices();
+        assertEquals(deviceCount, deviceIds.size());
+
+        System.out.println(String.format(Locale.US,
+                "devices=%d interval=%dms payload=%dB dropRate=%.3f compactProtocol=%b baselineHeap=%dKiB",
+                deviceCount, notificationIntervalMillis, payloadSize, dropRate, compactProtocol, baselineHeap / 1024));
+        System.out.println("connected  events/s   p50[us]   p99[us]   max[us]   dropped  B/event   heap[KiB]");
+
+        int connected = 0;
+        while (connected < deviceIds.size()) {
+            final int stageEnd = Math.min(connected + rampStep, deviceIds.size());
+            for (; connected < stageEnd; connected++) {
+                connectAndMonitor(deviceIds.get(connected), connected);
+            }
+            notificationSink.resetWindow();
+            final long windowStartNanos = System.nanoTime();
+            Thread.sleep(TimeUnit.SECONDS.toMillis(stageSeconds));
+            report(connected, System.nanoTime() - windowStartNanos);
+        }
+
+        invoke(BleMethod.destroyClient, null);
+        System.out.println(String.format(Locale.US, "heap growth after teardown: %dKiB, total dropped: %d",
+                (usedHeapAfterGc() - baselineHeap) / 1024, notificationSink.getTotalDropped()));
+    }
+
+    private List<String> scanDevices() throws InterruptedException {
+        final ScanSink scanSink = new ScanSink(deviceCount);
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_scanDevices).onListen(null, scanSink);
+        await(BleMethod.startDeviceScan, BleData.ScanDataMessage.getDefaultInstance().toByteArray());
+        scanSink.await();
+        invoke(BleMethod.stopDeviceScan, null);
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_scanDevices).onCancel(null);
+        return scanSink.getDeviceIds();
+    }
+
+    private void connectAndMonitor(String deviceId, int index) throws InterruptedException {
+        await(BleMethod.connectToDevice, BleData.ConnectToDeviceDataMessage.newBuilder()
+                .setMacAddress(deviceId)
+                .build()
+                .toByteArray());
+        await(BleMethod.discoverAllServicesAndCharacteristicsForDevice, deviceId);
+
+        final Map<String, Object> arguments = new HashMap<>();
+        arguments.put(ArgKey.deviceId, deviceId);
+        arguments.put(ArgKey.serviceUUID, SimulatedPeripheral.SERVICE_UUID.toString());
+        arguments.put(ArgKey.characteristicUUID, SimulatedPeripheral.DATA_CHARACTERISTIC_UUID.toString());
+        arguments.put(ArgKey.transactionId, (long) index);
+        await(BleMethod.monitorCharacteristicForDevice, arguments);
+    }
+
+    private void report(int connected, long windowNanos) {
+        final LatencyHistogram latency = notificationSink.getWindowLatency();
+        final double eventsPerSecond = latency.getCount() * 1e9 / windowNanos;
+        System.out.println(String.format(Locale.US, "%9d %9.0f %9d %9d %9d %9d %8.1f %11d",
+                connected,
+                eventsPerSecond,
+                latency.getPercentileMicros(50),
+                latency.getPercentileMicros(99),
+                latency.getMaxMicros(),
+                notificationSink.getWindowDropped(),
+                latency.getCount() > 0 ? (double) notificationSink.getWindowBytes() / latency.getCount() : 0,
+                usedHeap() / 1024));
+    }
+
+    private void invoke(String method, Object arguments) {
+        plugin.onMethodCall(new MethodCall(method, arguments), new AwaitingResult(method));
+    }
+
+    private Object await(String method, Object arguments) throws InterruptedException {
+        final AwaitingResult result = new AwaitingResult(method);
+        plugin.onMethodCall(new MethodCall(method, arguments), result);
+        return result.await();
+    }
+
+    private static long usedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.runFinalization();
+        System.gc();
+        return usedHeap();
+    }
+
+    private static class AwaitingResult implements MethodChannel.Result {
+        private final String method;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Object value;
+        private volatile String error;
+
+        private AwaitingResult(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public void success(Object result) {
+            value = result;
+            latch.countDown();
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+            error = errorCode + ": " + errorMessage;
+            latch.countDown();
+        }
+
+        @Override
+        public void notImplemented() {
+            error = "not implemented";
+            latch.countDown();
+        }
+
+        Object await() throws InterruptedException {
+            if (!MainThread.await(latch, CALL_TIMEOUT_SECONDS)) {
+                throw new AssertionError(method + " timed out");
+            }
+            if (error != null) {
+                throw new AssertionError(method + " failed with " + error);
+            }
+            return value;
+        }
+    }
+
+    private static class ScanSink implements EventChannel.EventSink {
+        private final Set<String> deviceIds = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        private final int expectedCount;
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        private ScanSink(int expectedCount) {
+            this.expectedCount = expectedCount;
+        }
+
+        @Override
+        public void success(Object event) {
+            try {
+                deviceIds.add(BleData.ScanResultMessage.parseFrom((byte[]) event).getBleDeviceMessage().getId());
+            } catch (InvalidProtocolBufferException e) {
+                throw new AssertionError(e);
+            }
+            if (deviceIds.size() >= expectedCount) {
+                latch.countDown();
+            }
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+            throw new AssertionError("Scan failed with " + errorCode + ": " + errorMessage);
+        }
+
+        @Override
+        public void endOfStream() {
+        }
+
+        void await() throws InterruptedException {
+            if (!latch.await(CALL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                throw new AssertionError("Found only " + deviceIds.size() + " of " + expectedCount + " devices");
+            }
+        }
+
+        List<String> getDeviceIds() {
+            return new ArrayList<>(deviceIds);
+        }
+    }
+
+    /**
+     * Decodes the emission time and sequence number that {@link SimulatedPeripheral} puts in front of every
+     * notification.
+     */
+    private static class NotificationSink implements EventChannel.EventSink {
+        private final boolean compactProtocol;
+        private final ConcurrentHashMap<Object, AtomicLong> lastSequences = new ConcurrentHashMap<>();
+        private final AtomicLong windowDropped = new AtomicLong();
+        private final AtomicLong windowBytes = new AtomicLong();
+        private final AtomicLong totalDropped = new AtomicLong();
+        private volatile LatencyHistogram windowLatency = new LatencyHistogram();
+
+        private NotificationSink(boolean compactProtocol) {
+            this.compactProtocol = compactProtocol;
+        }
+
+        @Override
+        public void success(Object event) {
+            final long receivedNanos = System.nanoTime();
+            final byte[] eventBytes = (byte[]) event;
+            final Object source;
+            final byte[] value;
+            try {
+                if (compactProtocol) {
+                    final BleData.CharacteristicValueMessage message = BleData.CharacteristicValueMessage.parseFrom(eventBytes);
+                    source = message.getTransactionHandle();
+                    value = message.getValue().toByteArray();
+                } else {
+                    final BleData.CharacteristicMessage message = BleData.MonitorCharacteristicMessage.parseFrom(eventBytes)
+                            .getCharacteristicMessage();
+                    source = message.getDeviceId();
+                    value = Base64.decode(message.getValue(), Base64.NO_WRAP);
+                }
+            } catch (InvalidProtocolBufferException e) {
+                throw new AssertionError(e);
+            }
+            windowBytes.addAndGet(eventBytes.length);
+            windowLatency.record(TimeUnit.NANOSECONDS.toMicros(receivedNanos - readLong(value, 0, 8)));
+
+            final long sequence = readLong(value, 8, 4);
+            AtomicLong lastSequence = lastSequences.get(source);
+            if (lastSequence == null) {
+                lastSequence = new AtomicLong(sequence - 1);
+                final AtomicLong previous = lastSequences.putIfAbsent(source, lastSequence);
+                if (previous != null) {
+                    lastSequence = previous;
+                }
+            }
+            final long gap = sequence - lastSequence.getAndSet(sequence) - 1;
+            if (gap > 0) {
+                windowDropped.addAndGet(gap);
+                totalDropped.addAndGet(gap);
+            }
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+            System.out.println("Notification error " + errorCode + ": " + errorMessage);
+        }
+
+        @Override
+        public void endOfStream() {
+        }
+
+        void resetWindow() {
+            windowLatency = new LatencyHistogram();
+            windowDropped.set(0);
+            windowBytes.set(0);
+        }
+
+        LatencyHistogram getWindowLatency() {
+            return windowLatency;
+        }
+
+        long getWindowDropped() {
+            return windowDropped.get();
+        }
+
+        long getWindowBytes() {
+            return windowBytes.get();
+        }
+
+        long getTotalDropped() {
+            return totalDropped.get();
+        }
+
+        private static long readLong(byte[] bytes, int offset, int length) {
+            long value = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                value = (value << 8) | (bytes[offset + i] & 0xFF);
+            }
+            return value;
+        }
+    }
+}
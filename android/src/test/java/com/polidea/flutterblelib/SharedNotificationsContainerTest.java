@@ -0,0 +1,133 @@
+package com.polidea.flutterblelib;
+
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.observers.TestSubscriber;
+import rx.subjects.PublishSubject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs with Robolectric because RxJava reads the Android version on a JVM with Android classes.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 28)
+public class SharedNotificationsContainerTest {
+
+    private static final int CHARACTERISTIC_ID = 7;
+
+    private final SharedNotificationsContainer container = new SharedNotificationsContainer();
+    private final PublishSubject<byte[]> values = PublishSubject.create();
+    private final AtomicInteger activeSources = new AtomicInteger();
+    private final AtomicInteger maxActiveSources = new AtomicInteger();
+    private final AtomicInteger sourceSubscriptions = new AtomicInteger();
+    private final Observable<byte[]> source = values
+            .doOnSubscribe(new Action0() {
+                @Override
+                public void call() {
+                    sourceSubscriptions.incrementAndGet();
+                    final int active = activeSources.incrementAndGet();
+                    synchronized (maxActiveSources) {
+                        maxActiveSources.set(Math.max(maxActiveSources.get(), active));
+                    }
+                }
+            })
+            .doOnUnsubscribe(new Action0() {
+                @Override
+                public void call() {
+                    activeSources.decrementAndGet();
+                }
+            });
+
+    @Test
+    public void listenersShareOneSourceUntilTheLastLeaves() {
+        final TestSubscriber<byte[]> first = new TestSubscriber<>();
+        final TestSubscriber<byte[]> second = new TestSubscriber<>();
+        container.share(CHARACTERISTIC_ID, source).subscribe(first);
+        container.share(CHARACTERISTIC_ID, source).subscribe(second);
+        values.onNext(new byte[]{1});
+
+        assertEquals(1, sourceSubscriptions.get());
+        first.assertValueCount(1);
+        second.assertValueCount(1);
+
+        first.unsubscribe();
+        assertEquals(1, activeSources.get());
+        assertEquals(1, container.size());
+
+        second.unsubscribe();
+        assertEquals(0, activeSources.get());
+        assertEquals(0, container.size());
+
+        container.share(CHARACTERISTIC_ID, source).subscribe(new TestSubscriber<byte[]>());
+        assertEquals(2, sourceSubscriptions.get());
+        assertEquals(1, activeSources.get());
+    }
+
+    @Test
+    public void terminatedShareIsReplaced() {
+        final TestSubscriber<byte[]> listener = new TestSubscriber<>();
+        container.share(CHARACTERISTIC_ID, source).subscribe(listener);
+        values.onError(new RuntimeException("disconnected"));
+
+        listener.assertError(RuntimeException.class);
+        assertEquals(0, container.size());
+    }
+
+    @Test
+    public void clearUnsubscribesLiveSources() {
+        container.share(CHARACTERISTIC_ID, source).subscribe(new TestSubscriber<byte[]>());
+        container.share(CHARACTERISTIC_ID + 1, source).subscribe(new TestSubscriber<byte[]>());
+        assertEquals(2, activeSources.get());
+
+        container.clear();
+
+        assertEquals(0, activeSources.get());
+        assertEquals(0, container.size());
+    }
+
+    @Test
+    public void concurrentListenersNeverRunTwoSources() throws InterruptedException {
+        final int threads = 8;
+        final int iterations = 2000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            final Subscription subscription = container.share(CHARACTERISTIC_ID, source)
+                                    .subscribe(new TestSubscriber<byte[]>());
+                            subscription.unsubscribe();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        assertEquals(1, maxActiveSources.get());
+        assertEquals(0, activeSources.get());
+        assertEquals(0, container.size());
+    }
+}
@@ -0,0 +1,237 @@
+package com.polidea.flutterblelib;
+
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.polidea.flutterblelib.backend.SimulatedPeripheral;
+import com.polidea.flutterblelib.listener.Namespace;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Logger;
+
+import io.flutter.plugin.common.EventChannel;
+import io.flutter.plugin.common.MethodCall;
+import io.flutter.plugin.common.MethodChannel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lifecycle soak test. Runs connect, discover, monitor and disconnect cycles against the simulated backend and
+ * recreates the client every few hundred cycles, checking through memoryStats that disconnected devices and
+ * destroyed clients leave nothing behind in the registries.
+ * <p>
+ * Not part of the regular unit test run, start it with:
+ * <pre>./gradlew :flutter_ble_lib:testDebugUnitTest -Psoak [-Psoak.cycles=10000] [-Psoak.devices=10]
+ *     [-Psoak.cyclesPerClient=500] [-Psoak.maxHeapGrowthKiB=4096]</pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 28)
+public class SoakHarness {
+
+    private static final Logger LOGGER = Logger.getLogger(SoakHarness.class.getName());
+    private static final long CALL_TIMEOUT_SECONDS = 30;
+    private static final int REPORT_INTERVAL = 1000;
+    private static final String TRACE_REGISTRY = "trace";
+    private static final String DEVICE_METRICS_REGISTRY = "deviceMetrics";
+
+    private final int cycles = Integer.getInteger("soak.cycles", 10000);
+    private final int deviceCount = Integer.getInteger("soak.devices", 10);
+    private final int cyclesPerClient = Integer.getInteger("soak.cyclesPerClient", 500);
+    private final long maxHeapGrowthKiB = Long.getLong("soak.maxHeapGrowthKiB", 4096);
+
+    private FlutterBleLibPlugin plugin;
+
+    @Before
+    public void setUp() {
+        plugin = new FlutterBleLibPlugin(RuntimeEnvironment.application);
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_monitorCharacteristicChange).onListen(null, new IgnoringSink());
+        plugin.getStreamHandler(Namespace.flutter_ble_lib_deviceConnectionChange).onListen(null, new IgnoringSink());
+    }
+
+    @After
+    public void tearDown() {
+        invoke(BleMethod.destroyClient, null);
+    }
+
+    @Test
+    public void connectDisconnectCycles() throws InterruptedException {
+        createClient();
+        runCycles(0, REPORT_INTERVAL);
+        invoke(BleMethod.destroyClient, null);
+        final long baselineHeap = usedHeapAfterGc();
+
+        LOGGER.info(String.format(Locale.US, "cycles=%d devices=%d cyclesPerClient=%d baselineHeap=%dKiB",
+                cycles, deviceCount, cyclesPerClient, baselineHeap / 1024));
+        LOGGER.info("    cycle   heap[KiB]   entries   estimated[B]");
+
+        createClient();
+        for (int cycle = 0; cycle < cycles; cycle++) {
+            if (cycle > 0 && cycle % cyclesPerClient == 0) {
+                invoke(BleMethod.destroyClient, null);
+                createClient();
+            }
+            runCycles(cycle, cycle + 1);
+            if ((cycle + 1) % REPORT_INTERVAL == 0) {
+                final BleData.MemoryStatsMessage stats = memoryStats();
+                LOGGER.info(String.format(Locale.US, "%9d %11d %9d %14d",
+                        cycle + 1, usedHeapAfterGc() / 1024, registryEntries(stats), stats.getTotalEstimatedBytes()));
+                assertEquals("entries left after disconnecting all devices in cycle " + (cycle + 1),
+                        0, registryEntries(stats));
+                assertTrue("latency histograms of " + deviceMetricsEntries(stats) + " devices in cycle " + (cycle + 1),
+                        deviceMetricsEntries(stats) <= deviceCount);
+            }
+        }
+
+        invoke(BleMethod.destroyClient, null);
+        final long heapGrowthKiB = (usedHeapAfterGc() - baselineHeap) / 1024;
+        LOGGER.info(String.format(Locale.US, "heap growth after teardown: %dKiB", heapGrowthKiB));
+        assertTrue("heap grew by " + heapGrowthKiB + "KiB after " + cycles + " cycles, limit " + maxHeapGrowthKiB + "KiB",
+                heapGrowthKiB <= maxHeapGrowthKiB);
+    }
+
+    private void createClient() throws InterruptedException {
+        final Map<String, Object> arguments = new HashMap<>();
+        arguments.put(ArgKey.simulatedBackend, BleData.SimulatedBackendMessage.newBuilder()
+                .setDeviceCount(deviceCount)
+                .setMaxConnectLatencyMillis(1)
+                .setMaxDiscoveryLatencyMillis(1)
+                .setMaxGattLatencyMillis(1)
+                .setNotificationIntervalMillis(50)
+                .build()
+                .toByteArray());
+        await(BleMethod.createClient, arguments);
+    }
+
+    private void runCycles(int fromCycle, int toCycle) throws InterruptedException {
+        for (int cycle = fromCycle; cycle < toCycle; cycle++) {
+            final String deviceId = String.format(Locale.US, "5A:00:00:00:00:%02X", cycle % deviceCount);
+            await(BleMethod.connectToDevice, BleData.ConnectToDeviceDataMessage.newBuilder()
+                    .setMacAddress(deviceId)
+                    .build()
+                    .toByteArray());
+            await(BleMethod.discoverAllServicesAndCharacteristicsForDevice, deviceId);
+
+            final Map<String, Object> arguments = new HashMap<>();
+            arguments.put(ArgKey.deviceId, deviceId);
+            arguments.put(ArgKey.serviceUUID, SimulatedPeripheral.SERVICE_UUID.toString());
+            arguments.put(ArgKey.characteristicUUID, SimulatedPeripheral.DATA_CHARACTERISTIC_UUID.toString());
+            arguments.put(ArgKey.transactionId, "soak" + cycle);
+            await(BleMethod.monitorCharacteristicForDevice, arguments);
+
+            await(BleMethod.cancelDeviceConnection, deviceId);
+        }
+    }
+
+    private BleData.MemoryStatsMessage memoryStats() throws InterruptedException {
+        try {
+            return BleData.MemoryStatsMessage.parseFrom((byte[]) await(BleMethod.memoryStats, null));
+        } catch (InvalidProtocolBufferException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Entries of registries that are emptied when all devices are disconnected. The trace buffer has a fixed size
+     * and latency histograms are kept per device across connections until the client is destroyed.
+     */
+    private static int registryEntries(BleData.MemoryStatsMessage stats) {
+        int entries = 0;
+        for (BleData.RegistryStatsMessage registry : stats.getRegistriesList()) {
+            if (!TRACE_REGISTRY.equals(registry.getName()) && !DEVICE_METRICS_REGISTRY.equals(registry.getName())) {
+                entries += registry.getEntries();
+            }
+        }
+        return entries;
+    }
+
+    private static int deviceMetricsEntries(BleData.MemoryStatsMessage stats) {
+        for (BleData.RegistryStatsMessage registry : stats.getRegistriesList()) {
+            if (DEVICE_METRICS_REGISTRY.equals(registry.getName())) {
+                return registry.getEntries();
+            }
+        }
+        return 0;
+    }
+
+    private void invoke(String method, Object arguments) {
+        plugin.onMethodCall(new MethodCall(method, arguments), new AwaitingResult(method));
+    }
+
+    private Object await(String method, Object arguments) throws InterruptedException {
+        final AwaitingResult result = new AwaitingResult(method);
+        plugin.onMethodCall(new MethodCall(method, arguments), result);
+        return result.await();
+    }
+
+    private static long usedHeapAfterGc() {
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        System.runFinalization();
+        System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static class AwaitingResult implements MethodChannel.Result {
+        private final String method;
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Object value;
+        private volatile String error;
+
+        private AwaitingResult(String method) {
+            this.method = method;
+        }
+
+        @Override
+        public void success(Object result) {
+            value = result;
+            latch.countDown();
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+            error = errorCode + ": " + errorMessage;
+            latch.countDown();
+        }
+
+        @Override
+        public void notImplemented() {
+            error = "not implemented";
+            latch.countDown();
+        }
+
+        Object await() throws InterruptedException {
+            if (!MainThread.await(latch, CALL_TIMEOUT_SECONDS)) {
+                throw new AssertionError(method + " timed out");
+            }
+            if (error != null) {
+                throw new AssertionError(method + " failed with " + error);
+            }
+            return value;
+        }
+    }
+
+    private static class IgnoringSink implements EventChannel.EventSink {
+        @Override
+        public void success(Object event) {
+        }
+
+        @Override
+        public void error(String errorCode, String errorMessage, Object errorDetails) {
+        }
+
+        @Override
+        public void endOfStream() {
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.polidea.flutterblelib;
+
+
+import com.polidea.flutterblelib.utils.TransactionId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import rx.subscriptions.BooleanSubscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionsContainerTest {
+
+    private static final String DEVICE_A = "5A:00:00:00:00:01";
+    private static final String DEVICE_B = "5A:00:00:00:00:02";
+
+    private final TransactionsContainer transactions = new TransactionsContainer();
+
+    @Test
+    public void removesOnlyTransactionsOfGivenDevice() {
+        final BooleanSubscription readA = register(DEVICE_A, TransactionId.ofString("readA"));
+        final BooleanSubscription monitorA = register(DEVICE_A, TransactionId.ofHandle(7));
+        final BooleanSubscription readB = register(DEVICE_B, TransactionId.ofString("readB"));
+
+        assertEquals(2, transactions.getTransactionsCount(DEVICE_A));
+        assertEquals(1, transactions.getTransactionsCount(DEVICE_B));
+        assertEquals(3, transactions.getTransactionsCount());
+
+        assertEquals(2, transactions.removeDeviceTransactionSubscriptions(DEVICE_A));
+
+        assertTrue(readA.isUnsubscribed());
+        assertTrue(monitorA.isUnsubscribed());
+        assertFalse(readB.isUnsubscribed());
+        assertEquals(0, transactions.getTransactionsCount(DEVICE_A));
+        assertEquals(1, transactions.getTransactionsCount());
+        assertEquals(0, transactions.removeDeviceTransactionSubscriptions(DEVICE_A));
+    }
+
+    @Test
+    public void removedTransactionLeavesDeviceIndex() {
+        final TransactionId transactionId = TransactionId.ofHandle(42);
+        final BooleanSubscription subscription = register(DEVICE_A, transactionId);
+
+        assertTrue(transactions.removeTransactionSubscription(transactionId));
+
+        assertTrue(subscription.isUnsubscribed());
+        assertEquals(0, transactions.getTransactionsCount(DEVICE_A));
+        assertEquals(0, transactions.removeDeviceTransactionSubscriptions(DEVICE_A));
+    }
+
+    @Test
+    public void reusedTransactionIdMovesToNewDevice() {
+        final TransactionId transactionId = TransactionId.ofString("transaction");
+        final BooleanSubscription first = register(DEVICE_A, transactionId);
+        final BooleanSubscription second = register(DEVICE_B, transactionId);
+
+        assertTrue(first.isUnsubscribed());
+        assertEquals(0, transactions.getTransactionsCount(DEVICE_A));
+        assertEquals(1, transactions.getTransactionsCount(DEVICE_B));
+
+        assertEquals(0, transactions.removeDeviceTransactionSubscriptions(DEVICE_A));
+        assertFalse(second.isUnsubscribed());
+        assertEquals(1, transactions.removeDeviceTransactionSubscriptions(DEVICE_B));
+        assertTrue(second.isUnsubscribed());
+    }
+
+    @Test
+    public void reusedHandleMovesToNewDevice() {
+        final TransactionId transactionId = TransactionId.ofHandle(3);
+        final BooleanSubscription first = register(DEVICE_A, transactionId);
+        final BooleanSubscription second = register(DEVICE_B, transactionId);
+
+        assertTrue(first.isUnsubscribed());
+        assertEquals(0, transactions.getTransactionsCount(DEVICE_A));
+        assertEquals(1, transactions.getTransactionsCount(DEVICE_B));
+        assertEquals(0, transactions.removeDeviceTransactionSubscriptions(DEVICE_A));
+        assertFalse(second.isUnsubscribed());
+    }
+
+    @Test
+    public void stringAndHandleTransactionsAreSeparate() {
+        final BooleanSubscription stringTransaction = register(DEVICE_A, TransactionId.ofString("1"));
+        final BooleanSubscription handleTransaction = register(DEVICE_A, TransactionId.ofHandle(1));
+
+        assertTrue(transactions.removeTransactionSubscription(TransactionId.ofHandle(1)));
+
+        assertTrue(handleTransaction.isUnsubscribed());
+        assertFalse(stringTransaction.isUnsubscribed());
+        assertEquals(1, transactions.getTransactionsCount(DEVICE_A));
+    }
+
+    @Test
+    public void clearUnsubscribesAndDropsIndex() {
+        final BooleanSubscription subscription = register(DEVICE_A, TransactionId.ofString("read"));
+
+        transactions.clearTransactionsSubscription();
+
+        assertTrue(subscription.isUnsubscribed());
+        assertEquals(0, transactions.getTransactionsCount());
+        assertEquals(0, transactions.getTransactionsCount(DEVICE_A));
+    }
+
+    @Test
+    public void transactionsRegisteredDuringDeviceCancelStayCancellable() throws InterruptedException {
+        final int threads = 4;
+        final int iterations = 50000;
+        final List<List<BooleanSubscription>> subscriptions = new ArrayList<>();
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            final List<BooleanSubscription> registered = new ArrayList<>();
+            subscriptions.add(registered);
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            registered.add(register(DEVICE_A, TransactionId.ofString(thread + "-" + i)));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        while (done.getCount() > 0) {
+            transactions.removeDeviceTransactionSubscriptions(DEVICE_A);
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+
+        transactions.removeDeviceTransactionSubscriptions(DEVICE_A);
+
+        for (List<BooleanSubscription> registered : subscriptions) {
+            for (BooleanSubscription subscription : registered) {
+                assertTrue(subscription.isUnsubscribed());
+            }
+        }
+        assertEquals(0, transactions.getTransactionsCount());
+        assertEquals(0, transactions.getTransactionsCount(DEVICE_A));
+    }
+
+    private BooleanSubscription register(String deviceId, TransactionId transactionId) {
+        final BooleanSubscription subscription = new BooleanSubscription();
+        transactions.replaceTransactionSubscription(deviceId, transactionId, subscription);
+        return subscription;
+    }
+}
@@ -0,0 +1,90 @@
+package com.polidea.flutterblelib.decoder;
+
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class PayloadDecoderTest {
+
+    private static final byte[] VALUE = bytes(0x10, 0x27, 0xD6, 0x01, 0x02, 0xFF, 0x03, 0x04);
+
+    @Test
+    public void decodesFieldsInSchemaOrder() {
+        final List<Map<String, Object>> schema = new ArrayList<>();
+        schema.add(field("uint16be", 3, "count", 2, "stride", 3));
+        schema.add(field("int16le", 0, "scale", 0.01, "offset", -10));
+        final PayloadDecoder decoder = PayloadDecoder.compile(5, schema);
+
+        assertEquals(5, decoder.getId());
+        assertEquals(3, decoder.getValueCount());
+        assertArrayEquals(new double[]{0x0102, 0x0304, 10000 * 0.01 - 10}, decoder.decode(VALUE), 1e-9);
+    }
+
+    @Test
+    public void extractsUnsignedBitfields() {
+        final PayloadDecoder decoder = PayloadDecoder.compile(1, Arrays.asList(
+                field("uint8", 2, "bitOffset", 4, "bitLength", 3),
+                field("int8", 2, "bitOffset", 0, "bitLength", 8),
+                field("int16le", 1, "bitOffset", 4, "bitLength", 6, "scale", 2, "offset", 1)));
+
+        // 0xD6 = 1101 0110, the little endian int16 at 1 is 0xD627 = 1101 0110 0010 0111
+        assertArrayEquals(new double[]{5, 0xD6, 0x22 * 2 + 1}, decoder.decode(VALUE), 0);
+    }
+
+    @Test
+    public void rejectsValuesShorterThanTheSchema() {
+        final PayloadDecoder decoder = PayloadDecoder.compile(1, Collections.singletonList(
+                field("uint16be", 3, "count", 2, "stride", 3)));
+
+        assertNull(decoder.decode(Arrays.copyOf(VALUE, VALUE.length - 1)));
+        assertNull(decoder.decode(null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBitfieldsOfFloatingPointFields() {
+        PayloadDecoder.compile(1, Collections.singletonList(field("float32le", 0, "bitLength", 4)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBitfieldsWiderThanTheirField() {
+        PayloadDecoder.compile(1, Collections.singletonList(field("uint8", 0, "bitOffset", 4, "bitLength", 5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsOverlappingArrayElements() {
+        PayloadDecoder.compile(1, Collections.singletonList(field("uint16le", 0, "count", 2, "stride", 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsEmptySchemas() {
+        PayloadDecoder.compile(1, Collections.<Map<String, Object>>emptyList());
+    }
+
+    private static Map<String, Object> field(String format, int byteOffset, Object... options) {
+        final Map<String, Object> field = new HashMap<>();
+        field.put("format", format);
+        field.put("byteOffset", byteOffset);
+        for (int i = 0; i < options.length; i += 2) {
+            field.put((String) options[i], options[i + 1]);
+        }
+        return field;
+    }
+
+    private static byte[] bytes(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,65 @@
+package com.polidea.flutterblelib.operator;
+
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NumericFormatTest {
+
+    private static final byte[] VALUE = bytes(0x00, 0xFE, 0xFF, 0x01, 0x80, 0x3F, 0x00, 0x00, 0x80);
+
+    @Test
+    public void readsIntegersInTheirByteOrder() {
+        assertEquals(0xFE, NumericFormat.UINT8.readBits(VALUE, 1));
+        assertEquals(-2, NumericFormat.INT8.readBits(VALUE, 1));
+        assertEquals(0xFFFE, NumericFormat.UINT16_LE.readBits(VALUE, 1));
+        assertEquals(0xFEFF, NumericFormat.UINT16_BE.readBits(VALUE, 1));
+        assertEquals(-2, NumericFormat.INT16_LE.readBits(VALUE, 1));
+        assertEquals(-257, NumericFormat.INT16_BE.readBits(VALUE, 1));
+        assertEquals(0x01FFFE00L, NumericFormat.UINT32_LE.readBits(VALUE, 0));
+        assertEquals(0x00FEFF01L, NumericFormat.UINT32_BE.readBits(VALUE, 0));
+        assertEquals(0x8001FFFEL, NumericFormat.UINT32_LE.readBits(VALUE, 1));
+        assertEquals((int) 0x8001FFFE, NumericFormat.INT32_LE.readBits(VALUE, 1));
+        assertEquals((int) 0xFEFF0180, NumericFormat.INT32_BE.readBits(VALUE, 1));
+    }
+
+    @Test
+    public void readsFloatingPointInTheirByteOrder() {
+        assertEquals(1.0, NumericFormat.FLOAT32_LE.read(bytes(0x00, 0x00, 0x80, 0x3F), 0), 0);
+        assertEquals(1.0, NumericFormat.FLOAT32_BE.read(bytes(0x3F, 0x80, 0x00, 0x00), 0), 0);
+        assertEquals(-2.5, NumericFormat.FLOAT64_LE.read(bytes(0, 0, 0, 0, 0, 0, 0x04, 0xC0), 0), 0);
+        assertEquals(-2.5, NumericFormat.FLOAT64_BE.read(bytes(0xC0, 0x04, 0, 0, 0, 0, 0, 0), 0), 0);
+        assertEquals(0x3F800000L, NumericFormat.FLOAT32_BE.readBits(bytes(0x3F, 0x80, 0x00, 0x00), 0));
+    }
+
+    @Test
+    public void checksTheFieldFits() {
+        assertTrue(NumericFormat.UINT32_LE.fits(VALUE, 5));
+        assertFalse(NumericFormat.UINT32_LE.fits(VALUE, 6));
+        assertFalse(NumericFormat.UINT8.fits(VALUE, -1));
+        assertFalse(NumericFormat.FLOAT64_LE.fits(VALUE, 2));
+    }
+
+    @Test
+    public void findsFormatsByName() {
+        for (NumericFormat format : NumericFormat.values()) {
+            assertEquals(format, NumericFormat.fromName(format.getName()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownNames() {
+        NumericFormat.fromName("int24le");
+    }
+
+    private static byte[] bytes(int... values) {
+        final byte[] bytes = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            bytes[i] = (byte) values[i];
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,155 @@
+package com.polidea.flutterblelib.scan;
+
+
+import com.polidea.flutterblelib.BleData;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScannedDeviceRegistryTest {
+
+    private static final long EXPIRY_MILLIS = 1000;
+
+    private final ScannedDeviceRegistry registry = new ScannedDeviceRegistry();
+
+    @Test
+    public void expiresOnlyDevicesNotSeenAgain() {
+        registry.configure(EXPIRY_MILLIS, 16);
+        registry.record(device(0), "stale", -50, 0);
+        // Sighted every 400 ms for 20 s, the wheel of 64 buckets wraps around many times meanwhile
+        for (long nowMillis = 0; nowMillis <= 20000; nowMillis += 400) {
+            registry.record(device(1), "fresh", -50, millis(nowMillis));
+        }
+
+        final BleData.ScannedDevicesMessage devices = registry.query(query(10), millis(20100));
+        assertEquals(1, devices.getRegisteredCount());
+        assertEquals(device(1), devices.getDevices(0).getId());
+        assertEquals(51, devices.getDevices(0).getSightings());
+
+        registry.query(query(10), millis(20000 + EXPIRY_MILLIS + 100));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void expiresDevicesAfterLongGaps() {
+        registry.configure(EXPIRY_MILLIS, 16);
+        registry.record(device(0), null, -50, 0);
+        registry.record(device(1), null, -50, millis(TimeUnit.HOURS.toMillis(1)));
+
+        assertEquals(1, registry.size());
+        assertEquals(device(1), registry.query(query(10), millis(TimeUnit.HOURS.toMillis(1))).getDevices(0).getId());
+    }
+
+    @Test
+    public void keepsDevicesReachableAfterRemovingOthers() {
+        final int count = 200;
+        registry.configure(EXPIRY_MILLIS, 256);
+        for (int i = 0; i < count; i++) {
+            registry.record(device(i), null, -50, 0);
+        }
+        for (int i = 0; i < count; i += 2) {
+            registry.record(device(i), null, -50, millis(900));
+        }
+        registry.query(query(1), millis(1500));
+        assertEquals(count / 2, registry.size());
+
+        // Devices found through the index are refreshed, lost ones would be registered again
+        for (int i = 0; i < count; i += 2) {
+            registry.record(device(i), null, -50, millis(1600));
+        }
+        final BleData.ScannedDevicesMessage devices = registry.query(query(count), millis(1600));
+        assertEquals(count / 2, devices.getRegisteredCount());
+        for (BleData.ScannedDeviceMessage device : devices.getDevicesList()) {
+            assertEquals(3, device.getSightings());
+        }
+    }
+
+    @Test
+    public void returnsTopDevicesInRequestedOrder() {
+        registry.configure(0, 16);
+        final int[] rssi = {-70, -40, -90, -50, -60};
+        for (int i = 0; i < rssi.length; i++) {
+            registry.record(device(i), "device" + i, rssi[i], millis(i));
+        }
+
+        final BleData.ScannedDevicesMessage strongest = registry.query(query(3), millis(10));
+        assertEquals(5, strongest.getMatchedCount());
+        assertEquals(ids(1, 3, 4), ids(strongest));
+
+        assertEquals(ids(4, 3), ids(registry.query(query(2).toBuilder()
+                .setOrder(BleData.ScannedDeviceOrderMessage.ORDER_BY_LAST_SEEN)
+                .build(), millis(10))));
+        assertEquals(ids(0, 1), ids(registry.query(query(2).toBuilder()
+                .setOrder(BleData.ScannedDeviceOrderMessage.ORDER_BY_LEAST_RECENTLY_SEEN)
+                .build(), millis(10))));
+        assertEquals(ids(3, 4), ids(registry.query(query(10).toBuilder()
+                .setMinRssi(-60)
+                .setNameFilter("DEVICE")
+                .setSeenWithinMillis(8)
+                .build(), millis(10))));
+    }
+
+    @Test
+    public void rejectsNewDevicesWhenFull() {
+        registry.configure(0, 2);
+        registry.record(device(0), null, -50, 0);
+        registry.record(device(1), null, -50, 0);
+        registry.record(device(2), null, -50, 0);
+        registry.record(device(0), "renamed", -40, 0);
+
+        final BleData.ScannedDevicesMessage devices = registry.query(query(10), 0);
+        assertEquals(2, devices.getRegisteredCount());
+        assertEquals(1, devices.getRejectedCount());
+        assertEquals(ids(0, 1), ids(devices));
+        assertEquals("renamed", devices.getDevices(0).getName());
+    }
+
+    @Test
+    public void disabledRegistryRecordsNothing() {
+        assertFalse(registry.isEnabled());
+        registry.record(device(0), null, -50, 0);
+        assertEquals(0, registry.size());
+
+        registry.configure(0, 1);
+        assertTrue(registry.isEnabled());
+        registry.record(device(0), null, -50, 0);
+        registry.configure(0, 0);
+        assertFalse(registry.isEnabled());
+        assertEquals(0, registry.size());
+    }
+
+    private static BleData.ScannedDeviceQueryMessage query(int limit) {
+        return BleData.ScannedDeviceQueryMessage.newBuilder().setLimit(limit).build();
+    }
+
+    private static String device(int number) {
+        return String.format("AA:BB:CC:DD:%02X:%02X", number >> 8, number & 0xFF);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private static List<String> ids(int... numbers) {
+        final List<String> ids = new ArrayList<>();
+        for (int number : numbers) {
+            ids.add(device(number));
+        }
+        return ids;
+    }
+
+    private static List<String> ids(BleData.ScannedDevicesMessage devices) {
+        final List<String> ids = new ArrayList<>();
+        for (BleData.ScannedDeviceMessage device : devices.getDevicesList()) {
+            ids.add(device.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,109 @@
+package com.polidea.flutterblelib.script;
+
+
+import com.google.protobuf.ByteString;
+import com.polidea.flutterblelib.BleData;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+import rx.Observable;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs with Robolectric because RxJava reads the Android version on a JVM with Android classes.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(manifest = Config.NONE, sdk = 28)
+public class GattProgramTest {
+
+    private final ArrayDeque<byte[]> readValues = new ArrayDeque<>();
+    private int reads;
+    private int writes;
+
+    private final GattProgram.Operations operations = new GattProgram.Operations() {
+        @Override
+        public Observable<byte[]> write(int attribute, byte[] value, boolean withResponse) {
+            writes++;
+            return Observable.just(value);
+        }
+
+        @Override
+        public Observable<byte[]> read(int attribute) {
+            reads++;
+            final byte[] value = readValues.poll();
+            return Observable.just(value != null ? value : new byte[]{0});
+        }
+
+        @Override
+        public Observable<byte[]> notifications(int attribute) {
+            return Observable.never();
+        }
+    };
+
+    @Test
+    public void nestedLoopRunsItsCountOnEveryOuterIteration() {
+        final BleData.GattProgramResultMessage result = run(
+                instruction(BleData.GattOpMessage.OP_WRITE),
+                instruction(BleData.GattOpMessage.OP_WRITE),
+                loop(1, 2),
+                loop(0, 1));
+
+        assertEquals(BleData.GattProgramStatusMessage.COMPLETED, result.getStatus());
+        assertEquals(2 * (1 + 3), writes);
+    }
+
+    @Test
+    public void loopLeftByAJumpStartsOver() {
+        // the inner loop is left after its second read, the second outer iteration runs all three reads
+        readValues.addAll(Arrays.asList(new byte[]{0}, new byte[]{1}));
+        final BleData.GattProgramResultMessage result = run(
+                instruction(BleData.GattOpMessage.OP_WRITE),
+                instruction(BleData.GattOpMessage.OP_READ),
+                instruction(BleData.GattOpMessage.OP_COMPARE).toBuilder()
+                        .setValue(ByteString.copyFrom(new byte[]{1}))
+                        .setTarget(4)
+                        .build(),
+                loop(1, 2),
+                loop(0, 1));
+
+        assertEquals(BleData.GattProgramStatusMessage.COMPLETED, result.getStatus());
+        assertEquals(2, writes);
+        assertEquals(2 + 3, reads);
+    }
+
+    private BleData.GattProgramResultMessage run(BleData.GattInstructionMessage... instructions) {
+        final BleData.GattProgramMessage program = BleData.GattProgramMessage.newBuilder()
+                .addAttributes(BleData.GattAttributeMessage.newBuilder()
+                        .setServiceUuid("180d")
+                        .setCharacteristicUuid("2a37"))
+                .addAllInstructions(Arrays.asList(instructions))
+                .build();
+        final TestSubscriber<BleData.GattProgramResultMessage> subscriber = new TestSubscriber<>();
+        Observable.unsafeCreate(new GattProgram(program, operations, Schedulers.immediate())).subscribe(subscriber);
+        subscriber.assertCompleted();
+        return subscriber.getOnNextEvents().get(0);
+    }
+
+    private static BleData.GattInstructionMessage instruction(BleData.GattOpMessage op) {
+        return BleData.GattInstructionMessage.newBuilder()
+                .setOp(op)
+                .build();
+    }
+
+    private static BleData.GattInstructionMessage loop(int target, int count) {
+        return BleData.GattInstructionMessage.newBuilder()
+                .setOp(BleData.GattOpMessage.OP_LOOP)
+                .setTarget(target)
+                .setCount(count)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.polidea.flutterblelib.transport;
+
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.polidea.flutterblelib.BleData;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryFramesTest {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final BleData.BleDeviceMessage DEVICE = BleData.BleDeviceMessage.newBuilder()
+            .setId("AA:BB:CC:DD:EE:FF")
+            .setName("device")
+            .setMtu(185)
+            .setRssi(-60)
+            .build();
+
+    @Test
+    public void eventsAreTheBareMessage() throws InvalidProtocolBufferException {
+        final ByteBuffer frame = BinaryFrames.encodeEvent(DEVICE);
+
+        assertTrue(frame.isDirect());
+        assertArrayEquals(DEVICE.toByteArray(), written(frame));
+        assertEquals(DEVICE, BleData.BleDeviceMessage.parseFrom(written(frame)));
+    }
+
+    @Test
+    public void repliesStartWithTheirStatus() {
+        final byte[] reply = written(BinaryFrames.encodeReply(DEVICE));
+        assertEquals(BinaryFrames.STATUS_SUCCESS, reply[0]);
+        assertArrayEquals(DEVICE.toByteArray(), payload(reply));
+
+        final byte[] bleError = BleData.BleErrorMessage.newBuilder()
+                .setCode(BleData.BleErrorCodeMessage.ERROR_DEVICE_NOT_FOUND)
+                .build()
+                .toByteArray();
+        final byte[] errorReply = written(BinaryFrames.encodeReply(BinaryFrames.STATUS_BLE_ERROR, bleError));
+        assertEquals(BinaryFrames.STATUS_BLE_ERROR, errorReply[0]);
+        assertArrayEquals(bleError, payload(errorReply));
+
+        final byte[] error = written(BinaryFrames.encodeError("Za\u017c\u00f3\u0142\u0107"));
+        assertEquals(BinaryFrames.STATUS_ERROR, error[0]);
+        assertEquals("Za\u017c\u00f3\u0142\u0107", new String(payload(error), UTF_8));
+    }
+
+    @Test
+    public void emptyMessagesLeaveOnlyTheStatus() {
+        final byte[] reply = written(BinaryFrames.encodeReply(BleData.BleDeviceMessage.getDefaultInstance()));
+        assertArrayEquals(new byte[]{BinaryFrames.STATUS_SUCCESS}, reply);
+    }
+
+    @Test
+    public void decodesMethodAndArguments() {
+        final ByteBuffer request = request("connectToDevice", DEVICE.toByteArray());
+
+        assertEquals("connectToDevice", BinaryFrames.decodeMethod(request));
+        assertArrayEquals(DEVICE.toByteArray(), BinaryFrames.decodeArguments(request));
+    }
+
+    @Test
+    public void decodesRequestsWithoutArguments() {
+        final ByteBuffer request = request("m\u00e9tod\u00f8", new byte[0]);
+
+        assertEquals("m\u00e9tod\u00f8", BinaryFrames.decodeMethod(request));
+        assertNull(BinaryFrames.decodeArguments(request));
+    }
+
+    /**
+     * Frames hold their content between position zero and the current position.
+     */
+    private static byte[] written(ByteBuffer frame) {
+        final byte[] bytes = new byte[frame.position()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = frame.get(i);
+        }
+        return bytes;
+    }
+
+    private static byte[] payload(byte[] reply) {
+        final byte[] payload = new byte[reply.length - 1];
+        System.arraycopy(reply, 1, payload, 0, payload.length);
+        return payload;
+    }
+
+    private static ByteBuffer request(String method, byte[] arguments) {
+        final byte[] name = method.getBytes(UTF_8);
+        final ByteBuffer request = ByteBuffer.allocateDirect(1 + name.length + arguments.length);
+        request.put((byte) name.length).put(name).put(arguments);
+        request.flip();
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.polidea.flutterblelib.transport;
+
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NotificationRingTest {
+
+    private static final int HEAD_OFFSET = 16;
+    private static final int DROPPED_OFFSET = 24;
+    private static final int TAIL_OFFSET = 64;
+    private static final int WAITING_OFFSET = 72;
+    private static final int HEADER = NotificationRing.HEADER_SIZE;
+
+    // 1000 bytes of value and the frame header fill 1016 bytes, four frames leave 32 bytes of a 4 KiB ring
+    private static final byte[] LARGE_VALUE = new byte[1000];
+    private static final int LARGE_FRAME = 1016;
+
+    private final RecordingListener listener = new RecordingListener();
+    private final NotificationRing ring = new NotificationRing(3, NotificationRing.MIN_CAPACITY, listener);
+    private final ByteBuffer consumer = ring.consumerView();
+
+    @Test
+    public void roundsCapacityToAPowerOfTwo() {
+        assertEquals(8192, new NotificationRing(1, 5000, listener).getCapacity());
+        assertEquals(NotificationRing.MIN_CAPACITY, new NotificationRing(2, 1, listener).getCapacity());
+        assertEquals(HEADER + NotificationRing.MIN_CAPACITY, ring.getSize());
+        assertEquals(NotificationRing.MIN_CAPACITY, consumer.getInt(12));
+        assertEquals(HEADER, consumer.getInt(8));
+    }
+
+    @Test
+    public void writesAlignedFramesAndPublishesTheHead() {
+        assertTrue(ring.append(7, 123L, new byte[]{1, 2, 3}));
+        assertTrue(ring.append(8, 456L, new byte[]{4}));
+
+        assertEquals(24, consumer.getInt(HEADER));
+        assertEquals(7, consumer.getInt(HEADER + 4));
+        assertEquals(123L, consumer.getLong(HEADER + 8));
+        assertArrayEquals(new byte[]{1, 2, 3}, read(HEADER + 16, 3));
+        assertEquals(24, consumer.getInt(HEADER + 24));
+        assertEquals(8, consumer.getInt(HEADER + 28));
+        assertEquals(48, consumer.getLong(HEAD_OFFSET));
+        assertEquals(48, ring.getHead());
+        assertEquals(0, listener.wakeUps);
+    }
+
+    @Test
+    public void padsFramesNotFittingBeforeTheEnd() {
+        fillLargeFrames(4);
+        consumer.putLong(TAIL_OFFSET, 4 * LARGE_FRAME);
+
+        assertTrue(ring.append(9, 1L, LARGE_VALUE));
+
+        assertEquals(-32, consumer.getInt(HEADER + 4 * LARGE_FRAME));
+        assertEquals(LARGE_FRAME, consumer.getInt(HEADER));
+        assertEquals(9, consumer.getInt(HEADER + 4));
+        assertEquals(5 * LARGE_FRAME + 32, consumer.getLong(HEAD_OFFSET));
+    }
+
+    @Test
+    public void reportsOverflowOncePerRunOfDroppedFrames() {
+        fillLargeFrames(4);
+
+        assertFalse(ring.append(9, 1L, LARGE_VALUE));
+        assertFalse(ring.append(9, 1L, new byte[LARGE_VALUE.length]));
+        assertEquals(1, listener.overflows.size());
+        assertEquals(1L, (long) listener.overflows.get(0));
+        assertEquals(2, consumer.getLong(DROPPED_OFFSET));
+        assertEquals(4 * LARGE_FRAME, ring.getHead());
+
+        consumer.putLong(TAIL_OFFSET, ring.getHead());
+        assertTrue(ring.append(9, 1L, LARGE_VALUE));
+        fillLargeFrames(3);
+        assertFalse(ring.append(9, 1L, LARGE_VALUE));
+
+        assertEquals(2, listener.overflows.size());
+        assertEquals(3L, (long) listener.overflows.get(1));
+        assertEquals(3, ring.getDroppedCount());
+    }
+
+    @Test
+    public void wakesUpAWaitingConsumerOnce() {
+        assertTrue(ring.append(1, 1L, new byte[]{1}));
+        assertEquals(0, listener.wakeUps);
+
+        consumer.putInt(WAITING_OFFSET, 1);
+        assertTrue(ring.append(1, 2L, new byte[]{2}));
+        assertEquals(1, listener.wakeUps);
+        assertEquals(0, consumer.getInt(WAITING_OFFSET));
+
+        assertTrue(ring.append(1, 3L, new byte[]{3}));
+        assertEquals(1, listener.wakeUps);
+    }
+
+    @Test
+    public void closedRingRejectsFrames() {
+        ring.close();
+
+        assertFalse(ring.append(1, 1L, new byte[]{1}));
+        assertEquals(0, ring.getHead());
+        assertEquals(0, ring.getDroppedCount());
+        assertTrue(listener.overflows.isEmpty());
+    }
+
+    private void fillLargeFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            assertTrue(ring.append(i, i, LARGE_VALUE));
+        }
+    }
+
+    private byte[] read(int offset, int length) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = consumer.get(offset + i);
+        }
+        return bytes;
+    }
+
+    private static class RecordingListener implements NotificationRing.Listener {
+        private int wakeUps;
+        private final List<Long> overflows = new ArrayList<>();
+
+        @Override
+        public void onWakeUp(NotificationRing ring) {
+            wakeUps++;
+        }
+
+        @Override
+        public void onOverflow(NotificationRing ring, long droppedCount) {
+            overflows.add(droppedCount);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.polidea.flutterblelib.utils;
+
+
+import org.junit.Test;
+
+import rx.subscriptions.BooleanSubscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DisposableMapTest {
+
+    private final DisposableMap map = new DisposableMap();
+
+    @Test
+    public void nullKeyDoesNotCollideWithEmptyKey() {
+        final BooleanSubscription nullKeySubscription = new BooleanSubscription();
+        final BooleanSubscription emptyKeySubscription = new BooleanSubscription();
+        map.replaceSubscription(null, nullKeySubscription);
+        map.replaceSubscription("", emptyKeySubscription);
+
+        assertEquals(2, map.size());
+        assertFalse(nullKeySubscription.isUnsubscribed());
+
+        assertTrue(map.removeSubscription(""));
+        assertTrue(emptyKeySubscription.isUnsubscribed());
+        assertFalse(nullKeySubscription.isUnsubscribed());
+        assertTrue(map.containsSubscription(null));
+        assertFalse(map.containsSubscription(""));
+
+        assertTrue(map.removeSubscription(null));
+        assertTrue(nullKeySubscription.isUnsubscribed());
+        assertEquals(0, map.size());
+        assertFalse(map.removeSubscription(null));
+    }
+
+    @Test
+    public void replacingSubscriptionUnsubscribesPreviousOne() {
+        final BooleanSubscription first = new BooleanSubscription();
+        final BooleanSubscription second = new BooleanSubscription();
+        map.replaceSubscription(null, first);
+        map.replaceSubscription(null, second);
+
+        assertTrue(first.isUnsubscribed());
+        assertFalse(second.isUnsubscribed());
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void removeAllSubscriptionsIncludesNullKey() {
+        final BooleanSubscription nullKeySubscription = new BooleanSubscription();
+        final BooleanSubscription subscription = new BooleanSubscription();
+        map.replaceSubscription(null, nullKeySubscription);
+        map.replaceSubscription("transaction", subscription);
+
+        map.removeAllSubscriptions();
+
+        assertTrue(nullKeySubscription.isUnsubscribed());
+        assertTrue(subscription.isUnsubscribed());
+        assertEquals(0, map.size());
+    }
+}
@@ -0,0 +1,70 @@
+package com.polidea.flutterblelib.utils;
+
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import rx.subscriptions.BooleanSubscription;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LongDisposableMapTest {
+
+    private final LongDisposableMap map = new LongDisposableMap();
+
+    @Test
+    public void removesSubscriptionsOfOwner() {
+        final BooleanSubscription first = new BooleanSubscription();
+        final BooleanSubscription second = new BooleanSubscription();
+        final BooleanSubscription other = new BooleanSubscription();
+        final BooleanSubscription unowned = new BooleanSubscription();
+        map.replaceSubscription(1, "device", first);
+        map.replaceSubscription(2, "device", second);
+        map.replaceSubscription(3, "other", other);
+        map.replaceSubscription(4, unowned);
+
+        assertEquals(2, map.size("device"));
+        assertEquals(2, map.removeSubscriptions("device"));
+
+        assertTrue(first.isUnsubscribed());
+        assertTrue(second.isUnsubscribed());
+        assertFalse(other.isUnsubscribed());
+        assertFalse(unowned.isUnsubscribed());
+        assertEquals(2, map.size());
+        assertEquals(0, map.size("device"));
+    }
+
+    @Test
+    public void ownerRemovalKeepsOtherEntriesReachable() {
+        final Random random = new Random(7);
+        final Map<Long, String> expectedOwners = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            // Keys a multiple of the capacity apart collide, exercising probe chains across resizes
+            final long key = random.nextInt(64) * 4096L + random.nextInt(4);
+            final String owner = "device" + random.nextInt(8);
+            map.replaceSubscription(key, owner, new BooleanSubscription());
+            expectedOwners.put(key, owner);
+            if (i % 250 == 249) {
+                final String removedOwner = "device" + random.nextInt(8);
+                int expectedRemoved = 0;
+                for (Map.Entry<Long, String> entry : expectedOwners.entrySet()) {
+                    if (entry.getValue().equals(removedOwner)) {
+                        expectedRemoved++;
+                    }
+                }
+                assertEquals(expectedRemoved, map.removeSubscriptions(removedOwner));
+                expectedOwners.values().removeAll(Collections.singleton(removedOwner));
+                assertEquals(expectedOwners.size(), map.size());
+                for (Long expectedKey : expectedOwners.keySet()) {
+                    assertTrue(map.containsSubscription(expectedKey));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.polidea.flutterblelib.utils;
+
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class UUIDConverterTest {
+
+    private static final int ROUND_TRIPS = 10000;
+
+    @Test
+    public void randomUUIDsRoundTripLikeUUIDClass() {
+        final Random random = new Random(42);
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            final UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            final String string = uuid.toString();
+
+            assertEquals(string, UUIDConverter.fromUUID(uuid));
+            assertEquals(UUID.fromString(string), UUIDConverter.convert(string));
+            assertEquals(UUID.fromString(string), UUIDConverter.convert(string.toUpperCase(Locale.US)));
+        }
+    }
+
+    @Test
+    public void baseUUIDsRoundTripLikeUUIDClass() {
+        for (int alias = 0; alias <= 0xFFFF; alias++) {
+            final String string = String.format(Locale.US, "%08x-0000-1000-8000-00805f9b34fb", alias);
+            final UUID uuid = UUID.fromString(string);
+
+            assertEquals(string, UUIDConverter.fromUUID(uuid));
+            assertEquals(uuid, UUIDConverter.convert(string));
+            assertSame(UUIDConverter.convert(string), UUIDConverter.convert(String.format(Locale.US, "%04X", alias)));
+        }
+        final UUID vendorBaseUUID = UUID.fromString("12345678-0000-1000-8000-00805f9b34fb");
+        assertEquals(vendorBaseUUID, UUIDConverter.convert("12345678"));
+        assertEquals(vendorBaseUUID.toString(), UUIDConverter.fromUUID(vendorBaseUUID));
+    }
+
+    @Test
+    public void nonAsciiDigitsAreRejected() {
+        // Fullwidth and Arabic-Indic digits, which Character.digit accepts
+        assertNull(UUIDConverter.convert("18\uFF10D"));
+        assertNull(UUIDConverter.convert("\u0661\u0668\u0660\u0664"));
+        assertNull(UUIDConverter.convert("0000180\uFF24"));
+        assertNull(UUIDConverter.convert("0000180d-0000-1000-8000-00805f9b34f\uFF42"));
+    }
+
+    @Test
+    public void malformedUUIDsAreRejected() {
+        assertNull(UUIDConverter.convert("180G"));
+        assertNull(UUIDConverter.convert("0000180d+0000-1000-8000-00805f9b34fb"));
+        assertNull(UUIDConverter.convert("not a uuid"));
+        assertNull(UUIDConverter.convert((String) null));
+    }
+}
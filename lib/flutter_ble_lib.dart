@@ -1,9 +1,11 @@
 library flutter_ble_lib;
 
 import 'dart:async';
+import 'dart:io';
 
 import 'package:fixnum/fixnum.dart';
 import 'package:flutter/services.dart';
+import 'package:protobuf/protobuf.dart' show GeneratedMessage;
 import 'generated/bledata.pb.dart' as bleData;
 import 'dart:convert';
 import "dart:typed_data";
@@ -13,4 +15,6 @@ part 'source/lib_method.dart';
 part 'source/lib_namespace.dart';
 part 'source/lib_core.dart';
 part 'source/lib_models.dart';
+part 'source/lib_recording.dart';
+part 'source/lib_gatt_program.dart';
 
@@ -10,6 +10,8 @@ import 'dart:core' show int, bool, double, String, List, override;
 import 'package:fixnum/fixnum.dart';
 import 'package:protobuf/protobuf.dart';
 
+import 'bledata.pbenum.dart';
+
 export 'bledata.pbenum.dart';
 
 class ScanDataMessage extends GeneratedMessage {
@@ -17,6 +19,7 @@ class ScanDataMessage extends GeneratedMessage {
     ..a<int>(1, 'scanMode', PbFieldType.O3)
     ..a<int>(2, 'callbackType', PbFieldType.O3)
     ..p<String>(3, 'uuids', PbFieldType.PS)
+    ..a<bool>(4, 'registryOnly', PbFieldType.OB)
     ..hasRequiredFields = false
   ;
 
@@ -47,6 +50,11 @@ class ScanDataMessage extends GeneratedMessage {
   void clearCallbackType() => clearField(2);
 
   List<String> get uuids => $_get(2, null);
+
+  bool get registryOnly => $_get(3, false);
+  set registryOnly(bool v) { $_setBool(3, v); }
+  bool hasRegistryOnly() => $_has(3);
+  void clearRegistryOnly() => clearField(4);
 }
 
 class _ReadonlyScanDataMessage extends ScanDataMessage with ReadonlyMessageMixin {}
@@ -311,6 +319,7 @@ class CharacteristicMessage extends GeneratedMessage {
     ..a<bool>(10, 'isIndicatable', PbFieldType.OB)
     ..a<bool>(11, 'isNotifing', PbFieldType.OB)
     ..a<String>(12, 'value', PbFieldType.OS)
+    ..a<DecodedValueMessage>(13, 'decodedValue', PbFieldType.OM, DecodedValueMessage.getDefault, DecodedValueMessage.create)
     ..hasRequiredFields = false
   ;
 
@@ -389,6 +398,11 @@ class CharacteristicMessage extends GeneratedMessage {
   set value(String v) { $_setString(11, v); }
   bool hasValue() => $_has(11);
   void clearValue() => clearField(12);
+
+  DecodedValueMessage get decodedValue => $_get(12, null);
+  set decodedValue(DecodedValueMessage v) { setField(13, v); }
+  bool hasDecodedValue() => $_has(12);
+  void clearDecodedValue() => clearField(13);
 }
 
 class _ReadonlyCharacteristicMessage extends CharacteristicMessage with ReadonlyMessageMixin {}
@@ -397,6 +411,7 @@ class MonitorCharacteristicMessage extends GeneratedMessage {
   static final BuilderInfo _i = new BuilderInfo('MonitorCharacteristicMessage')
     ..a<String>(1, 'transactionId', PbFieldType.OS)
     ..a<CharacteristicMessage>(2, 'characteristicMessage', PbFieldType.OM, CharacteristicMessage.getDefault, CharacteristicMessage.create)
+    ..a<Int64>(3, 'transactionHandle', PbFieldType.O6, Int64.ZERO)
     ..hasRequiredFields = false
   ;
 
@@ -425,7 +440,1506 @@ class MonitorCharacteristicMessage extends GeneratedMessage {
   set characteristicMessage(CharacteristicMessage v) { setField(2, v); }
   bool hasCharacteristicMessage() => $_has(1);
   void clearCharacteristicMessage() => clearField(2);
+
+  Int64 get transactionHandle => $_get(2, null);
+  set transactionHandle(Int64 v) { $_setInt64(2, v); }
+  bool hasTransactionHandle() => $_has(2);
+  void clearTransactionHandle() => clearField(3);
 }
 
 class _ReadonlyMonitorCharacteristicMessage extends MonitorCharacteristicMessage with ReadonlyMessageMixin {}
 
+class CharacteristicValueMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('CharacteristicValueMessage')
+    ..a<int>(1, 'handle', PbFieldType.O3)
+    ..a<List<int>>(2, 'value', PbFieldType.OY)
+    ..a<Int64>(3, 'timestampNanos', PbFieldType.OU6, Int64.ZERO)
+    ..a<Int64>(4, 'transactionHandle', PbFieldType.O6, Int64.ZERO)
+    ..a<String>(5, 'transactionId', PbFieldType.OS)
+    ..a<DecodedValueMessage>(6, 'decodedValue', PbFieldType.OM, DecodedValueMessage.getDefault, DecodedValueMessage.create)
+    ..hasRequiredFields = false
+  ;
+
+  CharacteristicValueMessage() : super();
+  CharacteristicValueMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  CharacteristicValueMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  CharacteristicValueMessage clone() => new CharacteristicValueMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static CharacteristicValueMessage create() => new CharacteristicValueMessage();
+  static PbList<CharacteristicValueMessage> createRepeated() => new PbList<CharacteristicValueMessage>();
+  static CharacteristicValueMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyCharacteristicValueMessage();
+    return _defaultInstance;
+  }
+  static CharacteristicValueMessage _defaultInstance;
+  static void $checkItem(CharacteristicValueMessage v) {
+    if (v is! CharacteristicValueMessage) checkItemFailed(v, 'CharacteristicValueMessage');
+  }
+
+  int get handle => $_get(0, 0);
+  set handle(int v) { $_setUnsignedInt32(0, v); }
+  bool hasHandle() => $_has(0);
+  void clearHandle() => clearField(1);
+
+  List<int> get value => $_get(1, null);
+  set value(List<int> v) { $_setBytes(1, v); }
+  bool hasValue() => $_has(1);
+  void clearValue() => clearField(2);
+
+  Int64 get timestampNanos => $_get(2, null);
+  set timestampNanos(Int64 v) { $_setInt64(2, v); }
+  bool hasTimestampNanos() => $_has(2);
+  void clearTimestampNanos() => clearField(3);
+
+  Int64 get transactionHandle => $_get(3, null);
+  set transactionHandle(Int64 v) { $_setInt64(3, v); }
+  bool hasTransactionHandle() => $_has(3);
+  void clearTransactionHandle() => clearField(4);
+
+  String get transactionId => $_get(4, '');
+  set transactionId(String v) { $_setString(4, v); }
+  bool hasTransactionId() => $_has(4);
+  void clearTransactionId() => clearField(5);
+
+  DecodedValueMessage get decodedValue => $_get(5, null);
+  set decodedValue(DecodedValueMessage v) { setField(6, v); }
+  bool hasDecodedValue() => $_has(5);
+  void clearDecodedValue() => clearField(6);
+}
+
+class _ReadonlyCharacteristicValueMessage extends CharacteristicValueMessage with ReadonlyMessageMixin {}
+
+class DecodedValueMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('DecodedValueMessage')
+    ..a<int>(1, 'schemaId', PbFieldType.O3)
+    ..p<double>(2, 'values', PbFieldType.PD)
+    ..hasRequiredFields = false
+  ;
+
+  DecodedValueMessage() : super();
+  DecodedValueMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  DecodedValueMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  DecodedValueMessage clone() => new DecodedValueMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static DecodedValueMessage create() => new DecodedValueMessage();
+  static PbList<DecodedValueMessage> createRepeated() => new PbList<DecodedValueMessage>();
+  static DecodedValueMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyDecodedValueMessage();
+    return _defaultInstance;
+  }
+  static DecodedValueMessage _defaultInstance;
+  static void $checkItem(DecodedValueMessage v) {
+    if (v is! DecodedValueMessage) checkItemFailed(v, 'DecodedValueMessage');
+  }
+
+  int get schemaId => $_get(0, 0);
+  set schemaId(int v) { $_setUnsignedInt32(0, v); }
+  bool hasSchemaId() => $_has(0);
+  void clearSchemaId() => clearField(1);
+
+  List<double> get values => $_get(1, null);
+}
+
+class _ReadonlyDecodedValueMessage extends DecodedValueMessage with ReadonlyMessageMixin {}
+
+class RestoreStateMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('RestoreStateMessage')
+    ..pp<RestoredDeviceMessage>(1, 'devices', PbFieldType.PM, RestoredDeviceMessage.$checkItem, RestoredDeviceMessage.create)
+    ..hasRequiredFields = false
+  ;
+
+  RestoreStateMessage() : super();
+  RestoreStateMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  RestoreStateMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  RestoreStateMessage clone() => new RestoreStateMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static RestoreStateMessage create() => new RestoreStateMessage();
+  static PbList<RestoreStateMessage> createRepeated() => new PbList<RestoreStateMessage>();
+  static RestoreStateMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyRestoreStateMessage();
+    return _defaultInstance;
+  }
+  static RestoreStateMessage _defaultInstance;
+  static void $checkItem(RestoreStateMessage v) {
+    if (v is! RestoreStateMessage) checkItemFailed(v, 'RestoreStateMessage');
+  }
+
+  List<RestoredDeviceMessage> get devices => $_get(0, null);
+}
+
+class _ReadonlyRestoreStateMessage extends RestoreStateMessage with ReadonlyMessageMixin {}
+
+class RestoredDeviceMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('RestoredDeviceMessage')
+    ..a<BleDeviceMessage>(1, 'device', PbFieldType.OM, BleDeviceMessage.getDefault, BleDeviceMessage.create)
+    ..a<bool>(2, 'isAutoConnect', PbFieldType.OB)
+    ..pp<RestoredServiceMessage>(3, 'services', PbFieldType.PM, RestoredServiceMessage.$checkItem, RestoredServiceMessage.create)
+    ..pp<RestoredMonitorMessage>(4, 'monitors', PbFieldType.PM, RestoredMonitorMessage.$checkItem, RestoredMonitorMessage.create)
+    ..hasRequiredFields = false
+  ;
+
+  RestoredDeviceMessage() : super();
+  RestoredDeviceMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  RestoredDeviceMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  RestoredDeviceMessage clone() => new RestoredDeviceMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static RestoredDeviceMessage create() => new RestoredDeviceMessage();
+  static PbList<RestoredDeviceMessage> createRepeated() => new PbList<RestoredDeviceMessage>();
+  static RestoredDeviceMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyRestoredDeviceMessage();
+    return _defaultInstance;
+  }
+  static RestoredDeviceMessage _defaultInstance;
+  static void $checkItem(RestoredDeviceMessage v) {
+    if (v is! RestoredDeviceMessage) checkItemFailed(v, 'RestoredDeviceMessage');
+  }
+
+  BleDeviceMessage get device => $_get(0, null);
+  set device(BleDeviceMessage v) { setField(1, v); }
+  bool hasDevice() => $_has(0);
+  void clearDevice() => clearField(1);
+
+  bool get isAutoConnect => $_get(1, false);
+  set isAutoConnect(bool v) { $_setBool(1, v); }
+  bool hasIsAutoConnect() => $_has(1);
+  void clearIsAutoConnect() => clearField(2);
+
+  List<RestoredServiceMessage> get services => $_get(2, null);
+
+  List<RestoredMonitorMessage> get monitors => $_get(3, null);
+}
+
+class _ReadonlyRestoredDeviceMessage extends RestoredDeviceMessage with ReadonlyMessageMixin {}
+
+class RestoredServiceMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('RestoredServiceMessage')
+    ..a<String>(1, 'uuid', PbFieldType.OS)
+    ..a<bool>(2, 'isPrimary', PbFieldType.OB)
+    ..p<String>(3, 'characteristicUuids', PbFieldType.PS)
+    ..hasRequiredFields = false
+  ;
+
+  RestoredServiceMessage() : super();
+  RestoredServiceMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  RestoredServiceMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  RestoredServiceMessage clone() => new RestoredServiceMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static RestoredServiceMessage create() => new RestoredServiceMessage();
+  static PbList<RestoredServiceMessage> createRepeated() => new PbList<RestoredServiceMessage>();
+  static RestoredServiceMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyRestoredServiceMessage();
+    return _defaultInstance;
+  }
+  static RestoredServiceMessage _defaultInstance;
+  static void $checkItem(RestoredServiceMessage v) {
+    if (v is! RestoredServiceMessage) checkItemFailed(v, 'RestoredServiceMessage');
+  }
+
+  String get uuid => $_get(0, '');
+  set uuid(String v) { $_setString(0, v); }
+  bool hasUuid() => $_has(0);
+  void clearUuid() => clearField(1);
+
+  bool get isPrimary => $_get(1, false);
+  set isPrimary(bool v) { $_setBool(1, v); }
+  bool hasIsPrimary() => $_has(1);
+  void clearIsPrimary() => clearField(2);
+
+  List<String> get characteristicUuids => $_get(2, null);
+}
+
+class _ReadonlyRestoredServiceMessage extends RestoredServiceMessage with ReadonlyMessageMixin {}
+
+class RestoredMonitorMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('RestoredMonitorMessage')
+    ..a<String>(1, 'serviceUuid', PbFieldType.OS)
+    ..a<String>(2, 'characteristicUuid', PbFieldType.OS)
+    ..a<String>(3, 'transactionId', PbFieldType.OS)
+    ..a<Int64>(4, 'transactionHandle', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  RestoredMonitorMessage() : super();
+  RestoredMonitorMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  RestoredMonitorMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  RestoredMonitorMessage clone() => new RestoredMonitorMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static RestoredMonitorMessage create() => new RestoredMonitorMessage();
+  static PbList<RestoredMonitorMessage> createRepeated() => new PbList<RestoredMonitorMessage>();
+  static RestoredMonitorMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyRestoredMonitorMessage();
+    return _defaultInstance;
+  }
+  static RestoredMonitorMessage _defaultInstance;
+  static void $checkItem(RestoredMonitorMessage v) {
+    if (v is! RestoredMonitorMessage) checkItemFailed(v, 'RestoredMonitorMessage');
+  }
+
+  String get serviceUuid => $_get(0, '');
+  set serviceUuid(String v) { $_setString(0, v); }
+  bool hasServiceUuid() => $_has(0);
+  void clearServiceUuid() => clearField(1);
+
+  String get characteristicUuid => $_get(1, '');
+  set characteristicUuid(String v) { $_setString(1, v); }
+  bool hasCharacteristicUuid() => $_has(1);
+  void clearCharacteristicUuid() => clearField(2);
+
+  String get transactionId => $_get(2, '');
+  set transactionId(String v) { $_setString(2, v); }
+  bool hasTransactionId() => $_has(2);
+  void clearTransactionId() => clearField(3);
+
+  Int64 get transactionHandle => $_get(3, null);
+  set transactionHandle(Int64 v) { $_setInt64(3, v); }
+  bool hasTransactionHandle() => $_has(3);
+  void clearTransactionHandle() => clearField(4);
+}
+
+class _ReadonlyRestoredMonitorMessage extends RestoredMonitorMessage with ReadonlyMessageMixin {}
+
+class BatchMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('BatchMessage')
+    ..pp<BatchCommandMessage>(1, 'commands', PbFieldType.PM, BatchCommandMessage.$checkItem, BatchCommandMessage.create)
+    ..a<String>(2, 'transactionId', PbFieldType.OS)
+    ..a<bool>(3, 'skipDeviceCommandsAfterFailure', PbFieldType.OB)
+    ..hasRequiredFields = false
+  ;
+
+  BatchMessage() : super();
+  BatchMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  BatchMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  BatchMessage clone() => new BatchMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static BatchMessage create() => new BatchMessage();
+  static PbList<BatchMessage> createRepeated() => new PbList<BatchMessage>();
+  static BatchMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyBatchMessage();
+    return _defaultInstance;
+  }
+  static BatchMessage _defaultInstance;
+  static void $checkItem(BatchMessage v) {
+    if (v is! BatchMessage) checkItemFailed(v, 'BatchMessage');
+  }
+
+  List<BatchCommandMessage> get commands => $_get(0, null);
+
+  String get transactionId => $_get(1, '');
+  set transactionId(String v) { $_setString(1, v); }
+  bool hasTransactionId() => $_has(1);
+  void clearTransactionId() => clearField(2);
+
+  bool get skipDeviceCommandsAfterFailure => $_get(2, false);
+  set skipDeviceCommandsAfterFailure(bool v) { $_setBool(2, v); }
+  bool hasSkipDeviceCommandsAfterFailure() => $_has(2);
+  void clearSkipDeviceCommandsAfterFailure() => clearField(3);
+}
+
+class _ReadonlyBatchMessage extends BatchMessage with ReadonlyMessageMixin {}
+
+class BatchCommandMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('BatchCommandMessage')
+    ..e<BatchCommandTypeMessage>(1, 'type', PbFieldType.OE, BatchCommandTypeMessage.READ, BatchCommandTypeMessage.valueOf)
+    ..a<String>(2, 'deviceId', PbFieldType.OS)
+    ..a<String>(3, 'serviceUuid', PbFieldType.OS)
+    ..a<String>(4, 'characteristicUuid', PbFieldType.OS)
+    ..a<List<int>>(5, 'value', PbFieldType.OY)
+    ..a<bool>(6, 'withResponse', PbFieldType.OB)
+    ..a<Int64>(7, 'maxAgeMillis', PbFieldType.O6, Int64.ZERO)
+    ..a<int>(8, 'mtu', PbFieldType.O3)
+    ..a<String>(9, 'transactionId', PbFieldType.OS)
+    ..hasRequiredFields = false
+  ;
+
+  BatchCommandMessage() : super();
+  BatchCommandMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  BatchCommandMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  BatchCommandMessage clone() => new BatchCommandMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static BatchCommandMessage create() => new BatchCommandMessage();
+  static PbList<BatchCommandMessage> createRepeated() => new PbList<BatchCommandMessage>();
+  static BatchCommandMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyBatchCommandMessage();
+    return _defaultInstance;
+  }
+  static BatchCommandMessage _defaultInstance;
+  static void $checkItem(BatchCommandMessage v) {
+    if (v is! BatchCommandMessage) checkItemFailed(v, 'BatchCommandMessage');
+  }
+
+  BatchCommandTypeMessage get type => $_get(0, null);
+  set type(BatchCommandTypeMessage v) { setField(1, v); }
+  bool hasType() => $_has(0);
+  void clearType() => clearField(1);
+
+  String get deviceId => $_get(1, '');
+  set deviceId(String v) { $_setString(1, v); }
+  bool hasDeviceId() => $_has(1);
+  void clearDeviceId() => clearField(2);
+
+  String get serviceUuid => $_get(2, '');
+  set serviceUuid(String v) { $_setString(2, v); }
+  bool hasServiceUuid() => $_has(2);
+  void clearServiceUuid() => clearField(3);
+
+  String get characteristicUuid => $_get(3, '');
+  set characteristicUuid(String v) { $_setString(3, v); }
+  bool hasCharacteristicUuid() => $_has(3);
+  void clearCharacteristicUuid() => clearField(4);
+
+  List<int> get value => $_get(4, null);
+  set value(List<int> v) { $_setBytes(4, v); }
+  bool hasValue() => $_has(4);
+  void clearValue() => clearField(5);
+
+  bool get withResponse => $_get(5, false);
+  set withResponse(bool v) { $_setBool(5, v); }
+  bool hasWithResponse() => $_has(5);
+  void clearWithResponse() => clearField(6);
+
+  Int64 get maxAgeMillis => $_get(6, null);
+  set maxAgeMillis(Int64 v) { $_setInt64(6, v); }
+  bool hasMaxAgeMillis() => $_has(6);
+  void clearMaxAgeMillis() => clearField(7);
+
+  int get mtu => $_get(7, 0);
+  set mtu(int v) { $_setUnsignedInt32(7, v); }
+  bool hasMtu() => $_has(7);
+  void clearMtu() => clearField(8);
+
+  String get transactionId => $_get(8, '');
+  set transactionId(String v) { $_setString(8, v); }
+  bool hasTransactionId() => $_has(8);
+  void clearTransactionId() => clearField(9);
+}
+
+class _ReadonlyBatchCommandMessage extends BatchCommandMessage with ReadonlyMessageMixin {}
+
+class BatchResultMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('BatchResultMessage')
+    ..pp<BatchCommandResultMessage>(1, 'results', PbFieldType.PM, BatchCommandResultMessage.$checkItem, BatchCommandResultMessage.create)
+    ..hasRequiredFields = false
+  ;
+
+  BatchResultMessage() : super();
+  BatchResultMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  BatchResultMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  BatchResultMessage clone() => new BatchResultMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static BatchResultMessage create() => new BatchResultMessage();
+  static PbList<BatchResultMessage> createRepeated() => new PbList<BatchResultMessage>();
+  static BatchResultMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyBatchResultMessage();
+    return _defaultInstance;
+  }
+  static BatchResultMessage _defaultInstance;
+  static void $checkItem(BatchResultMessage v) {
+    if (v is! BatchResultMessage) checkItemFailed(v, 'BatchResultMessage');
+  }
+
+  List<BatchCommandResultMessage> get results => $_get(0, null);
+}
+
+class _ReadonlyBatchResultMessage extends BatchResultMessage with ReadonlyMessageMixin {}
+
+class BatchCommandResultMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('BatchCommandResultMessage')
+    ..e<BatchCommandStatusMessage>(1, 'status', PbFieldType.OE, BatchCommandStatusMessage.SUCCEEDED, BatchCommandStatusMessage.valueOf)
+    ..a<List<int>>(2, 'value', PbFieldType.OY)
+    ..a<int>(3, 'mtu', PbFieldType.O3)
+    ..a<int>(4, 'rssi', PbFieldType.O3)
+    ..a<String>(5, 'errorMessage', PbFieldType.OS)
+    ..hasRequiredFields = false
+  ;
+
+  BatchCommandResultMessage() : super();
+  BatchCommandResultMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  BatchCommandResultMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  BatchCommandResultMessage clone() => new BatchCommandResultMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static BatchCommandResultMessage create() => new BatchCommandResultMessage();
+  static PbList<BatchCommandResultMessage> createRepeated() => new PbList<BatchCommandResultMessage>();
+  static BatchCommandResultMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyBatchCommandResultMessage();
+    return _defaultInstance;
+  }
+  static BatchCommandResultMessage _defaultInstance;
+  static void $checkItem(BatchCommandResultMessage v) {
+    if (v is! BatchCommandResultMessage) checkItemFailed(v, 'BatchCommandResultMessage');
+  }
+
+  BatchCommandStatusMessage get status => $_get(0, null);
+  set status(BatchCommandStatusMessage v) { setField(1, v); }
+  bool hasStatus() => $_has(0);
+  void clearStatus() => clearField(1);
+
+  List<int> get value => $_get(1, null);
+  set value(List<int> v) { $_setBytes(1, v); }
+  bool hasValue() => $_has(1);
+  void clearValue() => clearField(2);
+
+  int get mtu => $_get(2, 0);
+  set mtu(int v) { $_setUnsignedInt32(2, v); }
+  bool hasMtu() => $_has(2);
+  void clearMtu() => clearField(3);
+
+  int get rssi => $_get(3, 0);
+  set rssi(int v) { $_setUnsignedInt32(3, v); }
+  bool hasRssi() => $_has(3);
+  void clearRssi() => clearField(4);
+
+  String get errorMessage => $_get(4, '');
+  set errorMessage(String v) { $_setString(4, v); }
+  bool hasErrorMessage() => $_has(4);
+  void clearErrorMessage() => clearField(5);
+}
+
+class _ReadonlyBatchCommandResultMessage extends BatchCommandResultMessage with ReadonlyMessageMixin {}
+
+class GattProgramMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('GattProgramMessage')
+    ..a<String>(1, 'deviceId', PbFieldType.OS)
+    ..pp<GattAttributeMessage>(2, 'attributes', PbFieldType.PM, GattAttributeMessage.$checkItem, GattAttributeMessage.create)
+    ..pp<GattInstructionMessage>(3, 'instructions', PbFieldType.PM, GattInstructionMessage.$checkItem, GattInstructionMessage.create)
+    ..a<Int64>(4, 'timeoutMillis', PbFieldType.O6, Int64.ZERO)
+    ..a<int>(5, 'maxSteps', PbFieldType.O3)
+    ..a<String>(6, 'transactionId', PbFieldType.OS)
+    ..hasRequiredFields = false
+  ;
+
+  GattProgramMessage() : super();
+  GattProgramMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  GattProgramMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  GattProgramMessage clone() => new GattProgramMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static GattProgramMessage create() => new GattProgramMessage();
+  static PbList<GattProgramMessage> createRepeated() => new PbList<GattProgramMessage>();
+  static GattProgramMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyGattProgramMessage();
+    return _defaultInstance;
+  }
+  static GattProgramMessage _defaultInstance;
+  static void $checkItem(GattProgramMessage v) {
+    if (v is! GattProgramMessage) checkItemFailed(v, 'GattProgramMessage');
+  }
+
+  String get deviceId => $_get(0, '');
+  set deviceId(String v) { $_setString(0, v); }
+  bool hasDeviceId() => $_has(0);
+  void clearDeviceId() => clearField(1);
+
+  List<GattAttributeMessage> get attributes => $_get(1, null);
+
+  List<GattInstructionMessage> get instructions => $_get(2, null);
+
+  Int64 get timeoutMillis => $_get(3, null);
+  set timeoutMillis(Int64 v) { $_setInt64(3, v); }
+  bool hasTimeoutMillis() => $_has(3);
+  void clearTimeoutMillis() => clearField(4);
+
+  int get maxSteps => $_get(4, 0);
+  set maxSteps(int v) { $_setUnsignedInt32(4, v); }
+  bool hasMaxSteps() => $_has(4);
+  void clearMaxSteps() => clearField(5);
+
+  String get transactionId => $_get(5, '');
+  set transactionId(String v) { $_setString(5, v); }
+  bool hasTransactionId() => $_has(5);
+  void clearTransactionId() => clearField(6);
+}
+
+class _ReadonlyGattProgramMessage extends GattProgramMessage with ReadonlyMessageMixin {}
+
+class GattAttributeMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('GattAttributeMessage')
+    ..a<String>(1, 'serviceUuid', PbFieldType.OS)
+    ..a<String>(2, 'characteristicUuid', PbFieldType.OS)
+    ..hasRequiredFields = false
+  ;
+
+  GattAttributeMessage() : super();
+  GattAttributeMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  GattAttributeMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  GattAttributeMessage clone() => new GattAttributeMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static GattAttributeMessage create() => new GattAttributeMessage();
+  static PbList<GattAttributeMessage> createRepeated() => new PbList<GattAttributeMessage>();
+  static GattAttributeMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyGattAttributeMessage();
+    return _defaultInstance;
+  }
+  static GattAttributeMessage _defaultInstance;
+  static void $checkItem(GattAttributeMessage v) {
+    if (v is! GattAttributeMessage) checkItemFailed(v, 'GattAttributeMessage');
+  }
+
+  String get serviceUuid => $_get(0, '');
+  set serviceUuid(String v) { $_setString(0, v); }
+  bool hasServiceUuid() => $_has(0);
+  void clearServiceUuid() => clearField(1);
+
+  String get characteristicUuid => $_get(1, '');
+  set characteristicUuid(String v) { $_setString(1, v); }
+  bool hasCharacteristicUuid() => $_has(1);
+  void clearCharacteristicUuid() => clearField(2);
+}
+
+class _ReadonlyGattAttributeMessage extends GattAttributeMessage with ReadonlyMessageMixin {}
+
+class GattInstructionMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('GattInstructionMessage')
+    ..e<GattOpMessage>(1, 'op', PbFieldType.OE, GattOpMessage.OP_WRITE, GattOpMessage.valueOf)
+    ..a<int>(2, 'attribute', PbFieldType.O3)
+    ..a<List<int>>(3, 'value', PbFieldType.OY)
+    ..a<List<int>>(4, 'mask', PbFieldType.OY)
+    ..a<int>(5, 'offset', PbFieldType.O3)
+    ..e<GattComparisonMessage>(6, 'comparison', PbFieldType.OE, GattComparisonMessage.EQUAL, GattComparisonMessage.valueOf)
+    ..a<bool>(7, 'withResponse', PbFieldType.OB)
+    ..a<Int64>(8, 'timeoutMillis', PbFieldType.O6, Int64.ZERO)
+    ..a<int>(9, 'target', PbFieldType.O3)
+    ..a<int>(10, 'count', PbFieldType.O3)
+    ..a<String>(11, 'captureName', PbFieldType.OS)
+    ..a<String>(12, 'errorMessage', PbFieldType.OS)
+    ..hasRequiredFields = false
+  ;
+
+  GattInstructionMessage() : super();
+  GattInstructionMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  GattInstructionMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  GattInstructionMessage clone() => new GattInstructionMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static GattInstructionMessage create() => new GattInstructionMessage();
+  static PbList<GattInstructionMessage> createRepeated() => new PbList<GattInstructionMessage>();
+  static GattInstructionMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyGattInstructionMessage();
+    return _defaultInstance;
+  }
+  static GattInstructionMessage _defaultInstance;
+  static void $checkItem(GattInstructionMessage v) {
+    if (v is! GattInstructionMessage) checkItemFailed(v, 'GattInstructionMessage');
+  }
+
+  GattOpMessage get op => $_get(0, null);
+  set op(GattOpMessage v) { setField(1, v); }
+  bool hasOp() => $_has(0);
+  void clearOp() => clearField(1);
+
+  int get attribute => $_get(1, 0);
+  set attribute(int v) { $_setUnsignedInt32(1, v); }
+  bool hasAttribute() => $_has(1);
+  void clearAttribute() => clearField(2);
+
+  List<int> get value => $_get(2, null);
+  set value(List<int> v) { $_setBytes(2, v); }
+  bool hasValue() => $_has(2);
+  void clearValue() => clearField(3);
+
+  List<int> get mask => $_get(3, null);
+  set mask(List<int> v) { $_setBytes(3, v); }
+  bool hasMask() => $_has(3);
+  void clearMask() => clearField(4);
+
+  int get offset => $_get(4, 0);
+  set offset(int v) { $_setUnsignedInt32(4, v); }
+  bool hasOffset() => $_has(4);
+  void clearOffset() => clearField(5);
+
+  GattComparisonMessage get comparison => $_get(5, null);
+  set comparison(GattComparisonMessage v) { setField(6, v); }
+  bool hasComparison() => $_has(5);
+  void clearComparison() => clearField(6);
+
+  bool get withResponse => $_get(6, false);
+  set withResponse(bool v) { $_setBool(6, v); }
+  bool hasWithResponse() => $_has(6);
+  void clearWithResponse() => clearField(7);
+
+  Int64 get timeoutMillis => $_get(7, null);
+  set timeoutMillis(Int64 v) { $_setInt64(7, v); }
+  bool hasTimeoutMillis() => $_has(7);
+  void clearTimeoutMillis() => clearField(8);
+
+  int get target => $_get(8, 0);
+  set target(int v) { $_setUnsignedInt32(8, v); }
+  bool hasTarget() => $_has(8);
+  void clearTarget() => clearField(9);
+
+  int get count => $_get(9, 0);
+  set count(int v) { $_setUnsignedInt32(9, v); }
+  bool hasCount() => $_has(9);
+  void clearCount() => clearField(10);
+
+  String get captureName => $_get(10, '');
+  set captureName(String v) { $_setString(10, v); }
+  bool hasCaptureName() => $_has(10);
+  void clearCaptureName() => clearField(11);
+
+  String get errorMessage => $_get(11, '');
+  set errorMessage(String v) { $_setString(11, v); }
+  bool hasErrorMessage() => $_has(11);
+  void clearErrorMessage() => clearField(12);
+}
+
+class _ReadonlyGattInstructionMessage extends GattInstructionMessage with ReadonlyMessageMixin {}
+
+class GattProgramResultMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('GattProgramResultMessage')
+    ..e<GattProgramStatusMessage>(1, 'status', PbFieldType.OE, GattProgramStatusMessage.COMPLETED, GattProgramStatusMessage.valueOf)
+    ..a<int>(2, 'instruction', PbFieldType.O3)
+    ..a<String>(3, 'errorMessage', PbFieldType.OS)
+    ..pp<GattCaptureMessage>(4, 'captures', PbFieldType.PM, GattCaptureMessage.$checkItem, GattCaptureMessage.create)
+    ..a<int>(5, 'executedSteps', PbFieldType.O3)
+    ..a<Int64>(6, 'durationMicros', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  GattProgramResultMessage() : super();
+  GattProgramResultMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  GattProgramResultMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  GattProgramResultMessage clone() => new GattProgramResultMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static GattProgramResultMessage create() => new GattProgramResultMessage();
+  static PbList<GattProgramResultMessage> createRepeated() => new PbList<GattProgramResultMessage>();
+  static GattProgramResultMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyGattProgramResultMessage();
+    return _defaultInstance;
+  }
+  static GattProgramResultMessage _defaultInstance;
+  static void $checkItem(GattProgramResultMessage v) {
+    if (v is! GattProgramResultMessage) checkItemFailed(v, 'GattProgramResultMessage');
+  }
+
+  GattProgramStatusMessage get status => $_get(0, null);
+  set status(GattProgramStatusMessage v) { setField(1, v); }
+  bool hasStatus() => $_has(0);
+  void clearStatus() => clearField(1);
+
+  int get instruction => $_get(1, 0);
+  set instruction(int v) { $_setUnsignedInt32(1, v); }
+  bool hasInstruction() => $_has(1);
+  void clearInstruction() => clearField(2);
+
+  String get errorMessage => $_get(2, '');
+  set errorMessage(String v) { $_setString(2, v); }
+  bool hasErrorMessage() => $_has(2);
+  void clearErrorMessage() => clearField(3);
+
+  List<GattCaptureMessage> get captures => $_get(3, null);
+
+  int get executedSteps => $_get(4, 0);
+  set executedSteps(int v) { $_setUnsignedInt32(4, v); }
+  bool hasExecutedSteps() => $_has(4);
+  void clearExecutedSteps() => clearField(5);
+
+  Int64 get durationMicros => $_get(5, null);
+  set durationMicros(Int64 v) { $_setInt64(5, v); }
+  bool hasDurationMicros() => $_has(5);
+  void clearDurationMicros() => clearField(6);
+}
+
+class _ReadonlyGattProgramResultMessage extends GattProgramResultMessage with ReadonlyMessageMixin {}
+
+class GattCaptureMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('GattCaptureMessage')
+    ..a<String>(1, 'name', PbFieldType.OS)
+    ..a<List<int>>(2, 'value', PbFieldType.OY)
+    ..hasRequiredFields = false
+  ;
+
+  GattCaptureMessage() : super();
+  GattCaptureMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  GattCaptureMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  GattCaptureMessage clone() => new GattCaptureMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static GattCaptureMessage create() => new GattCaptureMessage();
+  static PbList<GattCaptureMessage> createRepeated() => new PbList<GattCaptureMessage>();
+  static GattCaptureMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyGattCaptureMessage();
+    return _defaultInstance;
+  }
+  static GattCaptureMessage _defaultInstance;
+  static void $checkItem(GattCaptureMessage v) {
+    if (v is! GattCaptureMessage) checkItemFailed(v, 'GattCaptureMessage');
+  }
+
+  String get name => $_get(0, '');
+  set name(String v) { $_setString(0, v); }
+  bool hasName() => $_has(0);
+  void clearName() => clearField(1);
+
+  List<int> get value => $_get(1, null);
+  set value(List<int> v) { $_setBytes(1, v); }
+  bool hasValue() => $_has(1);
+  void clearValue() => clearField(2);
+}
+
+class _ReadonlyGattCaptureMessage extends GattCaptureMessage with ReadonlyMessageMixin {}
+
+class SimulatedBackendMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('SimulatedBackendMessage')
+    ..a<int>(1, 'deviceCount', PbFieldType.O3)
+    ..a<int>(2, 'advertisementIntervalMillis', PbFieldType.O3)
+    ..a<int>(3, 'minConnectLatencyMillis', PbFieldType.O3)
+    ..a<int>(4, 'maxConnectLatencyMillis', PbFieldType.O3)
+    ..a<int>(5, 'minGattLatencyMillis', PbFieldType.O3)
+    ..a<int>(6, 'maxGattLatencyMillis', PbFieldType.O3)
+    ..a<int>(7, 'notificationIntervalMillis', PbFieldType.O3)
+    ..a<int>(8, 'notificationPayloadSize', PbFieldType.O3)
+    ..a<double>(9, 'connectFailureRate', PbFieldType.OD)
+    ..a<double>(10, 'gattFailureRate', PbFieldType.OD)
+    ..a<double>(11, 'notificationDropRate', PbFieldType.OD)
+    ..a<double>(12, 'linkLossRate', PbFieldType.OD)
+    ..a<Int64>(13, 'seed', PbFieldType.O6, Int64.ZERO)
+    ..a<int>(14, 'minDiscoveryLatencyMillis', PbFieldType.O3)
+    ..a<int>(15, 'maxDiscoveryLatencyMillis', PbFieldType.O3)
+    ..hasRequiredFields = false
+  ;
+
+  SimulatedBackendMessage() : super();
+  SimulatedBackendMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  SimulatedBackendMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  SimulatedBackendMessage clone() => new SimulatedBackendMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static SimulatedBackendMessage create() => new SimulatedBackendMessage();
+  static PbList<SimulatedBackendMessage> createRepeated() => new PbList<SimulatedBackendMessage>();
+  static SimulatedBackendMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlySimulatedBackendMessage();
+    return _defaultInstance;
+  }
+  static SimulatedBackendMessage _defaultInstance;
+  static void $checkItem(SimulatedBackendMessage v) {
+    if (v is! SimulatedBackendMessage) checkItemFailed(v, 'SimulatedBackendMessage');
+  }
+
+  int get deviceCount => $_get(0, 0);
+  set deviceCount(int v) { $_setUnsignedInt32(0, v); }
+  bool hasDeviceCount() => $_has(0);
+  void clearDeviceCount() => clearField(1);
+
+  int get advertisementIntervalMillis => $_get(1, 0);
+  set advertisementIntervalMillis(int v) { $_setUnsignedInt32(1, v); }
+  bool hasAdvertisementIntervalMillis() => $_has(1);
+  void clearAdvertisementIntervalMillis() => clearField(2);
+
+  int get minConnectLatencyMillis => $_get(2, 0);
+  set minConnectLatencyMillis(int v) { $_setUnsignedInt32(2, v); }
+  bool hasMinConnectLatencyMillis() => $_has(2);
+  void clearMinConnectLatencyMillis() => clearField(3);
+
+  int get maxConnectLatencyMillis => $_get(3, 0);
+  set maxConnectLatencyMillis(int v) { $_setUnsignedInt32(3, v); }
+  bool hasMaxConnectLatencyMillis() => $_has(3);
+  void clearMaxConnectLatencyMillis() => clearField(4);
+
+  int get minGattLatencyMillis => $_get(4, 0);
+  set minGattLatencyMillis(int v) { $_setUnsignedInt32(4, v); }
+  bool hasMinGattLatencyMillis() => $_has(4);
+  void clearMinGattLatencyMillis() => clearField(5);
+
+  int get maxGattLatencyMillis => $_get(5, 0);
+  set maxGattLatencyMillis(int v) { $_setUnsignedInt32(5, v); }
+  bool hasMaxGattLatencyMillis() => $_has(5);
+  void clearMaxGattLatencyMillis() => clearField(6);
+
+  int get notificationIntervalMillis => $_get(6, 0);
+  set notificationIntervalMillis(int v) { $_setUnsignedInt32(6, v); }
+  bool hasNotificationIntervalMillis() => $_has(6);
+  void clearNotificationIntervalMillis() => clearField(7);
+
+  int get notificationPayloadSize => $_get(7, 0);
+  set notificationPayloadSize(int v) { $_setUnsignedInt32(7, v); }
+  bool hasNotificationPayloadSize() => $_has(7);
+  void clearNotificationPayloadSize() => clearField(8);
+
+  double get connectFailureRate => $_get(8, null);
+  set connectFailureRate(double v) { $_setDouble(8, v); }
+  bool hasConnectFailureRate() => $_has(8);
+  void clearConnectFailureRate() => clearField(9);
+
+  double get gattFailureRate => $_get(9, null);
+  set gattFailureRate(double v) { $_setDouble(9, v); }
+  bool hasGattFailureRate() => $_has(9);
+  void clearGattFailureRate() => clearField(10);
+
+  double get notificationDropRate => $_get(10, null);
+  set notificationDropRate(double v) { $_setDouble(10, v); }
+  bool hasNotificationDropRate() => $_has(10);
+  void clearNotificationDropRate() => clearField(11);
+
+  double get linkLossRate => $_get(11, null);
+  set linkLossRate(double v) { $_setDouble(11, v); }
+  bool hasLinkLossRate() => $_has(11);
+  void clearLinkLossRate() => clearField(12);
+
+  Int64 get seed => $_get(12, null);
+  set seed(Int64 v) { $_setInt64(12, v); }
+  bool hasSeed() => $_has(12);
+  void clearSeed() => clearField(13);
+
+  int get minDiscoveryLatencyMillis => $_get(13, 0);
+  set minDiscoveryLatencyMillis(int v) { $_setUnsignedInt32(13, v); }
+  bool hasMinDiscoveryLatencyMillis() => $_has(13);
+  void clearMinDiscoveryLatencyMillis() => clearField(14);
+
+  int get maxDiscoveryLatencyMillis => $_get(14, 0);
+  set maxDiscoveryLatencyMillis(int v) { $_setUnsignedInt32(14, v); }
+  bool hasMaxDiscoveryLatencyMillis() => $_has(14);
+  void clearMaxDiscoveryLatencyMillis() => clearField(15);
+}
+
+class _ReadonlySimulatedBackendMessage extends SimulatedBackendMessage with ReadonlyMessageMixin {}
+
+class LatencyHistogramMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('LatencyHistogramMessage')
+    ..a<String>(1, 'operation', PbFieldType.OS)
+    ..a<String>(2, 'deviceId', PbFieldType.OS)
+    ..a<Int64>(3, 'count', PbFieldType.O6, Int64.ZERO)
+    ..a<double>(4, 'meanMicros', PbFieldType.OD)
+    ..a<Int64>(5, 'p50Micros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(6, 'p90Micros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(7, 'p99Micros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(8, 'maxMicros', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  LatencyHistogramMessage() : super();
+  LatencyHistogramMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  LatencyHistogramMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  LatencyHistogramMessage clone() => new LatencyHistogramMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static LatencyHistogramMessage create() => new LatencyHistogramMessage();
+  static PbList<LatencyHistogramMessage> createRepeated() => new PbList<LatencyHistogramMessage>();
+  static LatencyHistogramMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyLatencyHistogramMessage();
+    return _defaultInstance;
+  }
+  static LatencyHistogramMessage _defaultInstance;
+  static void $checkItem(LatencyHistogramMessage v) {
+    if (v is! LatencyHistogramMessage) checkItemFailed(v, 'LatencyHistogramMessage');
+  }
+
+  String get operation => $_get(0, '');
+  set operation(String v) { $_setString(0, v); }
+  bool hasOperation() => $_has(0);
+  void clearOperation() => clearField(1);
+
+  String get deviceId => $_get(1, '');
+  set deviceId(String v) { $_setString(1, v); }
+  bool hasDeviceId() => $_has(1);
+  void clearDeviceId() => clearField(2);
+
+  Int64 get count => $_get(2, null);
+  set count(Int64 v) { $_setInt64(2, v); }
+  bool hasCount() => $_has(2);
+  void clearCount() => clearField(3);
+
+  double get meanMicros => $_get(3, null);
+  set meanMicros(double v) { $_setDouble(3, v); }
+  bool hasMeanMicros() => $_has(3);
+  void clearMeanMicros() => clearField(4);
+
+  Int64 get p50Micros => $_get(4, null);
+  set p50Micros(Int64 v) { $_setInt64(4, v); }
+  bool hasP50Micros() => $_has(4);
+  void clearP50Micros() => clearField(5);
+
+  Int64 get p90Micros => $_get(5, null);
+  set p90Micros(Int64 v) { $_setInt64(5, v); }
+  bool hasP90Micros() => $_has(5);
+  void clearP90Micros() => clearField(6);
+
+  Int64 get p99Micros => $_get(6, null);
+  set p99Micros(Int64 v) { $_setInt64(6, v); }
+  bool hasP99Micros() => $_has(6);
+  void clearP99Micros() => clearField(7);
+
+  Int64 get maxMicros => $_get(7, null);
+  set maxMicros(Int64 v) { $_setInt64(7, v); }
+  bool hasMaxMicros() => $_has(7);
+  void clearMaxMicros() => clearField(8);
+}
+
+class _ReadonlyLatencyHistogramMessage extends LatencyHistogramMessage with ReadonlyMessageMixin {}
+
+class ErrorCountMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('ErrorCountMessage')
+    ..a<String>(1, 'exceptionClass', PbFieldType.OS)
+    ..a<Int64>(2, 'count', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  ErrorCountMessage() : super();
+  ErrorCountMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  ErrorCountMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  ErrorCountMessage clone() => new ErrorCountMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static ErrorCountMessage create() => new ErrorCountMessage();
+  static PbList<ErrorCountMessage> createRepeated() => new PbList<ErrorCountMessage>();
+  static ErrorCountMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyErrorCountMessage();
+    return _defaultInstance;
+  }
+  static ErrorCountMessage _defaultInstance;
+  static void $checkItem(ErrorCountMessage v) {
+    if (v is! ErrorCountMessage) checkItemFailed(v, 'ErrorCountMessage');
+  }
+
+  String get exceptionClass => $_get(0, '');
+  set exceptionClass(String v) { $_setString(0, v); }
+  bool hasExceptionClass() => $_has(0);
+  void clearExceptionClass() => clearField(1);
+
+  Int64 get count => $_get(1, null);
+  set count(Int64 v) { $_setInt64(1, v); }
+  bool hasCount() => $_has(1);
+  void clearCount() => clearField(2);
+}
+
+class _ReadonlyErrorCountMessage extends ErrorCountMessage with ReadonlyMessageMixin {}
+
+class MetricsMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('MetricsMessage')
+    ..pp<LatencyHistogramMessage>(1, 'histograms', PbFieldType.PM, LatencyHistogramMessage.$checkItem, LatencyHistogramMessage.create)
+    ..a<Int64>(2, 'bytesIn', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(3, 'bytesOut', PbFieldType.O6, Int64.ZERO)
+    ..pp<ErrorCountMessage>(4, 'errors', PbFieldType.PM, ErrorCountMessage.$checkItem, ErrorCountMessage.create)
+    ..a<Int64>(5, 'eventsDispatched', PbFieldType.O6, Int64.ZERO)
+    ..a<int>(6, 'concurrentDispatches', PbFieldType.O3)
+    ..a<int>(7, 'maxConcurrentDispatches', PbFieldType.O3)
+    ..a<Int64>(8, 'valueCacheHits', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(9, 'valueCacheMisses', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(10, 'valueCacheEvictions', PbFieldType.O6, Int64.ZERO)
+    ..a<StartupMetricsMessage>(11, 'startup', PbFieldType.OM, StartupMetricsMessage.getDefault, StartupMetricsMessage.create)
+    ..hasRequiredFields = false
+  ;
+
+  MetricsMessage() : super();
+  MetricsMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  MetricsMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  MetricsMessage clone() => new MetricsMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static MetricsMessage create() => new MetricsMessage();
+  static PbList<MetricsMessage> createRepeated() => new PbList<MetricsMessage>();
+  static MetricsMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyMetricsMessage();
+    return _defaultInstance;
+  }
+  static MetricsMessage _defaultInstance;
+  static void $checkItem(MetricsMessage v) {
+    if (v is! MetricsMessage) checkItemFailed(v, 'MetricsMessage');
+  }
+
+  List<LatencyHistogramMessage> get histograms => $_get(0, null);
+
+  Int64 get bytesIn => $_get(1, null);
+  set bytesIn(Int64 v) { $_setInt64(1, v); }
+  bool hasBytesIn() => $_has(1);
+  void clearBytesIn() => clearField(2);
+
+  Int64 get bytesOut => $_get(2, null);
+  set bytesOut(Int64 v) { $_setInt64(2, v); }
+  bool hasBytesOut() => $_has(2);
+  void clearBytesOut() => clearField(3);
+
+  List<ErrorCountMessage> get errors => $_get(3, null);
+
+  Int64 get eventsDispatched => $_get(4, null);
+  set eventsDispatched(Int64 v) { $_setInt64(4, v); }
+  bool hasEventsDispatched() => $_has(4);
+  void clearEventsDispatched() => clearField(5);
+
+  int get concurrentDispatches => $_get(5, 0);
+  set concurrentDispatches(int v) { $_setUnsignedInt32(5, v); }
+  bool hasConcurrentDispatches() => $_has(5);
+  void clearConcurrentDispatches() => clearField(6);
+
+  int get maxConcurrentDispatches => $_get(6, 0);
+  set maxConcurrentDispatches(int v) { $_setUnsignedInt32(6, v); }
+  bool hasMaxConcurrentDispatches() => $_has(6);
+  void clearMaxConcurrentDispatches() => clearField(7);
+
+  Int64 get valueCacheHits => $_get(7, null);
+  set valueCacheHits(Int64 v) { $_setInt64(7, v); }
+  bool hasValueCacheHits() => $_has(7);
+  void clearValueCacheHits() => clearField(8);
+
+  Int64 get valueCacheMisses => $_get(8, null);
+  set valueCacheMisses(Int64 v) { $_setInt64(8, v); }
+  bool hasValueCacheMisses() => $_has(8);
+  void clearValueCacheMisses() => clearField(9);
+
+  Int64 get valueCacheEvictions => $_get(9, null);
+  set valueCacheEvictions(Int64 v) { $_setInt64(9, v); }
+  bool hasValueCacheEvictions() => $_has(9);
+  void clearValueCacheEvictions() => clearField(10);
+
+  StartupMetricsMessage get startup => $_get(10, null);
+  set startup(StartupMetricsMessage v) { setField(11, v); }
+  bool hasStartup() => $_has(10);
+  void clearStartup() => clearField(11);
+}
+
+class _ReadonlyMetricsMessage extends MetricsMessage with ReadonlyMessageMixin {}
+
+class StartupMetricsMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('StartupMetricsMessage')
+    ..a<Int64>(1, 'pluginRegistrationMicros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(2, 'helperCreationMicros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(3, 'clientCreationDelayMicros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(4, 'clientCreationMicros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(5, 'restoreStateMicros', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(6, 'adapterStateRegistrationMicros', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  StartupMetricsMessage() : super();
+  StartupMetricsMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  StartupMetricsMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  StartupMetricsMessage clone() => new StartupMetricsMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static StartupMetricsMessage create() => new StartupMetricsMessage();
+  static PbList<StartupMetricsMessage> createRepeated() => new PbList<StartupMetricsMessage>();
+  static StartupMetricsMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyStartupMetricsMessage();
+    return _defaultInstance;
+  }
+  static StartupMetricsMessage _defaultInstance;
+  static void $checkItem(StartupMetricsMessage v) {
+    if (v is! StartupMetricsMessage) checkItemFailed(v, 'StartupMetricsMessage');
+  }
+
+  Int64 get pluginRegistrationMicros => $_get(0, null);
+  set pluginRegistrationMicros(Int64 v) { $_setInt64(0, v); }
+  bool hasPluginRegistrationMicros() => $_has(0);
+  void clearPluginRegistrationMicros() => clearField(1);
+
+  Int64 get helperCreationMicros => $_get(1, null);
+  set helperCreationMicros(Int64 v) { $_setInt64(1, v); }
+  bool hasHelperCreationMicros() => $_has(1);
+  void clearHelperCreationMicros() => clearField(2);
+
+  Int64 get clientCreationDelayMicros => $_get(2, null);
+  set clientCreationDelayMicros(Int64 v) { $_setInt64(2, v); }
+  bool hasClientCreationDelayMicros() => $_has(2);
+  void clearClientCreationDelayMicros() => clearField(3);
+
+  Int64 get clientCreationMicros => $_get(3, null);
+  set clientCreationMicros(Int64 v) { $_setInt64(3, v); }
+  bool hasClientCreationMicros() => $_has(3);
+  void clearClientCreationMicros() => clearField(4);
+
+  Int64 get restoreStateMicros => $_get(4, null);
+  set restoreStateMicros(Int64 v) { $_setInt64(4, v); }
+  bool hasRestoreStateMicros() => $_has(4);
+  void clearRestoreStateMicros() => clearField(5);
+
+  Int64 get adapterStateRegistrationMicros => $_get(5, null);
+  set adapterStateRegistrationMicros(Int64 v) { $_setInt64(5, v); }
+  bool hasAdapterStateRegistrationMicros() => $_has(5);
+  void clearAdapterStateRegistrationMicros() => clearField(6);
+}
+
+class _ReadonlyStartupMetricsMessage extends StartupMetricsMessage with ReadonlyMessageMixin {}
+
+class MemoryStatsMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('MemoryStatsMessage')
+    ..pp<RegistryStatsMessage>(1, 'registries', PbFieldType.PM, RegistryStatsMessage.$checkItem, RegistryStatsMessage.create)
+    ..a<Int64>(2, 'totalEstimatedBytes', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(3, 'totalNativeBytes', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  MemoryStatsMessage() : super();
+  MemoryStatsMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  MemoryStatsMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  MemoryStatsMessage clone() => new MemoryStatsMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static MemoryStatsMessage create() => new MemoryStatsMessage();
+  static PbList<MemoryStatsMessage> createRepeated() => new PbList<MemoryStatsMessage>();
+  static MemoryStatsMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyMemoryStatsMessage();
+    return _defaultInstance;
+  }
+  static MemoryStatsMessage _defaultInstance;
+  static void $checkItem(MemoryStatsMessage v) {
+    if (v is! MemoryStatsMessage) checkItemFailed(v, 'MemoryStatsMessage');
+  }
+
+  List<RegistryStatsMessage> get registries => $_get(0, null);
+
+  Int64 get totalEstimatedBytes => $_get(1, null);
+  set totalEstimatedBytes(Int64 v) { $_setInt64(1, v); }
+  bool hasTotalEstimatedBytes() => $_has(1);
+  void clearTotalEstimatedBytes() => clearField(2);
+
+  Int64 get totalNativeBytes => $_get(2, null);
+  set totalNativeBytes(Int64 v) { $_setInt64(2, v); }
+  bool hasTotalNativeBytes() => $_has(2);
+  void clearTotalNativeBytes() => clearField(3);
+}
+
+class _ReadonlyMemoryStatsMessage extends MemoryStatsMessage with ReadonlyMessageMixin {}
+
+class RegistryStatsMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('RegistryStatsMessage')
+    ..a<String>(1, 'name', PbFieldType.OS)
+    ..a<int>(2, 'entries', PbFieldType.O3)
+    ..a<Int64>(3, 'estimatedBytes', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(4, 'nativeBytes', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  RegistryStatsMessage() : super();
+  RegistryStatsMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  RegistryStatsMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  RegistryStatsMessage clone() => new RegistryStatsMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static RegistryStatsMessage create() => new RegistryStatsMessage();
+  static PbList<RegistryStatsMessage> createRepeated() => new PbList<RegistryStatsMessage>();
+  static RegistryStatsMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyRegistryStatsMessage();
+    return _defaultInstance;
+  }
+  static RegistryStatsMessage _defaultInstance;
+  static void $checkItem(RegistryStatsMessage v) {
+    if (v is! RegistryStatsMessage) checkItemFailed(v, 'RegistryStatsMessage');
+  }
+
+  String get name => $_get(0, '');
+  set name(String v) { $_setString(0, v); }
+  bool hasName() => $_has(0);
+  void clearName() => clearField(1);
+
+  int get entries => $_get(1, 0);
+  set entries(int v) { $_setUnsignedInt32(1, v); }
+  bool hasEntries() => $_has(1);
+  void clearEntries() => clearField(2);
+
+  Int64 get estimatedBytes => $_get(2, null);
+  set estimatedBytes(Int64 v) { $_setInt64(2, v); }
+  bool hasEstimatedBytes() => $_has(2);
+  void clearEstimatedBytes() => clearField(3);
+
+  Int64 get nativeBytes => $_get(3, null);
+  set nativeBytes(Int64 v) { $_setInt64(3, v); }
+  bool hasNativeBytes() => $_has(3);
+  void clearNativeBytes() => clearField(4);
+}
+
+class _ReadonlyRegistryStatsMessage extends RegistryStatsMessage with ReadonlyMessageMixin {}
+
+class ScannedDeviceQueryMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('ScannedDeviceQueryMessage')
+    ..e<ScannedDeviceOrderMessage>(1, 'order', PbFieldType.OE, ScannedDeviceOrderMessage.ORDER_BY_RSSI, ScannedDeviceOrderMessage.valueOf)
+    ..a<int>(2, 'limit', PbFieldType.O3)
+    ..a<String>(3, 'nameFilter', PbFieldType.OS)
+    ..a<int>(4, 'minRssi', PbFieldType.O3)
+    ..a<Int64>(5, 'seenWithinMillis', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(6, 'notSeenForMillis', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  ScannedDeviceQueryMessage() : super();
+  ScannedDeviceQueryMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  ScannedDeviceQueryMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  ScannedDeviceQueryMessage clone() => new ScannedDeviceQueryMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static ScannedDeviceQueryMessage create() => new ScannedDeviceQueryMessage();
+  static PbList<ScannedDeviceQueryMessage> createRepeated() => new PbList<ScannedDeviceQueryMessage>();
+  static ScannedDeviceQueryMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyScannedDeviceQueryMessage();
+    return _defaultInstance;
+  }
+  static ScannedDeviceQueryMessage _defaultInstance;
+  static void $checkItem(ScannedDeviceQueryMessage v) {
+    if (v is! ScannedDeviceQueryMessage) checkItemFailed(v, 'ScannedDeviceQueryMessage');
+  }
+
+  ScannedDeviceOrderMessage get order => $_get(0, null);
+  set order(ScannedDeviceOrderMessage v) { setField(1, v); }
+  bool hasOrder() => $_has(0);
+  void clearOrder() => clearField(1);
+
+  int get limit => $_get(1, 0);
+  set limit(int v) { $_setUnsignedInt32(1, v); }
+  bool hasLimit() => $_has(1);
+  void clearLimit() => clearField(2);
+
+  String get nameFilter => $_get(2, '');
+  set nameFilter(String v) { $_setString(2, v); }
+  bool hasNameFilter() => $_has(2);
+  void clearNameFilter() => clearField(3);
+
+  int get minRssi => $_get(3, 0);
+  set minRssi(int v) { $_setUnsignedInt32(3, v); }
+  bool hasMinRssi() => $_has(3);
+  void clearMinRssi() => clearField(4);
+
+  Int64 get seenWithinMillis => $_get(4, null);
+  set seenWithinMillis(Int64 v) { $_setInt64(4, v); }
+  bool hasSeenWithinMillis() => $_has(4);
+  void clearSeenWithinMillis() => clearField(5);
+
+  Int64 get notSeenForMillis => $_get(5, null);
+  set notSeenForMillis(Int64 v) { $_setInt64(5, v); }
+  bool hasNotSeenForMillis() => $_has(5);
+  void clearNotSeenForMillis() => clearField(6);
+}
+
+class _ReadonlyScannedDeviceQueryMessage extends ScannedDeviceQueryMessage with ReadonlyMessageMixin {}
+
+class ScannedDeviceMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('ScannedDeviceMessage')
+    ..a<String>(1, 'id', PbFieldType.OS)
+    ..a<String>(2, 'name', PbFieldType.OS)
+    ..a<int>(3, 'rssi', PbFieldType.O3)
+    ..a<int>(4, 'sightings', PbFieldType.O3)
+    ..a<Int64>(5, 'firstSeenNanos', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(6, 'lastSeenNanos', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  ScannedDeviceMessage() : super();
+  ScannedDeviceMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  ScannedDeviceMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  ScannedDeviceMessage clone() => new ScannedDeviceMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static ScannedDeviceMessage create() => new ScannedDeviceMessage();
+  static PbList<ScannedDeviceMessage> createRepeated() => new PbList<ScannedDeviceMessage>();
+  static ScannedDeviceMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyScannedDeviceMessage();
+    return _defaultInstance;
+  }
+  static ScannedDeviceMessage _defaultInstance;
+  static void $checkItem(ScannedDeviceMessage v) {
+    if (v is! ScannedDeviceMessage) checkItemFailed(v, 'ScannedDeviceMessage');
+  }
+
+  String get id => $_get(0, '');
+  set id(String v) { $_setString(0, v); }
+  bool hasId() => $_has(0);
+  void clearId() => clearField(1);
+
+  String get name => $_get(1, '');
+  set name(String v) { $_setString(1, v); }
+  bool hasName() => $_has(1);
+  void clearName() => clearField(2);
+
+  int get rssi => $_get(2, 0);
+  set rssi(int v) { $_setUnsignedInt32(2, v); }
+  bool hasRssi() => $_has(2);
+  void clearRssi() => clearField(3);
+
+  int get sightings => $_get(3, 0);
+  set sightings(int v) { $_setUnsignedInt32(3, v); }
+  bool hasSightings() => $_has(3);
+  void clearSightings() => clearField(4);
+
+  Int64 get firstSeenNanos => $_get(4, null);
+  set firstSeenNanos(Int64 v) { $_setInt64(4, v); }
+  bool hasFirstSeenNanos() => $_has(4);
+  void clearFirstSeenNanos() => clearField(5);
+
+  Int64 get lastSeenNanos => $_get(5, null);
+  set lastSeenNanos(Int64 v) { $_setInt64(5, v); }
+  bool hasLastSeenNanos() => $_has(5);
+  void clearLastSeenNanos() => clearField(6);
+}
+
+class _ReadonlyScannedDeviceMessage extends ScannedDeviceMessage with ReadonlyMessageMixin {}
+
+class ScannedDevicesMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('ScannedDevicesMessage')
+    ..pp<ScannedDeviceMessage>(1, 'devices', PbFieldType.PM, ScannedDeviceMessage.$checkItem, ScannedDeviceMessage.create)
+    ..a<int>(2, 'matchedCount', PbFieldType.O3)
+    ..a<int>(3, 'registeredCount', PbFieldType.O3)
+    ..a<Int64>(4, 'rejectedCount', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  ScannedDevicesMessage() : super();
+  ScannedDevicesMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  ScannedDevicesMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  ScannedDevicesMessage clone() => new ScannedDevicesMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static ScannedDevicesMessage create() => new ScannedDevicesMessage();
+  static PbList<ScannedDevicesMessage> createRepeated() => new PbList<ScannedDevicesMessage>();
+  static ScannedDevicesMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyScannedDevicesMessage();
+    return _defaultInstance;
+  }
+  static ScannedDevicesMessage _defaultInstance;
+  static void $checkItem(ScannedDevicesMessage v) {
+    if (v is! ScannedDevicesMessage) checkItemFailed(v, 'ScannedDevicesMessage');
+  }
+
+  List<ScannedDeviceMessage> get devices => $_get(0, null);
+
+  int get matchedCount => $_get(1, 0);
+  set matchedCount(int v) { $_setUnsignedInt32(1, v); }
+  bool hasMatchedCount() => $_has(1);
+  void clearMatchedCount() => clearField(2);
+
+  int get registeredCount => $_get(2, 0);
+  set registeredCount(int v) { $_setUnsignedInt32(2, v); }
+  bool hasRegisteredCount() => $_has(2);
+  void clearRegisteredCount() => clearField(3);
+
+  Int64 get rejectedCount => $_get(3, null);
+  set rejectedCount(Int64 v) { $_setInt64(3, v); }
+  bool hasRejectedCount() => $_has(3);
+  void clearRejectedCount() => clearField(4);
+}
+
+class _ReadonlyScannedDevicesMessage extends ScannedDevicesMessage with ReadonlyMessageMixin {}
+
+class BleErrorMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('BleErrorMessage')
+    ..e<BleErrorCodeMessage>(1, 'code', PbFieldType.OE, BleErrorCodeMessage.ERROR_UNKNOWN, BleErrorCodeMessage.valueOf)
+    ..a<String>(2, 'message', PbFieldType.OS)
+    ..a<String>(3, 'deviceId', PbFieldType.OS)
+    ..a<int>(4, 'attributeId', PbFieldType.O3)
+    ..a<int>(5, 'gattStatus', PbFieldType.O3)
+    ..hasRequiredFields = false
+  ;
+
+  BleErrorMessage() : super();
+  BleErrorMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  BleErrorMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  BleErrorMessage clone() => new BleErrorMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static BleErrorMessage create() => new BleErrorMessage();
+  static PbList<BleErrorMessage> createRepeated() => new PbList<BleErrorMessage>();
+  static BleErrorMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyBleErrorMessage();
+    return _defaultInstance;
+  }
+  static BleErrorMessage _defaultInstance;
+  static void $checkItem(BleErrorMessage v) {
+    if (v is! BleErrorMessage) checkItemFailed(v, 'BleErrorMessage');
+  }
+
+  BleErrorCodeMessage get code => $_get(0, null);
+  set code(BleErrorCodeMessage v) { setField(1, v); }
+  bool hasCode() => $_has(0);
+  void clearCode() => clearField(1);
+
+  String get message => $_get(1, '');
+  set message(String v) { $_setString(1, v); }
+  bool hasMessage() => $_has(1);
+  void clearMessage() => clearField(2);
+
+  String get deviceId => $_get(2, '');
+  set deviceId(String v) { $_setString(2, v); }
+  bool hasDeviceId() => $_has(2);
+  void clearDeviceId() => clearField(3);
+
+  int get attributeId => $_get(3, 0);
+  set attributeId(int v) { $_setUnsignedInt32(3, v); }
+  bool hasAttributeId() => $_has(3);
+  void clearAttributeId() => clearField(4);
+
+  int get gattStatus => $_get(4, 0);
+  set gattStatus(int v) { $_setUnsignedInt32(4, v); }
+  bool hasGattStatus() => $_has(4);
+  void clearGattStatus() => clearField(5);
+}
+
+class _ReadonlyBleErrorMessage extends BleErrorMessage with ReadonlyMessageMixin {}
+
+class NotificationRingMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('NotificationRingMessage')
+    ..a<int>(1, 'ringId', PbFieldType.O3)
+    ..a<Int64>(2, 'address', PbFieldType.O6, Int64.ZERO)
+    ..a<int>(3, 'capacity', PbFieldType.O3)
+    ..a<int>(4, 'headerSize', PbFieldType.O3)
+    ..hasRequiredFields = false
+  ;
+
+  NotificationRingMessage() : super();
+  NotificationRingMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  NotificationRingMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  NotificationRingMessage clone() => new NotificationRingMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static NotificationRingMessage create() => new NotificationRingMessage();
+  static PbList<NotificationRingMessage> createRepeated() => new PbList<NotificationRingMessage>();
+  static NotificationRingMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyNotificationRingMessage();
+    return _defaultInstance;
+  }
+  static NotificationRingMessage _defaultInstance;
+  static void $checkItem(NotificationRingMessage v) {
+    if (v is! NotificationRingMessage) checkItemFailed(v, 'NotificationRingMessage');
+  }
+
+  int get ringId => $_get(0, 0);
+  set ringId(int v) { $_setUnsignedInt32(0, v); }
+  bool hasRingId() => $_has(0);
+  void clearRingId() => clearField(1);
+
+  Int64 get address => $_get(1, null);
+  set address(Int64 v) { $_setInt64(1, v); }
+  bool hasAddress() => $_has(1);
+  void clearAddress() => clearField(2);
+
+  int get capacity => $_get(2, 0);
+  set capacity(int v) { $_setUnsignedInt32(2, v); }
+  bool hasCapacity() => $_has(2);
+  void clearCapacity() => clearField(3);
+
+  int get headerSize => $_get(3, 0);
+  set headerSize(int v) { $_setUnsignedInt32(3, v); }
+  bool hasHeaderSize() => $_has(3);
+  void clearHeaderSize() => clearField(4);
+}
+
+class _ReadonlyNotificationRingMessage extends NotificationRingMessage with ReadonlyMessageMixin {}
+
+class NotificationRingEventMessage extends GeneratedMessage {
+  static final BuilderInfo _i = new BuilderInfo('NotificationRingEventMessage')
+    ..a<int>(1, 'ringId', PbFieldType.O3)
+    ..e<NotificationRingEventTypeMessage>(2, 'type', PbFieldType.OE, NotificationRingEventTypeMessage.RING_WAKE_UP, NotificationRingEventTypeMessage.valueOf)
+    ..a<Int64>(3, 'head', PbFieldType.O6, Int64.ZERO)
+    ..a<Int64>(4, 'droppedCount', PbFieldType.O6, Int64.ZERO)
+    ..hasRequiredFields = false
+  ;
+
+  NotificationRingEventMessage() : super();
+  NotificationRingEventMessage.fromBuffer(List<int> i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromBuffer(i, r);
+  NotificationRingEventMessage.fromJson(String i, [ExtensionRegistry r = ExtensionRegistry.EMPTY]) : super.fromJson(i, r);
+  NotificationRingEventMessage clone() => new NotificationRingEventMessage()..mergeFromMessage(this);
+  BuilderInfo get info_ => _i;
+  static NotificationRingEventMessage create() => new NotificationRingEventMessage();
+  static PbList<NotificationRingEventMessage> createRepeated() => new PbList<NotificationRingEventMessage>();
+  static NotificationRingEventMessage getDefault() {
+    if (_defaultInstance == null) _defaultInstance = new _ReadonlyNotificationRingEventMessage();
+    return _defaultInstance;
+  }
+  static NotificationRingEventMessage _defaultInstance;
+  static void $checkItem(NotificationRingEventMessage v) {
+    if (v is! NotificationRingEventMessage) checkItemFailed(v, 'NotificationRingEventMessage');
+  }
+
+  int get ringId => $_get(0, 0);
+  set ringId(int v) { $_setUnsignedInt32(0, v); }
+  bool hasRingId() => $_has(0);
+  void clearRingId() => clearField(1);
+
+  NotificationRingEventTypeMessage get type => $_get(1, null);
+  set type(NotificationRingEventTypeMessage v) { setField(2, v); }
+  bool hasType() => $_has(1);
+  void clearType() => clearField(2);
+
+  Int64 get head => $_get(2, null);
+  set head(Int64 v) { $_setInt64(2, v); }
+  bool hasHead() => $_has(2);
+  void clearHead() => clearField(3);
+
+  Int64 get droppedCount => $_get(3, null);
+  set droppedCount(Int64 v) { $_setInt64(3, v); }
+  bool hasDroppedCount() => $_has(3);
+  void clearDroppedCount() => clearField(4);
+}
+
+class _ReadonlyNotificationRingEventMessage extends NotificationRingEventMessage with ReadonlyMessageMixin {}
+
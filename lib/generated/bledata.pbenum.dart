@@ -8,6 +8,198 @@ library bledata_pbenum;
 import 'dart:core' show int, dynamic, String, List, Map;
 import 'package:protobuf/protobuf.dart';
 
+class BatchCommandTypeMessage extends ProtobufEnum {
+  static const BatchCommandTypeMessage READ = const BatchCommandTypeMessage._(0, 'READ');
+  static const BatchCommandTypeMessage WRITE = const BatchCommandTypeMessage._(1, 'WRITE');
+  static const BatchCommandTypeMessage REQUEST_MTU = const BatchCommandTypeMessage._(2, 'REQUEST_MTU');
+  static const BatchCommandTypeMessage READ_RSSI = const BatchCommandTypeMessage._(3, 'READ_RSSI');
+
+  static const List<BatchCommandTypeMessage> values = const <BatchCommandTypeMessage> [
+    READ,
+    WRITE,
+    REQUEST_MTU,
+    READ_RSSI,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static BatchCommandTypeMessage valueOf(int value) => _byValue[value] as BatchCommandTypeMessage;
+  static void $checkItem(BatchCommandTypeMessage v) {
+    if (v is! BatchCommandTypeMessage) checkItemFailed(v, 'BatchCommandTypeMessage');
+  }
+
+  const BatchCommandTypeMessage._(int v, String n) : super(v, n);
+}
+
+class BatchCommandStatusMessage extends ProtobufEnum {
+  static const BatchCommandStatusMessage SUCCEEDED = const BatchCommandStatusMessage._(0, 'SUCCEEDED');
+  static const BatchCommandStatusMessage FAILED = const BatchCommandStatusMessage._(1, 'FAILED');
+  static const BatchCommandStatusMessage SKIPPED = const BatchCommandStatusMessage._(2, 'SKIPPED');
+
+  static const List<BatchCommandStatusMessage> values = const <BatchCommandStatusMessage> [
+    SUCCEEDED,
+    FAILED,
+    SKIPPED,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static BatchCommandStatusMessage valueOf(int value) => _byValue[value] as BatchCommandStatusMessage;
+  static void $checkItem(BatchCommandStatusMessage v) {
+    if (v is! BatchCommandStatusMessage) checkItemFailed(v, 'BatchCommandStatusMessage');
+  }
+
+  const BatchCommandStatusMessage._(int v, String n) : super(v, n);
+}
+
+class GattOpMessage extends ProtobufEnum {
+  static const GattOpMessage OP_WRITE = const GattOpMessage._(0, 'OP_WRITE');
+  static const GattOpMessage OP_READ = const GattOpMessage._(1, 'OP_READ');
+  static const GattOpMessage OP_AWAIT_NOTIFICATION = const GattOpMessage._(2, 'OP_AWAIT_NOTIFICATION');
+  static const GattOpMessage OP_DELAY = const GattOpMessage._(3, 'OP_DELAY');
+  static const GattOpMessage OP_COMPARE = const GattOpMessage._(4, 'OP_COMPARE');
+  static const GattOpMessage OP_JUMP = const GattOpMessage._(5, 'OP_JUMP');
+  static const GattOpMessage OP_LOOP = const GattOpMessage._(6, 'OP_LOOP');
+  static const GattOpMessage OP_FAIL = const GattOpMessage._(7, 'OP_FAIL');
+
+  static const List<GattOpMessage> values = const <GattOpMessage> [
+    OP_WRITE,
+    OP_READ,
+    OP_AWAIT_NOTIFICATION,
+    OP_DELAY,
+    OP_COMPARE,
+    OP_JUMP,
+    OP_LOOP,
+    OP_FAIL,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static GattOpMessage valueOf(int value) => _byValue[value] as GattOpMessage;
+  static void $checkItem(GattOpMessage v) {
+    if (v is! GattOpMessage) checkItemFailed(v, 'GattOpMessage');
+  }
+
+  const GattOpMessage._(int v, String n) : super(v, n);
+}
+
+class GattComparisonMessage extends ProtobufEnum {
+  static const GattComparisonMessage EQUAL = const GattComparisonMessage._(0, 'EQUAL');
+  static const GattComparisonMessage NOT_EQUAL = const GattComparisonMessage._(1, 'NOT_EQUAL');
+  static const GattComparisonMessage LESS_THAN = const GattComparisonMessage._(2, 'LESS_THAN');
+  static const GattComparisonMessage GREATER_THAN = const GattComparisonMessage._(3, 'GREATER_THAN');
+
+  static const List<GattComparisonMessage> values = const <GattComparisonMessage> [
+    EQUAL,
+    NOT_EQUAL,
+    LESS_THAN,
+    GREATER_THAN,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static GattComparisonMessage valueOf(int value) => _byValue[value] as GattComparisonMessage;
+  static void $checkItem(GattComparisonMessage v) {
+    if (v is! GattComparisonMessage) checkItemFailed(v, 'GattComparisonMessage');
+  }
+
+  const GattComparisonMessage._(int v, String n) : super(v, n);
+}
+
+class GattProgramStatusMessage extends ProtobufEnum {
+  static const GattProgramStatusMessage COMPLETED = const GattProgramStatusMessage._(0, 'COMPLETED');
+  static const GattProgramStatusMessage ABORTED = const GattProgramStatusMessage._(1, 'ABORTED');
+  static const GattProgramStatusMessage TIMED_OUT = const GattProgramStatusMessage._(2, 'TIMED_OUT');
+
+  static const List<GattProgramStatusMessage> values = const <GattProgramStatusMessage> [
+    COMPLETED,
+    ABORTED,
+    TIMED_OUT,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static GattProgramStatusMessage valueOf(int value) => _byValue[value] as GattProgramStatusMessage;
+  static void $checkItem(GattProgramStatusMessage v) {
+    if (v is! GattProgramStatusMessage) checkItemFailed(v, 'GattProgramStatusMessage');
+  }
+
+  const GattProgramStatusMessage._(int v, String n) : super(v, n);
+}
+
+class ScannedDeviceOrderMessage extends ProtobufEnum {
+  static const ScannedDeviceOrderMessage ORDER_BY_RSSI = const ScannedDeviceOrderMessage._(0, 'ORDER_BY_RSSI');
+  static const ScannedDeviceOrderMessage ORDER_BY_LAST_SEEN = const ScannedDeviceOrderMessage._(1, 'ORDER_BY_LAST_SEEN');
+  static const ScannedDeviceOrderMessage ORDER_BY_LEAST_RECENTLY_SEEN = const ScannedDeviceOrderMessage._(2, 'ORDER_BY_LEAST_RECENTLY_SEEN');
+
+  static const List<ScannedDeviceOrderMessage> values = const <ScannedDeviceOrderMessage> [
+    ORDER_BY_RSSI,
+    ORDER_BY_LAST_SEEN,
+    ORDER_BY_LEAST_RECENTLY_SEEN,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static ScannedDeviceOrderMessage valueOf(int value) => _byValue[value] as ScannedDeviceOrderMessage;
+  static void $checkItem(ScannedDeviceOrderMessage v) {
+    if (v is! ScannedDeviceOrderMessage) checkItemFailed(v, 'ScannedDeviceOrderMessage');
+  }
+
+  const ScannedDeviceOrderMessage._(int v, String n) : super(v, n);
+}
+
+class BleErrorCodeMessage extends ProtobufEnum {
+  static const BleErrorCodeMessage ERROR_UNKNOWN = const BleErrorCodeMessage._(0, 'ERROR_UNKNOWN');
+  static const BleErrorCodeMessage ERROR_OPERATION_CANCELLED = const BleErrorCodeMessage._(1, 'ERROR_OPERATION_CANCELLED');
+  static const BleErrorCodeMessage ERROR_OPERATION_TIMED_OUT = const BleErrorCodeMessage._(2, 'ERROR_OPERATION_TIMED_OUT');
+  static const BleErrorCodeMessage ERROR_INVALID_ARGUMENT = const BleErrorCodeMessage._(3, 'ERROR_INVALID_ARGUMENT');
+  static const BleErrorCodeMessage ERROR_CLIENT_NOT_CREATED = const BleErrorCodeMessage._(4, 'ERROR_CLIENT_NOT_CREATED');
+  static const BleErrorCodeMessage ERROR_DEVICE_NOT_FOUND = const BleErrorCodeMessage._(5, 'ERROR_DEVICE_NOT_FOUND');
+  static const BleErrorCodeMessage ERROR_DEVICE_NOT_CONNECTED = const BleErrorCodeMessage._(6, 'ERROR_DEVICE_NOT_CONNECTED');
+  static const BleErrorCodeMessage ERROR_DEVICE_DISCONNECTED = const BleErrorCodeMessage._(7, 'ERROR_DEVICE_DISCONNECTED');
+  static const BleErrorCodeMessage ERROR_SERVICE_NOT_FOUND = const BleErrorCodeMessage._(8, 'ERROR_SERVICE_NOT_FOUND');
+  static const BleErrorCodeMessage ERROR_CHARACTERISTIC_NOT_FOUND = const BleErrorCodeMessage._(9, 'ERROR_CHARACTERISTIC_NOT_FOUND');
+  static const BleErrorCodeMessage ERROR_NOTIFICATIONS_UNSUPPORTED = const BleErrorCodeMessage._(10, 'ERROR_NOTIFICATIONS_UNSUPPORTED');
+  static const BleErrorCodeMessage ERROR_GATT = const BleErrorCodeMessage._(11, 'ERROR_GATT');
+  static const BleErrorCodeMessage ERROR_SCAN_FAILED = const BleErrorCodeMessage._(12, 'ERROR_SCAN_FAILED');
+
+  static const List<BleErrorCodeMessage> values = const <BleErrorCodeMessage> [
+    ERROR_UNKNOWN,
+    ERROR_OPERATION_CANCELLED,
+    ERROR_OPERATION_TIMED_OUT,
+    ERROR_INVALID_ARGUMENT,
+    ERROR_CLIENT_NOT_CREATED,
+    ERROR_DEVICE_NOT_FOUND,
+    ERROR_DEVICE_NOT_CONNECTED,
+    ERROR_DEVICE_DISCONNECTED,
+    ERROR_SERVICE_NOT_FOUND,
+    ERROR_CHARACTERISTIC_NOT_FOUND,
+    ERROR_NOTIFICATIONS_UNSUPPORTED,
+    ERROR_GATT,
+    ERROR_SCAN_FAILED,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static BleErrorCodeMessage valueOf(int value) => _byValue[value] as BleErrorCodeMessage;
+  static void $checkItem(BleErrorCodeMessage v) {
+    if (v is! BleErrorCodeMessage) checkItemFailed(v, 'BleErrorCodeMessage');
+  }
+
+  const BleErrorCodeMessage._(int v, String n) : super(v, n);
+}
+
+class NotificationRingEventTypeMessage extends ProtobufEnum {
+  static const NotificationRingEventTypeMessage RING_WAKE_UP = const NotificationRingEventTypeMessage._(0, 'RING_WAKE_UP');
+  static const NotificationRingEventTypeMessage RING_OVERFLOW = const NotificationRingEventTypeMessage._(1, 'RING_OVERFLOW');
+
+  static const List<NotificationRingEventTypeMessage> values = const <NotificationRingEventTypeMessage> [
+    RING_WAKE_UP,
+    RING_OVERFLOW,
+  ];
+
+  static final Map<int, dynamic> _byValue = ProtobufEnum.initByValue(values);
+  static NotificationRingEventTypeMessage valueOf(int value) => _byValue[value] as NotificationRingEventTypeMessage;
+  static void $checkItem(NotificationRingEventTypeMessage v) {
+    if (v is! NotificationRingEventTypeMessage) checkItemFailed(v, 'NotificationRingEventTypeMessage');
+  }
+
+  const NotificationRingEventTypeMessage._(int v, String n) : super(v, n);
+}
+
 class LogLevelMessage extends ProtobufEnum {
   static const LogLevelMessage VERBOSE = const LogLevelMessage._(0, 'VERBOSE');
   static const LogLevelMessage DEBUG = const LogLevelMessage._(1, 'DEBUG');
@@ -4,6 +4,94 @@
 // ignore_for_file: non_constant_identifier_names,library_prefixes
 library bledata_pbjson;
 
+const BatchCommandTypeMessage$json = const {
+  '1': 'BatchCommandTypeMessage',
+  '2': const [
+    const {'1': 'READ', '2': 0},
+    const {'1': 'WRITE', '2': 1},
+    const {'1': 'REQUEST_MTU', '2': 2},
+    const {'1': 'READ_RSSI', '2': 3},
+  ],
+};
+
+const BatchCommandStatusMessage$json = const {
+  '1': 'BatchCommandStatusMessage',
+  '2': const [
+    const {'1': 'SUCCEEDED', '2': 0},
+    const {'1': 'FAILED', '2': 1},
+    const {'1': 'SKIPPED', '2': 2},
+  ],
+};
+
+const GattOpMessage$json = const {
+  '1': 'GattOpMessage',
+  '2': const [
+    const {'1': 'OP_WRITE', '2': 0},
+    const {'1': 'OP_READ', '2': 1},
+    const {'1': 'OP_AWAIT_NOTIFICATION', '2': 2},
+    const {'1': 'OP_DELAY', '2': 3},
+    const {'1': 'OP_COMPARE', '2': 4},
+    const {'1': 'OP_JUMP', '2': 5},
+    const {'1': 'OP_LOOP', '2': 6},
+    const {'1': 'OP_FAIL', '2': 7},
+  ],
+};
+
+const GattComparisonMessage$json = const {
+  '1': 'GattComparisonMessage',
+  '2': const [
+    const {'1': 'EQUAL', '2': 0},
+    const {'1': 'NOT_EQUAL', '2': 1},
+    const {'1': 'LESS_THAN', '2': 2},
+    const {'1': 'GREATER_THAN', '2': 3},
+  ],
+};
+
+const GattProgramStatusMessage$json = const {
+  '1': 'GattProgramStatusMessage',
+  '2': const [
+    const {'1': 'COMPLETED', '2': 0},
+    const {'1': 'ABORTED', '2': 1},
+    const {'1': 'TIMED_OUT', '2': 2},
+  ],
+};
+
+const ScannedDeviceOrderMessage$json = const {
+  '1': 'ScannedDeviceOrderMessage',
+  '2': const [
+    const {'1': 'ORDER_BY_RSSI', '2': 0},
+    const {'1': 'ORDER_BY_LAST_SEEN', '2': 1},
+    const {'1': 'ORDER_BY_LEAST_RECENTLY_SEEN', '2': 2},
+  ],
+};
+
+const BleErrorCodeMessage$json = const {
+  '1': 'BleErrorCodeMessage',
+  '2': const [
+    const {'1': 'ERROR_UNKNOWN', '2': 0},
+    const {'1': 'ERROR_OPERATION_CANCELLED', '2': 1},
+    const {'1': 'ERROR_OPERATION_TIMED_OUT', '2': 2},
+    const {'1': 'ERROR_INVALID_ARGUMENT', '2': 3},
+    const {'1': 'ERROR_CLIENT_NOT_CREATED', '2': 4},
+    const {'1': 'ERROR_DEVICE_NOT_FOUND', '2': 5},
+    const {'1': 'ERROR_DEVICE_NOT_CONNECTED', '2': 6},
+    const {'1': 'ERROR_DEVICE_DISCONNECTED', '2': 7},
+    const {'1': 'ERROR_SERVICE_NOT_FOUND', '2': 8},
+    const {'1': 'ERROR_CHARACTERISTIC_NOT_FOUND', '2': 9},
+    const {'1': 'ERROR_NOTIFICATIONS_UNSUPPORTED', '2': 10},
+    const {'1': 'ERROR_GATT', '2': 11},
+    const {'1': 'ERROR_SCAN_FAILED', '2': 12},
+  ],
+};
+
+const NotificationRingEventTypeMessage$json = const {
+  '1': 'NotificationRingEventTypeMessage',
+  '2': const [
+    const {'1': 'RING_WAKE_UP', '2': 0},
+    const {'1': 'RING_OVERFLOW', '2': 1},
+  ],
+};
+
 const LogLevelMessage$json = const {
   '1': 'LogLevelMessage',
   '2': const [
@@ -34,6 +122,7 @@ const ScanDataMessage$json = const {
     const {'1': 'scanMode', '3': 1, '4': 1, '5': 5, '10': 'scanMode'},
     const {'1': 'callbackType', '3': 2, '4': 1, '5': 5, '10': 'callbackType'},
     const {'1': 'uuids', '3': 3, '4': 3, '5': 9, '10': 'uuids'},
+    const {'1': 'registryOnly', '3': 4, '4': 1, '5': 8, '10': 'registryOnly'},
   ],
 };
 
@@ -106,6 +195,7 @@ const CharacteristicMessage$json = const {
     const {'1': 'isIndicatable', '3': 10, '4': 1, '5': 8, '10': 'isIndicatable'},
     const {'1': 'isNotifing', '3': 11, '4': 1, '5': 8, '10': 'isNotifing'},
     const {'1': 'value', '3': 12, '4': 1, '5': 9, '10': 'value'},
+    const {'1': 'decodedValue', '3': 13, '4': 1, '5': 11, '6': '.DecodedValueMessage', '10': 'decodedValue'},
   ],
 };
 
@@ -114,6 +204,319 @@ const MonitorCharacteristicMessage$json = const {
   '2': const [
     const {'1': 'transactionId', '3': 1, '4': 1, '5': 9, '10': 'transactionId'},
     const {'1': 'characteristicMessage', '3': 2, '4': 1, '5': 11, '6': '.CharacteristicMessage', '10': 'characteristicMessage'},
+    const {'1': 'transactionHandle', '3': 3, '4': 1, '5': 3, '10': 'transactionHandle'},
+  ],
+};
+
+const CharacteristicValueMessage$json = const {
+  '1': 'CharacteristicValueMessage',
+  '2': const [
+    const {'1': 'handle', '3': 1, '4': 1, '5': 5, '10': 'handle'},
+    const {'1': 'value', '3': 2, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'timestampNanos', '3': 3, '4': 1, '5': 4, '10': 'timestampNanos'},
+    const {'1': 'transactionHandle', '3': 4, '4': 1, '5': 3, '10': 'transactionHandle'},
+    const {'1': 'transactionId', '3': 5, '4': 1, '5': 9, '10': 'transactionId'},
+    const {'1': 'decodedValue', '3': 6, '4': 1, '5': 11, '6': '.DecodedValueMessage', '10': 'decodedValue'},
+  ],
+};
+
+const DecodedValueMessage$json = const {
+  '1': 'DecodedValueMessage',
+  '2': const [
+    const {'1': 'schemaId', '3': 1, '4': 1, '5': 5, '10': 'schemaId'},
+    const {'1': 'values', '3': 2, '4': 3, '5': 1, '10': 'values'},
+  ],
+};
+
+const RestoreStateMessage$json = const {
+  '1': 'RestoreStateMessage',
+  '2': const [
+    const {'1': 'devices', '3': 1, '4': 3, '5': 11, '6': '.RestoredDeviceMessage', '10': 'devices'},
+  ],
+};
+
+const RestoredDeviceMessage$json = const {
+  '1': 'RestoredDeviceMessage',
+  '2': const [
+    const {'1': 'device', '3': 1, '4': 1, '5': 11, '6': '.BleDeviceMessage', '10': 'device'},
+    const {'1': 'isAutoConnect', '3': 2, '4': 1, '5': 8, '10': 'isAutoConnect'},
+    const {'1': 'services', '3': 3, '4': 3, '5': 11, '6': '.RestoredServiceMessage', '10': 'services'},
+    const {'1': 'monitors', '3': 4, '4': 3, '5': 11, '6': '.RestoredMonitorMessage', '10': 'monitors'},
+  ],
+};
+
+const RestoredServiceMessage$json = const {
+  '1': 'RestoredServiceMessage',
+  '2': const [
+    const {'1': 'uuid', '3': 1, '4': 1, '5': 9, '10': 'uuid'},
+    const {'1': 'isPrimary', '3': 2, '4': 1, '5': 8, '10': 'isPrimary'},
+    const {'1': 'characteristicUuids', '3': 3, '4': 3, '5': 9, '10': 'characteristicUuids'},
+  ],
+};
+
+const RestoredMonitorMessage$json = const {
+  '1': 'RestoredMonitorMessage',
+  '2': const [
+    const {'1': 'serviceUuid', '3': 1, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'characteristicUuid', '3': 2, '4': 1, '5': 9, '10': 'characteristicUuid'},
+    const {'1': 'transactionId', '3': 3, '4': 1, '5': 9, '10': 'transactionId'},
+    const {'1': 'transactionHandle', '3': 4, '4': 1, '5': 3, '10': 'transactionHandle'},
+  ],
+};
+
+const BatchMessage$json = const {
+  '1': 'BatchMessage',
+  '2': const [
+    const {'1': 'commands', '3': 1, '4': 3, '5': 11, '6': '.BatchCommandMessage', '10': 'commands'},
+    const {'1': 'transactionId', '3': 2, '4': 1, '5': 9, '10': 'transactionId'},
+    const {'1': 'skipDeviceCommandsAfterFailure', '3': 3, '4': 1, '5': 8, '10': 'skipDeviceCommandsAfterFailure'},
+  ],
+};
+
+const BatchCommandMessage$json = const {
+  '1': 'BatchCommandMessage',
+  '2': const [
+    const {'1': 'type', '3': 1, '4': 1, '5': 14, '6': '.BatchCommandTypeMessage', '10': 'type'},
+    const {'1': 'deviceId', '3': 2, '4': 1, '5': 9, '10': 'deviceId'},
+    const {'1': 'serviceUuid', '3': 3, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'characteristicUuid', '3': 4, '4': 1, '5': 9, '10': 'characteristicUuid'},
+    const {'1': 'value', '3': 5, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'withResponse', '3': 6, '4': 1, '5': 8, '10': 'withResponse'},
+    const {'1': 'maxAgeMillis', '3': 7, '4': 1, '5': 3, '10': 'maxAgeMillis'},
+    const {'1': 'mtu', '3': 8, '4': 1, '5': 5, '10': 'mtu'},
+    const {'1': 'transactionId', '3': 9, '4': 1, '5': 9, '10': 'transactionId'},
+  ],
+};
+
+const BatchResultMessage$json = const {
+  '1': 'BatchResultMessage',
+  '2': const [
+    const {'1': 'results', '3': 1, '4': 3, '5': 11, '6': '.BatchCommandResultMessage', '10': 'results'},
+  ],
+};
+
+const BatchCommandResultMessage$json = const {
+  '1': 'BatchCommandResultMessage',
+  '2': const [
+    const {'1': 'status', '3': 1, '4': 1, '5': 14, '6': '.BatchCommandStatusMessage', '10': 'status'},
+    const {'1': 'value', '3': 2, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'mtu', '3': 3, '4': 1, '5': 5, '10': 'mtu'},
+    const {'1': 'rssi', '3': 4, '4': 1, '5': 5, '10': 'rssi'},
+    const {'1': 'errorMessage', '3': 5, '4': 1, '5': 9, '10': 'errorMessage'},
+  ],
+};
+
+const GattProgramMessage$json = const {
+  '1': 'GattProgramMessage',
+  '2': const [
+    const {'1': 'deviceId', '3': 1, '4': 1, '5': 9, '10': 'deviceId'},
+    const {'1': 'attributes', '3': 2, '4': 3, '5': 11, '6': '.GattAttributeMessage', '10': 'attributes'},
+    const {'1': 'instructions', '3': 3, '4': 3, '5': 11, '6': '.GattInstructionMessage', '10': 'instructions'},
+    const {'1': 'timeoutMillis', '3': 4, '4': 1, '5': 3, '10': 'timeoutMillis'},
+    const {'1': 'maxSteps', '3': 5, '4': 1, '5': 5, '10': 'maxSteps'},
+    const {'1': 'transactionId', '3': 6, '4': 1, '5': 9, '10': 'transactionId'},
+  ],
+};
+
+const GattAttributeMessage$json = const {
+  '1': 'GattAttributeMessage',
+  '2': const [
+    const {'1': 'serviceUuid', '3': 1, '4': 1, '5': 9, '10': 'serviceUuid'},
+    const {'1': 'characteristicUuid', '3': 2, '4': 1, '5': 9, '10': 'characteristicUuid'},
+  ],
+};
+
+const GattInstructionMessage$json = const {
+  '1': 'GattInstructionMessage',
+  '2': const [
+    const {'1': 'op', '3': 1, '4': 1, '5': 14, '6': '.GattOpMessage', '10': 'op'},
+    const {'1': 'attribute', '3': 2, '4': 1, '5': 5, '10': 'attribute'},
+    const {'1': 'value', '3': 3, '4': 1, '5': 12, '10': 'value'},
+    const {'1': 'mask', '3': 4, '4': 1, '5': 12, '10': 'mask'},
+    const {'1': 'offset', '3': 5, '4': 1, '5': 5, '10': 'offset'},
+    const {'1': 'comparison', '3': 6, '4': 1, '5': 14, '6': '.GattComparisonMessage', '10': 'comparison'},
+    const {'1': 'withResponse', '3': 7, '4': 1, '5': 8, '10': 'withResponse'},
+    const {'1': 'timeoutMillis', '3': 8, '4': 1, '5': 3, '10': 'timeoutMillis'},
+    const {'1': 'target', '3': 9, '4': 1, '5': 5, '10': 'target'},
+    const {'1': 'count', '3': 10, '4': 1, '5': 5, '10': 'count'},
+    const {'1': 'captureName', '3': 11, '4': 1, '5': 9, '10': 'captureName'},
+    const {'1': 'errorMessage', '3': 12, '4': 1, '5': 9, '10': 'errorMessage'},
+  ],
+};
+
+const GattProgramResultMessage$json = const {
+  '1': 'GattProgramResultMessage',
+  '2': const [
+    const {'1': 'status', '3': 1, '4': 1, '5': 14, '6': '.GattProgramStatusMessage', '10': 'status'},
+    const {'1': 'instruction', '3': 2, '4': 1, '5': 5, '10': 'instruction'},
+    const {'1': 'errorMessage', '3': 3, '4': 1, '5': 9, '10': 'errorMessage'},
+    const {'1': 'captures', '3': 4, '4': 3, '5': 11, '6': '.GattCaptureMessage', '10': 'captures'},
+    const {'1': 'executedSteps', '3': 5, '4': 1, '5': 5, '10': 'executedSteps'},
+    const {'1': 'durationMicros', '3': 6, '4': 1, '5': 3, '10': 'durationMicros'},
+  ],
+};
+
+const GattCaptureMessage$json = const {
+  '1': 'GattCaptureMessage',
+  '2': const [
+    const {'1': 'name', '3': 1, '4': 1, '5': 9, '10': 'name'},
+    const {'1': 'value', '3': 2, '4': 1, '5': 12, '10': 'value'},
+  ],
+};
+
+const SimulatedBackendMessage$json = const {
+  '1': 'SimulatedBackendMessage',
+  '2': const [
+    const {'1': 'deviceCount', '3': 1, '4': 1, '5': 5, '10': 'deviceCount'},
+    const {'1': 'advertisementIntervalMillis', '3': 2, '4': 1, '5': 5, '10': 'advertisementIntervalMillis'},
+    const {'1': 'minConnectLatencyMillis', '3': 3, '4': 1, '5': 5, '10': 'minConnectLatencyMillis'},
+    const {'1': 'maxConnectLatencyMillis', '3': 4, '4': 1, '5': 5, '10': 'maxConnectLatencyMillis'},
+    const {'1': 'minGattLatencyMillis', '3': 5, '4': 1, '5': 5, '10': 'minGattLatencyMillis'},
+    const {'1': 'maxGattLatencyMillis', '3': 6, '4': 1, '5': 5, '10': 'maxGattLatencyMillis'},
+    const {'1': 'notificationIntervalMillis', '3': 7, '4': 1, '5': 5, '10': 'notificationIntervalMillis'},
+    const {'1': 'notificationPayloadSize', '3': 8, '4': 1, '5': 5, '10': 'notificationPayloadSize'},
+    const {'1': 'connectFailureRate', '3': 9, '4': 1, '5': 1, '10': 'connectFailureRate'},
+    const {'1': 'gattFailureRate', '3': 10, '4': 1, '5': 1, '10': 'gattFailureRate'},
+    const {'1': 'notificationDropRate', '3': 11, '4': 1, '5': 1, '10': 'notificationDropRate'},
+    const {'1': 'linkLossRate', '3': 12, '4': 1, '5': 1, '10': 'linkLossRate'},
+    const {'1': 'seed', '3': 13, '4': 1, '5': 3, '10': 'seed'},
+    const {'1': 'minDiscoveryLatencyMillis', '3': 14, '4': 1, '5': 5, '10': 'minDiscoveryLatencyMillis'},
+    const {'1': 'maxDiscoveryLatencyMillis', '3': 15, '4': 1, '5': 5, '10': 'maxDiscoveryLatencyMillis'},
+  ],
+};
+
+const LatencyHistogramMessage$json = const {
+  '1': 'LatencyHistogramMessage',
+  '2': const [
+    const {'1': 'operation', '3': 1, '4': 1, '5': 9, '10': 'operation'},
+    const {'1': 'deviceId', '3': 2, '4': 1, '5': 9, '10': 'deviceId'},
+    const {'1': 'count', '3': 3, '4': 1, '5': 3, '10': 'count'},
+    const {'1': 'meanMicros', '3': 4, '4': 1, '5': 1, '10': 'meanMicros'},
+    const {'1': 'p50Micros', '3': 5, '4': 1, '5': 3, '10': 'p50Micros'},
+    const {'1': 'p90Micros', '3': 6, '4': 1, '5': 3, '10': 'p90Micros'},
+    const {'1': 'p99Micros', '3': 7, '4': 1, '5': 3, '10': 'p99Micros'},
+    const {'1': 'maxMicros', '3': 8, '4': 1, '5': 3, '10': 'maxMicros'},
+  ],
+};
+
+const ErrorCountMessage$json = const {
+  '1': 'ErrorCountMessage',
+  '2': const [
+    const {'1': 'exceptionClass', '3': 1, '4': 1, '5': 9, '10': 'exceptionClass'},
+    const {'1': 'count', '3': 2, '4': 1, '5': 3, '10': 'count'},
+  ],
+};
+
+const MetricsMessage$json = const {
+  '1': 'MetricsMessage',
+  '2': const [
+    const {'1': 'histograms', '3': 1, '4': 3, '5': 11, '6': '.LatencyHistogramMessage', '10': 'histograms'},
+    const {'1': 'bytesIn', '3': 2, '4': 1, '5': 3, '10': 'bytesIn'},
+    const {'1': 'bytesOut', '3': 3, '4': 1, '5': 3, '10': 'bytesOut'},
+    const {'1': 'errors', '3': 4, '4': 3, '5': 11, '6': '.ErrorCountMessage', '10': 'errors'},
+    const {'1': 'eventsDispatched', '3': 5, '4': 1, '5': 3, '10': 'eventsDispatched'},
+    const {'1': 'concurrentDispatches', '3': 6, '4': 1, '5': 5, '10': 'concurrentDispatches'},
+    const {'1': 'maxConcurrentDispatches', '3': 7, '4': 1, '5': 5, '10': 'maxConcurrentDispatches'},
+    const {'1': 'valueCacheHits', '3': 8, '4': 1, '5': 3, '10': 'valueCacheHits'},
+    const {'1': 'valueCacheMisses', '3': 9, '4': 1, '5': 3, '10': 'valueCacheMisses'},
+    const {'1': 'valueCacheEvictions', '3': 10, '4': 1, '5': 3, '10': 'valueCacheEvictions'},
+    const {'1': 'startup', '3': 11, '4': 1, '5': 11, '6': '.StartupMetricsMessage', '10': 'startup'},
+  ],
+};
+
+const StartupMetricsMessage$json = const {
+  '1': 'StartupMetricsMessage',
+  '2': const [
+    const {'1': 'pluginRegistrationMicros', '3': 1, '4': 1, '5': 3, '10': 'pluginRegistrationMicros'},
+    const {'1': 'helperCreationMicros', '3': 2, '4': 1, '5': 3, '10': 'helperCreationMicros'},
+    const {'1': 'clientCreationDelayMicros', '3': 3, '4': 1, '5': 3, '10': 'clientCreationDelayMicros'},
+    const {'1': 'clientCreationMicros', '3': 4, '4': 1, '5': 3, '10': 'clientCreationMicros'},
+    const {'1': 'restoreStateMicros', '3': 5, '4': 1, '5': 3, '10': 'restoreStateMicros'},
+    const {'1': 'adapterStateRegistrationMicros', '3': 6, '4': 1, '5': 3, '10': 'adapterStateRegistrationMicros'},
+  ],
+};
+
+const MemoryStatsMessage$json = const {
+  '1': 'MemoryStatsMessage',
+  '2': const [
+    const {'1': 'registries', '3': 1, '4': 3, '5': 11, '6': '.RegistryStatsMessage', '10': 'registries'},
+    const {'1': 'totalEstimatedBytes', '3': 2, '4': 1, '5': 3, '10': 'totalEstimatedBytes'},
+    const {'1': 'totalNativeBytes', '3': 3, '4': 1, '5': 3, '10': 'totalNativeBytes'},
+  ],
+};
+
+const RegistryStatsMessage$json = const {
+  '1': 'RegistryStatsMessage',
+  '2': const [
+    const {'1': 'name', '3': 1, '4': 1, '5': 9, '10': 'name'},
+    const {'1': 'entries', '3': 2, '4': 1, '5': 5, '10': 'entries'},
+    const {'1': 'estimatedBytes', '3': 3, '4': 1, '5': 3, '10': 'estimatedBytes'},
+    const {'1': 'nativeBytes', '3': 4, '4': 1, '5': 3, '10': 'nativeBytes'},
+  ],
+};
+
+const ScannedDeviceQueryMessage$json = const {
+  '1': 'ScannedDeviceQueryMessage',
+  '2': const [
+    const {'1': 'order', '3': 1, '4': 1, '5': 14, '6': '.ScannedDeviceOrderMessage', '10': 'order'},
+    const {'1': 'limit', '3': 2, '4': 1, '5': 5, '10': 'limit'},
+    const {'1': 'nameFilter', '3': 3, '4': 1, '5': 9, '10': 'nameFilter'},
+    const {'1': 'minRssi', '3': 4, '4': 1, '5': 5, '10': 'minRssi'},
+    const {'1': 'seenWithinMillis', '3': 5, '4': 1, '5': 3, '10': 'seenWithinMillis'},
+    const {'1': 'notSeenForMillis', '3': 6, '4': 1, '5': 3, '10': 'notSeenForMillis'},
+  ],
+};
+
+const ScannedDeviceMessage$json = const {
+  '1': 'ScannedDeviceMessage',
+  '2': const [
+    const {'1': 'id', '3': 1, '4': 1, '5': 9, '10': 'id'},
+    const {'1': 'name', '3': 2, '4': 1, '5': 9, '10': 'name'},
+    const {'1': 'rssi', '3': 3, '4': 1, '5': 5, '10': 'rssi'},
+    const {'1': 'sightings', '3': 4, '4': 1, '5': 5, '10': 'sightings'},
+    const {'1': 'firstSeenNanos', '3': 5, '4': 1, '5': 3, '10': 'firstSeenNanos'},
+    const {'1': 'lastSeenNanos', '3': 6, '4': 1, '5': 3, '10': 'lastSeenNanos'},
+  ],
+};
+
+const ScannedDevicesMessage$json = const {
+  '1': 'ScannedDevicesMessage',
+  '2': const [
+    const {'1': 'devices', '3': 1, '4': 3, '5': 11, '6': '.ScannedDeviceMessage', '10': 'devices'},
+    const {'1': 'matchedCount', '3': 2, '4': 1, '5': 5, '10': 'matchedCount'},
+    const {'1': 'registeredCount', '3': 3, '4': 1, '5': 5, '10': 'registeredCount'},
+    const {'1': 'rejectedCount', '3': 4, '4': 1, '5': 3, '10': 'rejectedCount'},
+  ],
+};
+
+const BleErrorMessage$json = const {
+  '1': 'BleErrorMessage',
+  '2': const [
+    const {'1': 'code', '3': 1, '4': 1, '5': 14, '6': '.BleErrorCodeMessage', '10': 'code'},
+    const {'1': 'message', '3': 2, '4': 1, '5': 9, '10': 'message'},
+    const {'1': 'deviceId', '3': 3, '4': 1, '5': 9, '10': 'deviceId'},
+    const {'1': 'attributeId', '3': 4, '4': 1, '5': 5, '10': 'attributeId'},
+    const {'1': 'gattStatus', '3': 5, '4': 1, '5': 5, '10': 'gattStatus'},
+  ],
+};
+
+const NotificationRingMessage$json = const {
+  '1': 'NotificationRingMessage',
+  '2': const [
+    const {'1': 'ringId', '3': 1, '4': 1, '5': 5, '10': 'ringId'},
+    const {'1': 'address', '3': 2, '4': 1, '5': 3, '10': 'address'},
+    const {'1': 'capacity', '3': 3, '4': 1, '5': 5, '10': 'capacity'},
+    const {'1': 'headerSize', '3': 4, '4': 1, '5': 5, '10': 'headerSize'},
+  ],
+};
+
+const NotificationRingEventMessage$json = const {
+  '1': 'NotificationRingEventMessage',
+  '2': const [
+    const {'1': 'ringId', '3': 1, '4': 1, '5': 5, '10': 'ringId'},
+    const {'1': 'type', '3': 2, '4': 1, '5': 14, '6': '.NotificationRingEventTypeMessage', '10': 'type'},
+    const {'1': 'head', '3': 3, '4': 1, '5': 3, '10': 'head'},
+    const {'1': 'droppedCount', '3': 4, '4': 1, '5': 3, '10': 'droppedCount'},
   ],
 };
 
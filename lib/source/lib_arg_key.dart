@@ -1,6 +1,9 @@
 part of flutter_ble_lib;
 
 const _restoreStateIdentifier = "restoreStateIdentifier";
+const _binaryTransport = "binaryTransport";
+const _simulatedBackend = "simulatedBackend";
+const _compactProtocol = "compactProtocol";
 const _deviceId = "deviceId";
 const _serviceUUID = "serviceUUID";
 const _serviceIdentifier = "serviceIdentifier";
@@ -9,4 +12,23 @@ const _characteristicUUID = "characteristicUUID";
 const _valueBase64 = "valueBase64";
 const _response = "response";
 const _transactionId = "transactionId";
-const _mtu = "mtu";
\ No newline at end of file
+const _mtu = "mtu";
+const _maxAgeMillis = "maxAgeMillis";
+const _ttlMillis = "ttlMillis";
+const _maxEntries = "maxEntries";
+const _sampleEvery = "sampleEvery";
+const _throttleMillis = "throttleMillis";
+const _debounceMillis = "debounceMillis";
+const _distinct = "distinct";
+const _windowSize = "windowSize";
+const _windowFormat = "windowFormat";
+const _windowOffset = "windowOffset";
+const _payloadSchema = "payloadSchema";
+const _recordingId = "recordingId";
+const _recordingDirectory = "recordingDirectory";
+const _segmentSize = "segmentSize";
+const _syncIntervalMillis = "syncIntervalMillis";
+const _ringId = "ringId";
+const _ringCapacity = "ringCapacity";
+const _expiryMillis = "expiryMillis";
+const _maxDevices = "maxDevices";
\ No newline at end of file
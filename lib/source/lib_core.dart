@@ -24,51 +24,215 @@ class FlutterBleLib {
   static const EventChannel _deviceConnectionChange =
   const EventChannel(flutter_ble_lib_deviceConnectionChange);
 
+  static const EventChannel _notificationRingChanel =
+  const EventChannel(flutter_ble_lib_notificationRing);
+
   final StreamController<MethodCall> _methodStreamController =
   new StreamController.broadcast();
 
+  static const int _binaryStatusSuccess = 0;
+  static const int _binaryStatusError = 1;
+  static const int _binaryStatusBleError = 3;
+
+  final StreamController<List<int>> _binaryMonitorController =
+  new StreamController.broadcast();
+
+  bool _binaryTransportEnabled = false;
+  bool _compactProtocolEnabled = false;
+
+  /// Characteristics fetched while the compact protocol is on, by id. Ids are never reused within a client.
+  final Map<int, bleData.CharacteristicMessage> _characteristicDescriptors = <int, bleData.CharacteristicMessage>{};
 
   FlutterBleLib._() {
     _mainMethodChannel.setMethodCallHandler((MethodCall call) {
       _methodStreamController.add(call);
     });
+    BinaryMessages.setMessageHandler(flutter_ble_lib_monitorCharacteristicBinary, (ByteData message) {
+      _binaryMonitorController.add(message.buffer.asUint8List(message.offsetInBytes, message.lengthInBytes));
+      return null;
+    });
   }
 
-  Future<dynamic> createClient(String restoreStateIdentifier) async {
-    await _mainMethodChannel.invokeMethod(_createClient,
-        <String, String>{_restoreStateIdentifier: restoreStateIdentifier});
+  /// Emits the state persisted under the restore state identifier passed to [createClient] (Android only), with
+  /// connected devices and their monitors. Listen before calling [createClient].
+  ///
+  /// Connections of the state are restored natively and their monitors are resubscribed with their original
+  /// transactions, before any Dart listener exists. Take their notifications with [restoredMonitorEvents] or
+  /// stop the monitors you no longer need with [cancelRestoredMonitor].
+  Stream<RestoreState> get restoreStateEvents => _methodStreamController.stream
+      .where((call) => call.method == _restoreStateEvent)
+      .map((call) => new bleData.RestoreStateMessage.fromBuffer(call.arguments))
+      .map((restoreStateMessage) => RestoreState.fromMessage(restoreStateMessage));
+
+  /// Notifications of a monitor restored from [restoreStateEvents] (Android only). Notifications delivered before
+  /// the returned stream is listened to are lost.
+  Stream<MonitorCharacteristic> restoredMonitorEvents(RestoredMonitor monitor) =>
+      _monitorCharacteristicChanel.receiveBroadcastStream()
+          .map((data) => _monitorCharacteristicMessageOf(data))
+          .where((monitorCharacteristicMessage) =>
+              _isOfTransaction(monitorCharacteristicMessage, _restoredTransaction(monitor)))
+          .map((monitorCharacteristicMessage) => MonitorCharacteristic.fromMessage(monitorCharacteristicMessage));
+
+  /// Stops a monitor restored from [restoreStateEvents] (Android only).
+  Future<dynamic> cancelRestoredMonitor(RestoredMonitor monitor) async {
+    await _invokeMethod(_cancelTransaction, _restoredTransaction(monitor));
+    return;
+  }
+
+  Object _restoredTransaction(RestoredMonitor monitor) =>
+      _transaction(monitor.transactionId, monitor.transactionHandle);
+
+  /// With [binaryTransport] (Android only) methods taking a message (device scan, connection, [batch] and
+  /// [runGattProgram]) are called with raw platform messages and monitor notifications are delivered as bare
+  /// serialized messages, both skipping the standard codec. Monitors on a dedicated channel keep using the codec.
+  /// The option is ignored on other platforms.
+  ///
+  /// With [compactProtocol] (Android only) read, write and notification results carry the id of the characteristic
+  /// instead of the whole characteristic. The id is resolved against characteristics fetched with
+  /// [characteristicsForDevice] or [characteristicsForService], fetch them before using the characteristic or
+  /// results will only carry its id and value.
+  ///
+  /// With [simulatedBackend] (Android only) the client talks to simulated devices instead of the radio, see
+  /// [SimulatedBackend].
+  Future<dynamic> createClient(String restoreStateIdentifier,
+      {bool binaryTransport, bool compactProtocol, SimulatedBackend simulatedBackend}) async {
+    await _invokeMethod(_createClient, <String, Object>{
+      _restoreStateIdentifier: restoreStateIdentifier,
+      _binaryTransport: binaryTransport,
+      _compactProtocol: compactProtocol,
+      _simulatedBackend: simulatedBackend?._toMessage()?.writeToBuffer(),
+    });
+    _compactProtocolEnabled = compactProtocol == true && Platform.isAndroid;
+    _characteristicDescriptors.clear();
+    _binaryTransportEnabled = binaryTransport == true && Platform.isAndroid;
     return;
   }
 
   Future<dynamic> destroyClient() async {
-    await _mainMethodChannel.invokeMethod(_destroyClient);
+    await _invokeMethod(_destroyClient);
+    _characteristicDescriptors.clear();
     return;
   }
 
   Future<dynamic> cancelTransaction(String transactionId) async {
-    await _mainMethodChannel.invokeMethod(_cancelTransaction,
+    await _invokeMethod(_cancelTransaction,
         transactionId
     );
     return;
   }
 
+  /// Cancels a transaction started with a transactionHandle (Android only).
+  Future<dynamic> cancelTransactionHandle(int transactionHandle) async {
+    await _invokeMethod(_cancelTransaction,
+        transactionHandle
+    );
+    return;
+  }
+
 
   Future<dynamic> setLogLevel(LogLevel logLevel) =>
-      _mainMethodChannel.invokeMethod(
+      _invokeMethod(
           _setLogLevel,
           LogLevelConverter
               .toMessage(logLevel)
               .name
       );
 
+  Future<Null> setTraceEnabled(bool enabled) async {
+    await _invokeMethod(_setTraceEnabled, enabled);
+    return;
+  }
+
+  /// Enables caching of read characteristic values. Reads are answered from the cache while the value
+  /// is younger than [ttlMillis] (0 - no expiry) and younger than the read's maxAgeMillis. Writes and
+  /// notifications invalidate the cached value. [maxEntries] of 0 disables the cache.
+  Future<Null> configureValueCache(int ttlMillis, int maxEntries) async {
+    await _invokeMethod(_configureValueCache, <String, int>{
+      _ttlMillis: ttlMillis,
+      _maxEntries: maxEntries,
+    });
+    return;
+  }
+
+  /// Enables the registry of scanned devices (Android only). Devices not seen for [expiryMillis] (0 - no expiry)
+  /// are removed, devices seen while [maxDevices] are registered are rejected. [maxDevices] of 0 disables the
+  /// registry.
+  Future<Null> configureScannedDeviceRegistry(int expiryMillis, int maxDevices) async {
+    await _invokeMethod(_configureScannedDeviceRegistry, <String, int>{
+      _expiryMillis: expiryMillis,
+      _maxDevices: maxDevices,
+    });
+    return;
+  }
+
+  /// Queries the registry of scanned devices (Android only), see [ScannedDeviceQuery].
+  Future<ScannedDevices> queryScannedDevices(ScannedDeviceQuery query) =>
+      _invokeMethod(_queryScannedDevices, query._toMessage().writeToBuffer())
+          .then((byteData) => new bleData.ScannedDevicesMessage.fromBuffer(byteData))
+          .then((devicesMessage) => ScannedDevices.fromMessage(devicesMessage));
+
+  /// Registers a payload schema for values of characteristics with [characteristicUUID]. Read results and
+  /// notifications of such characteristics carry decoded values, in [fields] order, instead of the raw value.
+  /// Returns id of the schema, sent with every decoded value.
+  Future<int> registerPayloadSchema(String characteristicUUID, List<PayloadField> fields) =>
+      _invokeMethod(_registerPayloadSchema, <String, Object>{
+        _characteristicUUID: characteristicUUID,
+        _payloadSchema: fields.map((field) => field._toMap()).toList(),
+      });
+
+  Future<bool> unregisterPayloadSchema(String characteristicUUID) =>
+      _invokeMethod(_unregisterPayloadSchema, characteristicUUID);
+
+  /// Opens a recording of raw notifications into segment files in [directory] and returns its id. Monitors
+  /// started with the recording id append notifications to the recording instead of emitting them; read
+  /// segments back with [readRecording] or [readRecordingSegment].
+  Future<int> openRecording(String directory, {int segmentSize, int syncIntervalMillis}) =>
+      _invokeMethod(_openRecording, <String, Object>{
+        _recordingDirectory: directory,
+        _segmentSize: segmentSize,
+        _syncIntervalMillis: syncIntervalMillis,
+      });
+
+  /// Closes the current segment of the recording, returns its path.
+  Future<String> rotateRecording(int recordingId) =>
+      _invokeMethod(_rotateRecording, recordingId);
+
+  /// Closes the recording, returns path of its last segment.
+  Future<String> closeRecording(int recordingId) =>
+      _invokeMethod(_closeRecording, recordingId);
+
+  /// Opens an off-heap ring of [capacity] bytes (Android only, 1 MiB by default), rounded up to a power of two.
+  /// Monitors started with the ring id write timestamped frames into the ring instead of emitting them. The ring
+  /// is meant for a native consumer polling the returned address, see NotificationRing.java for its layout.
+  Future<NotificationRing> openNotificationRing({int capacity}) =>
+      _invokeMethod(_openNotificationRing, <String, Object>{_ringCapacity: capacity})
+          .then((byteData) => new bleData.NotificationRingMessage.fromBuffer(byteData))
+          .then((ringMessage) => NotificationRing.fromMessage(ringMessage));
+
+  /// Stops writing to the ring and releases it (Android only). The consumer must stop reading its address first.
+  Future<Null> closeNotificationRing(int ringId) async {
+    await _invokeMethod(_closeNotificationRing, ringId);
+    return;
+  }
+
+  /// Events of open rings (Android only): the consumer has to be woken up or frames started to be dropped.
+  Stream<NotificationRingEvent> notificationRingEvents() =>
+      _notificationRingChanel.receiveBroadcastStream()
+          .map((data) => new bleData.NotificationRingEventMessage.fromBuffer(data))
+          .map((eventMessage) => NotificationRingEvent.fromMessage(eventMessage));
+
+  /// Writes recorded binary trace to [filePath] and returns number of records.
+  Future<int> dumpTrace(String filePath) =>
+      _invokeMethod(_dumpTrace, filePath);
+
   Future<LogLevel> logLevel() =>
-      _mainMethodChannel.invokeMethod(_logLevel)
+      _invokeMethod(_logLevel)
           .then((logLevelByte) => bleData.LogLevelMessage.valueOf(logLevelByte))
           .then((logLevelMessage) =>
           LogLevelConverter.fromMessage(logLevelMessage));
 
   Future<BluetoothState> state() =>
-      _mainMethodChannel.invokeMethod(_state)
+      _invokeMethod(_state)
           .then((bluetoothStateByte) =>
           bleData.BluetoothStateMessage.valueOf(bluetoothStateByte))
           .then((bluetoothStateMessage) =>
@@ -81,10 +245,14 @@ class FlutterBleLib {
         BluetoothStateConverter.fromMessage(bluetoothStateMessage));
   }
 
-  Stream<ScanResult> startDeviceScan(int scanMode, int callbackType, List<String> uuids) async* {
+  /// With [registryOnly] (Android only) results are only recorded in the registry configured with
+  /// [configureScannedDeviceRegistry] and the stream emits none of them, query them with [queryScannedDevices].
+  Stream<ScanResult> startDeviceScan(int scanMode, int callbackType, List<String> uuids,
+      {bool registryOnly}) async* {
     var settings = bleData.ScanDataMessage.create()
       ..scanMode = scanMode
-      ..callbackType = callbackType;
+      ..callbackType = callbackType
+      ..registryOnly = registryOnly == true;
     if(uuids != null){
       uuids.forEach(settings.uuids.add);
     }
@@ -105,8 +273,7 @@ class FlutterBleLib {
       onDone: controller.close,
     );
 
-    await _mainMethodChannel.invokeMethod(
-        _startDeviceScan, settings.writeToBuffer());
+    await _invokeMessageMethod(_startDeviceScan, settings);
 
     yield* controller.stream
         .map((data) => new bleData.ScanResultMessage.fromBuffer(data))
@@ -114,7 +281,7 @@ class FlutterBleLib {
   }
 
   Future<Null> stopDeviceScan() async {
-    await _mainMethodChannel.invokeMethod(_stopDeviceScan);
+    await _invokeMethod(_stopDeviceScan);
     return;
   }
 
@@ -126,8 +293,7 @@ class FlutterBleLib {
       ..macAddress = macAddress
       ..isAutoConnect = isAutoConnect ?? false
       ..requestMtu = requestMtu ?? _unknownRssi;
-    return await _mainMethodChannel.invokeMethod(
-        _connectToDevice, connectToDeviceDataMessage.writeToBuffer())
+    return await _invokeMessageMethod(_connectToDevice, connectToDeviceDataMessage)
         .then((byteData) =>
     new bleData.BleDeviceMessage.fromBuffer(byteData))
         .then((bleDeviceMessage) =>
@@ -135,7 +301,7 @@ class FlutterBleLib {
   }
 
   Future<bool> isDeviceConnected(String macAddress) async {
-    final bool isConnected = await _mainMethodChannel.invokeMethod(_isDeviceConnected, macAddress);
+    final bool isConnected = await _invokeMethod(_isDeviceConnected, macAddress);
     return isConnected;
   }
 
@@ -149,7 +315,7 @@ class FlutterBleLib {
 
   Future<BleDevice> requestMTUForDevice(String deviceId, int mtu,
       String transactionId) async {
-    return await _mainMethodChannel.invokeMethod(_requestMTUForDevice,
+    return await _invokeMethod(_requestMTUForDevice,
         <String, Object>{
           _deviceId: deviceId,
           _transactionId: transactionId,
@@ -164,7 +330,7 @@ class FlutterBleLib {
 
   Future<BleDevice> readRSSIForDevice(String deviceId,
       String transactionId) async {
-    return await _mainMethodChannel.invokeMethod(_readRSSIForDevice,
+    return await _invokeMethod(_readRSSIForDevice,
         <String, String>{
           _deviceId: deviceId,
           _transactionId: transactionId,
@@ -177,7 +343,7 @@ class FlutterBleLib {
   }
 
   Future<BleDevice> cancelDeviceConnection(String macAddress) async {
-    return await _mainMethodChannel.invokeMethod(_cancelDeviceConnection, macAddress)
+    return await _invokeMethod(_cancelDeviceConnection, macAddress)
         .then((byteData) =>
     new bleData.BleDeviceMessage.fromBuffer(byteData))
         .then((bleDeviceMessage) =>
@@ -185,7 +351,7 @@ class FlutterBleLib {
   }
 
   Future<BleDevice>  discoverAllServicesAndCharacteristicsForDevice(String macAddress) async {
-    return await _mainMethodChannel.invokeMethod(_discoverAllServicesAndCharacteristicsForDevice, macAddress)
+    return await _invokeMethod(_discoverAllServicesAndCharacteristicsForDevice, macAddress)
         .then((byteData) =>
     new bleData.BleDeviceMessage.fromBuffer(byteData))
         .then((bleDeviceMessage) =>
@@ -193,7 +359,7 @@ class FlutterBleLib {
   }
 
   Future<List<BleService>> servicesForDevice(String id) async {
-    return await _mainMethodChannel.invokeMethod(_servicesForDevice, id)
+    return await _invokeMethod(_servicesForDevice, id)
         .then((byteData) =>
     new bleData.ServiceMessages.fromBuffer(byteData))
         .then((serviceMessages) =>
@@ -215,14 +381,18 @@ class FlutterBleLib {
      });
 
   Future<List<Characteristic>> _invokeMethodCharacteristicFor(String methodName, [dynamic arguments] ) {
-    return _mainMethodChannel.invokeMethod(methodName, arguments)
+    return _invokeMethod(methodName, arguments)
         .then((byteData) =>
     new bleData.CharacteristicMessages.fromBuffer(byteData)
-    ).then((characteristicMessages) =>
-      new List.generate(
+    ).then((characteristicMessages) {
+      if (_compactProtocolEnabled) {
+        characteristicMessages.characteristicMessage.forEach((characteristicMessage) =>
+            _characteristicDescriptors[characteristicMessage.id.toInt()] = characteristicMessage);
+      }
+      return new List.generate(
           characteristicMessages.characteristicMessage.length,
-              (int index) => Characteristic.fromMessage(characteristicMessages.characteristicMessage[index]))
-     );
+              (int index) => Characteristic.fromMessage(characteristicMessages.characteristicMessage[index]));
+    });
   }
 
   Future<Characteristic> writeCharacteristicForDevice(
@@ -231,7 +401,7 @@ class FlutterBleLib {
       String characteristicUUID,
       List<int> bytes,
       bool response,
-      String transactionId,) async =>
+      String transactionId, {int transactionHandle}) async =>
       await _invokeMethodWriteCharacteristic(
           _writeCharacteristicForDevice, <String, Object>{
         _deviceId: deviceId,
@@ -239,7 +409,7 @@ class FlutterBleLib {
         _characteristicUUID: characteristicUUID,
         _valueBase64: base64.encode(bytes),
         _response: response,
-        _transactionId: transactionId,
+        _transactionId: _transaction(transactionId, transactionHandle),
       });
 
   Future<Characteristic> writeCharacteristicForService(
@@ -247,32 +417,32 @@ class FlutterBleLib {
       String characteristicUUID,
       List<int> bytes,
       bool response,
-      String transactionId,) async =>
+      String transactionId, {int transactionHandle}) async =>
       await _invokeMethodWriteCharacteristic(
           _writeCharacteristicForService, <String, Object>{
         _serviceIdentifier: serviceIdentifier,
         _characteristicUUID: characteristicUUID,
         _valueBase64: base64.encode(bytes),
         _response: response,
-        _transactionId: transactionId,
+        _transactionId: _transaction(transactionId, transactionHandle),
       });
 
   Future<Characteristic> writeCharacteristic(
       double characteristicIdentifier,
       List<int> bytes,
       bool response,
-      String transactionId,) async =>
+      String transactionId, {int transactionHandle}) async =>
       await _invokeMethodWriteCharacteristic(
           _writeCharacteristic, <String, Object>{
         _characteristicIdentifier: characteristicIdentifier,
         _valueBase64: base64.encode(bytes),
         _response: response,
-        _transactionId: transactionId,
+        _transactionId: _transaction(transactionId, transactionHandle),
   });
 
   Future<Characteristic> _invokeMethodWriteCharacteristic(String methodName, [dynamic arguments]) {
-    return _mainMethodChannel.invokeMethod(methodName, arguments)
-        .then((byteData) => new bleData.CharacteristicMessage.fromBuffer(byteData))
+    return _invokeMethod(methodName, arguments)
+        .then((byteData) => _characteristicMessageOf(byteData))
         .then((characteristicMessage) => Characteristic.fromMessage(characteristicMessage));
   }
 
@@ -280,88 +450,264 @@ class FlutterBleLib {
       String deviceId,
       String serviceUUID,
       String characteristicUUID,
-      String transactionId,) async =>
+      String transactionId, {int maxAgeMillis, int transactionHandle}) async =>
       await _invokeMethodReadCharacteristic(
-          _readCharacteristicForDevice, <String, String>{
+          _readCharacteristicForDevice, <String, Object>{
         _deviceId: deviceId,
         _serviceUUID: serviceUUID,
         _characteristicUUID: characteristicUUID,
-        _transactionId: transactionId,
+        _transactionId: _transaction(transactionId, transactionHandle),
+        _maxAgeMillis: maxAgeMillis,
       });
 
 
   Future<Characteristic> readCharacteristicForService(
       double serviceIdentifier,
       String characteristicUUID,
-      String transactionId,) async =>
+      String transactionId, {int maxAgeMillis, int transactionHandle}) async =>
       await _invokeMethodReadCharacteristic(
           _readCharacteristicForService, <String, Object>{
         _serviceIdentifier: serviceIdentifier,
         _characteristicUUID: characteristicUUID,
-        _transactionId: transactionId,
+        _transactionId: _transaction(transactionId, transactionHandle),
+        _maxAgeMillis: maxAgeMillis,
       });
 
   Future<Characteristic> readCharacteristic(
       double characteristicIdentifier,
-      String transactionId,) async =>
+      String transactionId, {int maxAgeMillis, int transactionHandle}) async =>
       await _invokeMethodReadCharacteristic(
           _readCharacteristic, <String, Object>{
         _characteristicIdentifier: characteristicIdentifier,
-        _transactionId: transactionId,
+        _transactionId: _transaction(transactionId, transactionHandle),
+        _maxAgeMillis: maxAgeMillis,
       });
 
   Future<Characteristic> _invokeMethodReadCharacteristic(String methodName, [dynamic arguments]) {
-    return _mainMethodChannel.invokeMethod(methodName, arguments)
-        .then((byteData) => new bleData.CharacteristicMessage.fromBuffer(byteData))
+    return _invokeMethod(methodName, arguments)
+        .then((byteData) => _characteristicMessageOf(byteData))
         .then((characteristicMessage) => Characteristic.fromMessage(characteristicMessage));
   }
 
+  /// Runs [commands] in one platform call (Android only). Commands of a device run one after another in
+  /// list order, commands of different devices run in parallel. Results are returned in [commands] order.
+  /// With [skipDeviceCommandsAfterFailure] the commands following a failed command of the same device are
+  /// skipped. Commands without a transaction id of their own run as `<transactionId>#<command index>`.
+  Future<List<BatchCommandResult>> batch(List<BatchCommand> commands,
+      {String transactionId, bool skipDeviceCommandsAfterFailure}) {
+    final batchMessage = bleData.BatchMessage.create()
+      ..commands.addAll(commands.map((command) => command._message))
+      ..skipDeviceCommandsAfterFailure = skipDeviceCommandsAfterFailure == true;
+    if (transactionId != null) {
+      batchMessage.transactionId = transactionId;
+    }
+    return _invokeMessageMethod(_batch, batchMessage)
+        .then((byteData) => new bleData.BatchResultMessage.fromBuffer(byteData))
+        .then((batchResultMessage) => batchResultMessage.results
+        .map((resultMessage) => BatchCommandResult.fromMessage(resultMessage))
+        .toList());
+  }
+
+  /// Runs [instructions] against [attributes] of a connected device in one platform call (Android only), only
+  /// the outcome and the captured values are sent back. The program completes after its last instruction or
+  /// when it jumps past it, and is aborted after [maxSteps] instructions (10000 by default). Cancelling
+  /// [transactionId] stops the running instruction.
+  Future<GattProgramResult> runGattProgram(String deviceId, List<GattAttribute> attributes,
+      List<GattInstruction> instructions, {int timeoutMillis, int maxSteps, String transactionId}) {
+    final programMessage = bleData.GattProgramMessage.create()
+      ..deviceId = deviceId
+      ..attributes.addAll(attributes.map((attribute) => attribute._toMessage()))
+      ..instructions.addAll(instructions.map((instruction) => instruction._message));
+    if (timeoutMillis != null) {
+      programMessage.timeoutMillis = new Int64(timeoutMillis);
+    }
+    if (maxSteps != null) {
+      programMessage.maxSteps = maxSteps;
+    }
+    if (transactionId != null) {
+      programMessage.transactionId = transactionId;
+    }
+    return _invokeMessageMethod(_runGattProgram, programMessage)
+        .then((byteData) => new bleData.GattProgramResultMessage.fromBuffer(byteData))
+        .then((resultMessage) => GattProgramResult.fromMessage(resultMessage));
+  }
+
+  /// With [dedicatedChannel] (Android only) notifications of the transaction are delivered on an event channel
+  /// of their own instead of the channel shared by all monitors, so the stream decodes only its own
+  /// notifications. Requires a [transactionId] or a [transactionHandle].
+  ///
+  /// A [transactionHandle] (Android only) identifies the transaction instead of [transactionId], see
+  /// [cancelTransactionHandle].
+  ///
+  /// With [ringId] (Android only) notifications are written into the ring opened with [openNotificationRing]
+  /// and the stream emits none of them.
   Stream<MonitorCharacteristic> monitorCharacteristicForDevice(String deviceId,
-      String serviceUUID, String characteristicUUID, String transactionId) =>
-    _invokeMonitorCharacteristic(_monitorCharacteristicForDevice, <String, String> {
+      String serviceUUID, String characteristicUUID, String transactionId,
+      {NotificationOperators operators, int recordingId, bool dedicatedChannel, int transactionHandle,
+        int ringId}) =>
+    _invokeMonitorCharacteristic(_monitorCharacteristicForDevice, _withOptions(<String, Object> {
       _deviceId : deviceId,
       _serviceUUID : serviceUUID,
       _characteristicUUID : characteristicUUID,
-      _transactionId : transactionId
-    });
+      _transactionId : _transaction(transactionId, transactionHandle)
+    }, operators, recordingId, ringId), dedicatedChannel);
 
+  /// See [monitorCharacteristicForDevice] for [dedicatedChannel], [transactionHandle] and [ringId].
   Stream<MonitorCharacteristic> monitorCharacteristicForService(
-      double serviceIdentifier, String characteristicUUID, String transactionId) =>
-      _invokeMonitorCharacteristic(_monitorCharacteristicForService, <String, Object> {
+      double serviceIdentifier, String characteristicUUID, String transactionId,
+      {NotificationOperators operators, int recordingId, bool dedicatedChannel, int transactionHandle,
+        int ringId}) =>
+      _invokeMonitorCharacteristic(_monitorCharacteristicForService, _withOptions(<String, Object> {
         _serviceIdentifier : serviceIdentifier,
         _characteristicUUID : characteristicUUID,
-        _transactionId : transactionId
-      });
-
-  Stream<MonitorCharacteristic> monitorCharacteristic(double characteristicIdentifier, String transactionId) =>
-      _invokeMonitorCharacteristic(_monitorCharacteristic, <String, Object> {
+        _transactionId : _transaction(transactionId, transactionHandle)
+      }, operators, recordingId, ringId), dedicatedChannel);
+
+  /// See [monitorCharacteristicForDevice] for [dedicatedChannel], [transactionHandle] and [ringId].
+  Stream<MonitorCharacteristic> monitorCharacteristic(double characteristicIdentifier, String transactionId,
+      {NotificationOperators operators, int recordingId, bool dedicatedChannel, int transactionHandle,
+        int ringId}) =>
+      _invokeMonitorCharacteristic(_monitorCharacteristic, _withOptions(<String, Object> {
         _characteristicIdentifier : characteristicIdentifier,
-        _transactionId : transactionId
-      });
+        _transactionId : _transaction(transactionId, transactionHandle)
+      }, operators, recordingId, ringId), dedicatedChannel);
+
+  /// Handles are sent as integers, which the Android side tells apart from string transaction ids.
+  Object _transaction(String transactionId, int transactionHandle) =>
+      transactionHandle != null ? transactionHandle : transactionId;
+
+  Map<String, Object> _withOptions(Map<String, Object> arguments, NotificationOperators operators, int recordingId,
+      int ringId) {
+    if (operators != null) {
+      operators._addTo(arguments);
+    }
+    arguments[_recordingId] = recordingId;
+    arguments[_ringId] = ringId;
+    return arguments;
+  }
 
   /// Decodes a base64 string value.
   Uint8List decodeCharacteristicValue(String encodedValue) {
     return new Base64Decoder().convert(encodedValue);
   }
 
-  Stream<MonitorCharacteristic> _invokeMonitorCharacteristic(String methodName, [dynamic arguments]) async* {
+  Stream<MonitorCharacteristic> _invokeMonitorCharacteristic(String methodName, Map<String, Object> arguments,
+      bool dedicatedChannel) async* {
     StreamSubscription subscription;
     StreamController controller;
+    Stream<dynamic> notifications = _binaryTransportEnabled
+        ? _binaryMonitorController.stream
+        : _monitorCharacteristicChanel.receiveBroadcastStream();
+    if (dedicatedChannel == true) {
+      final String channelName =
+          await _invokeMethod(_openMonitorChannel, arguments[_transactionId]);
+      notifications = new EventChannel(channelName).receiveBroadcastStream();
+    }
 
     controller = new StreamController(
       onCancel: () {
         subscription.cancel();
       },
     );
-    subscription = _monitorCharacteristicChanel.receiveBroadcastStream().listen(
+    subscription = notifications.listen(
       controller.add,
       onError: controller.addError,
       onDone: controller.close,
     );
-    await _mainMethodChannel.invokeMethod(methodName, arguments);
+    await _invokeMethod(methodName, arguments);
 
+    final Object transaction = arguments[_transactionId];
     yield* controller.stream
-        .map((data) => new bleData.MonitorCharacteristicMessage.fromBuffer(data))
+        .map((data) => _monitorCharacteristicMessageOf(data))
+        .where((monitorCharacteristicMessage) => _isOfTransaction(monitorCharacteristicMessage, transaction))
         .map((monitorCharacteristicMessage) =>  MonitorCharacteristic.fromMessage(monitorCharacteristicMessage));
   }
+
+  /// Results are [bleData.CharacteristicValueMessage]s when the client was created with the compact protocol.
+  bleData.CharacteristicMessage _characteristicMessageOf(List<int> data) => _compactProtocolEnabled
+      ? _resolveCharacteristicValue(new bleData.CharacteristicValueMessage.fromBuffer(data))
+      : new bleData.CharacteristicMessage.fromBuffer(data);
+
+  /// Notifications are [bleData.CharacteristicValueMessage]s when the client was created with the compact protocol.
+  bleData.MonitorCharacteristicMessage _monitorCharacteristicMessageOf(List<int> data) {
+    if (!_compactProtocolEnabled) {
+      return new bleData.MonitorCharacteristicMessage.fromBuffer(data);
+    }
+    final valueMessage = new bleData.CharacteristicValueMessage.fromBuffer(data);
+    final monitorCharacteristicMessage = bleData.MonitorCharacteristicMessage.create()
+      ..characteristicMessage = _resolveCharacteristicValue(valueMessage);
+    if (valueMessage.hasTransactionHandle()) {
+      monitorCharacteristicMessage.transactionHandle = valueMessage.transactionHandle;
+    } else {
+      monitorCharacteristicMessage.transactionId = valueMessage.transactionId;
+    }
+    return monitorCharacteristicMessage;
+  }
+
+  /// Copies the characteristic fetched under the handle of [valueMessage] with its value, a characteristic that was
+  /// never fetched only gets its id.
+  bleData.CharacteristicMessage _resolveCharacteristicValue(bleData.CharacteristicValueMessage valueMessage) {
+    final bleData.CharacteristicMessage descriptor = _characteristicDescriptors[valueMessage.handle];
+    final bleData.CharacteristicMessage characteristicMessage = descriptor != null
+        ? descriptor.clone()
+        : (bleData.CharacteristicMessage.create()..id = valueMessage.handle.toDouble());
+    if (valueMessage.hasDecodedValue()) {
+      characteristicMessage
+        ..clearValue()
+        ..decodedValue = valueMessage.decodedValue;
+    } else {
+      characteristicMessage
+        ..clearDecodedValue()
+        ..value = base64.encode(valueMessage.value ?? const <int>[]);
+    }
+    return characteristicMessage;
+  }
+
+  /// Calls a method taking a serialized message, over the binary transport when the client was created with it.
+  Future<dynamic> _invokeMessageMethod(String methodName, GeneratedMessage message) =>
+      _binaryTransportEnabled
+          ? _invokeBinaryMethod(methodName, message.writeToBuffer())
+          : _invokeMethod(methodName, message.writeToBuffer());
+
+  /// Failures reported by Android carry a serialized BleErrorMessage and are rethrown as [BleError].
+  Future<dynamic> _invokeMethod(String methodName, [dynamic arguments]) =>
+      _mainMethodChannel.invokeMethod(methodName, arguments).catchError(
+              (error) => throw BleError.fromPlatformException(error),
+          test: (error) => error is PlatformException && error.details is Uint8List);
+
+  /// A request is the length of the UTF-8 method name in one byte, the name and the serialized argument. A reply
+  /// is a status byte followed by the serialized result, the serialized BleErrorMessage of a failure or the UTF-8
+  /// message of any other error.
+  Future<Uint8List> _invokeBinaryMethod(String methodName, List<int> arguments) async {
+    final List<int> name = UTF8.encode(methodName);
+    final Uint8List request = new Uint8List(1 + name.length + arguments.length)
+      ..[0] = name.length
+      ..setRange(1, 1 + name.length, name)
+      ..setRange(1 + name.length, 1 + name.length + arguments.length, arguments);
+    final ByteData reply = await BinaryMessages.send(flutter_ble_lib_binary, new ByteData.view(request.buffer));
+    if (reply == null) {
+      throw new MissingPluginException("No binary transport handler for $methodName");
+    }
+    final Uint8List frame = reply.buffer.asUint8List(reply.offsetInBytes, reply.lengthInBytes);
+    final Uint8List payload = new Uint8List.view(frame.buffer, frame.offsetInBytes + 1, frame.length - 1);
+    switch (frame[0]) {
+      case _binaryStatusSuccess:
+        return payload;
+      case _binaryStatusError:
+        throw new PlatformException(code: "error", message: UTF8.decode(payload));
+      case _binaryStatusBleError:
+        throw BleError.fromMessage(new bleData.BleErrorMessage.fromBuffer(payload));
+      default:
+        throw new MissingPluginException("Binary transport does not serve $methodName");
+    }
+  }
+
+  /// The shared monitor channel carries notifications of all monitors, a stream only takes those of its own
+  /// transaction. Monitors started without a transaction take every notification.
+  bool _isOfTransaction(bleData.MonitorCharacteristicMessage message, Object transaction) {
+    if (transaction is int) {
+      return message.transactionHandle.toInt() == transaction;
+    }
+    return transaction == null || message.transactionId == transaction;
+  }
 }
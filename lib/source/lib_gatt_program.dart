@@ -0,0 +1,161 @@
+part of flutter_ble_lib;
+
+/// Characteristic used by the instructions of a program run with [FlutterBleLib.runGattProgram], instructions
+/// refer to it by its index in the program's attribute list.
+class GattAttribute {
+  String serviceUUID;
+  String characteristicUUID;
+
+  GattAttribute(this.serviceUUID, this.characteristicUUID);
+
+  bleData.GattAttributeMessage _toMessage() => bleData.GattAttributeMessage.create()
+    ..serviceUuid = serviceUUID
+    ..characteristicUuid = characteristicUUID;
+}
+
+enum GattComparison {
+  EQUAL,
+  NOT_EQUAL,
+  LESS_THAN,
+  GREATER_THAN,
+}
+
+/// Instruction of a program run with [FlutterBleLib.runGattProgram].
+///
+/// Comparisons look at the bytes of the value starting at offset. Equality compares them with the operand
+/// under the optional mask, ordering compares them as unsigned little endian integers of up to 8 bytes. An empty
+/// operand is satisfied by any value, values that are too short never satisfy a comparison.
+class GattInstruction {
+  final bleData.GattInstructionMessage _message;
+
+  GattInstruction._(bleData.GattOpMessage op) : _message = bleData.GattInstructionMessage.create()..op = op;
+
+  /// Writes [value] to [attribute].
+  factory GattInstruction.write(int attribute, List<int> value, {bool withResponse, int timeoutMillis}) {
+    final instruction = new GattInstruction._(bleData.GattOpMessage.OP_WRITE)
+      .._message.attribute = attribute
+      .._message.value = value
+      .._message.withResponse = withResponse == true;
+    instruction._setTimeout(timeoutMillis);
+    return instruction;
+  }
+
+  /// Reads [attribute], the value is kept under [captureName] in the result.
+  factory GattInstruction.read(int attribute, {String captureName, int timeoutMillis}) {
+    final instruction = new GattInstruction._(bleData.GattOpMessage.OP_READ)
+      .._message.attribute = attribute;
+    instruction._setCapture(captureName);
+    instruction._setTimeout(timeoutMillis);
+    return instruction;
+  }
+
+  /// Waits for a notification of [attribute] satisfying the comparison, notifications that do not satisfy it
+  /// are discarded. Notifications of awaited attributes are enabled when the program starts.
+  factory GattInstruction.awaitNotification(int attribute,
+      {GattComparison comparison, List<int> value, List<int> mask, int offset, String captureName,
+        int timeoutMillis}) {
+    final instruction = new GattInstruction._(bleData.GattOpMessage.OP_AWAIT_NOTIFICATION)
+      .._message.attribute = attribute;
+    instruction._setComparison(comparison, value, mask, offset);
+    instruction._setCapture(captureName);
+    instruction._setTimeout(timeoutMillis);
+    return instruction;
+  }
+
+  factory GattInstruction.delay(int millis) =>
+      new GattInstruction._(bleData.GattOpMessage.OP_DELAY).._setTimeout(millis);
+
+  /// Jumps to [target] when the last read or notified value satisfies the comparison.
+  factory GattInstruction.compare(int target, GattComparison comparison, List<int> value,
+      {List<int> mask, int offset}) {
+    final instruction = new GattInstruction._(bleData.GattOpMessage.OP_COMPARE)
+      .._message.target = target;
+    instruction._setComparison(comparison, value, mask, offset);
+    return instruction;
+  }
+
+  factory GattInstruction.jump(int target) =>
+      new GattInstruction._(bleData.GattOpMessage.OP_JUMP).._message.target = target;
+
+  /// Jumps to [target] the first [count] times it is reached, then falls through. The count starts over
+  /// whenever the instructions from [target] to the loop are left.
+  factory GattInstruction.loop(int target, int count) => new GattInstruction._(bleData.GattOpMessage.OP_LOOP)
+    .._message.target = target
+    .._message.count = count;
+
+  /// Aborts the program with [errorMessage].
+  factory GattInstruction.fail([String errorMessage]) {
+    final instruction = new GattInstruction._(bleData.GattOpMessage.OP_FAIL);
+    if (errorMessage != null) {
+      instruction._message.errorMessage = errorMessage;
+    }
+    return instruction;
+  }
+
+  void _setComparison(GattComparison comparison, List<int> value, List<int> mask, int offset) {
+    if (comparison != null) {
+      _message.comparison = bleData.GattComparisonMessage.values[comparison.index];
+    }
+    if (value != null) {
+      _message.value = value;
+    }
+    if (mask != null) {
+      _message.mask = mask;
+    }
+    if (offset != null) {
+      _message.offset = offset;
+    }
+  }
+
+  void _setCapture(String captureName) {
+    if (captureName != null) {
+      _message.captureName = captureName;
+    }
+  }
+
+  void _setTimeout(int timeoutMillis) {
+    if (timeoutMillis != null) {
+      _message.timeoutMillis = new Int64(timeoutMillis);
+    }
+  }
+}
+
+enum GattProgramStatus {
+  COMPLETED,
+  ABORTED,
+  TIMED_OUT,
+}
+
+/// Outcome of [FlutterBleLib.runGattProgram]. [instruction] is the index of the instruction the program
+/// finished at, [captures] holds the values read or notified under a capture name.
+class GattProgramResult {
+  GattProgramStatus status;
+  int instruction;
+  String errorMessage;
+  Map<String, Uint8List> captures;
+  int executedSteps;
+  Duration duration;
+
+  GattProgramResult(this.status, this.instruction, this.errorMessage, this.captures, this.executedSteps,
+      this.duration);
+
+  static GattProgramResult fromMessage(bleData.GattProgramResultMessage resultMessage) {
+    final captures = <String, Uint8List>{};
+    for (final capture in resultMessage.captures) {
+      captures[capture.name] = new Uint8List.fromList(capture.value);
+    }
+    return new GattProgramResult(
+        GattProgramStatus.values[resultMessage.status.value],
+        resultMessage.instruction,
+        resultMessage.errorMessage.isEmpty ? null : resultMessage.errorMessage,
+        captures,
+        resultMessage.executedSteps,
+        new Duration(microseconds: resultMessage.durationMicros.toInt()));
+  }
+
+  @override
+  String toString() {
+    return "GattProgramResult : [status = $status, instruction = $instruction, errorMessage = $errorMessage, "
+        "captures = $captures, executedSteps = $executedSteps, duration = $duration]";
+  }
+}
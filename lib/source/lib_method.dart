@@ -25,4 +25,20 @@ const _readCharacteristicForService = "readCharacteristicForService";
 const _readCharacteristic = "readCharacteristic";
 const _monitorCharacteristicForDevice = "monitorCharacteristicForDevice";
 const _monitorCharacteristicForService = "monitorCharacteristicForService";
-const _monitorCharacteristic = "monitorCharacteristic";
\ No newline at end of file
+const _monitorCharacteristic = "monitorCharacteristic";
+const _openMonitorChannel = "openMonitorChannel";
+const _setTraceEnabled = "setTraceEnabled";
+const _dumpTrace = "dumpTrace";
+const _configureValueCache = "configureValueCache";
+const _registerPayloadSchema = "registerPayloadSchema";
+const _unregisterPayloadSchema = "unregisterPayloadSchema";
+const _openRecording = "openRecording";
+const _rotateRecording = "rotateRecording";
+const _closeRecording = "closeRecording";
+const _batch = "batch";
+const _runGattProgram = "runGattProgram";
+const _openNotificationRing = "openNotificationRing";
+const _closeNotificationRing = "closeNotificationRing";
+const _configureScannedDeviceRegistry = "configureScannedDeviceRegistry";
+const _queryScannedDevices = "queryScannedDevices";
+const _restoreStateEvent = "RestoreStateEvent";
\ No newline at end of file
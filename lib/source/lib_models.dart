@@ -235,20 +235,523 @@ class Characteristic {
 class MonitorCharacteristic {
 
   String transactionId;
+  int transactionHandle;
   Characteristic characteristic;
 
-  MonitorCharacteristic(String this.transactionId, this.characteristic);
+  MonitorCharacteristic(String this.transactionId, this.characteristic, {this.transactionHandle});
 
   static MonitorCharacteristic fromMessage(
       bleData.MonitorCharacteristicMessage monitorCharacteristicMessage) =>
       new MonitorCharacteristic(
           monitorCharacteristicMessage.transactionId,
           Characteristic.fromMessage(
-              monitorCharacteristicMessage.characteristicMessage)
+              monitorCharacteristicMessage.characteristicMessage),
+          transactionHandle: monitorCharacteristicMessage.hasTransactionHandle()
+              ? monitorCharacteristicMessage.transactionHandle.toInt()
+              : null
       );
 
   @override
   String toString() {
-    return "MonitorCharacteristic : [transactionId = $transactionId, characteristic = ${characteristic.toString()}";
+    return "MonitorCharacteristic : [transactionId = $transactionId, transactionHandle = $transactionHandle, "
+        "characteristic = ${characteristic.toString()}";
+  }
+}
+
+/// State persisted under a restore state identifier, see [FlutterBleLib.restoreStateEvents] (Android only).
+class RestoreState {
+  List<RestoredDevice> devices;
+
+  RestoreState(this.devices);
+
+  static RestoreState fromMessage(bleData.RestoreStateMessage restoreStateMessage) =>
+      new RestoreState(restoreStateMessage.devices
+          .map((restoredDeviceMessage) => RestoredDevice.fromMessage(restoredDeviceMessage))
+          .toList());
+
+  @override
+  String toString() {
+    return "RestoreState : [devices = $devices]";
+  }
+}
+
+class RestoredDevice {
+  BleDevice device;
+  bool isAutoConnect;
+  List<RestoredMonitor> monitors;
+
+  RestoredDevice(this.device, this.isAutoConnect, this.monitors);
+
+  static RestoredDevice fromMessage(bleData.RestoredDeviceMessage restoredDeviceMessage) =>
+      new RestoredDevice(
+          BleDevice.fromMessage(restoredDeviceMessage.device),
+          restoredDeviceMessage.isAutoConnect,
+          restoredDeviceMessage.monitors
+              .map((monitorMessage) => RestoredMonitor.fromMessage(restoredDeviceMessage.device.id, monitorMessage))
+              .toList());
+
+  @override
+  String toString() {
+    return "RestoredDevice : [device = $device, isAutoConnect = $isAutoConnect, monitors = $monitors]";
+  }
+}
+
+/// Monitor resubscribed natively with its original transaction, identified by [transactionId] or, when the
+/// monitor was started with a handle, by [transactionHandle].
+class RestoredMonitor {
+  String deviceId;
+  String serviceUuid;
+  String characteristicUuid;
+  String transactionId;
+  int transactionHandle;
+
+  RestoredMonitor(this.deviceId, this.serviceUuid, this.characteristicUuid, this.transactionId,
+      {this.transactionHandle});
+
+  static RestoredMonitor fromMessage(String deviceId, bleData.RestoredMonitorMessage monitorMessage) =>
+      new RestoredMonitor(
+          deviceId,
+          monitorMessage.serviceUuid,
+          monitorMessage.characteristicUuid,
+          monitorMessage.transactionId.isEmpty ? null : monitorMessage.transactionId,
+          transactionHandle: monitorMessage.transactionId.isEmpty ? monitorMessage.transactionHandle.toInt() : null);
+
+  @override
+  String toString() {
+    return "RestoredMonitor : [deviceId = $deviceId, serviceUuid = $serviceUuid, "
+        "characteristicUuid = $characteristicUuid, transactionId = $transactionId, "
+        "transactionHandle = $transactionHandle]";
+  }
+}
+
+/// Native operators reducing notifications of a monitor transaction before they are sent to Dart.
+/// Applied in order: [distinct], [sampleEvery], [throttleMillis], [debounceMillis] and the window statistics.
+class NotificationOperators {
+  int sampleEvery;
+  int throttleMillis;
+  int debounceMillis;
+  bool distinct;
+
+  /// Number of samples aggregated into [WindowStats], the field is read with [windowFormat]
+  /// (e.g. "int16le", "uint8", "float32le") at [windowOffset].
+  int windowSize;
+  String windowFormat;
+  int windowOffset;
+
+  NotificationOperators({this.sampleEvery,
+    this.throttleMillis,
+    this.debounceMillis,
+    this.distinct,
+    this.windowSize,
+    this.windowFormat,
+    this.windowOffset});
+
+  void _addTo(Map<String, Object> arguments) {
+    arguments[_sampleEvery] = sampleEvery;
+    arguments[_throttleMillis] = throttleMillis;
+    arguments[_debounceMillis] = debounceMillis;
+    arguments[_distinct] = distinct;
+    arguments[_windowSize] = windowSize;
+    arguments[_windowFormat] = windowFormat;
+    arguments[_windowOffset] = windowOffset;
+  }
+}
+
+/// Statistics of a window, sent instead of the characteristic value when windowing is enabled.
+class WindowStats {
+  double min;
+  double max;
+  double mean;
+
+  WindowStats(this.min, this.max, this.mean);
+
+  static WindowStats fromValue(Uint8List value) {
+    final data = new ByteData.view(value.buffer, value.offsetInBytes, value.lengthInBytes);
+    return new WindowStats(data.getFloat64(0, Endian.little),
+        data.getFloat64(8, Endian.little), data.getFloat64(16, Endian.little));
+  }
+
+  @override
+  String toString() {
+    return "WindowStats : [min = $min, max = $max, mean = $mean]";
+  }
+}
+
+/// Field of a payload schema registered with [FlutterBleLib.registerPayloadSchema]. Decodes [count] elements
+/// of [format] (e.g. "uint8", "int16le", "float32be") starting at [byteOffset], [stride] bytes apart.
+/// Integer fields may be narrowed to [bitLength] bits starting at [bitOffset]; every element is mapped with
+/// `raw * scale + offset`.
+class PayloadField {
+  String format;
+  int byteOffset;
+  int count;
+  int stride;
+  int bitOffset;
+  int bitLength;
+  double scale;
+  double offset;
+
+  PayloadField(this.format, this.byteOffset,
+      {this.count, this.stride, this.bitOffset, this.bitLength, this.scale, this.offset});
+
+  Map<String, Object> _toMap() => <String, Object>{
+    "format": format,
+    "byteOffset": byteOffset,
+    "count": count,
+    "stride": stride,
+    "bitOffset": bitOffset,
+    "bitLength": bitLength,
+    "scale": scale,
+    "offset": offset,
+  };
+}
+
+/// Command of a [FlutterBleLib.batch].
+class BatchCommand {
+  final bleData.BatchCommandMessage _message;
+
+  BatchCommand._(bleData.BatchCommandTypeMessage type, String deviceId, String transactionId)
+      : _message = bleData.BatchCommandMessage.create()
+    ..type = type
+    ..deviceId = deviceId {
+    if (transactionId != null) {
+      _message.transactionId = transactionId;
+    }
+  }
+
+  factory BatchCommand.read(String deviceId, String serviceUUID, String characteristicUUID,
+      {int maxAgeMillis, String transactionId}) {
+    final command = new BatchCommand._(bleData.BatchCommandTypeMessage.READ, deviceId, transactionId);
+    command._message
+      ..serviceUuid = serviceUUID
+      ..characteristicUuid = characteristicUUID;
+    if (maxAgeMillis != null) {
+      command._message.maxAgeMillis = new Int64(maxAgeMillis);
+    }
+    return command;
+  }
+
+  factory BatchCommand.write(String deviceId, String serviceUUID, String characteristicUUID, List<int> value,
+      bool withResponse, {String transactionId}) {
+    final command = new BatchCommand._(bleData.BatchCommandTypeMessage.WRITE, deviceId, transactionId);
+    command._message
+      ..serviceUuid = serviceUUID
+      ..characteristicUuid = characteristicUUID
+      ..value = value
+      ..withResponse = withResponse;
+    return command;
+  }
+
+  factory BatchCommand.requestMtu(String deviceId, int mtu, {String transactionId}) {
+    final command = new BatchCommand._(bleData.BatchCommandTypeMessage.REQUEST_MTU, deviceId, transactionId);
+    command._message.mtu = mtu;
+    return command;
+  }
+
+  factory BatchCommand.readRssi(String deviceId, {String transactionId}) =>
+      new BatchCommand._(bleData.BatchCommandTypeMessage.READ_RSSI, deviceId, transactionId);
+}
+
+enum BatchCommandStatus {
+  SUCCEEDED,
+  FAILED,
+  SKIPPED,
+}
+
+/// Result of a [BatchCommand]. [value] is set for reads, [mtu] and [rssi] for their commands and
+/// [errorMessage] for failed commands.
+class BatchCommandResult {
+  BatchCommandStatus status;
+  Uint8List value;
+  int mtu;
+  int rssi;
+  String errorMessage;
+
+  BatchCommandResult(this.status, this.value, this.mtu, this.rssi, this.errorMessage);
+
+  static BatchCommandResult fromMessage(bleData.BatchCommandResultMessage resultMessage) =>
+      new BatchCommandResult(
+          BatchCommandStatus.values[resultMessage.status.value],
+          new Uint8List.fromList(resultMessage.value),
+          resultMessage.mtu,
+          resultMessage.rssi,
+          resultMessage.errorMessage.isEmpty ? null : resultMessage.errorMessage);
+
+  @override
+  String toString() {
+    return "BatchCommandResult : [status = $status, value = $value, mtu = $mtu, rssi = $rssi, errorMessage = $errorMessage]";
+  }
+}
+
+/// Ring opened with [FlutterBleLib.openNotificationRing]. [address] is the native address of the ring's header,
+/// frames start [headerSize] bytes after it and take up [capacity] bytes.
+class NotificationRing {
+  int ringId;
+  Int64 address;
+  int capacity;
+  int headerSize;
+
+  NotificationRing(this.ringId, this.address, this.capacity, this.headerSize);
+
+  static NotificationRing fromMessage(bleData.NotificationRingMessage ringMessage) =>
+      new NotificationRing(ringMessage.ringId, ringMessage.address, ringMessage.capacity, ringMessage.headerSize);
+
+  @override
+  String toString() {
+    return "NotificationRing : [ringId = $ringId, address = $address, capacity = $capacity, headerSize = $headerSize]";
+  }
+}
+
+enum NotificationRingEventType {
+  /// A frame was written while the consumer was waiting.
+  WAKE_UP,
+
+  /// The ring was full and frames started to be dropped.
+  OVERFLOW,
+}
+
+class NotificationRingEvent {
+  int ringId;
+  NotificationRingEventType type;
+
+  /// Bytes of frames written so far.
+  Int64 head;
+  Int64 droppedCount;
+
+  NotificationRingEvent(this.ringId, this.type, this.head, this.droppedCount);
+
+  static NotificationRingEvent fromMessage(bleData.NotificationRingEventMessage eventMessage) =>
+      new NotificationRingEvent(eventMessage.ringId, NotificationRingEventType.values[eventMessage.type.value],
+          eventMessage.head, eventMessage.droppedCount);
+
+  @override
+  String toString() {
+    return "NotificationRingEvent : [ringId = $ringId, type = $type, head = $head, droppedCount = $droppedCount]";
+  }
+}
+
+enum BleErrorCode {
+  UNKNOWN,
+  OPERATION_CANCELLED,
+  OPERATION_TIMED_OUT,
+  INVALID_ARGUMENT,
+  CLIENT_NOT_CREATED,
+  DEVICE_NOT_FOUND,
+  DEVICE_NOT_CONNECTED,
+  DEVICE_DISCONNECTED,
+  SERVICE_NOT_FOUND,
+  CHARACTERISTIC_NOT_FOUND,
+  NOTIFICATIONS_UNSUPPORTED,
+  GATT,
+  SCAN_FAILED,
+}
+
+/// Failure of a call reported by Android. It is a [PlatformException] with the error code name as [code], so
+/// existing handlers keep working. [deviceId], [attributeId] and [gattStatus] are null when the failure does not
+/// carry them; [attributeId] is the identifier of the service or characteristic.
+class BleError extends PlatformException {
+  final BleErrorCode errorCode;
+  final String deviceId;
+  final int attributeId;
+  final int gattStatus;
+
+  BleError(this.errorCode, String message, this.deviceId, this.attributeId, this.gattStatus, Uint8List details)
+      : super(code: "ERROR_" + errorCode.toString().split(".").last, message: message, details: details);
+
+  static BleError fromPlatformException(PlatformException exception) =>
+      fromMessage(new bleData.BleErrorMessage.fromBuffer(exception.details));
+
+  static BleError fromMessage(bleData.BleErrorMessage errorMessage) =>
+      new BleError(
+          BleErrorCode.values[errorMessage.code.value],
+          errorMessage.message,
+          errorMessage.deviceId.isEmpty ? null : errorMessage.deviceId,
+          errorMessage.attributeId == 0 ? null : errorMessage.attributeId,
+          errorMessage.gattStatus < 0 ? null : errorMessage.gattStatus,
+          new Uint8List.fromList(errorMessage.writeToBuffer()));
+
+  @override
+  String toString() {
+    return "BleError : [errorCode = $errorCode, message = $message, deviceId = $deviceId, "
+        "attributeId = $attributeId, gattStatus = $gattStatus]";
+  }
+}
+
+enum ScannedDeviceOrder {
+  BY_RSSI,
+  BY_LAST_SEEN,
+  BY_LEAST_RECENTLY_SEEN,
+}
+
+/// Query of [FlutterBleLib.queryScannedDevices]. Returns at most [limit] devices (10 by default) in [order]
+/// (strongest first by default). Unset filters match every device, [nameFilter] matches names containing it
+/// regardless of case.
+class ScannedDeviceQuery {
+  ScannedDeviceOrder order;
+  int limit;
+  String nameFilter;
+  int minRssi;
+  int seenWithinMillis;
+  int notSeenForMillis;
+
+  ScannedDeviceQuery({this.order,
+    this.limit,
+    this.nameFilter,
+    this.minRssi,
+    this.seenWithinMillis,
+    this.notSeenForMillis});
+
+  bleData.ScannedDeviceQueryMessage _toMessage() {
+    final queryMessage = bleData.ScannedDeviceQueryMessage.create();
+    if (order != null) {
+      queryMessage.order = bleData.ScannedDeviceOrderMessage.values[order.index];
+    }
+    if (limit != null) {
+      queryMessage.limit = limit;
+    }
+    if (nameFilter != null) {
+      queryMessage.nameFilter = nameFilter;
+    }
+    if (minRssi != null) {
+      queryMessage.minRssi = minRssi;
+    }
+    if (seenWithinMillis != null) {
+      queryMessage.seenWithinMillis = new Int64(seenWithinMillis);
+    }
+    if (notSeenForMillis != null) {
+      queryMessage.notSeenForMillis = new Int64(notSeenForMillis);
+    }
+    return queryMessage;
+  }
+}
+
+/// Device of the scanned device registry. [name] is the last advertised name, null when none was advertised.
+class ScannedDevice {
+  String id;
+  String name;
+  int rssi;
+  int sightings;
+  Int64 firstSeenNanos;
+  Int64 lastSeenNanos;
+
+  ScannedDevice(this.id, this.name, this.rssi, this.sightings, this.firstSeenNanos, this.lastSeenNanos);
+
+  static ScannedDevice fromMessage(bleData.ScannedDeviceMessage deviceMessage) =>
+      new ScannedDevice(
+          deviceMessage.id,
+          deviceMessage.name.isEmpty ? null : deviceMessage.name,
+          deviceMessage.rssi,
+          deviceMessage.sightings,
+          deviceMessage.firstSeenNanos,
+          deviceMessage.lastSeenNanos);
+
+  @override
+  String toString() {
+    return "ScannedDevice : [id = $id, name = $name, rssi = $rssi, sightings = $sightings]";
+  }
+}
+
+/// Result of [FlutterBleLib.queryScannedDevices]. [matchedCount] devices matched the query, [registeredCount] are
+/// registered and [rejectedCount] were rejected because the registry was full.
+class ScannedDevices {
+  List<ScannedDevice> devices;
+  int matchedCount;
+  int registeredCount;
+  Int64 rejectedCount;
+
+  ScannedDevices(this.devices, this.matchedCount, this.registeredCount, this.rejectedCount);
+
+  static ScannedDevices fromMessage(bleData.ScannedDevicesMessage devicesMessage) =>
+      new ScannedDevices(
+          devicesMessage.devices.map((deviceMessage) => ScannedDevice.fromMessage(deviceMessage)).toList(),
+          devicesMessage.matchedCount,
+          devicesMessage.registeredCount,
+          devicesMessage.rejectedCount);
+}
+
+/// Simulated devices the client talks to instead of the radio (Android only), meant for testing and benchmarking
+/// an app against reproducible latencies and failures. Latencies are drawn uniformly between their min and max
+/// millis, rates are probabilities between 0 and 1, null fields keep the native defaults.
+class SimulatedBackend {
+  int deviceCount;
+  int advertisementIntervalMillis;
+  int minConnectLatencyMillis;
+  int maxConnectLatencyMillis;
+  int minDiscoveryLatencyMillis;
+  int maxDiscoveryLatencyMillis;
+  int minGattLatencyMillis;
+  int maxGattLatencyMillis;
+  int notificationIntervalMillis;
+  int notificationPayloadSize;
+  double connectFailureRate;
+  double gattFailureRate;
+  double notificationDropRate;
+  double linkLossRate;
+  int seed;
+
+  SimulatedBackend({this.deviceCount,
+    this.advertisementIntervalMillis,
+    this.minConnectLatencyMillis,
+    this.maxConnectLatencyMillis,
+    this.minDiscoveryLatencyMillis,
+    this.maxDiscoveryLatencyMillis,
+    this.minGattLatencyMillis,
+    this.maxGattLatencyMillis,
+    this.notificationIntervalMillis,
+    this.notificationPayloadSize,
+    this.connectFailureRate,
+    this.gattFailureRate,
+    this.notificationDropRate,
+    this.linkLossRate,
+    this.seed});
+
+  bleData.SimulatedBackendMessage _toMessage() {
+    final simulatedBackendMessage = bleData.SimulatedBackendMessage.create();
+    if (deviceCount != null) {
+      simulatedBackendMessage.deviceCount = deviceCount;
+    }
+    if (advertisementIntervalMillis != null) {
+      simulatedBackendMessage.advertisementIntervalMillis = advertisementIntervalMillis;
+    }
+    if (minConnectLatencyMillis != null) {
+      simulatedBackendMessage.minConnectLatencyMillis = minConnectLatencyMillis;
+    }
+    if (maxConnectLatencyMillis != null) {
+      simulatedBackendMessage.maxConnectLatencyMillis = maxConnectLatencyMillis;
+    }
+    if (minDiscoveryLatencyMillis != null) {
+      simulatedBackendMessage.minDiscoveryLatencyMillis = minDiscoveryLatencyMillis;
+    }
+    if (maxDiscoveryLatencyMillis != null) {
+      simulatedBackendMessage.maxDiscoveryLatencyMillis = maxDiscoveryLatencyMillis;
+    }
+    if (minGattLatencyMillis != null) {
+      simulatedBackendMessage.minGattLatencyMillis = minGattLatencyMillis;
+    }
+    if (maxGattLatencyMillis != null) {
+      simulatedBackendMessage.maxGattLatencyMillis = maxGattLatencyMillis;
+    }
+    if (notificationIntervalMillis != null) {
+      simulatedBackendMessage.notificationIntervalMillis = notificationIntervalMillis;
+    }
+    if (notificationPayloadSize != null) {
+      simulatedBackendMessage.notificationPayloadSize = notificationPayloadSize;
+    }
+    if (connectFailureRate != null) {
+      simulatedBackendMessage.connectFailureRate = connectFailureRate;
+    }
+    if (gattFailureRate != null) {
+      simulatedBackendMessage.gattFailureRate = gattFailureRate;
+    }
+    if (notificationDropRate != null) {
+      simulatedBackendMessage.notificationDropRate = notificationDropRate;
+    }
+    if (linkLossRate != null) {
+      simulatedBackendMessage.linkLossRate = linkLossRate;
+    }
+    if (seed != null) {
+      simulatedBackendMessage.seed = new Int64(seed);
+    }
+    return simulatedBackendMessage;
   }
 }
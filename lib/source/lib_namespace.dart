@@ -5,3 +5,6 @@ const flutter_ble_lib_scanDevices = flutter_ble_lib + "/" + _startDeviceScan;
 const flutter_ble_lib_stateChange = flutter_ble_lib + "/stateChange";
 const flutter_ble_lib_deviceConnectionChange = flutter_ble_lib + "/deviceConnectionChange";
 const flutter_ble_lib_monitorCharacteristicChange = flutter_ble_lib + "/monitorCharacteristicChange";
+const flutter_ble_lib_binary = flutter_ble_lib + "/binary";
+const flutter_ble_lib_monitorCharacteristicBinary = flutter_ble_lib + "/monitorCharacteristicBinary";
+const flutter_ble_lib_notificationRing = flutter_ble_lib + "/notificationRing";
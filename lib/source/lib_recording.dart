@@ -0,0 +1,93 @@
+part of flutter_ble_lib;
+
+const _recordingMagic = 0x52454C42;
+const _recordingVersion = 1;
+const _recordingHeaderSize = 32;
+const _recordHeaderSize = 16;
+
+/// Notification read back from a recording opened with [FlutterBleLib.openRecording].
+class RecordedNotification {
+  int characteristicId;
+
+  /// Elapsed realtime of the notification in nanoseconds.
+  int timestampNanos;
+
+  /// Wall clock time of the notification, derived from the segment creation time.
+  DateTime time;
+  Uint8List value;
+
+  RecordedNotification(this.characteristicId, this.timestampNanos, this.time, this.value);
+
+  @override
+  String toString() {
+    return "RecordedNotification : [characteristicId = $characteristicId, time = $time, value = $value]";
+  }
+}
+
+/// Streams notifications of all segments in a recording [directory], oldest segment first.
+Stream<RecordedNotification> readRecording(String directory) async* {
+  final segments = await new Directory(directory)
+      .list()
+      .where((entity) => entity is File && entity.path.endsWith(".blrec"))
+      .map((entity) => entity.path)
+      .toList();
+  segments.sort();
+  for (final segment in segments) {
+    yield* readRecordingSegment(segment);
+  }
+}
+
+/// Streams notifications of a single segment file, reading it in chunks of [chunkSize] bytes. Values are views
+/// of the chunk they were read with. A segment cut short ends at its last complete record.
+Stream<RecordedNotification> readRecordingSegment(String path, {int chunkSize = 64 * 1024}) async* {
+  final file = await new File(path).open();
+  try {
+    final headerBytes = new Uint8List.fromList(await file.read(_recordingHeaderSize));
+    final header = new ByteData.view(headerBytes.buffer);
+    if (headerBytes.length < _recordingHeaderSize
+        || header.getInt32(0, Endian.little) != _recordingMagic
+        || header.getInt32(4, Endian.little) != _recordingVersion) {
+      throw new FormatException("Not a recording segment", path);
+    }
+    final headerSize = header.getInt32(8, Endian.little);
+    final createdMillis = header.getInt64(16, Endian.little);
+    final createdNanos = header.getInt64(24, Endian.little);
+    await file.setPosition(headerSize);
+
+    Uint8List pending = new Uint8List(0);
+    while (true) {
+      final chunk = await file.read(chunkSize);
+      if (chunk.isEmpty) {
+        return;
+      }
+      final bytes = new Uint8List(pending.length + chunk.length)
+        ..setAll(0, pending)
+        ..setAll(pending.length, chunk);
+      final data = new ByteData.view(bytes.buffer);
+      int offset = 0;
+      while (offset + 4 <= bytes.length) {
+        final recordSize = data.getInt32(offset, Endian.little);
+        if (recordSize == 0) {
+          return;
+        }
+        if (recordSize < _recordHeaderSize) {
+          throw new FormatException("Invalid record size $recordSize", path);
+        }
+        if (offset + recordSize > bytes.length) {
+          break;
+        }
+        final timestampNanos = data.getInt64(offset + 8, Endian.little);
+        yield new RecordedNotification(
+            data.getInt32(offset + 4, Endian.little),
+            timestampNanos,
+            new DateTime.fromMicrosecondsSinceEpoch(
+                createdMillis * 1000 + (timestampNanos - createdNanos) ~/ 1000),
+            new Uint8List.view(bytes.buffer, offset + _recordHeaderSize, recordSize - _recordHeaderSize));
+        offset += recordSize;
+      }
+      pending = new Uint8List.view(bytes.buffer, offset);
+    }
+  } finally {
+    await file.close();
+  }
+}